@@ -3,8 +3,9 @@
 import { useDateRange } from "@/contexts/date-range-context"
 import { format } from "date-fns"
 import { BurnRateChart, MonthlySpendingData } from "@/components/charts/burn-rate-chart"
-import { useState, useEffect, useCallback } from "react"
+import { useState, useEffect, useCallback, useRef } from "react"
 import { fetchWithAuth } from "@/lib/api-client"
+import { subscribeLiveUpdates } from "@/lib/live-updates"
 
 interface DashboardStats {
   totalBalance: number
@@ -13,16 +14,22 @@ interface DashboardStats {
   savings: number
 }
 
-interface Transaction {
-  id: string
-  amount: number
-  transactionDate: string
-  category: string | null
+interface BurnRateItem {
+  monthName: string
+  totalSpent: number
+  currentMonth: boolean
 }
 
-interface PaginatedResponse {
-  content: Transaction[]
-  totalElements: number
+// Live events after which the dashboard totals may have changed
+const REFRESH_EVENTS = ['month-total', 'resync']
+// Collapse a burst of pushed events into one refetch
+const REFRESH_DELAY_MS = 500
+
+interface DashboardSummary {
+  totalIncome: number | null
+  totalExpenses: number | null
+  burnRate: BurnRateItem[] | null
+  unavailableSections: string[]
 }
 
 export default function DashboardPage() {
@@ -37,41 +44,30 @@ export default function DashboardPage() {
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
 
-  const fetchDashboardData = useCallback(async () => {
-    setLoading(true)
+  const fetchDashboardData = useCallback(async (quiet = false) => {
+    // Pushed refreshes keep the current figures on screen instead of flashing the loading state
+    if (!quiet) {
+      setLoading(true)
+    }
     setError(null)
 
     try {
-      // Fetch all transactions (we'll sum them up)
-      const response = await fetchWithAuth(`/api/transactions?page=0&size=10000`)
-      if (!response.ok) {
-        throw new Error(`API error: ${response.status}`)
-      }
-
-      const data: PaginatedResponse = await response.json()
-      const transactions = data.content || []
-
-      // Filter by date range if provided
-      let filteredTransactions = transactions
+      // One request returns totals and burn rate, computed concurrently on the server
+      const params = new URLSearchParams({ recentLimit: '1' })
       if (dateRange?.from && dateRange?.to) {
-        filteredTransactions = transactions.filter(t => {
-          const txDate = new Date(t.transactionDate)
-          return txDate >= dateRange.from! && txDate <= dateRange.to!
-        })
+        params.set('startDate', format(dateRange.from, 'yyyy-MM-dd'))
+        params.set('endDate', format(dateRange.to, 'yyyy-MM-dd'))
       }
 
-      // Calculate stats from transactions
-      let income = 0
-      let expenses = 0
+      const response = await fetchWithAuth(`/api/dashboard/summary?${params}`)
+      if (!response.ok) {
+        throw new Error(`API error: ${response.status}`)
+      }
 
-      filteredTransactions.forEach(t => {
-        if (t.amount > 0) {
-          income += t.amount
-        } else {
-          expenses += Math.abs(t.amount)
-        }
-      })
+      const summary: DashboardSummary = await response.json()
 
+      const income = Number(summary.totalIncome) || 0
+      const expenses = Number(summary.totalExpenses) || 0
       const savings = income - expenses
       const totalBalance = savings // Net balance
 
@@ -82,32 +78,25 @@ export default function DashboardPage() {
         savings
       })
 
-      // Fetch burn rate data with date range
-      try {
-        const burnRateUrl = dateRange?.from && dateRange?.to
-          ? `/api/analytics/burn-rate?startDate=${format(dateRange.from, 'yyyy-MM-dd')}&endDate=${format(dateRange.to, 'yyyy-MM-dd')}`
-          : '/api/analytics/burn-rate'
-        const burnRateResponse = await fetch(burnRateUrl)
-        if (burnRateResponse.ok) {
-          const burnRateApiData = await burnRateResponse.json()
-
-          // Transform API data to chart format - simple mapping for all months
-          const chartData: MonthlySpendingData[] = burnRateApiData.map((item: any) => ({
-            month: item.monthName.split(' ')[0], // Get month abbreviation (e.g., "Nov" from "Nov 2025")
-            totalSpending: Number(item.totalSpent) || 0,
-            isCurrentMonth: item.currentMonth || false
-          }))
-
-          setBurnRateData(chartData)
-        }
-      } catch (burnRateError) {
-        console.error('Burn rate fetch error:', burnRateError)
-        // Don't fail the whole dashboard if burn rate fails
+      // Transform API data to chart format - simple mapping for all months
+      const chartData: MonthlySpendingData[] = (summary.burnRate || []).map(item => ({
+        month: item.monthName.split(' ')[0], // Get month abbreviation (e.g., "Nov" from "Nov 2025")
+        totalSpending: Number(item.totalSpent) || 0,
+        isCurrentMonth: item.currentMonth || false
+      }))
+
+      setBurnRateData(chartData)
+
+      if (summary.unavailableSections?.length) {
+        console.error('Dashboard sections unavailable:', summary.unavailableSections)
       }
 
     } catch (err) {
       console.error('Dashboard fetch error:', err)
-      setError(err instanceof Error ? err.message : 'Failed to load data')
+      // A failed pushed refresh leaves the figures already shown in place
+      if (!quiet) {
+        setError(err instanceof Error ? err.message : 'Failed to load data')
+      }
     } finally {
       setLoading(false)
     }
@@ -117,6 +106,30 @@ export default function DashboardPage() {
     fetchDashboardData()
   }, [fetchDashboardData])
 
+  // Keep the latest fetch for the stream, which stays open across date range changes
+  const fetchRef = useRef(fetchDashboardData)
+  useEffect(() => {
+    fetchRef.current = fetchDashboardData
+  }, [fetchDashboardData])
+
+  // Refresh when the server pushes a change instead of polling for one
+  useEffect(() => {
+    let timer: ReturnType<typeof setTimeout> | undefined
+    const refresh = () => {
+      clearTimeout(timer)
+      timer = setTimeout(() => fetchRef.current(true), REFRESH_DELAY_MS)
+    }
+    const close = subscribeLiveUpdates(event => {
+      if (REFRESH_EVENTS.includes(event.event)) {
+        refresh()
+      }
+    }, refresh)
+    return () => {
+      clearTimeout(timer)
+      close()
+    }
+  }, [])
+
   const formatCurrency = (amount: number) => {
     return new Intl.NumberFormat('en-US', {
       style: 'currency',
@@ -0,0 +1,112 @@
+import { fetchWithAuth } from "@/lib/api-client"
+
+/**
+ * Subscribes to the server's live update stream (/api/live).
+ *
+ * Reads the server-sent events with fetch rather than EventSource, because
+ * EventSource cannot send the Authorization header the API requires.
+ */
+
+export interface LiveEvent {
+    event: string
+    data: string
+}
+
+const RETRY_MIN_MS = 1000
+const RETRY_MAX_MS = 30000
+
+/**
+ * Open the stream and call onEvent for every named event. Reconnects with
+ * backoff when the stream drops, and calls onReconnect once it is back so
+ * the caller can refetch whatever it missed.
+ *
+ * @returns a function that closes the stream
+ */
+export function subscribeLiveUpdates(
+    onEvent: (event: LiveEvent) => void,
+    onReconnect: () => void = () => { },
+): () => void {
+    const controller = new AbortController()
+    let retryMs = RETRY_MIN_MS
+
+    const run = async () => {
+        let connected = false
+        while (!controller.signal.aborted) {
+            try {
+                const response = await fetchWithAuth('/api/live', {
+                    headers: { Accept: 'text/event-stream' },
+                    signal: controller.signal,
+                })
+                // 404 means live updates are switched off on the server
+                if (response.status === 404) {
+                    return
+                }
+                if (!response.ok || !response.body) {
+                    throw new Error(`Live updates error: ${response.status}`)
+                }
+                if (connected) {
+                    onReconnect()
+                }
+                connected = true
+                retryMs = RETRY_MIN_MS
+                await readEvents(response.body, onEvent)
+            } catch (err) {
+                if (controller.signal.aborted) {
+                    return
+                }
+                console.error('Live updates disconnected:', err)
+            }
+            await new Promise(resolve => setTimeout(resolve, retryMs))
+            retryMs = Math.min(retryMs * 2, RETRY_MAX_MS)
+        }
+    }
+
+    run()
+    return () => controller.abort()
+}
+
+async function readEvents(body: ReadableStream<Uint8Array>, onEvent: (event: LiveEvent) => void) {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader()
+    let buffer = ''
+
+    while (true) {
+        const { value, done } = await reader.read()
+        if (done) {
+            return
+        }
+        buffer += value.replace(/\r\n?/g, '\n')
+
+        // Events end with a blank line; keep a trailing partial event for the next chunk
+        let end = buffer.indexOf('\n\n')
+        while (end !== -1) {
+            const parsed = parseEvent(buffer.slice(0, end))
+            buffer = buffer.slice(end + 2)
+            if (parsed) {
+                onEvent(parsed)
+            }
+            end = buffer.indexOf('\n\n')
+        }
+    }
+}
+
+function parseEvent(block: string): LiveEvent | null {
+    let event = ''
+    const data: string[] = []
+
+    for (const line of block.split('\n')) {
+        // Lines starting with ':' are comments, such as the keep-alive
+        if (line.startsWith(':')) {
+            continue
+        }
+        const colon = line.indexOf(':')
+        const field = colon === -1 ? line : line.slice(0, colon)
+        const value = colon === -1 ? '' : line.slice(colon + 1).replace(/^ /, '')
+        if (field === 'event') {
+            event = value
+        } else if (field === 'data') {
+            data.push(value)
+        }
+    }
+
+    return event ? { event, data: data.join('\n') } : null
+}
@@ -26,7 +26,7 @@ test.describe('Dashboard Page', () => {
     test('displays burn rate chart section', async ({ page }) => {
         // Wait for burn rate API to complete OR timeout without error
         await page.waitForResponse(response =>
-            response.url().includes('/api/analytics/burn-rate') && response.status() === 200,
+            response.url().includes('/api/dashboard/summary') && response.status() === 200,
             { timeout: 15000 }
         ).catch(() => { });
 
@@ -64,7 +64,7 @@ test.describe('Dashboard Page', () => {
         await loginTestUser(page);
 
         // Then block the API to simulate error  
-        await context.route('**/api/transactions**', route => {
+        await context.route('**/api/dashboard/summary**', route => {
             route.fulfill({
                 status: 500,
                 body: 'Internal Server Error'
@@ -102,10 +102,10 @@ test.describe('Dashboard Page', () => {
 })
 
 test.describe('Dashboard API Integration', () => {
-    test('fetches transactions from API', async ({ page }) => {
+    test('fetches dashboard summary from API', async ({ page }) => {
         let apiCalled = false
 
-        await page.route('**/api/transactions**', route => {
+        await page.route('**/api/dashboard/summary**', route => {
             apiCalled = true
             route.continue()
         })
@@ -117,11 +117,11 @@ test.describe('Dashboard API Integration', () => {
         expect(apiCalled).toBe(true)
     })
 
-    test('fetches burn rate from API', async ({ page }) => {
-        let burnRateApiCalled = false
+    test('does not fetch the full transaction list', async ({ page }) => {
+        let transactionsApiCalled = false
 
-        await page.route('**/api/analytics/burn-rate**', route => {
-            burnRateApiCalled = true
+        await page.route('**/api/transactions**', route => {
+            transactionsApiCalled = true
             route.continue()
         })
 
@@ -129,13 +129,13 @@ test.describe('Dashboard API Integration', () => {
         await page.goto('/dashboard')
         await page.waitForTimeout(3000)
 
-        expect(burnRateApiCalled).toBe(true)
+        expect(transactionsApiCalled).toBe(false)
     })
 
-    test('passes date range to burn rate API', async ({ page }) => {
+    test('passes date range to dashboard summary API', async ({ page }) => {
         let urlWithDates = ''
 
-        await page.route('**/api/analytics/burn-rate**', route => {
+        await page.route('**/api/dashboard/summary**', route => {
             urlWithDates = route.request().url()
             route.continue()
         })
@@ -149,3 +149,77 @@ test.describe('Dashboard API Integration', () => {
         expect(urlWithDates).toContain('endDate')
     })
 })
+
+test.describe('Dashboard Live Updates', () => {
+    test('opens the live update stream with the bearer token', async ({ page }) => {
+        let authorization = ''
+
+        await page.route('**/api/live**', route => {
+            authorization = route.request().headers()['authorization'] ?? ''
+            route.fulfill({
+                status: 200,
+                headers: { 'Content-Type': 'text/event-stream' },
+                body: ':connected\n\n'
+            })
+        })
+
+        await loginTestUser(page)
+        await page.goto('/dashboard')
+        await page.waitForTimeout(3000)
+
+        expect(authorization).toMatch(/^Bearer .+/)
+    })
+
+    test('refreshes totals when the server pushes a month total', async ({ page }) => {
+        let summaryCalls = 0
+
+        await page.route('**/api/dashboard/summary**', route => {
+            summaryCalls++
+            route.continue()
+        })
+
+        // Hold the stream open until the dashboard has loaded, then push one change
+        let pushChange = false
+        await page.route('**/api/live**', async route => {
+            while (!pushChange) {
+                await new Promise(resolve => setTimeout(resolve, 100))
+            }
+            route.fulfill({
+                status: 200,
+                headers: { 'Content-Type': 'text/event-stream' },
+                body: 'event:month-total\ndata:{"month":"2026-01","totalIncome":0,"totalSpent":9.50}\n\n'
+            })
+        })
+
+        await loginTestUser(page)
+        await page.goto('/dashboard')
+        await page.waitForTimeout(3000)
+        const callsBeforePush = summaryCalls
+
+        pushChange = true
+        await page.waitForTimeout(2000)
+
+        expect(summaryCalls).toBeGreaterThan(callsBeforePush)
+        await expect(page.getByText('Total Balance')).toBeVisible()
+    })
+
+    test('does not poll the summary while nothing changes', async ({ page }) => {
+        let summaryCalls = 0
+
+        await page.route('**/api/dashboard/summary**', route => {
+            summaryCalls++
+            route.continue()
+        })
+        // An open stream with no events
+        await page.route('**/api/live**', () => { })
+
+        await loginTestUser(page)
+        await page.goto('/dashboard')
+        await page.waitForTimeout(3000)
+        const callsAfterLoad = summaryCalls
+
+        await page.waitForTimeout(5000)
+
+        expect(summaryCalls).toBe(callsAfterLoad)
+    })
+})
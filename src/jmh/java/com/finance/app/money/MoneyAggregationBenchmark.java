@@ -0,0 +1,85 @@
+package com.finance.app.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares summing one month of expenses as BigDecimal (the previous
+ * stream/abs/reduce code) with accumulating {@link Money} minor units.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="MoneyAggregation -prof gc"};
+ * {@code gc.alloc.rate.norm} shows bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<BigDecimal> amounts;
+    private long[] amountUnits;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        BigDecimal[] values = new BigDecimal[rows];
+        amountUnits = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            // Mostly expenses, amounts up to 2,000.0000 at scale 4 like DECIMAL(19,4)
+            long units = random.nextLong(1, 20_000_000L) * (random.nextInt(10) < 8 ? -1 : 1);
+            values[i] = BigDecimal.valueOf(units, Money.SCALE);
+            amountUnits[i] = units;
+        }
+        amounts = Arrays.asList(values);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalStreamReduce() {
+        return amounts.stream()
+                .filter(amount -> amount.compareTo(BigDecimal.ZERO) < 0)
+                .map(BigDecimal::abs)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal moneyUnitsFromBigDecimal() {
+        long spent = 0;
+        for (BigDecimal amount : amounts) {
+            if (amount.signum() < 0) {
+                spent = Money.subtract(spent, Money.toUnits(amount));
+            }
+        }
+        return Money.toBigDecimal(spent);
+    }
+
+    @Benchmark
+    public BigDecimal moneyUnitsFromLongColumn() {
+        long spent = 0;
+        for (long units : amountUnits) {
+            if (units < 0) {
+                spent = Money.subtract(spent, units);
+            }
+        }
+        return Money.toBigDecimal(spent);
+    }
+}
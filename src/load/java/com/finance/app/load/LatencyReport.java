@@ -0,0 +1,150 @@
+package com.finance.app.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies recorded by one virtual user, and the report merged from all
+ * of them: percentiles, throughput and errors per request type.
+ */
+class LatencyReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    /**
+     * One row of the report.
+     *
+     * @param requests      successful requests in the measured window
+     * @param errors        requests that failed or answered 4xx/5xx
+     * @param throughput    successful requests per second
+     * @param percentilesMs latency percentiles, p50 to p99, in milliseconds
+     * @param maxMs         slowest request in milliseconds
+     */
+    record Row(long requests, long errors, double throughput, Map<String, Double> percentilesMs, double maxMs) {
+    }
+
+    /**
+     * Latencies of one request type, appended by a single virtual user and
+     * merged once the run is over.
+     */
+    static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long elapsedNanos) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsedNanos;
+        }
+
+        void error() {
+            errors++;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.nanos[i]);
+            }
+            errors += other.errors;
+        }
+
+        Row toRow(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                percentiles.put("p" + (int) percentile, millis(nearestRank(sorted, percentile)));
+            }
+            double max = size == 0 ? 0 : millis(sorted[size - 1]);
+            return new Row(size, errors, seconds > 0 ? size / seconds : 0, percentiles, max);
+        }
+
+        private static long nearestRank(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    private final Map<String, Object> options;
+    private final double seconds;
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    /**
+     * Merge the samples of all virtual users.
+     *
+     * @param options the run's options, kept in the JSON report so runs can be compared
+     * @param seconds length of the measured window
+     * @param users   per virtual user, its samples by request type
+     */
+    LatencyReport(Map<String, Object> options, double seconds, List<Map<String, Samples>> users) {
+        this.options = options;
+        this.seconds = seconds;
+        Map<String, Samples> merged = new TreeMap<>();
+        Samples total = new Samples();
+        for (Map<String, Samples> user : users) {
+            user.forEach((type, samples) -> merged.computeIfAbsent(type, key -> new Samples()).addAll(samples));
+        }
+        merged.forEach((type, samples) -> {
+            rows.put(type, samples.toRow(seconds));
+            if (!type.equals(LoadTest.LOGIN)) {
+                total.addAll(samples);
+            }
+        });
+        rows.put("all", total.toRow(seconds));
+    }
+
+    /**
+     * Print the report as a table. The login happens before the run, so its
+     * throughput column is left out.
+     *
+     * @param out where to print
+     */
+    void print(PrintStream out) {
+        out.printf("%n%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        rows.forEach((type, row) -> {
+            List<Object> values = new ArrayList<>(List.of(type, row.requests(), row.errors()));
+            values.add(type.equals(LoadTest.LOGIN) ? "-" : String.format("%.1f", row.throughput()));
+            values.addAll(row.percentilesMs().values());
+            values.add(row.maxMs());
+            out.printf("%-10s %9d %7d %9s %9.2f %9.2f %9.2f %9.2f %9.2f%n", values.toArray());
+        });
+        out.printf("%nMeasured %.1f s%n", seconds);
+    }
+
+    /**
+     * Write the options and rows as JSON.
+     *
+     * @param file the report file, whose directory is created if needed
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("measuredSeconds", seconds);
+        report.put("requests", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+}
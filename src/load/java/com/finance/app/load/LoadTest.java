@@ -0,0 +1,227 @@
+package com.finance.app.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.app.dto.AuthResponse;
+import com.finance.app.dto.LoginRequest;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Closed-model load test for the REST API. The run signs in once through
+ * /api/auth/login and its virtual users share the token, since they act as
+ * one account whose logins are rate limited. Each virtual user then sends
+ * requests from the mix back to back (with an optional think time) until
+ * the run ends. Requests sent during the warmup are not measured.
+ * <p>
+ * Run against a started application with
+ * {@code mvn -Pload test-compile exec:exec -Dload.args="password=... concurrency=32 duration=2m"}.
+ * Options, as key=value:
+ * <ul>
+ *   <li>{@code baseUrl} - application URL, default http://localhost:8080</li>
+ *   <li>{@code email}, {@code password} - account to sign in with; email defaults to the seeded
+ *       test user, whose password is the app's {@code app.seed.password}. The password is required</li>
+ *   <li>{@code concurrency} - virtual users, default 16</li>
+ *   <li>{@code warmup}, {@code duration} - e.g. 10s, 2m; default 10s and 60s</li>
+ *   <li>{@code thinkTime} - pause after each request, default 0ms</li>
+ *   <li>{@code mix} - weighted request types, default paging:50,category:25,burnRate:25</li>
+ *   <li>{@code seed} - random seed, so a run sends the same requests each time; default 42</li>
+ *   <li>{@code report} - directory of the JSON report, default target/load-reports</li>
+ * </ul>
+ * The report has latency percentiles, throughput and errors per request
+ * type and is written as load-yyyyMMdd-HHmmss.json.
+ */
+public final class LoadTest {
+
+    static final String LOGIN = "login";
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "baseUrl", "http://localhost:8080",
+            "email", "test@example.com",
+            "password", "",
+            "concurrency", "16",
+            "warmup", "10s",
+            "duration", "60s",
+            "thinkTime", "0ms",
+            "mix", "paging:50,category:25,burnRate:25",
+            "seed", "42",
+            "report", "target/load-reports");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final URI baseUri;
+    private final LoginRequest login;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration thinkTime;
+    private final RequestMix mix;
+    private final long seed;
+
+    private LoadTest(Map<String, String> options) {
+        baseUri = URI.create(options.get("baseUrl"));
+        login = LoginRequest.builder().email(options.get("email")).password(options.get("password")).build();
+        concurrency = Integer.parseInt(options.get("concurrency"));
+        warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        duration = DurationStyle.detectAndParse(options.get("duration"));
+        thinkTime = DurationStyle.detectAndParse(options.get("thinkTime"));
+        mix = RequestMix.parse(options.get("mix"));
+        seed = Long.parseLong(options.get("seed"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 1 || !DEFAULTS.containsKey(arg.substring(0, equals))) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected one of " + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        if (options.get("password").isEmpty()) {
+            throw new IllegalArgumentException("password is required; the seeded test user's is app.seed.password");
+        }
+
+        LoadTest loadTest = new LoadTest(options);
+        System.out.printf("%d virtual users against %s: %s warmup, %s measured, mix %s%n",
+                loadTest.concurrency, loadTest.baseUri, options.get("warmup"), options.get("duration"),
+                options.get("mix"));
+        LatencyReport report = loadTest.run(reportedOptions(options));
+
+        report.print(System.out);
+        Path file = Path.of(options.get("report"),
+                "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        report.write(file);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    private LatencyReport run(Map<String, Object> reportedOptions) {
+        LatencyReport.Samples login = new LatencyReport.Samples();
+        String token = signIn(login);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<CompletableFuture<Map<String, LatencyReport.Samples>>> users = new ArrayList<>();
+            for (int user = 0; user < concurrency; user++) {
+                SplittableRandom random = new SplittableRandom(seed + user);
+                users.add(CompletableFuture.supplyAsync(() -> runUser(token, random, measureFrom, measureUntil),
+                        executor));
+            }
+            List<Map<String, LatencyReport.Samples>> samples =
+                    new ArrayList<>(users.stream().map(CompletableFuture::join).toList());
+            samples.add(Map.of(LOGIN, login));
+            return new LatencyReport(reportedOptions, duration.toNanos() / 1e9, samples);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Send requests from the mix until the run ends.
+     *
+     * @return the user's samples by request type
+     */
+    private Map<String, LatencyReport.Samples> runUser(String token, SplittableRandom random, long measureFrom,
+            long measureUntil) {
+        Map<String, LatencyReport.Samples> samples = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            RequestMix.Operation operation = mix.next(random);
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(operation.path(random, today)))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            boolean measured = now >= measureFrom;
+            LatencyReport.Samples operationSamples =
+                    samples.computeIfAbsent(operation.label(), key -> new LatencyReport.Samples());
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long elapsed = System.nanoTime() - now;
+                if (measured) {
+                    if (response.statusCode() >= 400) {
+                        operationSamples.error();
+                    } else {
+                        operationSamples.record(elapsed);
+                    }
+                }
+            } catch (IOException e) {
+                if (measured) {
+                    operationSamples.error();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            pause();
+        }
+        return samples;
+    }
+
+    private String signIn(LatencyReport.Samples samples) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(login)))
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login as " + login.getEmail() + " failed with " + response.statusCode());
+            }
+            samples.record(System.nanoTime() - start);
+            return objectMapper.readValue(response.body(), AuthResponse.class).getToken();
+        } catch (IOException e) {
+            throw new IllegalStateException("Login request to " + baseUri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while signing in", e);
+        }
+    }
+
+    private void pause() {
+        if (!thinkTime.isZero()) {
+            try {
+                Thread.sleep(thinkTime.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Everything but the password goes into the report
+    private static Map<String, Object> reportedOptions(Map<String, String> options) {
+        Map<String, Object> reported = new LinkedHashMap<>();
+        DEFAULTS.keySet().stream().sorted().filter(key -> !key.equals("password"))
+                .forEach(key -> reported.put(key, options.get(key)));
+        reported.put("startedAt", LocalDateTime.now().toString());
+        return reported;
+    }
+}
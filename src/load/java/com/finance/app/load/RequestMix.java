@@ -0,0 +1,128 @@
+package com.finance.app.load;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The weighted mix of requests a virtual user sends, parsed from
+ * {@code paging:50,category:25,burnRate:25}.
+ */
+class RequestMix {
+
+    /**
+     * The kinds of request in a mix, each building a path the way the
+     * frontend would: early pages far more often than late ones, and the
+     * burn-rate ranges offered by its date picker.
+     */
+    enum Operation {
+
+        PAGING("paging") {
+            @Override
+            String path(SplittableRandom random, LocalDate today) {
+                String sort = random.nextInt(10) == 0 ? "amount" : "transactionDate";
+                return "/api/transactions?page=" + earlyPage(random, 10) + "&size=20&sort=" + sort + "&dir=desc";
+            }
+        },
+        CATEGORY("category") {
+            @Override
+            String path(SplittableRandom random, LocalDate today) {
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                return "/api/transactions?page=" + earlyPage(random, 3) + "&size=20&category=" + category;
+            }
+        },
+        BURN_RATE("burnRate") {
+            @Override
+            String path(SplittableRandom random, LocalDate today) {
+                int months = RANGE_MONTHS[random.nextInt(RANGE_MONTHS.length)];
+                return "/api/analytics/burn-rate?startDate=" + today.minusMonths(months) + "&endDate=" + today;
+            }
+        };
+
+        private static final String[] CATEGORIES = {
+                "Groceries", "Dining", "Transportation", "Entertainment", "Shopping", "Utilities", "Travel"
+        };
+        private static final int[] RANGE_MONTHS = {1, 3, 6, 12, 24};
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+
+        abstract String path(SplittableRandom random, LocalDate today);
+
+        // The smaller of two draws, so page 0 is the most likely
+        private static int earlyPage(SplittableRandom random, int pages) {
+            return Math.min(random.nextInt(pages), random.nextInt(pages));
+        }
+    }
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private RequestMix(Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Parse a mix such as {@code paging:50,category:25,burnRate:25}.
+     * Weights are relative and need not add up to 100.
+     *
+     * @param spec comma-separated label:weight pairs
+     * @return the mix
+     * @throws IllegalArgumentException for an unknown label or a weight below 1
+     */
+    static RequestMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected label:weight but got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must be at least 1");
+            }
+            weights.put(operation(parts[0].trim()), weight);
+        }
+        return new RequestMix(weights);
+    }
+
+    /**
+     * Pick the next operation according to the weights.
+     *
+     * @param random the virtual user's random source
+     * @return the operation
+     */
+    Operation next(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Draw " + draw + " outside the mix");
+    }
+
+    private static Operation operation(String label) {
+        for (Operation operation : Operation.values()) {
+            if (operation.label().toLowerCase(Locale.ROOT).equals(label.toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown request type '" + label + "'");
+    }
+}
@@ -0,0 +1,89 @@
+package com.finance.app.anomaly;
+
+import com.finance.app.models.MerchantChargeStats;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Screens expenses against the running statistics of their merchant.
+ * <p>
+ * A charge is a duplicate when it has the same amount as the merchant's
+ * latest charge and falls within the duplicate window of it. It is an
+ * outlier when the merchant has enough history and the charge is more than
+ * the configured number of standard deviations from the mean, and also off
+ * by more than half the mean so steady charges are not flagged for small
+ * price changes. Every charge is then folded into the statistics with
+ * Welford's update, so screening costs the same however long the history.
+ * <p>
+ * Only the latest charge is kept, so a repeat is missed when another charge
+ * at the same merchant comes between: A, B, A within the window flags
+ * nothing. Catching that would need a window of recent charges per merchant;
+ * interleaved repeats are rare enough that one charge is kept instead.
+ */
+public final class AnomalyDetector {
+
+    private static final double MIN_RELATIVE_DEVIATION = 0.5;
+
+    private final double zScore;
+    private final int minSamples;
+    private final Duration duplicateWindow;
+
+    /**
+     * @param zScore          standard deviations from the mean that make an outlier
+     * @param minSamples      charges needed at a merchant before outliers are flagged
+     * @param duplicateWindow how close in time a repeated charge counts as a duplicate
+     */
+    public AnomalyDetector(double zScore, int minSamples, Duration duplicateWindow) {
+        this.zScore = zScore;
+        this.minSamples = minSamples;
+        this.duplicateWindow = duplicateWindow;
+    }
+
+    /**
+     * Classify an expense, then add it to its merchant's statistics.
+     *
+     * @param stats     the merchant's statistics, updated in place
+     * @param amount    the expense as a positive amount
+     * @param chargedAt when the expense was charged
+     * @return the anomaly, or null if the charge looks normal
+     */
+    public AnomalyType screen(MerchantChargeStats stats, BigDecimal amount, LocalDateTime chargedAt) {
+        AnomalyType anomaly = classify(stats, amount, chargedAt);
+        record(stats, amount, chargedAt);
+        return anomaly;
+    }
+
+    private AnomalyType classify(MerchantChargeStats stats, BigDecimal amount, LocalDateTime chargedAt) {
+        if (stats.getLastChargedAt() != null
+                && stats.getLastAmount().compareTo(amount) == 0
+                && Duration.between(stats.getLastChargedAt(), chargedAt).abs().compareTo(duplicateWindow) <= 0) {
+            return AnomalyType.DUPLICATE;
+        }
+        if (stats.getChargeCount() < minSamples) {
+            return null;
+        }
+        double deviation = Math.abs(amount.doubleValue() - stats.getMeanAmount());
+        double stddev = Math.sqrt(stats.getM2() / (stats.getChargeCount() - 1));
+        if (deviation > zScore * stddev && deviation > MIN_RELATIVE_DEVIATION * stats.getMeanAmount()) {
+            return AnomalyType.OUTLIER;
+        }
+        return null;
+    }
+
+    private static void record(MerchantChargeStats stats, BigDecimal amount, LocalDateTime chargedAt) {
+        double value = amount.doubleValue();
+        long count = stats.getChargeCount() + 1;
+        double delta = value - stats.getMeanAmount();
+        double mean = stats.getMeanAmount() + delta / count;
+        stats.setChargeCount(count);
+        stats.setMeanAmount(mean);
+        stats.setM2(stats.getM2() + delta * (value - mean));
+        // Back-dated charges update the statistics but not the latest charge
+        if (stats.getLastChargedAt() == null || !chargedAt.isBefore(stats.getLastChargedAt())) {
+            stats.setLastAmount(amount);
+            stats.setLastChargedAt(chargedAt);
+        }
+    }
+}
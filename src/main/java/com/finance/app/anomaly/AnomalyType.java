@@ -0,0 +1,13 @@
+package com.finance.app.anomaly;
+
+/**
+ * Why a transaction was flagged when it was ingested.
+ */
+public enum AnomalyType {
+
+    /** Far from the amounts usually charged at the merchant. */
+    OUTLIER,
+
+    /** Same merchant and amount as a charge shortly before or after it. */
+    DUPLICATE
+}
@@ -0,0 +1,13 @@
+package com.finance.app.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the anomaly screening settings used by
+ * {@link com.finance.app.services.TransactionAnomalyService}.
+ */
+@Configuration
+@EnableConfigurationProperties(AnomalyProperties.class)
+public class AnomalyConfig {
+}
@@ -0,0 +1,26 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Anomaly screening settings bound from {@code app.anomaly.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.anomaly")
+public class AnomalyProperties {
+
+    /** Screen expenses for outliers and duplicates as they are ingested. */
+    private boolean enabled = true;
+
+    /** Standard deviations from a merchant's mean that make a charge an outlier. */
+    private double zScore = 3.0;
+
+    /** Charges needed at a merchant before outliers are flagged. */
+    private int minSamples = 5;
+
+    /** How close in time a repeated charge of the same amount counts as a duplicate. */
+    private Duration duplicateWindow = Duration.ofHours(24);
+}
@@ -1,23 +1,33 @@
 package com.finance.app.config;
 
+import com.finance.app.models.User;
 import com.finance.app.repositories.UserRepository;
+import com.finance.app.security.BoundedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
+@EnableConfigurationProperties({PasswordHashingProperties.class, LoginRateLimitProperties.class})
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository repository;
+    private final PasswordHashingProperties passwordHashingProperties;
 
     @Bean
     public UserDetailsService userDetailsService() {
@@ -25,11 +35,26 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Stores the new hash when a login finds the old one in another algorithm
+     * or at a lower cost than configured.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            repository.updatePassword(user.getId(), newPassword);
+            user.setPassword(newPassword);
+            return user;
+        };
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -38,8 +63,33 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Hashes with the configured algorithm on a bounded pool of hashing
+     * threads, and checks hashes of any supported algorithm.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(passwordHashingProperties),
+                passwordHashingProperties.getThreads(), passwordHashingProperties.getQueueCapacity(),
+                passwordHashingProperties.getTimeout());
+    }
+
+    /**
+     * Build an encoder that writes {@code {id}}-prefixed hashes in the
+     * configured algorithm. Hashes stored before the prefix was introduced
+     * are BCrypt and are still accepted; they report that they need an upgrade.
+     *
+     * @param properties the hashing settings
+     * @return the encoder
+     */
+    static DelegatingPasswordEncoder delegatingPasswordEncoder(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        Argon2PasswordEncoder argon2 = new Argon2PasswordEncoder(16, 32, properties.getArgon2Parallelism(),
+                properties.getArgon2MemoryKib(), properties.getArgon2Iterations());
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.getAlgorithm().id(), Map.of(
+                PasswordHashingProperties.Algorithm.BCRYPT.id(), bcrypt,
+                PasswordHashingProperties.Algorithm.ARGON2.id(), argon2));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
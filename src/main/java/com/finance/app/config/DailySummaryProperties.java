@@ -0,0 +1,20 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Daily spend summary settings bound from {@code app.analytics.daily-summary.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.analytics.daily-summary")
+public class DailySummaryProperties {
+
+    /** Serve analytics from the daily spend summary table when it is current. */
+    private boolean enabled = true;
+
+    /** Delay between refreshes of months changed by committed writes. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Account balance ledger settings bound from {@code app.ledger.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.ledger")
+public class LedgerProperties {
+
+    /** Take month-start balance snapshots in the background. */
+    private boolean snapshotsEnabled = true;
+
+    /** Delay between checks for accounts missing the current month's snapshot. */
+    private Duration snapshotInterval = Duration.ofHours(1);
+
+    /** Most points returned by one balance or net worth history request; enough for 5 years of days. */
+    private int maxHistoryPoints = 2000;
+}
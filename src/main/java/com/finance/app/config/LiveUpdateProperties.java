@@ -0,0 +1,38 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Server-sent live update settings bound from {@code app.live-updates.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.live-updates")
+public class LiveUpdateProperties {
+
+    /** Accept live update streams. */
+    private boolean enabled = true;
+
+    /** How long a stream stays open before the client has to reconnect. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Updates buffered per stream; a stream that falls further behind is told to resync. */
+    private int bufferSize = 32;
+
+    /** Open streams per user; opening another closes the oldest. */
+    private int maxConnectionsPerUser = 5;
+
+    /** Delay between keep-alive comments on idle streams. */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /** Threads that write buffered updates to streams. */
+    private int dispatchThreads = 4;
+
+    /** Threads that recompute month totals and budget statuses for connected users. */
+    private int totalsThreads = 2;
+
+    /** How long a stream may block a write, or stay behind after its buffer overflowed, before it is closed. */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,34 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Login rate limits bound from {@code app.auth.login-rate-limit.*}. Each
+ * client IP and each account has a token bucket that allows a burst of
+ * {@code capacity} attempts and regains one attempt per refill interval.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.auth.login-rate-limit")
+public class LoginRateLimitProperties {
+
+    /** Limit login attempts per client IP and per account. */
+    private boolean enabled = true;
+
+    /** Attempts one IP may burst. */
+    private int ipCapacity = 20;
+
+    /** Time for one IP to regain one attempt. */
+    private Duration ipRefillInterval = Duration.ofSeconds(3);
+
+    /** Attempts on one account may burst, from any IP. */
+    private int accountCapacity = 5;
+
+    /** Time for one account to regain one attempt. */
+    private Duration accountRefillInterval = Duration.ofSeconds(12);
+
+    /** Most IPs and most accounts tracked at once; the least recently seen are dropped first. */
+    private int maxTrackedKeys = 100_000;
+}
@@ -0,0 +1,26 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Transaction outbox settings bound from {@code app.outbox.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** Record transaction writes in the outbox and relay them to listeners. */
+    private boolean enabled = true;
+
+    /** Delay between relay runs once the outbox is drained. */
+    private Duration relayInterval = Duration.ofSeconds(1);
+
+    /** Changes dispatched per batch. */
+    private int batchSize = 100;
+
+    /** Failed deliveries after which a change is marked DEAD and left in the outbox for inspection. */
+    private int maxAttempts = 10;
+}
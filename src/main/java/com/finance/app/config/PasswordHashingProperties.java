@@ -0,0 +1,56 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing settings bound from {@code app.auth.password.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.auth.password")
+public class PasswordHashingProperties {
+
+    /**
+     * Hash algorithms, by the id that prefixes their stored hashes.
+     */
+    public enum Algorithm {
+        BCRYPT("bcrypt"),
+        ARGON2("argon2");
+
+        private final String id;
+
+        Algorithm(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+    }
+
+    /** Algorithm for new hashes; hashes in another algorithm are rehashed at the next login. */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /** BCrypt log2 rounds; raising it rehashes weaker hashes at the next login. */
+    private int bcryptStrength = 10;
+
+    /** Argon2id memory cost in KiB. */
+    private int argon2MemoryKib = 19456;
+
+    /** Argon2id passes over memory. */
+    private int argon2Iterations = 2;
+
+    /** Argon2id lanes. */
+    private int argon2Parallelism = 1;
+
+    /** Threads that hash passwords, which caps the cores logins can take from other requests. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Hashes waiting for a thread; logins beyond it are refused until the queue drains. */
+    private int queueCapacity = 32;
+
+    /** Longest a request waits for its hash, queueing included. */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Recurring charge detection settings bound from {@code app.recurring.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.recurring")
+public class RecurringProperties {
+
+    /** Detect recurring charges as transactions change. */
+    private boolean enabled = true;
+
+    /** Delay between scans of merchants changed by committed writes. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /** Months of history searched for recurring charges. */
+    private int lookbackMonths = 25;
+}
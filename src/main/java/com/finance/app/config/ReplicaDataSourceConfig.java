@@ -0,0 +1,90 @@
+package com.finance.app.config;
+
+import com.finance.app.datasource.ReadYourWritesTracker;
+import com.finance.app.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires a replica-routing DataSource when {@code app.datasource.replica.enabled=true}.
+ * Without it Spring Boot's single primary DataSource is used unchanged.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getLagWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties primaryProperties, ReplicaProperties replicaProperties,
+            ReadYourWritesTracker readYourWritesTracker) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            replicas.add(createReplicaPool(i, primaryProperties, replicaProperties));
+        }
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                replicaProperties.getStrategy(),
+                readYourWritesTracker,
+                ReplicaDataSourceConfig::currentUserName,
+                replicaProperties.getFailureCooldown().toMillis());
+    }
+
+    /**
+     * The lazy proxy defers fetching a physical connection until the first
+     * statement, by which point the transaction's read-only flag is set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private HikariDataSource createReplicaPool(int index, DataSourceProperties primaryProperties,
+            ReplicaProperties replicaProperties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("finance-replica-" + index);
+        replica.setJdbcUrl(replicaProperties.getUrls().get(index));
+        replica.setDriverClassName(primaryProperties.determineDriverClassName());
+        replica.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername()
+                : primaryProperties.determineUsername());
+        replica.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword()
+                : primaryProperties.determinePassword());
+        replica.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    private static String currentUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
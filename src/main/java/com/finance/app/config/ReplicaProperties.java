@@ -0,0 +1,39 @@
+package com.finance.app.config;
+
+import com.finance.app.datasource.ReplicaSelectionStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica settings bound from {@code app.datasource.replica.*}.
+ * Replicas share the primary's username/password unless overridden.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    /** Route read-only transactions to replicas. */
+    private boolean enabled = false;
+
+    /** JDBC URLs of the replica databases. */
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    private ReplicaSelectionStrategy strategy = ReplicaSelectionStrategy.ROUND_ROBIN;
+
+    /** Maximum connections per replica pool. */
+    private int maxPoolSize = 20;
+
+    /** How long a user's reads stay on the primary after they write. */
+    private Duration lagWindow = Duration.ofSeconds(5);
+
+    /** How long a failed replica is skipped before it is retried. */
+    private Duration failureCooldown = Duration.ofSeconds(30);
+}
@@ -0,0 +1,100 @@
+package com.finance.app.config;
+
+import com.finance.app.services.AccountLedgerService;
+import com.finance.app.services.DailySpendSummaryService;
+import com.finance.app.services.LiveUpdateService;
+import com.finance.app.services.RecurringDetectionService;
+import com.finance.app.services.TransactionOutboxRelay;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Enables scheduled background jobs and registers the daily spend summary
+ * refresh, the recurring charge scan, the outbox relay, the live update
+ * heartbeat and the balance snapshots at their configured intervals.
+ * <p>
+ * The relay runs on its own scheduler thread, so a long summary rebuild or
+ * recurring scan never holds back delivery of transaction changes. The
+ * other jobs share Spring's scheduler, sized by
+ * {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({DailySummaryProperties.class, RecurringProperties.class, OutboxProperties.class,
+        LiveUpdateProperties.class, LedgerProperties.class})
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final DailySpendSummaryService dailySpendSummaryService;
+    private final DailySummaryProperties dailySummaryProperties;
+    private final RecurringDetectionService recurringDetectionService;
+    private final RecurringProperties recurringProperties;
+    private final TransactionOutboxRelay transactionOutboxRelay;
+    private final OutboxProperties outboxProperties;
+    private final LiveUpdateService liveUpdateService;
+    private final LiveUpdateProperties liveUpdateProperties;
+    private final AccountLedgerService accountLedgerService;
+    private final LedgerProperties ledgerProperties;
+    private final ThreadPoolTaskScheduler relayScheduler;
+
+    public SchedulingConfig(DailySpendSummaryService dailySpendSummaryService,
+            DailySummaryProperties dailySummaryProperties,
+            RecurringDetectionService recurringDetectionService,
+            RecurringProperties recurringProperties,
+            TransactionOutboxRelay transactionOutboxRelay,
+            OutboxProperties outboxProperties,
+            LiveUpdateService liveUpdateService,
+            LiveUpdateProperties liveUpdateProperties,
+            AccountLedgerService accountLedgerService,
+            LedgerProperties ledgerProperties) {
+        this.dailySpendSummaryService = dailySpendSummaryService;
+        this.dailySummaryProperties = dailySummaryProperties;
+        this.recurringDetectionService = recurringDetectionService;
+        this.recurringProperties = recurringProperties;
+        this.transactionOutboxRelay = transactionOutboxRelay;
+        this.outboxProperties = outboxProperties;
+        this.liveUpdateService = liveUpdateService;
+        this.liveUpdateProperties = liveUpdateProperties;
+        this.accountLedgerService = accountLedgerService;
+        this.ledgerProperties = ledgerProperties;
+        this.relayScheduler = createRelayScheduler();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (dailySummaryProperties.isEnabled()) {
+            registrar.addFixedDelayTask(dailySpendSummaryService::refresh,
+                    dailySummaryProperties.getRefreshInterval());
+        }
+        if (recurringProperties.isEnabled()) {
+            registrar.addFixedDelayTask(recurringDetectionService::refresh,
+                    recurringProperties.getRefreshInterval());
+        }
+        if (outboxProperties.isEnabled()) {
+            relayScheduler.scheduleWithFixedDelay(transactionOutboxRelay::drain, outboxProperties.getRelayInterval());
+        }
+        if (liveUpdateProperties.isEnabled()) {
+            registrar.addFixedDelayTask(liveUpdateService::heartbeat, liveUpdateProperties.getHeartbeatInterval());
+        }
+        if (ledgerProperties.isSnapshotsEnabled()) {
+            registrar.addFixedDelayTask(accountLedgerService::snapshot, ledgerProperties.getSnapshotInterval());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayScheduler.shutdown();
+    }
+
+    private static ThreadPoolTaskScheduler createRelayScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("outbox-relay-");
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -0,0 +1,13 @@
+package com.finance.app.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the transaction snapshot settings used by
+ * {@link com.finance.app.services.TransactionSnapshotService}.
+ */
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+}
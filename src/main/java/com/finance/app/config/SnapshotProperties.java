@@ -0,0 +1,36 @@
+package com.finance.app.config;
+
+import com.finance.app.snapshot.SnapshotStorage;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Transaction snapshot settings bound from {@code app.analytics.snapshot.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.analytics.snapshot")
+public class SnapshotProperties {
+
+    /** Serve analytics from per-user in-memory snapshots. */
+    private boolean enabled = false;
+
+    /** Upper bound on the bytes held by all snapshots. */
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+
+    private SnapshotStorage storage = SnapshotStorage.HEAP;
+
+    /** Directory for slab files when storage is MAPPED. */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "finance-snapshots");
+
+    /** Size of each off-heap slab; a power of two. */
+    private DataSize slabSize = DataSize.ofMegabytes(4);
+
+    /** Write snapshots to segment files on shutdown and map them on startup. */
+    private boolean persistSegments = false;
+
+    /** Directory for snapshot segment files. */
+    private Path segmentDirectory = Path.of(System.getProperty("java.io.tmpdir"), "finance-snapshot-segments");
+}
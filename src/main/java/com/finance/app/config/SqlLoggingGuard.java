@@ -0,0 +1,69 @@
+package com.finance.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup check for the prod profile.
+ * Warns when debug SQL logging is left on, since it serialises every
+ * statement to the log and dominates request latency under load.
+ */
+@Component
+@Profile("prod")
+public class SqlLoggingGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlLoggingGuard.class);
+    private static final String HIBERNATE_SQL_LOGGER = "org.hibernate.SQL";
+    private static final String HIBERNATE_BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    private final Environment environment;
+
+    public SqlLoggingGuard(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Log a warning listing every SQL debug setting that is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkSqlLogging() {
+        List<String> enabled = findEnabledSqlLogging();
+        if (!enabled.isEmpty()) {
+            logger.warn("Debug SQL logging is enabled under the prod profile: {}. "
+                    + "Disable it to avoid per-statement logging overhead.", enabled);
+        }
+    }
+
+    /**
+     * Collect the names of the SQL debug settings that are currently on.
+     *
+     * @return list of enabled setting names, empty when none are on
+     */
+    List<String> findEnabledSqlLogging() {
+        List<String> enabled = new ArrayList<>();
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            enabled.add("spring.jpa.show-sql");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false)) {
+            enabled.add("hibernate.format_sql");
+        }
+        if (environment.getProperty("spring.jpa.properties.hibernate.generate_statistics", Boolean.class, false)) {
+            enabled.add("hibernate.generate_statistics");
+        }
+        if (LoggerFactory.getLogger(HIBERNATE_SQL_LOGGER).isDebugEnabled()) {
+            enabled.add(HIBERNATE_SQL_LOGGER);
+        }
+        if (LoggerFactory.getLogger(HIBERNATE_BIND_LOGGER).isTraceEnabled()) {
+            enabled.add(HIBERNATE_BIND_LOGGER);
+        }
+        return enabled;
+    }
+}
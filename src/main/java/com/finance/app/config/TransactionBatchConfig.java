@@ -0,0 +1,13 @@
+package com.finance.app.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the batch write settings used by
+ * {@link com.finance.app.services.TransactionBatchService}.
+ */
+@Configuration
+@EnableConfigurationProperties(TransactionBatchProperties.class)
+public class TransactionBatchConfig {
+}
@@ -0,0 +1,21 @@
+package com.finance.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Batch write settings bound from {@code app.transactions.batch.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.transactions.batch")
+public class TransactionBatchProperties {
+
+    /** Most items accepted in one batch request. */
+    private int maxItems = 1000;
+
+    /** Rows sent per JDBC batch round trip. */
+    private int jdbcBatchSize = 200;
+
+    /** Transactions changed per database transaction by a bulk recategorization. */
+    private int recategorizeChunkSize = 5000;
+}
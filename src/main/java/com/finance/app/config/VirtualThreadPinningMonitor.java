@@ -0,0 +1,90 @@
+package com.finance.app.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events and logs where virtual
+ * threads pin their carrier, attributing each event to the first JDBC driver
+ * or Hikari frame on the stack. On Java 17 the event never fires.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.diagnostics.pinning", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> WATCHED_PACKAGES = List.of("org.postgresql.", "com.zaxxer.hikari.");
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinsBySource = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${app.diagnostics.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started with threshold {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Snapshot of pin counts keyed by the frame that caused them.
+     *
+     * @return map of source frame to number of pinning events
+     */
+    public Map<String, Long> getPinCounts() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        pinsBySource.forEach((source, count) -> counts.put(source, count.sum()));
+        return counts;
+    }
+
+    void onPinned(RecordedEvent event) {
+        String source = findSource(event.getStackTrace());
+        pinsBySource.computeIfAbsent(source, key -> new LongAdder()).increment();
+        logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), source);
+    }
+
+    private String findSource(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (WATCHED_PACKAGES.stream().anyMatch(type::startsWith)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+}
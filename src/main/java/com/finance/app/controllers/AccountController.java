@@ -0,0 +1,157 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.AccountDTO;
+import com.finance.app.dto.BalancePointDTO;
+import com.finance.app.dto.NetWorthPointDTO;
+import com.finance.app.ledger.BalanceInterval;
+import com.finance.app.services.AccountLedgerService;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * REST Controller for accounts, their balances over time and net worth.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@Tag(name = "Accounts", description = "Accounts, balance history and net worth")
+public class AccountController {
+
+    // Clients may keep the response but must revalidate it with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final AccountLedgerService accountLedgerService;
+    private final CurrentUserService currentUserService;
+    private final DataVersionService dataVersionService;
+
+    public AccountController(AccountLedgerService accountLedgerService,
+            CurrentUserService currentUserService,
+            DataVersionService dataVersionService) {
+        this.accountLedgerService = accountLedgerService;
+        this.currentUserService = currentUserService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Get the user's accounts with their current balances.
+     *
+     * @param request the web request, used for If-None-Match
+     * @return accounts ordered by name, or 304 if the user's data is unchanged
+     */
+    @GetMapping
+    @Operation(summary = "Get accounts", description = "Returns the user's accounts with opening and current balances")
+    public ResponseEntity<List<AccountDTO>> getAccounts(WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(accountLedgerService.getAccounts());
+    }
+
+    /**
+     * Get the user's net worth, the sum of all account balances, over a
+     * date range.
+     *
+     * @param startDate optional start date (defaults to 30 days or 12 months before end date)
+     * @param endDate   optional end date (defaults to current date)
+     * @param interval  DAY for a point per day, MONTH for a point per month end
+     * @param request   the web request, used for If-None-Match
+     * @return net worth in date order, 400 for an invalid range, or 304 if the user's data is unchanged
+     */
+    @GetMapping("/net-worth")
+    @Operation(summary = "Get net worth history", description = "Returns the sum of all account balances at the end of each day or month in the date range")
+    public ResponseEntity<List<NetWorthPointDTO>> getNetWorthHistory(
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "DAY or MONTH") @RequestParam(defaultValue = "DAY") BalanceInterval interval,
+            WebRequest request) {
+
+        if (!accountLedgerService.validateHistory(startDate, endDate, interval).isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(accountLedgerService.getNetWorthHistory(startDate, endDate, interval));
+    }
+
+    /**
+     * Get an account's balance at the end of a day.
+     *
+     * @param accountId the account UUID
+     * @param date      optional day (defaults to current date)
+     * @param request   the web request, used for If-None-Match
+     * @return the balance, 404 if the account is not the user's, or 304 if the user's data is unchanged
+     */
+    @GetMapping("/{accountId}/balance")
+    @Operation(summary = "Get balance", description = "Returns the account balance at the end of the given day")
+    public ResponseEntity<BalancePointDTO> getBalance(
+            @PathVariable UUID accountId,
+            @Parameter(description = "Day (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Optional<BalancePointDTO> balance = accountLedgerService.getBalance(accountId, date);
+        if (balance.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(balance.get());
+    }
+
+    /**
+     * Get an account's end-of-day balances over a date range.
+     *
+     * @param accountId the account UUID
+     * @param startDate optional start date (defaults to 30 days or 12 months before end date)
+     * @param endDate   optional end date (defaults to current date)
+     * @param interval  DAY for a point per day, MONTH for a point per month end
+     * @param request   the web request, used for If-None-Match
+     * @return balances in date order, 400 for an invalid range, 404 if the account is not the user's,
+     *         or 304 if the user's data is unchanged
+     */
+    @GetMapping("/{accountId}/balance-history")
+    @Operation(summary = "Get balance history", description = "Returns the account balance at the end of each day or month in the date range")
+    public ResponseEntity<List<BalancePointDTO>> getBalanceHistory(
+            @PathVariable UUID accountId,
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "DAY or MONTH") @RequestParam(defaultValue = "DAY") BalanceInterval interval,
+            WebRequest request) {
+
+        if (!accountLedgerService.validateHistory(startDate, endDate, interval).isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Optional<List<BalancePointDTO>> history =
+                accountLedgerService.getBalanceHistory(accountId, startDate, endDate, interval);
+        if (history.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(history.get());
+    }
+}
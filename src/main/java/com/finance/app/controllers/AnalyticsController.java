@@ -1,16 +1,24 @@
 package com.finance.app.controllers;
 
 import com.finance.app.dto.BurnRateDTO;
+import com.finance.app.dto.CategoryBreakdownDTO;
+import com.finance.app.dto.SpendingForecastDTO;
 import com.finance.app.services.AnalyticsService;
+import com.finance.app.services.CategoryAnalyticsService;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.SpendingForecastService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,10 +31,26 @@ import java.util.List;
 @Tag(name = "Analytics", description = "Financial analytics and reporting endpoints")
 public class AnalyticsController {
 
+    private static final int MAX_MERCHANT_LIMIT = 50;
+    // Clients may keep the response but must revalidate it with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AnalyticsService analyticsService;
+    private final CategoryAnalyticsService categoryAnalyticsService;
+    private final CurrentUserService currentUserService;
+    private final DataVersionService dataVersionService;
+    private final SpendingForecastService spendingForecastService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService,
+            CategoryAnalyticsService categoryAnalyticsService,
+            CurrentUserService currentUserService,
+            DataVersionService dataVersionService,
+            SpendingForecastService spendingForecastService) {
         this.analyticsService = analyticsService;
+        this.categoryAnalyticsService = categoryAnalyticsService;
+        this.currentUserService = currentUserService;
+        this.dataVersionService = dataVersionService;
+        this.spendingForecastService = spendingForecastService;
     }
 
     /**
@@ -35,15 +59,73 @@ public class AnalyticsController {
      *
      * @param startDate optional start date (defaults to 4 months before end date)
      * @param endDate   optional end date (defaults to current date)
-     * @return List of monthly burn rate data
+     * @param request   the web request, used for If-None-Match
+     * @return List of monthly burn rate data, or 304 if the user's data is unchanged
      */
     @GetMapping("/burn-rate")
     @Operation(summary = "Get burn rate", description = "Returns monthly spending totals for the specified date range")
     public ResponseEntity<List<BurnRateDTO>> getBurnRate(
             @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
         List<BurnRateDTO> burnRate = analyticsService.calculateBurnRate(startDate, endDate);
-        return ResponseEntity.ok(burnRate);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(burnRate);
+    }
+
+    /**
+     * Get spending per category, top merchants and month-over-month deltas
+     * for the specified date range.
+     *
+     * @param startDate     optional start date (defaults to the start of the 6-month window ending at end date)
+     * @param endDate       optional end date (defaults to current date)
+     * @param merchantLimit number of top merchants, default 5, max 50
+     * @param request       the web request, used for If-None-Match
+     * @return category breakdown, or 304 if the user's data is unchanged
+     */
+    @GetMapping("/categories")
+    @Operation(summary = "Get category breakdown", description = "Returns spend per category, top merchants and month-over-month changes for the specified date range")
+    public ResponseEntity<CategoryBreakdownDTO> getCategoryBreakdown(
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Number of top merchants") @RequestParam(defaultValue = "5") int merchantLimit,
+            WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        int limit = Math.max(1, Math.min(merchantLimit, MAX_MERCHANT_LIMIT));
+        CategoryBreakdownDTO breakdown = categoryAnalyticsService.getCategoryBreakdown(startDate, endDate, limit);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(breakdown);
+    }
+
+    /**
+     * Get the current month's spending pace, projected month-end spend and
+     * rolling 3, 6 and 12-month averages.
+     *
+     * @param asOf    optional last day to count (defaults to current date)
+     * @param request the web request, used for If-None-Match
+     * @return spending forecast, or 304 if the user's data is unchanged
+     */
+    @GetMapping("/forecast")
+    @Operation(summary = "Get spending forecast", description = "Returns the month-to-date pace, projected month-end spend against budget and rolling monthly averages")
+    public ResponseEntity<SpendingForecastDTO> getForecast(
+            @Parameter(description = "Forecast as of (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        SpendingForecastDTO forecast = spendingForecastService.getForecast(asOf);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(forecast);
     }
 }
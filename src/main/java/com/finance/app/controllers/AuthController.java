@@ -3,22 +3,36 @@ package com.finance.app.controllers;
 import com.finance.app.dto.AuthResponse;
 import com.finance.app.dto.LoginRequest;
 import com.finance.app.dto.RegisterRequest;
+import com.finance.app.dto.UserDTO;
+import com.finance.app.models.User;
+import com.finance.app.security.LoginRateLimiter;
+import com.finance.app.security.PasswordHashingBusyException;
 import com.finance.app.services.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Tag(name = "Authentication", description = "Endpoints for user authentication")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Create a new user account and return JWT")
@@ -26,16 +40,61 @@ public class AuthController {
         return ResponseEntity.ok(authService.register(request));
     }
 
+    /**
+     * Authenticate a user, within the per-IP and per-account attempt limits.
+     *
+     * @param request     the credentials
+     * @param httpRequest the servlet request, for the client address
+     * @return the JWT, or 429 with Retry-After when the client or account is over its limit
+     */
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticate user and return JWT")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        Duration retryAfter = loginRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), request.getEmail());
+        if (!retryAfter.isZero()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(retryAfter))
+                    .build();
+        }
         return ResponseEntity.ok(authService.login(request));
     }
 
+    /**
+     * Answer 503 when the password hashing threads are saturated, so that a
+     * login storm is shed instead of queueing without bound.
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Void> hashingBusy(PasswordHashingBusyException e) {
+        logger.warn("Refusing authentication request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
+    /**
+     * Get the authenticated user's profile.
+     * Built from the principal loaded during authentication, so no query is
+     * issued and none of the user's accounts or budgets are serialized.
+     *
+     * @return the user's profile
+     */
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Get authenticated user details")
-    public ResponseEntity<Object> getCurrentUser() {
+    public ResponseEntity<UserDTO> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return ResponseEntity.ok(authentication.getPrincipal());
+        if (!(authentication.getPrincipal() instanceof User user)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(UserDTO.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build());
+    }
+
+    private static String retryAfterSeconds(Duration retryAfter) {
+        // Whole seconds, rounded up so a client retrying on time is let through
+        return String.valueOf((retryAfter.toMillis() + 999) / 1000);
     }
 }
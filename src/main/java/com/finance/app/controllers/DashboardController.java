@@ -0,0 +1,76 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.DashboardSummaryDTO;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DashboardService;
+import com.finance.app.services.DataVersionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for the combined dashboard endpoint.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@Tag(name = "Dashboard", description = "Combined dashboard data in a single request")
+public class DashboardController {
+
+    private static final int MAX_RECENT_LIMIT = 50;
+    // Clients may keep the response but must revalidate it with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final DashboardService dashboardService;
+    private final CurrentUserService currentUserService;
+    private final DataVersionService dataVersionService;
+
+    public DashboardController(DashboardService dashboardService,
+            CurrentUserService currentUserService,
+            DataVersionService dataVersionService) {
+        this.dashboardService = dashboardService;
+        this.currentUserService = currentUserService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Get burn rate, totals, recent transactions, category breakdown and
+     * budget status in one response. Sections are computed concurrently.
+     *
+     * @param startDate   optional start date (defaults to 4 months before end date)
+     * @param endDate     optional end date (defaults to current date)
+     * @param recentLimit number of recent transactions, default 10, max 50
+     * @param request     the web request, used for If-None-Match
+     * @return dashboard summary, or 304 if the user's data is unchanged
+     */
+    @GetMapping("/summary")
+    @Operation(summary = "Get dashboard summary", description = "Returns every dashboard section in one response; sections that time out are listed in unavailableSections")
+    public ResponseEntity<DashboardSummaryDTO> getSummary(
+            @Parameter(description = "Start date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Number of recent transactions") @RequestParam(defaultValue = "10") int recentLimit,
+            WebRequest request) {
+
+        String etag = dataVersionService.userETag(currentUserService.getCurrentUserId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        int limit = Math.max(1, Math.min(recentLimit, MAX_RECENT_LIMIT));
+        DashboardSummaryDTO summary = dashboardService.getSummary(startDate, endDate, limit);
+        if (summary.getUnavailableSections() != null && !summary.getUnavailableSections().isEmpty()) {
+            // Never let a client revalidate a partial summary; the next poll must recompute it
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(summary);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(summary);
+    }
+}
@@ -0,0 +1,53 @@
+package com.finance.app.controllers;
+
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.LiveUpdateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the per-user live update stream.
+ */
+@RestController
+@RequestMapping("/api/live")
+@Tag(name = "Live Updates", description = "Server-sent events pushed when the user's data changes")
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+    private final CurrentUserService currentUserService;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService, CurrentUserService currentUserService) {
+        this.liveUpdateService = liveUpdateService;
+        this.currentUserService = currentUserService;
+    }
+
+    /**
+     * Open a stream of updates for the authenticated user. Events are
+     * {@code transaction}, {@code month-total}, {@code budgets} and
+     * {@code resync}, after which the client should refetch. Like every
+     * API call the stream needs the bearer token in the Authorization header,
+     * which browser {@code EventSource} cannot send, so browsers read it with
+     * fetch (see {@code frontend/src/lib/live-updates.ts}).
+     *
+     * @return the event stream, or 404 when live updates are disabled
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live updates", description = "Pushes transaction writes, recomputed month totals and budget status instead of polling")
+    public ResponseEntity<SseEmitter> stream() {
+        if (!liveUpdateService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                // Stops nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(liveUpdateService.connect(currentUserService.getCurrentUserId()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.RecurringSeriesDTO;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.RecurringDetectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for detected subscriptions and other recurring charges.
+ */
+@RestController
+@RequestMapping("/api/recurring")
+@Tag(name = "Recurring", description = "Subscriptions and other recurring charges")
+public class RecurringController {
+
+    // Clients may keep the response but must revalidate it with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final RecurringDetectionService recurringDetectionService;
+    private final CurrentUserService currentUserService;
+    private final DataVersionService dataVersionService;
+
+    public RecurringController(RecurringDetectionService recurringDetectionService,
+            CurrentUserService currentUserService,
+            DataVersionService dataVersionService) {
+        this.recurringDetectionService = recurringDetectionService;
+        this.currentUserService = currentUserService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * Get the recurring charges detected in the user's expenses.
+     *
+     * @param includeInactive whether to include series that have stopped
+     * @param request         the web request, used for If-None-Match
+     * @return recurring series ordered by merchant, or 304 if the user's data is unchanged
+     */
+    @GetMapping
+    @Operation(summary = "Get recurring charges", description = "Returns subscriptions and other charges repeating weekly to yearly, with their monthly cost")
+    public ResponseEntity<List<RecurringSeriesDTO>> getRecurringSeries(
+            @Parameter(description = "Include series whose next charge is overdue") @RequestParam(defaultValue = "false") boolean includeInactive,
+            WebRequest request) {
+
+        UUID userId = currentUserService.getCurrentUserId();
+        if (recurringDetectionService.isPending(userId)) {
+            // The latest writes are not scanned yet; the next poll must see the result
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore())
+                    .body(recurringDetectionService.getRecurringSeries(includeInactive));
+        }
+
+        String etag = dataVersionService.userETag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE)
+                .body(recurringDetectionService.getRecurringSeries(includeInactive));
+    }
+}
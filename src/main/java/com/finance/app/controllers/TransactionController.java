@@ -1,6 +1,14 @@
 package com.finance.app.controllers;
 
+import com.finance.app.dto.RecategorizeRequest;
+import com.finance.app.dto.RecategorizeResultDTO;
+import com.finance.app.dto.TransactionBatchResultDTO;
+import com.finance.app.dto.TransactionCreateRequest;
 import com.finance.app.dto.TransactionDTO;
+import com.finance.app.dto.TransactionUpdateRequest;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.RecategorizationService;
+import com.finance.app.services.TransactionBatchService;
 import com.finance.app.services.TransactionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,12 +16,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * REST Controller for Transaction API endpoints.
- * Handles paginated GET requests with optional category filtering.
+ * Handles paginated GET requests with optional category filtering, batch
+ * creates and updates, and bulk recategorization.
  */
 @RestController
 @RequestMapping("/api/transactions")
@@ -22,10 +36,20 @@ public class TransactionController {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
 
+    // Clients may keep the response but must revalidate it with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TransactionService transactionService;
+    private final DataVersionService dataVersionService;
+    private final TransactionBatchService transactionBatchService;
+    private final RecategorizationService recategorizationService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, DataVersionService dataVersionService,
+            TransactionBatchService transactionBatchService, RecategorizationService recategorizationService) {
         this.transactionService = transactionService;
+        this.dataVersionService = dataVersionService;
+        this.transactionBatchService = transactionBatchService;
+        this.recategorizationService = recategorizationService;
     }
 
     /**
@@ -38,7 +62,8 @@ public class TransactionController {
      * @param category optional category filter
      * @param sort     optional sort field, default transactionDate
      * @param dir      sort direction (asc/desc), default desc
-     * @return paginated list of transactions
+     * @param request  the web request, used for If-None-Match
+     * @return paginated list of transactions, or 304 if no transaction changed
      */
     @GetMapping
     public ResponseEntity<Page<TransactionDTO>> getTransactions(
@@ -46,7 +71,14 @@ public class TransactionController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "transactionDate") String sort,
-            @RequestParam(defaultValue = "desc") String dir) {
+            @RequestParam(defaultValue = "desc") String dir,
+            WebRequest request) {
+
+        // The listing is not scoped to one user, so it is versioned by every write
+        String etag = dataVersionService.globalETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
         logger.info("Fetching transactions: page={}, size={}, category={}", page, size, category);
 
@@ -70,6 +102,67 @@ public class TransactionController {
                 transactions.getNumberOfElements(),
                 transactions.getTotalElements());
 
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(transactions);
+    }
+
+    /**
+     * Create many transactions in the authenticated user's accounts at once.
+     * Valid items are applied together; invalid ones are rejected with their
+     * errors.
+     *
+     * Example: POST /api/transactions/batch
+     *
+     * @param requests transactions to create
+     * @return per-item results in request order, or 413 if the batch is too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResultDTO> createTransactions(
+            @RequestBody List<TransactionCreateRequest> requests) {
+        if (requests.size() > transactionBatchService.getMaxItems()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        TransactionBatchResultDTO result = transactionBatchService.createAll(requests);
+        logger.info("Batch create: {} applied, {} rejected", result.getApplied(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Update the category, clean description or status of many of the
+     * authenticated user's transactions at once. Valid items are applied
+     * together; invalid ones are rejected with their errors.
+     *
+     * Example: PATCH /api/transactions/batch
+     *
+     * @param requests changes to apply
+     * @return per-item results in request order, or 413 if the batch is too large
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<TransactionBatchResultDTO> updateTransactions(
+            @RequestBody List<TransactionUpdateRequest> requests) {
+        if (requests.size() > transactionBatchService.getMaxItems()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        TransactionBatchResultDTO result = transactionBatchService.updateAll(requests);
+        logger.info("Batch update: {} applied, {} rejected", result.getApplied(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Move the authenticated user's transactions matching a category and/or
+     * merchant, optionally within a date range, to another category.
+     *
+     * Example: POST /api/transactions/recategorize
+     * {"fromCategory": "Dining", "toCategory": "Restaurants"}
+     *
+     * @param request what to match and the new category
+     * @return the number of transactions moved, or 400 with the problems found
+     */
+    @PostMapping("/recategorize")
+    public ResponseEntity<RecategorizeResultDTO> recategorize(@RequestBody RecategorizeRequest request) {
+        List<String> errors = recategorizationService.validate(request);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(RecategorizeResultDTO.builder().errors(errors).build());
+        }
+        return ResponseEntity.ok(recategorizationService.recategorize(request));
     }
 }
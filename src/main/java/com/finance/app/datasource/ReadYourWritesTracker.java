@@ -0,0 +1,59 @@
+package com.finance.app.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary
+ * until replicas have had time to catch up (e.g. right after an import).
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long lagWindowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration lagWindow) {
+        this(lagWindow, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration lagWindow, Clock clock) {
+        this.lagWindowMillis = lagWindow.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Record that the given user just performed a write.
+     *
+     * @param userKey the user identifier, ignored when null
+     */
+    public void recordWrite(String userKey) {
+        if (userKey == null || lagWindowMillis <= 0) {
+            return;
+        }
+        lastWriteMillis.put(userKey, clock.millis());
+    }
+
+    /**
+     * Check whether the user wrote within the replica lag window.
+     *
+     * @param userKey the user identifier
+     * @return true if reads for this user must go to the primary
+     */
+    public boolean isPinnedToPrimary(String userKey) {
+        if (userKey == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteMillis.get(userKey);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.millis() - writtenAt > lagWindowMillis) {
+            lastWriteMillis.remove(userKey, writtenAt);
+            return false;
+        }
+        return true;
+    }
+}
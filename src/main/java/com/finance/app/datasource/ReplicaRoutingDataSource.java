@@ -0,0 +1,170 @@
+package com.finance.app.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends read-only transactions to replica pools and
+ * everything else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the read-only flag
+ * of the surrounding transaction is known when the connection is fetched.
+ * Falls back to the primary when no replica is healthy or the current user
+ * wrote recently (read-your-writes). The user is taken from the
+ * {@link RoutingHint} when one is set, otherwise from the supplier.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReplicaSelectionStrategy strategy;
+    private final ReadYourWritesTracker writeTracker;
+    private final Supplier<String> currentUser;
+    private final long failureCooldownMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLongArray replicaDownUntil;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+            ReplicaSelectionStrategy strategy, ReadYourWritesTracker writeTracker,
+            Supplier<String> currentUser, long failureCooldownMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+        this.writeTracker = writeTracker;
+        this.currentUser = currentUser;
+        this.failureCooldownMillis = failureCooldownMillis;
+        this.replicaDownUntil = new AtomicLongArray(this.replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!shouldUseReplica()) {
+            return primary.getConnection();
+        }
+        for (int index : candidateOrder()) {
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLException e) {
+                replicaDownUntil.set(index, System.currentTimeMillis() + failureCooldownMillis);
+                logger.warn("Replica {} unavailable, excluding it for {} ms", index, failureCooldownMillis, e);
+            }
+        }
+        logger.debug("No healthy replica available, routing read-only transaction to primary");
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Decide whether the current transaction may read from a replica.
+     * Read-write transactions record the current user when they commit, so
+     * that their following reads are pinned to the primary for the lag
+     * window however long the transaction ran.
+     *
+     * @return true if a replica should serve this connection
+     */
+    boolean shouldUseReplica() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = RoutingHint.user() != null ? RoutingHint.user() : currentUser.get();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteOnCommit(user);
+            }
+            return false;
+        }
+        return !replicas.isEmpty() && !RoutingHint.primaryRequired() && !writeTracker.isPinnedToPrimary(user);
+    }
+
+    private void recordWriteOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeTracker.recordWrite(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeTracker.recordWrite(user);
+            }
+        });
+    }
+
+    /**
+     * Order healthy replicas by the configured selection strategy.
+     *
+     * @return replica indexes to try, best candidate first
+     */
+    List<Integer> candidateOrder() {
+        long now = System.currentTimeMillis();
+        int size = replicas.size();
+        int start = strategy == ReplicaSelectionStrategy.LEAST_CONNECTIONS
+                ? leastBusyReplica().orElse(0)
+                : Math.floorMod(nextReplica.getAndIncrement(), size);
+
+        List<Integer> order = new ArrayList<>(size);
+        for (int offset = 0; offset < size; offset++) {
+            int index = (start + offset) % size;
+            if (replicaDownUntil.get(index) <= now) {
+                order.add(index);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Close the replica pools owned by this router. The primary is managed separately.
+     */
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica pool", e);
+                }
+            }
+        }
+    }
+
+    private Optional<Integer> leastBusyReplica() {
+        Integer best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int active = activeConnections(replicas.get(i));
+            if (active < bestActive) {
+                bestActive = active;
+                best = i;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+        return 0;
+    }
+}
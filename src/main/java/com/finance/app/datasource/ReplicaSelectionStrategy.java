@@ -0,0 +1,11 @@
+package com.finance.app.datasource;
+
+/**
+ * How a read-only transaction picks one of the configured replica pools.
+ */
+public enum ReplicaSelectionStrategy {
+    /** Cycle through replicas in order. */
+    ROUND_ROBIN,
+    /** Pick the replica pool with the fewest active connections. */
+    LEAST_CONNECTIONS
+}
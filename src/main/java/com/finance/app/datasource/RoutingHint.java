@@ -0,0 +1,74 @@
+package com.finance.app.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Tells {@link ReplicaRoutingDataSource} who the current work is for when
+ * it runs off the request thread, where there is no security context, so
+ * the user's read-your-writes pin still applies. Work that reacts to a
+ * commit can instead demand the primary outright.
+ */
+public final class RoutingHint {
+
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private RoutingHint() {
+    }
+
+    /**
+     * Run work on behalf of a user, restoring the previous hint afterwards.
+     *
+     * @param user the user identifier the write tracker knows the user by
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return the work's result
+     */
+    public static <T> T forUser(String user, Supplier<T> work) {
+        String previous = USER.get();
+        USER.set(user);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                USER.set(previous);
+            } else {
+                USER.remove();
+            }
+        }
+    }
+
+    /**
+     * Run work with every read on the primary. For recomputes triggered by a
+     * commit, which must see that commit even if the replicas lag behind.
+     *
+     * @param work the work to run
+     */
+    public static void onPrimary(Runnable work) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            work.run();
+        } finally {
+            if (previous != null) {
+                PRIMARY.set(previous);
+            } else {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the user the current thread works for, or null when no hint is set
+     */
+    public static String user() {
+        return USER.get();
+    }
+
+    /**
+     * @return true while running inside {@link #onPrimary(Runnable)}
+     */
+    public static boolean primaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+}
@@ -0,0 +1,24 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO for an account with its current balance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDTO {
+
+    private UUID id;
+    private String accountName;
+    private BigDecimal openingBalance;
+    private BigDecimal balance;
+}
@@ -0,0 +1,22 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for an account's balance at the end of a day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePointDTO {
+
+    private LocalDate date;
+    private BigDecimal balance;
+}
@@ -0,0 +1,24 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a batch write, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    private int index;
+    private UUID id;
+    private String result; // CREATED, UPDATED, REJECTED
+    private List<String> errors;
+}
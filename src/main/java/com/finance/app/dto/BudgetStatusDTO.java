@@ -0,0 +1,24 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a category budget compared against month-to-date spending.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDTO {
+
+    private String category;
+    private BigDecimal limitAmount;
+    private BigDecimal spent;
+    private BigDecimal percentUsed;
+    private String status; // ON_TRACK, WARNING, OVER
+}
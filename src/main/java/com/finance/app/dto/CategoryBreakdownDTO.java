@@ -0,0 +1,25 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for category spending analytics over a date range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBreakdownDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<CategorySpendDTO> categories;
+    private List<MerchantSpendDTO> topMerchants;
+    private List<CategoryMonthDeltaDTO> monthOverMonth;
+}
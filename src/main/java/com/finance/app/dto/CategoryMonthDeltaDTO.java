@@ -0,0 +1,25 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one category's spend in a month compared with the previous month.
+ * percentChange is null when the previous month had no spend.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthDeltaDTO {
+
+    private String category;
+    private String month; // yyyy-MM
+    private BigDecimal totalSpent;
+    private BigDecimal change;
+    private BigDecimal percentChange;
+}
@@ -0,0 +1,32 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO combining every dashboard section in one response.
+ * Sections that failed or timed out are null and listed in unavailableSections.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpenses;
+    private List<BurnRateDTO> burnRate;
+    private List<TransactionDTO> recentTransactions;
+    private List<CategorySpendDTO> categoryBreakdown;
+    private List<BudgetStatusDTO> budgetStatus;
+    private SpendingForecastDTO spendingForecast;
+    private List<String> unavailableSections;
+}
@@ -0,0 +1,22 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for spending at a single merchant.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantSpendDTO {
+
+    private String merchant;
+    private BigDecimal totalSpent;
+    private long transactionCount;
+}
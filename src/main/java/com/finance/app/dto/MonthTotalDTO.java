@@ -0,0 +1,23 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Live update with a month's recomputed totals after a write touched it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthTotalDTO {
+
+    private YearMonth month;
+    private BigDecimal totalIncome;
+    private BigDecimal totalSpent;
+}
@@ -0,0 +1,25 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one closed month's spending with trailing rolling averages.
+ * An average is null until the user has spending history for that month.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySpendTrendDTO {
+
+    private String monthName;
+    private BigDecimal totalSpent;
+    private BigDecimal rollingAverage3;
+    private BigDecimal rollingAverage6;
+    private BigDecimal rollingAverage12;
+}
@@ -0,0 +1,26 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Moves the authenticated user's matching transactions to another category.
+ * At least one of fromCategory and merchant must be given; the date range
+ * is optional and inclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecategorizeRequest {
+
+    private String fromCategory;
+    private String merchant;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String toCategory;
+}
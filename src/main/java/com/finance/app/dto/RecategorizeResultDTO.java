@@ -0,0 +1,23 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response for a bulk recategorization: the number of transactions moved,
+ * or why the request was refused.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecategorizeResultDTO {
+
+    private long updated;
+    private int chunks;
+    private List<String> errors;
+}
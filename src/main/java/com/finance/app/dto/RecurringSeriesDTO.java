@@ -0,0 +1,33 @@
+package com.finance.app.dto;
+
+import com.finance.app.recurring.Cadence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for a detected subscription or other recurring charge.
+ * A series is inactive once its next charge is overdue beyond the cadence's
+ * tolerance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringSeriesDTO {
+
+    private String merchant;
+    private String category;
+    private Cadence cadence;
+    private BigDecimal typicalAmount;
+    private BigDecimal monthlyCost;
+    private int occurrences;
+    private LocalDate firstSeen;
+    private LocalDate lastSeen;
+    private LocalDate nextExpected;
+    private boolean active;
+}
@@ -0,0 +1,37 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the current month's spending pace and projected month-end spend,
+ * compared with the user's rolling averages and total budget.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingForecastDTO {
+
+    private String monthName;
+    private LocalDate asOf;
+    private int daysElapsed;
+    private int daysInMonth;
+    private BigDecimal spentToDate;
+    private BigDecimal dailyPace;
+    private BigDecimal projectedMonthEnd;
+    // Averages over the closed months before this one; null without history
+    private BigDecimal rollingAverage3;
+    private BigDecimal rollingAverage6;
+    private BigDecimal rollingAverage12;
+    // Sum of all budget limits; null when the user has no budgets
+    private BigDecimal monthlyBudget;
+    private Boolean projectedOverBudget;
+    private List<MonthlySpendTrendDTO> trend;
+}
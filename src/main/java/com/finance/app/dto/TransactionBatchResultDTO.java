@@ -0,0 +1,23 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response for a batch write: how many items were applied and rejected,
+ * and the outcome of each.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResultDTO {
+
+    private int applied;
+    private int rejected;
+    private List<BatchItemResultDTO> results;
+}
@@ -0,0 +1,28 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One transaction to create in a batch write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionCreateRequest {
+
+    private UUID accountId;
+    private String rawDescription;
+    private String cleanDescription;
+    private String category;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+    private String status;
+}
@@ -1,5 +1,6 @@
 package com.finance.app.dto;
 
+import com.finance.app.anomaly.AnomalyType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,4 +26,5 @@ public class TransactionDTO {
     private BigDecimal amount;
     private LocalDateTime transactionDate;
     private String status;
+    private AnomalyType anomaly;
 }
@@ -0,0 +1,26 @@
+package com.finance.app.dto;
+
+import com.finance.app.outbox.TransactionChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Live update sent when one of the user's transactions is written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDeltaDTO {
+
+    private UUID id;
+    private TransactionChangeType change;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+}
@@ -0,0 +1,24 @@
+package com.finance.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Changes to one transaction in a batch write. Null fields are left as
+ * they are; an empty clean description or category clears it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionUpdateRequest {
+
+    private UUID id;
+    private String cleanDescription;
+    private String category;
+    private String status;
+}
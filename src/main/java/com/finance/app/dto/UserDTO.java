@@ -0,0 +1,24 @@
+package com.finance.app.dto;
+
+import com.finance.app.models.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for the authenticated user's profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDTO {
+
+    private UUID id;
+    private String name;
+    private String email;
+    private Role role;
+}
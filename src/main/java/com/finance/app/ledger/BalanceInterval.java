@@ -0,0 +1,11 @@
+package com.finance.app.ledger;
+
+/**
+ * Spacing of the points in a balance history. Monthly points are read from
+ * balance snapshots, so they stay cheap over any range.
+ */
+public enum BalanceInterval {
+
+    DAY,
+    MONTH
+}
@@ -0,0 +1,15 @@
+package com.finance.app.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An account's balance at the end of a day with transactions.
+ *
+ * @param accountId the account
+ * @param date      the day
+ * @param balance   the balance after the day's transactions
+ */
+public record DailyBalance(UUID accountId, LocalDate date, BigDecimal balance) {
+}
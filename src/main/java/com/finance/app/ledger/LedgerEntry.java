@@ -0,0 +1,16 @@
+package com.finance.app.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One movement of an account's balance, e.g. a new transaction or the
+ * reversal of a deleted one.
+ *
+ * @param accountId the account whose balance moves
+ * @param amount    signed change of the balance
+ * @param date      when the movement happened, deciding which snapshots it reaches
+ */
+public record LedgerEntry(UUID accountId, BigDecimal amount, LocalDateTime date) {
+}
@@ -0,0 +1,99 @@
+package com.finance.app.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Sums per-account balance series into a net worth series with a k-way
+ * merge.
+ * <p>
+ * Each account's daily balances arrive sorted by date, holding only the
+ * days the account changed. A heap keyed by each series' next date yields
+ * the changes of all accounts in date order; the running total moves by
+ * the difference between an account's new and previous balance, so a
+ * merge costs O(n log k) for n daily balances over k accounts, whatever
+ * the number of days sampled.
+ */
+public final class NetWorthMerger {
+
+    private NetWorthMerger() {
+    }
+
+    /**
+     * Net worth at the end of a day.
+     *
+     * @param date     the day
+     * @param netWorth sum of all account balances after the day's transactions
+     */
+    public record Point(LocalDate date, BigDecimal netWorth) {
+    }
+
+    /**
+     * Merge account series into net worth at the end of each sampled day.
+     *
+     * @param carriedIn balance of every account before the first sampled day
+     * @param series    date-ordered daily balances per account, none before the first sampled day
+     * @param days      days to sample, in ascending order
+     * @return one point per sampled day
+     */
+    public static List<Point> merge(Map<UUID, BigDecimal> carriedIn, Collection<List<DailyBalance>> series,
+            List<LocalDate> days) {
+        Map<UUID, BigDecimal> current = new HashMap<>(carriedIn);
+        BigDecimal total = carriedIn.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::date));
+        for (List<DailyBalance> balances : series) {
+            if (!balances.isEmpty()) {
+                heads.add(new Cursor(balances));
+            }
+        }
+
+        List<Point> points = new ArrayList<>(days.size());
+        for (LocalDate day : days) {
+            while (!heads.isEmpty() && !heads.peek().date().isAfter(day)) {
+                Cursor head = heads.poll();
+                DailyBalance balance = head.next();
+                BigDecimal previous = current.put(balance.accountId(), balance.balance());
+                total = total.add(balance.balance()).subtract(previous != null ? previous : BigDecimal.ZERO);
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+            }
+            points.add(new Point(day, total));
+        }
+        return points;
+    }
+
+    /**
+     * Read position in one account's series.
+     */
+    private static final class Cursor {
+
+        private final List<DailyBalance> balances;
+        private int index;
+
+        private Cursor(List<DailyBalance> balances) {
+            this.balances = balances;
+        }
+
+        private LocalDate date() {
+            return balances.get(index).date();
+        }
+
+        private DailyBalance next() {
+            return balances.get(index++);
+        }
+
+        private boolean hasNext() {
+            return index < balances.size();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.finance.app.models;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +18,9 @@ import java.util.UUID;
 /**
  * Represents a financial account belonging to a user.
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
@@ -26,6 +31,7 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -33,9 +39,17 @@ public class Account {
     @Column(name = "account_name", nullable = false, length = 255)
     private String accountName;
 
-    @Column(nullable = false, precision = 19, scale = 4)
+    // Opening balance plus every transaction; only AccountLedgerRepository moves it after insert
+    @Column(nullable = false, precision = 19, scale = 4, updatable = false)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Column(name = "opening_balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+
+    // Bumped by every ledger entry too, so an edit based on a stale balance fails
+    @Version
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,6 +64,31 @@ public class Account {
     @Column(name = "updated_by", length = 255)
     private String updatedBy;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Transaction> transactions;
+
+    @PrePersist
+    void openLedger() {
+        balance = openingBalance;
+    }
+
+    /**
+     * Compares ids only, so neither the user nor the transactions are loaded.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        return id != null && id.equals(((Account) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
@@ -1,9 +1,13 @@
 package com.finance.app.models;
 
+import com.finance.app.services.DataVersionEntityListener;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,10 +18,13 @@ import java.util.UUID;
 /**
  * Represents a budget limit for a specific category for a user.
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(DataVersionEntityListener.class)
 @Table(name = "budgets", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "user_id", "category" })
 })
@@ -27,6 +34,7 @@ public class Budget {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -50,4 +58,23 @@ public class Budget {
 
     @Column(name = "updated_by", length = 255)
     private String updatedBy;
+
+    /**
+     * Compares ids only, so the owning user is never loaded.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        return id != null && id.equals(((Budget) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
@@ -0,0 +1,64 @@
+package com.finance.app.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One user's income and expense sums for one category on one day.
+ * Rows are rebuilt from transactions by
+ * {@link com.finance.app.services.DailySpendSummaryService} and never
+ * written through JPA; uncategorized spend uses the empty category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@IdClass(DailySpendSummary.Key.class)
+@Table(name = "daily_spend_summary")
+public class DailySpendSummary {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "spend_date", nullable = false)
+    private LocalDate spendDate;
+
+    @Id
+    @Column(nullable = false, length = 100)
+    private String category;
+
+    @Column(name = "expense_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal expenseTotal;
+
+    @Column(name = "expense_count", nullable = false)
+    private int expenseCount;
+
+    @Column(name = "income_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal incomeTotal;
+
+    @Column(name = "income_count", nullable = false)
+    private int incomeCount;
+
+    /**
+     * Composite primary key.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate spendDate;
+        private String category;
+    }
+}
@@ -0,0 +1,64 @@
+package com.finance.app.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running statistics of one user's expenses at one merchant, kept by
+ * {@link com.finance.app.anomaly.AnomalyDetector} one charge at a time.
+ * The mean and sum of squared deviations are in whole currency units.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(MerchantChargeStats.Key.class)
+@Table(name = "merchant_charge_stats")
+public class MerchantChargeStats {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(nullable = false, length = 255)
+    private String merchant;
+
+    @Column(name = "charge_count", nullable = false)
+    private long chargeCount;
+
+    @Column(name = "mean_amount", nullable = false)
+    private double meanAmount;
+
+    @Column(name = "m2", nullable = false)
+    private double m2;
+
+    @Column(name = "last_amount", precision = 19, scale = 4)
+    private BigDecimal lastAmount;
+
+    @Column(name = "last_charged_at")
+    private LocalDateTime lastChargedAt;
+
+    public MerchantChargeStats(UUID userId, String merchant) {
+        this.userId = userId;
+        this.merchant = merchant;
+    }
+
+    /**
+     * Composite primary key.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private String merchant;
+    }
+}
@@ -0,0 +1,66 @@
+package com.finance.app.models;
+
+import com.finance.app.recurring.Cadence;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A recurring charge detected for a user at one merchant, such as a
+ * subscription. Maintained by
+ * {@link com.finance.app.services.RecurringDetectionService}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "recurring_series", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "merchant" })
+})
+public class RecurringSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, length = 255)
+    private String merchant;
+
+    @Column(length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Cadence cadence;
+
+    @Column(name = "typical_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal typicalAmount;
+
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(name = "first_seen", nullable = false)
+    private LocalDate firstSeen;
+
+    @Column(name = "last_seen", nullable = false)
+    private LocalDate lastSeen;
+
+    @Column(name = "next_expected", nullable = false)
+    private LocalDate nextExpected;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
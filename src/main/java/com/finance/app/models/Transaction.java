@@ -1,9 +1,16 @@
 package com.finance.app.models;
 
+import com.finance.app.anomaly.AnomalyType;
+import com.finance.app.services.AccountLedgerListener;
+import com.finance.app.services.DataVersionEntityListener;
+import com.finance.app.services.TransactionOutboxListener;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,10 +22,13 @@ import java.util.UUID;
  * Represents a financial transaction within an account.
  * Contains both raw and clean descriptions for transaction categorization.
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners({TransactionOutboxListener.class, AccountLedgerListener.class, DataVersionEntityListener.class})
 @Table(name = "transactions")
 public class Transaction {
 
@@ -26,6 +36,7 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
@@ -48,6 +59,11 @@ public class Transaction {
     @Column(name = "status", length = 20)
     private String status = "PENDING"; // PENDING, REVIEWED, COMPLETED
 
+    // Set at ingest by TransactionAnomalyService; null when nothing looked unusual
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private AnomalyType anomaly;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,4 +77,47 @@ public class Transaction {
 
     @Column(name = "updated_by", length = 255)
     private String updatedBy;
+
+    // Date as last loaded or saved; lets cache invalidation cover the month a transaction moved out of
+    @Transient
+    @ToString.Exclude
+    private LocalDateTime persistedTransactionDate;
+
+    // Amount and account as last loaded or saved; lets the balance ledger reverse the previous entry
+    @Transient
+    @ToString.Exclude
+    private BigDecimal persistedAmount;
+
+    @Transient
+    @ToString.Exclude
+    private UUID persistedAccountId;
+
+    /**
+     * Remember the current date, amount and account as the stored ones.
+     */
+    public void markPersisted() {
+        persistedTransactionDate = transactionDate;
+        persistedAmount = amount;
+        persistedAccountId = account != null ? account.getId() : null;
+    }
+
+    /**
+     * Compares ids only; the account is not loaded and the fields a listener
+     * updates after a write do not move the hash.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        return id != null && id.equals(((Transaction) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
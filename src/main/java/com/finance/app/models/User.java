@@ -1,9 +1,12 @@
 package com.finance.app.models;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,7 +22,9 @@ import java.util.UUID;
 /**
  * Represents a user in the personal finance application.
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
@@ -36,6 +41,7 @@ public class User implements UserDetails {
     @Column(nullable = false, length = 255)
     private String name;
 
+    @ToString.Exclude
     @Column(nullable = false)
     private String password;
 
@@ -60,9 +66,11 @@ public class User implements UserDetails {
     @Column(name = "updated_by", length = 255)
     private String updatedBy;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Account> accounts;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Budget> budgets;
 
@@ -95,4 +103,24 @@ public class User implements UserDetails {
     public boolean isEnabled() {
         return enabled;
     }
+
+    /**
+     * Users are equal when they have the same id, whether loaded or a proxy;
+     * the hash does not change when a new user is saved and gets its id.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || Hibernate.getClass(this) != Hibernate.getClass(other)) {
+            return false;
+        }
+        return id != null && id.equals(((User) other).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
 }
@@ -0,0 +1,69 @@
+package com.finance.app.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units at scale 4,
+ * matching the {@code DECIMAL(19,4)} amount columns (1.2345 is 12345 units).
+ * <p>
+ * Hot aggregation paths accumulate into a primitive {@code long} instead of
+ * allocating a new {@link BigDecimal} per row, and convert back with
+ * {@link #toBigDecimal(long)} only when building API responses. Every
+ * operation is overflow-checked and throws {@link ArithmeticException}
+ * rather than wrapping.
+ */
+public final class Money {
+
+    public static final int SCALE = 4;
+    public static final long UNITS_PER_WHOLE = 10_000L;
+
+    private Money() {
+    }
+
+    /**
+     * Convert an amount to minor units.
+     *
+     * @param amount the amount, at most 4 decimal places
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount has more than 4 decimal places or does not fit in a long
+     */
+    public static long toUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert minor units back to an amount at scale 4.
+     *
+     * @param units the amount in minor units
+     * @return the amount
+     */
+    public static BigDecimal toBigDecimal(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * Convert a whole amount (e.g. 1000) to minor units.
+     *
+     * @param whole the whole amount
+     * @return the amount in minor units
+     */
+    public static long ofWhole(long whole) {
+        return Math.multiplyExact(whole, UNITS_PER_WHOLE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long negate(long units) {
+        return Math.negateExact(units);
+    }
+
+    public static long abs(long units) {
+        return Math.absExact(units);
+    }
+}
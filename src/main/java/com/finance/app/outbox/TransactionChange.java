@@ -0,0 +1,22 @@
+package com.finance.app.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One committed transaction write, as read back from the outbox.
+ *
+ * @param id                      outbox sequence number, increasing in write order
+ * @param userId                  the owning user
+ * @param transactionId           the written transaction
+ * @param type                    what happened to it
+ * @param transactionDate         its date after the write
+ * @param previousTransactionDate its date before an update, null otherwise
+ * @param amount                  its amount after the write
+ * @param createdAt               when the write happened
+ */
+public record TransactionChange(long id, UUID userId, UUID transactionId, TransactionChangeType type,
+        LocalDateTime transactionDate, LocalDateTime previousTransactionDate, BigDecimal amount,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,10 @@
+package com.finance.app.outbox;
+
+/**
+ * Kind of write recorded in the transaction outbox.
+ */
+public enum TransactionChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,15 @@
+package com.finance.app.outbox;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.finance.app.services.TransactionOutboxRelay} for
+ * each batch drained from the outbox, inside the transaction that deletes
+ * the batch. A listener that throws rolls the batch back so it is delivered
+ * again; listeners must therefore be idempotent. Batches may be delivered
+ * out of order when several relays run.
+ *
+ * @param changes the changes in outbox order
+ */
+public record TransactionChangesEvent(List<TransactionChange> changes) {
+}
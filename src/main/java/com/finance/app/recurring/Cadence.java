@@ -0,0 +1,81 @@
+package com.finance.app.recurring;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * How often a recurring charge repeats, with the range of day gaps accepted
+ * between two consecutive charges. Monthly and longer ranges allow for
+ * month lengths and charges that slip to the next business day.
+ */
+public enum Cadence {
+
+    WEEKLY(Period.ofWeeks(1), 5, 9, 52),
+    BIWEEKLY(Period.ofWeeks(2), 12, 16, 26),
+    MONTHLY(Period.ofMonths(1), 26, 35, 12),
+    QUARTERLY(Period.ofMonths(3), 85, 98, 4),
+    YEARLY(Period.ofYears(1), 355, 376, 1);
+
+    private final Period period;
+    private final int minGapDays;
+    private final int maxGapDays;
+    private final int perYear;
+
+    Cadence(Period period, int minGapDays, int maxGapDays, int perYear) {
+        this.period = period;
+        this.minGapDays = minGapDays;
+        this.maxGapDays = maxGapDays;
+        this.perYear = perYear;
+    }
+
+    /**
+     * Find the cadence whose gap range contains the given gap.
+     *
+     * @param gapDays days between two charges
+     * @return the cadence, or null if the gap fits none
+     */
+    public static Cadence ofGap(long gapDays) {
+        for (Cadence cadence : values()) {
+            if (gapDays >= cadence.minGapDays && gapDays <= cadence.maxGapDays) {
+                return cadence;
+            }
+        }
+        return null;
+    }
+
+    public boolean accepts(long gapDays) {
+        return gapDays >= minGapDays && gapDays <= maxGapDays;
+    }
+
+    /**
+     * Date the charge after the given one is due.
+     *
+     * @param lastCharge date of the latest charge
+     * @return the expected next charge date
+     */
+    public LocalDate next(LocalDate lastCharge) {
+        return lastCharge.plus(period);
+    }
+
+    /**
+     * Date after which a missing charge means the series has lapsed.
+     *
+     * @param lastCharge date of the latest charge
+     * @return the last day a charge could still arrive on time
+     */
+    public LocalDate graceEnd(LocalDate lastCharge) {
+        return lastCharge.plusDays(maxGapDays);
+    }
+
+    /**
+     * Average monthly cost of an amount charged at this cadence.
+     *
+     * @param amount the amount per charge
+     * @return the amount per month
+     */
+    public BigDecimal monthlyCost(BigDecimal amount) {
+        return amount.multiply(BigDecimal.valueOf(perYear)).divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,144 @@
+package com.finance.app.recurring;
+
+import com.finance.app.money.Money;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds recurring charges in a user's expense history with a single scan
+ * over charges sorted by merchant and date.
+ * <p>
+ * For each merchant the scan keeps one run: consecutive charges whose gaps
+ * fit the same {@link Cadence} and whose amounts stay within 10% (at least
+ * 1.00) of the previous charge, so gradual price changes are followed.
+ * Other purchases at the merchant before the next charge is overdue are
+ * skipped; after that, a charge that breaks the pattern starts a new run. A
+ * merchant is recurring when its latest run has at least three charges, or
+ * two for yearly. Same-day charges are ignored for the pattern.
+ */
+public final class RecurringDetector {
+
+    private static final int MIN_OCCURRENCES = 3;
+    private static final int MIN_YEARLY_OCCURRENCES = 2;
+    private static final long TOLERANCE_PERCENT = 10;
+    private static final long MIN_TOLERANCE_UNITS = Money.ofWhole(1);
+
+    private RecurringDetector() {
+    }
+
+    /**
+     * One expense, as a positive amount.
+     *
+     * @param merchant normalized merchant name
+     * @param date     the day of the charge
+     * @param units    the amount in {@link Money} minor units
+     * @param category the transaction category, may be null
+     */
+    public record Charge(String merchant, LocalDate date, long units, String category) {
+    }
+
+    /**
+     * A merchant's current recurring run.
+     *
+     * @param merchant     normalized merchant name
+     * @param category     category of the latest charge, may be null
+     * @param cadence      how often the charge repeats
+     * @param typicalUnits the latest charge amount in minor units
+     * @param occurrences  number of charges in the run
+     * @param firstSeen    date of the first charge in the run
+     * @param lastSeen     date of the latest charge
+     */
+    public record Detection(String merchant, String category, Cadence cadence, long typicalUnits,
+            int occurrences, LocalDate firstSeen, LocalDate lastSeen) {
+    }
+
+    /**
+     * Detect recurring runs.
+     *
+     * @param charges charges ordered by merchant, then date
+     * @return one detection per recurring merchant, in merchant order
+     */
+    public static List<Detection> detect(List<Charge> charges) {
+        List<Detection> detections = new ArrayList<>();
+        Run run = null;
+        for (Charge charge : charges) {
+            if (run == null || !run.merchant.equals(charge.merchant())) {
+                addIfRecurring(run, detections);
+                run = new Run(charge);
+            } else {
+                run.accept(charge);
+            }
+        }
+        addIfRecurring(run, detections);
+        return detections;
+    }
+
+    private static void addIfRecurring(Run run, List<Detection> detections) {
+        if (run == null || run.cadence == null) {
+            return;
+        }
+        int required = run.cadence == Cadence.YEARLY ? MIN_YEARLY_OCCURRENCES : MIN_OCCURRENCES;
+        if (run.occurrences >= required) {
+            detections.add(new Detection(run.merchant, run.category, run.cadence, run.lastUnits,
+                    run.occurrences, run.firstSeen, run.lastSeen));
+        }
+    }
+
+    static boolean amountFits(long previousUnits, long units) {
+        long tolerance = Math.max(previousUnits / 100 * TOLERANCE_PERCENT, MIN_TOLERANCE_UNITS);
+        return Math.abs(units - previousUnits) <= tolerance;
+    }
+
+    private static final class Run {
+
+        private final String merchant;
+        private Cadence cadence;
+        private int occurrences;
+        private LocalDate firstSeen;
+        private LocalDate lastSeen;
+        private long lastUnits;
+        private String category;
+
+        private Run(Charge charge) {
+            this.merchant = charge.merchant();
+            restart(charge);
+        }
+
+        private void accept(Charge charge) {
+            long gap = ChronoUnit.DAYS.between(lastSeen, charge.date());
+            if (gap == 0) {
+                return;
+            }
+            boolean fits = amountFits(lastUnits, charge.units());
+            if (cadence != null && fits && cadence.accepts(gap)) {
+                occurrences++;
+            } else if (cadence != null && !charge.date().isAfter(cadence.graceEnd(lastSeen))) {
+                // A one-off purchase at the same merchant while the series is still on time
+                return;
+            } else if (fits && Cadence.ofGap(gap) != null) {
+                // The break still pairs with the previous charge: start over from that pair
+                cadence = Cadence.ofGap(gap);
+                firstSeen = lastSeen;
+                occurrences = 2;
+            } else {
+                restart(charge);
+                return;
+            }
+            lastSeen = charge.date();
+            lastUnits = charge.units();
+            category = charge.category();
+        }
+
+        private void restart(Charge charge) {
+            cadence = null;
+            occurrences = 1;
+            firstSeen = charge.date();
+            lastSeen = charge.date();
+            lastUnits = charge.units();
+            category = charge.category();
+        }
+    }
+}
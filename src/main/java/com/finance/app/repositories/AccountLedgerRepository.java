@@ -0,0 +1,270 @@
+package com.finance.app.repositories;
+
+import com.finance.app.ledger.DailyBalance;
+import com.finance.app.ledger.LedgerEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to account balances and {@code account_balance_snapshots}.
+ * Entries are applied from JPA entity callbacks in the middle of a flush,
+ * where the EntityManager must not be used, so this goes through the
+ * transaction's JDBC connection instead.
+ * <p>
+ * A snapshot holds an account's balance at the start of its date, before
+ * that day's transactions. A daily balance holds the balance at the end of
+ * a day with transactions; days without any carry the one before. Balances
+ * move with relative updates under the account row lock, which is always
+ * taken before any snapshot or daily balance is touched.
+ */
+@Repository
+public class AccountLedgerRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountLedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Move account balances by the given entries in the caller's
+     * transaction, and adjust the snapshots and daily balances from each
+     * entry's date on. Entries are netted per account and per day first;
+     * accounts are locked in id order so concurrent batches cannot deadlock.
+     *
+     * @param entries balance movements
+     */
+    public void applyAll(Collection<LedgerEntry> entries) {
+        Map<DayKey, BigDecimal> byDay = new HashMap<>();
+        Map<UUID, BigDecimal> byAccount = new TreeMap<>();
+        for (LedgerEntry entry : entries) {
+            byDay.merge(new DayKey(entry.accountId(), entry.date().toLocalDate()), entry.amount(), BigDecimal::add);
+            byAccount.merge(entry.accountId(), entry.amount(), BigDecimal::add);
+        }
+        byDay.values().removeIf(amount -> amount.signum() == 0);
+        // A date moved without an amount change still rewrites history, so its account is locked too
+        Set<UUID> rewritten = byDay.keySet().stream().map(DayKey::accountId).collect(Collectors.toSet());
+        byAccount.entrySet().removeIf(account -> account.getValue().signum() == 0
+                && !rewritten.contains(account.getKey()));
+        if (byAccount.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE id = ?",
+                byAccount.entrySet().stream().map(account -> new Object[] {
+                        account.getValue(), account.getKey() }).toList());
+        if (byDay.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                UPDATE account_balance_snapshots
+                SET balance = balance + ?
+                WHERE account_id = ? AND snapshot_date > ?
+                """, byDay.entrySet().stream().map(day -> new Object[] {
+                        day.getValue(), day.getKey().accountId(), day.getKey().day() }).toList());
+        // Days new to the series start from the balance carried into them; the update below adds every
+        // entry on or before them, whichever order the inserts ran in
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO account_daily_balances (account_id, balance_date, balance)
+                SELECT a.id, ?, COALESCE((SELECT b.balance
+                                          FROM account_daily_balances b
+                                          WHERE b.account_id = a.id AND b.balance_date < ?
+                                          ORDER BY b.balance_date DESC
+                                          LIMIT 1), a.opening_balance)
+                FROM accounts a
+                WHERE a.id = ?
+                ON CONFLICT (account_id, balance_date) DO NOTHING
+                """, byDay.keySet().stream().map(day -> new Object[] {
+                        day.day(), day.day(), day.accountId() }).toList());
+        jdbcTemplate.batchUpdate("""
+                UPDATE account_daily_balances
+                SET balance = balance + ?
+                WHERE account_id = ? AND balance_date >= ?
+                """, byDay.entrySet().stream().map(day -> new Object[] {
+                        day.getValue(), day.getKey().accountId(), day.getKey().day() }).toList());
+    }
+
+    /**
+     * Find accounts with transactions but no snapshot for the given month.
+     *
+     * @param monthStart first day of the month
+     * @return account ids
+     */
+    public List<UUID> findAccountsMissingSnapshot(LocalDate monthStart) {
+        return jdbcTemplate.query("""
+                SELECT a.id
+                FROM accounts a
+                WHERE EXISTS (SELECT 1 FROM transactions t WHERE t.account_id = a.id)
+                  AND NOT EXISTS (SELECT 1 FROM account_balance_snapshots s
+                                  WHERE s.account_id = a.id AND s.snapshot_date = ?)
+                """, (rs, rowNum) -> rs.getObject("id", UUID.class), monthStart);
+    }
+
+    /**
+     * Lock an account's balance until the caller's transaction ends.
+     *
+     * @param accountId the account UUID
+     */
+    public void lockAccount(UUID accountId) {
+        jdbcTemplate.queryForList("SELECT id FROM accounts WHERE id = ? FOR UPDATE", UUID.class, accountId);
+    }
+
+    /**
+     * Take the month-start snapshots an account is missing, from the month
+     * after its latest snapshot, or the month of its first transaction, up to
+     * the given month. Each is the current balance less the transactions
+     * since that month started. Call with the account locked.
+     *
+     * @param accountId the account UUID
+     * @param through   first day of the last month to snapshot
+     * @return the number of snapshots taken
+     */
+    public int insertMissingSnapshots(UUID accountId, LocalDate through) {
+        return jdbcTemplate.update("""
+                INSERT INTO account_balance_snapshots (account_id, snapshot_date, balance)
+                SELECT a.id,
+                       CAST(m.month_start AS DATE),
+                       a.balance - COALESCE((SELECT SUM(t.amount)
+                                             FROM transactions t
+                                             WHERE t.account_id = a.id
+                                               AND t.transaction_date >= m.month_start), 0)
+                FROM accounts a
+                CROSS JOIN LATERAL GENERATE_SERIES(
+                    COALESCE((SELECT MAX(s.snapshot_date) + INTERVAL '1 month'
+                              FROM account_balance_snapshots s
+                              WHERE s.account_id = a.id),
+                             (SELECT DATE_TRUNC('month', MIN(t.transaction_date))
+                              FROM transactions t
+                              WHERE t.account_id = a.id)),
+                    CAST(? AS TIMESTAMP),
+                    INTERVAL '1 month') AS m(month_start)
+                WHERE a.id = ?
+                ON CONFLICT (account_id, snapshot_date) DO NOTHING
+                """, through.atStartOfDay(), accountId);
+    }
+
+    /**
+     * Get an account's balance at the end of each given day, each read from
+     * the nearest snapshot plus the transactions since.
+     *
+     * @param accountId the account UUID
+     * @param days      days to read
+     * @return end-of-day balances by day
+     */
+    public Map<LocalDate, BigDecimal> findBalancesAt(UUID accountId, Collection<LocalDate> days) {
+        Map<LocalDate, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("""
+                    SELECT b.day,
+                           COALESCE(s.balance, a.opening_balance)
+                               + COALESCE((SELECT SUM(t.amount)
+                                           FROM transactions t
+                                           WHERE t.account_id = a.id
+                                             AND (s.snapshot_date IS NULL OR t.transaction_date >= s.snapshot_date)
+                                             AND t.transaction_date < b.day + 1), 0) AS balance
+                    FROM accounts a
+                    CROSS JOIN UNNEST(?) AS b(day)
+                    LEFT JOIN LATERAL (SELECT snapshot_date, balance
+                                       FROM account_balance_snapshots
+                                       WHERE account_id = a.id AND snapshot_date <= b.day + 1
+                                       ORDER BY snapshot_date DESC
+                                       LIMIT 1) s ON TRUE
+                    WHERE a.id = ?
+                    """);
+            statement.setArray(1, con.createArrayOf("date", days.stream().map(Date::valueOf).toArray()));
+            statement.setObject(2, accountId);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            balances.put(rs.getObject("day", LocalDate.class), rs.getBigDecimal("balance"));
+        });
+        return balances;
+    }
+
+    /**
+     * Sum an account's transactions per day.
+     *
+     * @param accountId the account UUID
+     * @param startDate first day, inclusive
+     * @param endDate   last day, inclusive
+     * @return totals of the days that have transactions
+     */
+    public Map<LocalDate, BigDecimal> findDailyTotals(UUID accountId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, BigDecimal> totals = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT CAST(transaction_date AS DATE) AS day, SUM(amount) AS total
+                FROM transactions
+                WHERE account_id = ? AND transaction_date >= ? AND transaction_date < ?
+                GROUP BY CAST(transaction_date AS DATE)
+                """, (RowCallbackHandler) rs -> {
+                    totals.put(rs.getObject("day", LocalDate.class), rs.getBigDecimal("total"));
+                }, accountId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        return totals;
+    }
+
+    /**
+     * Get the balance each of a user's accounts carries into a day, from its
+     * latest daily balance before that day or its opening balance.
+     *
+     * @param userId the user UUID
+     * @param day    the day
+     * @return balances by account id, one per account of the user
+     */
+    public Map<UUID, BigDecimal> findBalancesBefore(UUID userId, LocalDate day) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.id, COALESCE(b.balance, a.opening_balance) AS balance
+                FROM accounts a
+                LEFT JOIN LATERAL (SELECT balance
+                                   FROM account_daily_balances
+                                   WHERE account_id = a.id AND balance_date < ?
+                                   ORDER BY balance_date DESC
+                                   LIMIT 1) b ON TRUE
+                WHERE a.user_id = ?
+                """, (RowCallbackHandler) rs -> {
+                    balances.put(rs.getObject("id", UUID.class), rs.getBigDecimal("balance"));
+                }, day, userId);
+        return balances;
+    }
+
+    /**
+     * Read the daily balances of all of a user's accounts over a range in
+     * one query, as one date-ordered series per account.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day, inclusive
+     * @param endDate   last day, inclusive
+     * @return series by account id; accounts without transactions in the range are absent
+     */
+    public Map<UUID, List<DailyBalance>> findDailyBalances(UUID userId, LocalDate startDate, LocalDate endDate) {
+        Map<UUID, List<DailyBalance>> series = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT b.account_id, b.balance_date, b.balance
+                FROM account_daily_balances b
+                JOIN accounts a ON a.id = b.account_id
+                WHERE a.user_id = ? AND b.balance_date BETWEEN ? AND ?
+                ORDER BY b.account_id, b.balance_date
+                """, (RowCallbackHandler) rs -> {
+                    UUID accountId = rs.getObject("account_id", UUID.class);
+                    series.computeIfAbsent(accountId, id -> new ArrayList<>()).add(new DailyBalance(accountId,
+                            rs.getObject("balance_date", LocalDate.class), rs.getBigDecimal("balance")));
+                }, userId, startDate, endDate);
+        return series;
+    }
+
+    private record DayKey(UUID accountId, LocalDate day) {
+    }
+}
@@ -20,4 +20,13 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
      * @return list of accounts
      */
     List<Account> findByUserId(UUID userId);
+
+    /**
+     * Check that an account belongs to a user.
+     *
+     * @param id     the account UUID
+     * @param userId the user UUID
+     * @return true if the account exists and is the user's
+     */
+    boolean existsByIdAndUserId(UUID id, UUID userId);
 }
@@ -0,0 +1,35 @@
+package com.finance.app.repositories;
+
+import com.finance.app.models.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for Budget entity operations.
+ */
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, UUID> {
+
+    /**
+     * Find all budgets belonging to a user.
+     *
+     * @param userId the user UUID
+     * @return list of budgets
+     */
+    List<Budget> findByUserId(UUID userId);
+
+    /**
+     * Sum the monthly limits of all of a user's budgets.
+     *
+     * @param userId the user UUID
+     * @return the total limit, or null if the user has no budgets
+     */
+    @Query("SELECT SUM(b.limitAmount) FROM Budget b WHERE b.user.id = :userId")
+    BigDecimal sumLimitAmountByUserId(@Param("userId") UUID userId);
+}
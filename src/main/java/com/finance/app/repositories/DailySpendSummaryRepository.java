@@ -0,0 +1,219 @@
+package com.finance.app.repositories;
+
+import com.finance.app.models.DailySpendSummary;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import com.finance.app.repositories.projections.CategoryTotal;
+import com.finance.app.repositories.projections.DailySpendTotal;
+import com.finance.app.repositories.projections.MonthSpendTotal;
+import com.finance.app.repositories.projections.StaleSummaryMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the daily spend summary. Reads cost one row per day and
+ * category in the range, however many transactions the user has; the
+ * native statements rebuild rows from transactions.
+ */
+@Repository
+public interface DailySpendSummaryRepository extends JpaRepository<DailySpendSummary, DailySpendSummary.Key> {
+
+    /**
+     * Sum a user's expenses within a date range.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return total spend as a positive amount, zero if none
+     */
+    @Query("""
+            SELECT COALESCE(SUM(d.expenseTotal), 0)
+            FROM DailySpendSummary d
+            WHERE d.userId = :userId
+              AND d.spendDate BETWEEN :startDate AND :endDate
+            """)
+    BigDecimal sumExpenses(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum a user's expenses per category within a date range.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return category totals ordered by largest spend first; null category for uncategorized
+     */
+    @Query("""
+            SELECT NULLIF(d.category, '') AS category, SUM(d.expenseTotal) AS total,
+                   SUM(d.expenseCount) AS transactionCount
+            FROM DailySpendSummary d
+            WHERE d.userId = :userId
+              AND d.spendDate BETWEEN :startDate AND :endDate
+              AND d.expenseCount > 0
+            GROUP BY d.category
+            ORDER BY SUM(d.expenseTotal) DESC
+            """)
+    List<CategoryTotal> sumExpensesByCategory(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum a user's income and expenses within a date range.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return income and expense totals
+     */
+    @Query("""
+            SELECT COALESCE(SUM(d.incomeTotal), 0) AS income,
+                   COALESCE(SUM(d.expenseTotal), 0) AS expenses
+            FROM DailySpendSummary d
+            WHERE d.userId = :userId
+              AND d.spendDate BETWEEN :startDate AND :endDate
+            """)
+    CashFlowTotal sumCashFlow(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum a user's expenses per calendar month within a date range, in
+     * {@link com.finance.app.money.Money} units.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return one row per month with expenses
+     */
+    @Query("""
+            SELECT YEAR(d.spendDate) AS spendYear,
+                   MONTH(d.spendDate) AS spendMonth,
+                   CAST(SUM(d.expenseTotal) * 10000 AS Long) AS totalUnits
+            FROM DailySpendSummary d
+            WHERE d.userId = :userId
+              AND d.spendDate BETWEEN :startDate AND :endDate
+              AND d.expenseCount > 0
+            GROUP BY YEAR(d.spendDate), MONTH(d.spendDate)
+            """)
+    List<MonthSpendTotal> sumExpensesByMonth(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum a user's expenses per day within a date range.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return one row per day with expenses
+     */
+    @Query("""
+            SELECT YEAR(d.spendDate) AS spendYear,
+                   MONTH(d.spendDate) AS spendMonth,
+                   DAY(d.spendDate) AS spendDay,
+                   SUM(d.expenseTotal) AS total
+            FROM DailySpendSummary d
+            WHERE d.userId = :userId
+              AND d.spendDate BETWEEN :startDate AND :endDate
+              AND d.expenseCount > 0
+            GROUP BY d.spendDate
+            """)
+    List<DailySpendTotal> sumExpensesByDay(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Delete a user's summary rows within a date range.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM daily_spend_summary
+            WHERE user_id = :userId AND spend_date BETWEEN :startDate AND :endDate
+            """, nativeQuery = true)
+    int deleteRange(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Rebuild a user's summary rows from transactions within a time range.
+     * The rows must have been deleted first.
+     *
+     * @param userId    the user UUID
+     * @param startTime start of the range (inclusive)
+     * @param endTime   end of the range (exclusive)
+     * @return number of rows inserted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_spend_summary
+                (user_id, spend_date, category, expense_total, expense_count, income_total, income_count)
+            SELECT a.user_id,
+                   CAST(t.transaction_date AS DATE),
+                   COALESCE(t.category, ''),
+                   COALESCE(-SUM(t.amount) FILTER (WHERE t.amount < 0), 0),
+                   COUNT(*) FILTER (WHERE t.amount < 0),
+                   COALESCE(SUM(t.amount) FILTER (WHERE t.amount > 0), 0),
+                   COUNT(*) FILTER (WHERE t.amount > 0)
+            FROM transactions t
+            JOIN accounts a ON a.id = t.account_id
+            WHERE a.user_id = :userId
+              AND t.transaction_date >= :startTime
+              AND t.transaction_date < :endTime
+            GROUP BY a.user_id, CAST(t.transaction_date AS DATE), COALESCE(t.category, '')
+            """, nativeQuery = true)
+    int insertRange(
+            @Param("userId") UUID userId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Find every user-month whose summary rows disagree with its
+     * transactions. Scans all transactions, so it only runs at startup to
+     * repair changes whose refresh was lost.
+     *
+     * @return the stale user-months
+     */
+    @Query(value = """
+            SELECT DISTINCT COALESCE(s.user_id, d.user_id) AS "userId",
+                   CAST(EXTRACT(YEAR FROM COALESCE(s.spend_date, d.spend_date)) AS INTEGER) AS "spendYear",
+                   CAST(EXTRACT(MONTH FROM COALESCE(s.spend_date, d.spend_date)) AS INTEGER) AS "spendMonth"
+            FROM (
+                SELECT a.user_id,
+                       CAST(t.transaction_date AS DATE) AS spend_date,
+                       COALESCE(t.category, '') AS category,
+                       COALESCE(-SUM(t.amount) FILTER (WHERE t.amount < 0), 0) AS expense_total,
+                       COUNT(*) FILTER (WHERE t.amount < 0) AS expense_count,
+                       COALESCE(SUM(t.amount) FILTER (WHERE t.amount > 0), 0) AS income_total,
+                       COUNT(*) FILTER (WHERE t.amount > 0) AS income_count
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                GROUP BY a.user_id, CAST(t.transaction_date AS DATE), COALESCE(t.category, '')
+            ) s
+            FULL OUTER JOIN daily_spend_summary d
+              ON d.user_id = s.user_id AND d.spend_date = s.spend_date AND d.category = s.category
+            WHERE s.user_id IS NULL OR d.user_id IS NULL
+               OR s.expense_total <> d.expense_total OR s.expense_count <> d.expense_count
+               OR s.income_total <> d.income_total OR s.income_count <> d.income_count
+            """, nativeQuery = true)
+    List<StaleSummaryMonth> findStaleMonths();
+}
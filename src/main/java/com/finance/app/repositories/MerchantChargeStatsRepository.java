@@ -0,0 +1,50 @@
+package com.finance.app.repositories;
+
+import com.finance.app.models.MerchantChargeStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for per-merchant running charge statistics.
+ */
+@Repository
+public interface MerchantChargeStatsRepository
+        extends JpaRepository<MerchantChargeStats, MerchantChargeStats.Key> {
+
+    /**
+     * Lock and load a user's statistics at the given merchants, in merchant
+     * order so concurrent ingests lock rows in the same order.
+     *
+     * @param userId    the user UUID
+     * @param merchants normalized merchant names
+     * @return existing statistics
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<MerchantChargeStats> findByUserIdAndMerchantInOrderByMerchant(UUID userId, Collection<String> merchants);
+
+    /**
+     * Normalize descriptions to merchant names with the {@code merchant_name}
+     * database function, for transactions not yet saved.
+     *
+     * @param cleanDescriptions clean descriptions, entries may be null
+     * @param rawDescriptions   raw descriptions in the same order, entries may be null
+     * @return the merchant of each pair in order, null where both are blank
+     */
+    @Query(value = """
+            SELECT merchant_name(d.clean_description, d.raw_description)
+            FROM UNNEST(CAST(:cleanDescriptions AS TEXT[]), CAST(:rawDescriptions AS TEXT[]))
+                WITH ORDINALITY AS d(clean_description, raw_description, position)
+            ORDER BY d.position
+            """, nativeQuery = true)
+    List<String> normalizeMerchants(
+            @Param("cleanDescriptions") String[] cleanDescriptions,
+            @Param("rawDescriptions") String[] rawDescriptions);
+}
@@ -0,0 +1,194 @@
+package com.finance.app.repositories;
+
+import com.finance.app.models.RecurringSeries;
+import com.finance.app.repositories.projections.MerchantCharge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for detected recurring series and the expense history they are
+ * detected from. Merchants are normalized by the {@code merchant_name}
+ * database function, as in the top merchants breakdown.
+ */
+@Repository
+public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries, UUID> {
+
+    /**
+     * Find all recurring series of a user.
+     *
+     * @param userId the user UUID
+     * @return series ordered by merchant
+     */
+    List<RecurringSeries> findByUserIdOrderByMerchant(UUID userId);
+
+    /**
+     * Find a user's series at the given merchants.
+     *
+     * @param userId    the user UUID
+     * @param merchants normalized merchant names
+     * @return matching series
+     */
+    List<RecurringSeries> findByUserIdAndMerchantIn(UUID userId, Collection<String> merchants);
+
+    /**
+     * Find the merchants of a user's series with charges spanning part of a
+     * date range, so a change there can end or shorten the series.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return merchant names
+     */
+    @Query("""
+            SELECT r.merchant
+            FROM RecurringSeries r
+            WHERE r.userId = :userId
+              AND r.firstSeen <= :endDate
+              AND r.lastSeen >= :startDate
+            """)
+    List<String> findMerchantsSpanning(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find the merchants a user had expenses at within a time range.
+     *
+     * @param userId    the user UUID
+     * @param startTime start of the range (inclusive)
+     * @param endTime   end of the range (exclusive)
+     * @return distinct merchant names
+     */
+    @Query(value = """
+            SELECT DISTINCT m.merchant
+            FROM (
+                SELECT merchant_name(t.clean_description, t.raw_description) AS merchant
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                WHERE a.user_id = :userId
+                  AND t.transaction_date >= :startTime
+                  AND t.transaction_date < :endTime
+                  AND t.amount < 0
+            ) m
+            WHERE m.merchant IS NOT NULL
+            """, nativeQuery = true)
+    List<String> findMerchantsCharged(
+            @Param("userId") UUID userId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Load a user's expenses at the given merchants since a point in time.
+     *
+     * @param userId    the user UUID
+     * @param since     earliest transaction time to load
+     * @param merchants normalized merchant names, not empty
+     * @return charges ordered by merchant, then date
+     */
+    @Query(value = """
+            SELECT m.merchant AS "merchant", m.epoch_day AS "epochDay",
+                   m.amount AS "amount", m.category AS "category"
+            FROM (
+                SELECT merchant_name(t.clean_description, t.raw_description) AS merchant,
+                       CAST(t.transaction_date AS DATE) - DATE '1970-01-01' AS epoch_day,
+                       -t.amount AS amount,
+                       t.category,
+                       t.transaction_date
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                WHERE a.user_id = :userId
+                  AND t.transaction_date >= :since
+                  AND t.amount < 0
+            ) m
+            WHERE m.merchant IN (:merchants)
+            ORDER BY m.merchant, m.transaction_date
+            """, nativeQuery = true)
+    List<MerchantCharge> findCharges(
+            @Param("userId") UUID userId,
+            @Param("since") LocalDateTime since,
+            @Param("merchants") Collection<String> merchants);
+
+    /**
+     * Load all of a user's expenses since a point in time.
+     *
+     * @param userId the user UUID
+     * @param since  earliest transaction time to load
+     * @return charges ordered by merchant, then date
+     */
+    @Query(value = """
+            SELECT m.merchant AS "merchant", m.epoch_day AS "epochDay",
+                   m.amount AS "amount", m.category AS "category"
+            FROM (
+                SELECT merchant_name(t.clean_description, t.raw_description) AS merchant,
+                       CAST(t.transaction_date AS DATE) - DATE '1970-01-01' AS epoch_day,
+                       -t.amount AS amount,
+                       t.category,
+                       t.transaction_date
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                WHERE a.user_id = :userId
+                  AND t.transaction_date >= :since
+                  AND t.amount < 0
+            ) m
+            WHERE m.merchant IS NOT NULL
+            ORDER BY m.merchant, m.transaction_date
+            """, nativeQuery = true)
+    List<MerchantCharge> findAllCharges(
+            @Param("userId") UUID userId,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Record the user's current transaction watermark as scanned.
+     *
+     * @param userId the user UUID
+     * @return number of rows written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO recurring_scan_state (user_id, transaction_count, amount_total, last_updated_at, scanned_at)
+            SELECT :userId, COUNT(t.id), COALESCE(SUM(t.amount), 0), MAX(t.updated_at), CURRENT_TIMESTAMP
+            FROM transactions t
+            JOIN accounts a ON a.id = t.account_id
+            WHERE a.user_id = :userId
+            ON CONFLICT (user_id) DO UPDATE
+            SET transaction_count = EXCLUDED.transaction_count,
+                amount_total = EXCLUDED.amount_total,
+                last_updated_at = EXCLUDED.last_updated_at,
+                scanned_at = EXCLUDED.scanned_at
+            """, nativeQuery = true)
+    int markScanned(@Param("userId") UUID userId);
+
+    /**
+     * Find users whose transactions changed since their last scan, or who
+     * were never scanned. Scans all transactions, so it only runs at startup
+     * to catch changes whose refresh was lost.
+     *
+     * @return user ids needing a full rescan
+     */
+    @Query(value = """
+            SELECT u.id
+            FROM users u
+            LEFT JOIN recurring_scan_state s ON s.user_id = u.id
+            LEFT JOIN (
+                SELECT a.user_id, COUNT(t.id) AS transaction_count, SUM(t.amount) AS amount_total,
+                       MAX(t.updated_at) AS last_updated_at
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                GROUP BY a.user_id
+            ) w ON w.user_id = u.id
+            WHERE s.user_id IS NULL
+               OR s.transaction_count <> COALESCE(w.transaction_count, 0)
+               OR s.amount_total <> COALESCE(w.amount_total, 0)
+               OR s.last_updated_at IS DISTINCT FROM w.last_updated_at
+            """, nativeQuery = true)
+    List<UUID> findUsersToRescan();
+}
@@ -0,0 +1,140 @@
+package com.finance.app.repositories;
+
+import com.finance.app.anomaly.AnomalyType;
+import com.finance.app.models.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC batch writes of transactions for the batch API. Rows are sent in
+ * JDBC batches instead of one statement per entity, so these bypass the
+ * entity listeners: callers append the outbox and record the write
+ * themselves.
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final RowMapper<Transaction> EDITABLE_MAPPER = (rs, rowNum) -> {
+        Transaction transaction = new Transaction();
+        transaction.setId(rs.getObject("id", UUID.class));
+        transaction.setCleanDescription(rs.getString("clean_description"));
+        transaction.setCategory(rs.getString("category"));
+        transaction.setStatus(rs.getString("status"));
+        transaction.setAmount(rs.getBigDecimal("amount"));
+        transaction.setTransactionDate(rs.getObject("transaction_date", LocalDateTime.class));
+        transaction.setPersistedTransactionDate(transaction.getTransactionDate());
+        return transaction;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Find which of the given accounts belong to a user.
+     *
+     * @param userId     the user UUID
+     * @param accountIds account ids to check
+     * @return the ids owned by the user
+     */
+    public Set<UUID> findOwnedAccountIds(UUID userId, Collection<UUID> accountIds) {
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("SELECT id FROM accounts WHERE user_id = ? AND id = ANY(?)");
+            statement.setObject(1, userId);
+            statement.setArray(2, con.createArrayOf("uuid", accountIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class)));
+    }
+
+    /**
+     * Lock a user's transactions for update and load their editable fields.
+     * Ids of other users' transactions are left out. Must run inside a
+     * transaction; the locks last until it ends.
+     *
+     * @param userId         the user UUID
+     * @param transactionIds transaction ids to lock
+     * @return the user's transactions, with their date as persisted
+     */
+    public List<Transaction> lockOwned(UUID userId, Collection<UUID> transactionIds) {
+        return jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("""
+                    SELECT t.id, t.clean_description, t.category, t.status, t.amount, t.transaction_date
+                    FROM transactions t
+                    JOIN accounts a ON a.id = t.account_id
+                    WHERE a.user_id = ?
+                      AND t.id = ANY(?)
+                    ORDER BY t.id
+                    FOR UPDATE OF t
+                    """);
+            statement.setObject(1, userId);
+            statement.setArray(2, con.createArrayOf("uuid", transactionIds.toArray()));
+            return statement;
+        }, EDITABLE_MAPPER);
+    }
+
+    /**
+     * Insert new transactions with their ids already assigned.
+     *
+     * @param transactions transactions to insert, each with an account
+     * @param author       written to created_by and updated_by
+     * @param batchSize    rows per JDBC batch
+     */
+    public void insertAll(List<Transaction> transactions, String author, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions
+                    (id, account_id, raw_description, clean_description, category, amount, transaction_date,
+                     status, anomaly, created_at, created_by, updated_at, updated_by)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, transactions, batchSize, (statement, transaction) -> {
+            statement.setObject(1, transaction.getId());
+            statement.setObject(2, transaction.getAccount().getId());
+            statement.setString(3, transaction.getRawDescription());
+            statement.setString(4, transaction.getCleanDescription());
+            statement.setString(5, transaction.getCategory());
+            statement.setBigDecimal(6, transaction.getAmount());
+            statement.setTimestamp(7, Timestamp.valueOf(transaction.getTransactionDate()));
+            statement.setString(8, transaction.getStatus());
+            AnomalyType anomaly = transaction.getAnomaly();
+            statement.setString(9, anomaly != null ? anomaly.name() : null);
+            statement.setTimestamp(10, now);
+            statement.setString(11, author);
+            statement.setTimestamp(12, now);
+            statement.setString(13, author);
+        });
+    }
+
+    /**
+     * Write the editable fields of locked transactions.
+     *
+     * @param transactions transactions from {@link #lockOwned} with their new values
+     * @param author       written to updated_by
+     * @param batchSize    rows per JDBC batch
+     */
+    public void updateAll(List<Transaction> transactions, String author, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                UPDATE transactions
+                SET clean_description = ?, category = ?, status = ?, updated_at = ?, updated_by = ?
+                WHERE id = ?
+                """, transactions, batchSize, (statement, transaction) -> {
+            statement.setString(1, transaction.getCleanDescription());
+            statement.setString(2, transaction.getCategory());
+            statement.setString(3, transaction.getStatus());
+            statement.setTimestamp(4, now);
+            statement.setString(5, author);
+            statement.setObject(6, transaction.getId());
+        });
+    }
+}
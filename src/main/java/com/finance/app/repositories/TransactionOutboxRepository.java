@@ -0,0 +1,135 @@
+package com.finance.app.repositories;
+
+import com.finance.app.models.Transaction;
+import com.finance.app.outbox.TransactionChange;
+import com.finance.app.outbox.TransactionChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code transaction_outbox}. Appends run from JPA entity
+ * callbacks in the middle of a flush, where the EntityManager must not be
+ * used, so this goes through the transaction's JDBC connection instead.
+ */
+@Repository
+public class TransactionOutboxRepository {
+
+    private static final RowMapper<TransactionChange> CHANGE_MAPPER = (rs, rowNum) -> new TransactionChange(
+            rs.getLong("id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("transaction_id", UUID.class),
+            TransactionChangeType.valueOf(rs.getString("change_type")),
+            rs.getObject("transaction_date", LocalDateTime.class),
+            rs.getObject("previous_transaction_date", LocalDateTime.class),
+            rs.getBigDecimal("amount"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Append a change in the caller's transaction.
+     *
+     * @param userId                  the owning user
+     * @param transactionId           the written transaction
+     * @param type                    what happened to it
+     * @param transactionDate         its date after the write
+     * @param previousTransactionDate its date before an update, may be null
+     * @param amount                  its amount after the write
+     */
+    public void append(UUID userId, UUID transactionId, TransactionChangeType type,
+            LocalDateTime transactionDate, LocalDateTime previousTransactionDate, BigDecimal amount) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction_outbox
+                    (user_id, transaction_id, change_type, transaction_date, previous_transaction_date, amount)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, userId, transactionId, type.name(), transactionDate, previousTransactionDate, amount);
+    }
+
+    /**
+     * Append one change per transaction in the caller's transaction, sent as
+     * a JDBC batch. For updates the previous date is the persisted one.
+     *
+     * @param userId       the owning user
+     * @param type         what happened to the transactions
+     * @param transactions the written transactions
+     */
+    public void appendAll(UUID userId, TransactionChangeType type, List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_outbox
+                    (user_id, transaction_id, change_type, transaction_date, previous_transaction_date, amount)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, transactions.stream().map(transaction -> new Object[] {
+                        userId, transaction.getId(), type.name(), transaction.getTransactionDate(),
+                        type == TransactionChangeType.UPDATED ? transaction.getPersistedTransactionDate() : null,
+                        transaction.getAmount() }).toList());
+    }
+
+    /**
+     * Lock the oldest pending changes, skipping rows another relay holds.
+     * Must run inside a transaction; the locks last until it ends.
+     *
+     * @param limit maximum number of changes
+     * @return locked changes in outbox order
+     */
+    public List<TransactionChange> lockBatch(int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, user_id, transaction_id, change_type, transaction_date, previous_transaction_date,
+                       amount, created_at
+                FROM transaction_outbox
+                WHERE status = 'PENDING'
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, CHANGE_MAPPER, limit);
+    }
+
+    /**
+     * Remove delivered changes.
+     *
+     * @param ids outbox ids
+     */
+    public void delete(Collection<Long> ids) {
+        jdbcTemplate.batchUpdate("DELETE FROM transaction_outbox WHERE id = ?",
+                ids.stream().map(id -> new Object[] { id }).toList());
+    }
+
+    /**
+     * Count a failed delivery of changes. Changes that reach the attempt
+     * limit move to the terminal DEAD status and are no longer relayed.
+     *
+     * @param ids         outbox ids
+     * @param error       the failure message
+     * @param maxAttempts failed deliveries after which a change is dead
+     * @return ids of the changes that became dead
+     */
+    public List<Long> recordFailure(Collection<Long> ids, String error, int maxAttempts) {
+        return jdbcTemplate.query(con -> {
+            var statement = con.prepareStatement("""
+                    WITH failed AS (
+                        UPDATE transaction_outbox
+                        SET attempts = attempts + 1,
+                            last_error = ?,
+                            status = CASE WHEN attempts + 1 >= ? THEN 'DEAD' ELSE status END
+                        WHERE id = ANY(?)
+                        RETURNING id, status
+                    )
+                    SELECT id FROM failed WHERE status = 'DEAD' ORDER BY id
+                    """);
+            statement.setString(1, error);
+            statement.setInt(2, maxAttempts);
+            statement.setArray(3, con.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong("id"));
+    }
+}
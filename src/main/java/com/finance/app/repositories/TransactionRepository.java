@@ -1,12 +1,23 @@
 package com.finance.app.repositories;
 
 import com.finance.app.models.Transaction;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import com.finance.app.repositories.projections.CategoryMonthTotal;
+import com.finance.app.repositories.projections.CategoryTotal;
+import com.finance.app.repositories.projections.DailySpendTotal;
+import com.finance.app.repositories.projections.MerchantTotal;
+import com.finance.app.repositories.projections.MonthSpendTotal;
+import com.finance.app.repositories.projections.SnapshotRow;
+import com.finance.app.repositories.projections.TransactionWatermark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -71,4 +82,355 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
      */
     List<Transaction> findByAccount_User_IdAndTransactionDateBetween(
             UUID userId, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Find a user's most recent transactions without issuing a count query.
+     *
+     * @param userId   the user UUID
+     * @param pageable page size limit
+     * @return transactions ordered newest first
+     */
+    List<Transaction> findByAccount_User_IdOrderByTransactionDateDesc(UUID userId, Pageable pageable);
+
+    /**
+     * Sum a user's expenses per category within a date range.
+     * Expenses are negative amounts; totals are returned as positive values.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return one row per category, largest spend first
+     */
+    @Query("""
+            SELECT t.category AS category, -SUM(t.amount) AS total, COUNT(t) AS transactionCount
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+              AND t.amount < 0
+            GROUP BY t.category
+            ORDER BY SUM(t.amount) ASC
+            """)
+    List<CategoryTotal> sumExpensesByCategory(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Sum a user's income and expenses within a date range in one pass.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return income and expense totals
+     */
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN t.amount > 0 THEN t.amount ELSE 0 END), 0) AS income,
+                   COALESCE(SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0 END), 0) AS expenses
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+            """)
+    CashFlowTotal sumCashFlow(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Sum a user's expenses per category and calendar month within a date range.
+     * Returns at most one row per category per month, so the result stays small
+     * even for multi-year ranges.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return one row per category and month
+     */
+    @Query("""
+            SELECT t.category AS category,
+                   YEAR(t.transactionDate) AS spendYear,
+                   MONTH(t.transactionDate) AS spendMonth,
+                   -SUM(t.amount) AS total,
+                   COUNT(t) AS transactionCount
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+              AND t.amount < 0
+            GROUP BY t.category, YEAR(t.transactionDate), MONTH(t.transactionDate)
+            """)
+    List<CategoryMonthTotal> sumExpensesByCategoryAndMonth(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Sum a user's expenses per calendar month within a date range, in
+     * {@link com.finance.app.money.Money} units (scale 4, so amounts times 10000).
+     * Returns at most one row per month with expenses.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return one row per month with expenses
+     */
+    @Query("""
+            SELECT YEAR(t.transactionDate) AS spendYear,
+                   MONTH(t.transactionDate) AS spendMonth,
+                   CAST(-SUM(t.amount) * 10000 AS Long) AS totalUnits
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+              AND t.amount < 0
+            GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+            """)
+    List<MonthSpendTotal> sumExpensesByMonth(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Sum a user's expenses per calendar day within a date range.
+     * Returns at most one row per day, so a year of history is a few hundred
+     * rows however many transactions it holds.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return one row per day with expenses
+     */
+    @Query("""
+            SELECT YEAR(t.transactionDate) AS spendYear,
+                   MONTH(t.transactionDate) AS spendMonth,
+                   DAY(t.transactionDate) AS spendDay,
+                   -SUM(t.amount) AS total
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+              AND t.amount < 0
+            GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), DAY(t.transactionDate)
+            """)
+    List<DailySpendTotal> sumExpensesByDay(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Sum a user's expenses per merchant within a date range, normalizing
+     * merchants with the {@code merchant_name} database function.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @param limit     maximum number of merchants to return
+     * @return merchants ordered by largest spend first
+     */
+    @Query(value = """
+            SELECT m.merchant AS "merchant",
+                   -SUM(m.amount) AS "total",
+                   COUNT(*) AS "transactionCount"
+            FROM (
+                SELECT t.amount, merchant_name(t.clean_description, t.raw_description) AS merchant
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                WHERE a.user_id = :userId
+                  AND t.transaction_date BETWEEN :startDate AND :endDate
+                  AND t.amount < 0
+            ) m
+            WHERE m.merchant IS NOT NULL
+            GROUP BY m.merchant
+            ORDER BY SUM(m.amount) ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<MerchantTotal> sumExpensesByMerchant(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("limit") int limit);
+
+    /**
+     * Load the snapshot columns of a user's transactions within a date range,
+     * oldest first, without hydrating entities.
+     *
+     * @param userId    the user UUID
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return one row per transaction ordered by transaction date
+     */
+    @Query("""
+            SELECT t.transactionDate AS transactionDate, t.amount AS amount,
+                   t.category AS category, t.account.id AS accountId, t.updatedAt AS updatedAt
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+              AND t.transactionDate BETWEEN :startDate AND :endDate
+            ORDER BY t.transactionDate
+            """)
+    List<SnapshotRow> findSnapshotRows(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Load the snapshot columns of all of a user's transactions, oldest first.
+     *
+     * @param userId the user UUID
+     * @return one row per transaction ordered by transaction date
+     */
+    @Query("""
+            SELECT t.transactionDate AS transactionDate, t.amount AS amount,
+                   t.category AS category, t.account.id AS accountId, t.updatedAt AS updatedAt
+            FROM Transaction t
+            WHERE t.account.user.id = :userId
+            ORDER BY t.transactionDate
+            """)
+    List<SnapshotRow> findSnapshotRows(@Param("userId") UUID userId);
+
+    /**
+     * Summarize the given users' transactions so a persisted snapshot can be
+     * checked against the database: row count, amount total, the latest
+     * update time and a checksum of the snapshotted columns. Each row hashes
+     * to the first 32 bits of the MD5 of
+     * {@code epochDay|amountUnits|accountId|category}, matching
+     * {@code DataWatermark.rowHash}. Users without transactions are omitted.
+     *
+     * @param userIds the user UUIDs
+     * @return one row per user with transactions
+     */
+    @Query(value = """
+            SELECT a.user_id AS userId, COUNT(*) AS transactionCount,
+                   SUM(t.amount) AS amountTotal, MAX(t.updated_at) AS lastUpdatedAt,
+                   CAST(SUM(CAST(CAST('x' || LEFT(MD5(
+                       (CAST(t.transaction_date AS DATE) - DATE '1970-01-01')
+                       || '|' || CAST(t.amount * 10000 AS BIGINT)
+                       || '|' || t.account_id
+                       || '|' || COALESCE('=' || t.category, '-')), 8) AS BIT(32)) AS BIGINT)) AS BIGINT)
+                       AS contentChecksum
+            FROM transactions t
+            JOIN accounts a ON a.id = t.account_id
+            WHERE a.user_id IN (:userIds)
+            GROUP BY a.user_id
+            """, nativeQuery = true)
+    List<TransactionWatermark> findTransactionWatermarks(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Where clause selecting a user's transactions {@code t}, joined to their
+     * accounts {@code a}, that a recategorization would change. Shared by the
+     * recategorization queries so they always agree on what matches.
+     */
+    String RECATEGORIZE_MATCH = """
+            WHERE a.user_id = :userId
+              AND (CAST(:fromCategory AS TEXT) IS NULL OR t.category = :fromCategory)
+              AND (CAST(:merchant AS TEXT) IS NULL
+                   OR merchant_name(t.clean_description, t.raw_description) = :merchant)
+              AND (CAST(:startTime AS TIMESTAMP) IS NULL OR t.transaction_date >= :startTime)
+              AND (CAST(:endTime AS TIMESTAMP) IS NULL OR t.transaction_date < :endTime)
+              AND t.category IS DISTINCT FROM :toCategory
+            """;
+
+    /**
+     * Find the months holding a user's transactions that a recategorization
+     * would change.
+     *
+     * @param userId       the user UUID
+     * @param fromCategory current category to match, or null for any
+     * @param merchant     normalized merchant name to match, or null for any
+     * @param startTime    start of the date range (inclusive), or null
+     * @param endTime      end of the date range (exclusive), or null
+     * @param toCategory   the new category; rows already in it do not match
+     * @return months formatted as yyyy-MM
+     */
+    @Query(value = """
+            SELECT DISTINCT TO_CHAR(t.transaction_date, 'YYYY-MM')
+            FROM transactions t
+            JOIN accounts a ON a.id = t.account_id
+            """ + RECATEGORIZE_MATCH, nativeQuery = true)
+    List<String> findRecategorizeMonths(
+            @Param("userId") UUID userId,
+            @Param("fromCategory") String fromCategory,
+            @Param("merchant") String merchant,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("toCategory") String toCategory);
+
+    /**
+     * Find the ids closing each full chunk of a recategorization, walking the
+     * matching transactions in id order. Rows after the last id form the
+     * final, partial chunk.
+     *
+     * @param userId       the user UUID
+     * @param fromCategory current category to match, or null for any
+     * @param merchant     normalized merchant name to match, or null for any
+     * @param startTime    start of the date range (inclusive), or null
+     * @param endTime      end of the date range (exclusive), or null
+     * @param toCategory   the new category; rows already in it do not match
+     * @param chunkSize    transactions per chunk
+     * @return the last id of every full chunk, ascending
+     */
+    @Query(value = """
+            SELECT m.id
+            FROM (
+                SELECT t.id, ROW_NUMBER() OVER (ORDER BY t.id) AS position
+                FROM transactions t
+                JOIN accounts a ON a.id = t.account_id
+                """ + RECATEGORIZE_MATCH + """
+            ) m
+            WHERE m.position % :chunkSize = 0
+            ORDER BY m.id
+            """, nativeQuery = true)
+    List<UUID> findRecategorizeChunkEnds(
+            @Param("userId") UUID userId,
+            @Param("fromCategory") String fromCategory,
+            @Param("merchant") String merchant,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("toCategory") String toCategory,
+            @Param("chunkSize") int chunkSize);
+
+    /**
+     * Move one id range of matching transactions to a new category. When
+     * {@code outbox} is set, an outbox row for each changed transaction is
+     * appended in the same statement.
+     *
+     * @param userId       the user UUID
+     * @param fromCategory current category to match, or null for any
+     * @param merchant     normalized merchant name to match, or null for any
+     * @param startTime    start of the date range (inclusive), or null
+     * @param endTime      end of the date range (exclusive), or null
+     * @param toCategory   the new category; rows already in it do not match
+     * @param afterId      exclusive lower id bound
+     * @param upToId       inclusive upper id bound
+     * @param now          written to updated_at
+     * @param author       written to updated_by
+     * @param outbox       whether to append outbox rows
+     * @return number of transactions changed
+     */
+    @Query(value = """
+            WITH changed AS (
+                UPDATE transactions t
+                SET category = :toCategory, updated_at = :now, updated_by = :author
+                FROM accounts a
+                """ + RECATEGORIZE_MATCH + """
+                  AND a.id = t.account_id
+                  AND t.id > :afterId
+                  AND t.id <= :upToId
+                RETURNING t.id, t.transaction_date, t.amount
+            ), logged AS (
+                INSERT INTO transaction_outbox
+                    (user_id, transaction_id, change_type, transaction_date, previous_transaction_date, amount)
+                SELECT :userId, c.id, 'UPDATED', c.transaction_date, c.transaction_date, c.amount
+                FROM changed c
+                WHERE :outbox
+            )
+            SELECT COUNT(*) FROM changed
+            """, nativeQuery = true)
+    int recategorizeChunk(
+            @Param("userId") UUID userId,
+            @Param("fromCategory") String fromCategory,
+            @Param("merchant") String merchant,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("toCategory") String toCategory,
+            @Param("afterId") UUID afterId,
+            @Param("upToId") UUID upToId,
+            @Param("now") LocalDateTime now,
+            @Param("author") String author,
+            @Param("outbox") boolean outbox);
 }
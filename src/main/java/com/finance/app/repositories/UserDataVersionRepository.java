@@ -0,0 +1,111 @@
+package com.finance.app.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code users.data_version} and {@code users.summary_version}.
+ * Bumps run from JPA entity callbacks in the middle of a flush, where the
+ * EntityManager must not be used, so this goes through the transaction's
+ * JDBC connection instead.
+ */
+@Repository
+public class UserDataVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserDataVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param userId the user UUID
+     * @return the user's data version, or 0 for an unknown user
+     */
+    public long findVersion(UUID userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT data_version FROM users WHERE id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * Sum of every user's version, so it moves whenever any user's does.
+     * Scans the users table.
+     *
+     * @return the global data version
+     */
+    public long findGlobalVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(data_version), 0) FROM users", Long.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Bump a user's version in the caller's transaction. The row stays locked
+     * until it ends, so concurrent writers for one user get consecutive versions.
+     *
+     * @param userId the user UUID
+     * @return the new version, or 0 for an unknown user
+     */
+    public long increment(UUID userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "UPDATE users SET data_version = data_version + 1 WHERE id = ? RETURNING data_version",
+                Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * @param userId the user UUID
+     * @return true if the user's daily spend summary was rebuilt at the current data version
+     */
+    public boolean isSummaryCurrent(UUID userId) {
+        List<Boolean> current = jdbcTemplate.queryForList(
+                "SELECT summary_version = data_version FROM users WHERE id = ?", Boolean.class, userId);
+        return !current.isEmpty() && current.get(0);
+    }
+
+    /**
+     * Lock a user's row until the caller's transaction ends and read both
+     * versions. Writers bump the version under the same lock, so every write
+     * up to the returned data version has committed and no later one can
+     * commit until the caller does.
+     *
+     * @param userId the user UUID
+     * @return the versions, or empty for an unknown user
+     */
+    public Optional<SummaryVersions> lockVersions(UUID userId) {
+        List<SummaryVersions> versions = jdbcTemplate.query(
+                "SELECT data_version, summary_version FROM users WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> new SummaryVersions(rs.getLong(1), rs.getLong(2)), userId);
+        return versions.stream().findFirst();
+    }
+
+    /**
+     * Record the data version a user's daily spend summary was rebuilt at.
+     *
+     * @param userId  the user UUID
+     * @param version the data version the rebuild covers
+     */
+    public void recordSummaryVersion(UUID userId, long version) {
+        jdbcTemplate.update("UPDATE users SET summary_version = ? WHERE id = ?", version, userId);
+    }
+
+    /**
+     * @return users whose daily spend summary is behind their data version
+     */
+    public List<UUID> findUsersWithStaleSummary() {
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE summary_version <> data_version", UUID.class);
+    }
+
+    /**
+     * A user's data version and the data version their daily spend summary covers.
+     *
+     * @param dataVersion    the user's data version
+     * @param summaryVersion the data version the summary was last rebuilt at
+     */
+    public record SummaryVersions(long dataVersion, long summaryVersion) {
+    }
+}
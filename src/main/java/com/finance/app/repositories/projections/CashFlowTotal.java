@@ -0,0 +1,14 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expense totals over a date range, computed in the database.
+ * Expenses are returned as a positive amount.
+ */
+public interface CashFlowTotal {
+
+    BigDecimal getIncome();
+
+    BigDecimal getExpenses();
+}
@@ -0,0 +1,19 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated spend for one category in one calendar month.
+ */
+public interface CategoryMonthTotal {
+
+    String getCategory();
+
+    int getSpendYear();
+
+    int getSpendMonth();
+
+    BigDecimal getTotal();
+
+    long getTransactionCount();
+}
@@ -0,0 +1,15 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated spend for one category, computed with GROUP BY in the database.
+ */
+public interface CategoryTotal {
+
+    String getCategory();
+
+    BigDecimal getTotal();
+
+    long getTransactionCount();
+}
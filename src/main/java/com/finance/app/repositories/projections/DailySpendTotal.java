@@ -0,0 +1,17 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated spend for one calendar day.
+ */
+public interface DailySpendTotal {
+
+    int getSpendYear();
+
+    int getSpendMonth();
+
+    int getSpendDay();
+
+    BigDecimal getTotal();
+}
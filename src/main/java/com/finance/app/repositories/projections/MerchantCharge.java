@@ -0,0 +1,18 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * One expense with its normalized merchant, for recurring charge detection.
+ * The amount is positive and the day is counted from 1970-01-01.
+ */
+public interface MerchantCharge {
+
+    String getMerchant();
+
+    int getEpochDay();
+
+    BigDecimal getAmount();
+
+    String getCategory();
+}
@@ -0,0 +1,15 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated spend for one normalized merchant name.
+ */
+public interface MerchantTotal {
+
+    String getMerchant();
+
+    BigDecimal getTotal();
+
+    long getTransactionCount();
+}
@@ -0,0 +1,13 @@
+package com.finance.app.repositories.projections;
+
+/**
+ * Aggregated spend for one calendar month, in {@link com.finance.app.money.Money} units.
+ */
+public interface MonthSpendTotal {
+
+    int getSpendYear();
+
+    int getSpendMonth();
+
+    long getTotalUnits();
+}
@@ -0,0 +1,21 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a transaction needed by the in-memory analytics snapshot.
+ */
+public interface SnapshotRow {
+
+    LocalDateTime getTransactionDate();
+
+    BigDecimal getAmount();
+
+    String getCategory();
+
+    UUID getAccountId();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,15 @@
+package com.finance.app.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * A user-month whose daily spend summary disagrees with its transactions.
+ */
+public interface StaleSummaryMonth {
+
+    UUID getUserId();
+
+    int getSpendYear();
+
+    int getSpendMonth();
+}
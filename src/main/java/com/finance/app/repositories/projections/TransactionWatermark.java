@@ -0,0 +1,21 @@
+package com.finance.app.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Summary of one user's transactions used to validate persisted snapshots.
+ */
+public interface TransactionWatermark {
+
+    UUID getUserId();
+
+    long getTransactionCount();
+
+    BigDecimal getAmountTotal();
+
+    LocalDateTime getLastUpdatedAt();
+
+    Long getContentChecksum();
+}
@@ -0,0 +1,98 @@
+package com.finance.app.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs another encoder's hashing on a small dedicated pool with a bounded
+ * queue. However many logins arrive at once, hashing uses at most the
+ * pool's threads, so the other requests keep their CPU. Once the queue is
+ * full, or a hash is not done within the timeout, the call fails fast with
+ * {@link PasswordHashingBusyException} instead of tying up a request thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    /**
+     * @param delegate      the encoder doing the hashing
+     * @param threads       hashing threads
+     * @param queueCapacity hashes that may wait for a thread
+     * @param timeout       longest a caller waits for its hash, queueing included
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.executor = createExecutor(threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Reads the hash's prefix and parameters only, so it stays on the
+     * calling thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T hash(Supplier<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(work::get);
+        } catch (TaskRejectedException e) {
+            throw new PasswordHashingBusyException("Password hashing queue is full", e);
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing took longer than " + timeout, e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix("password-hash-");
+        taskExecutor.setCorePoolSize(threads);
+        taskExecutor.setMaxPoolSize(threads);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        // The default AbortPolicy rejects hashes beyond the queue rather than running them on the caller
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+}
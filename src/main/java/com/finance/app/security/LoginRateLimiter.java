@@ -0,0 +1,69 @@
+package com.finance.app.security;
+
+import com.finance.app.config.LoginRateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits login attempts with a token bucket per client IP and one per
+ * account. The IP limit slows one client trying many accounts; the account
+ * limit slows many clients trying one account. Buckets idle long enough to
+ * have refilled are dropped, since a new bucket starts full anyway.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final LoginRateLimitProperties properties;
+    private final LongSupplier nanoTime;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> accountBuckets;
+
+    @Autowired
+    public LoginRateLimiter(LoginRateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LoginRateLimiter(LoginRateLimitProperties properties, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.ipBuckets = buckets(properties.getIpCapacity(), properties.getIpRefillInterval());
+        this.accountBuckets = buckets(properties.getAccountCapacity(), properties.getAccountRefillInterval());
+    }
+
+    /**
+     * Take one attempt from the client's and the account's buckets.
+     * An attempt refused by the IP limit does not count against the account.
+     *
+     * @param clientIp the client's address
+     * @param email    the account's email as entered
+     * @return zero if the attempt may go ahead, otherwise how long until the next one may
+     */
+    public Duration tryAcquire(String clientIp, String email) {
+        if (!properties.isEnabled()) {
+            return Duration.ZERO;
+        }
+        long now = nanoTime.getAsLong();
+        long wait = ipBuckets.get(clientIp, key ->
+                new TokenBucket(properties.getIpCapacity(), properties.getIpRefillInterval(), now))
+                .tryConsume(now);
+        if (wait == 0 && email != null) {
+            wait = accountBuckets.get(email.trim().toLowerCase(Locale.ROOT), key ->
+                    new TokenBucket(properties.getAccountCapacity(), properties.getAccountRefillInterval(), now))
+                    .tryConsume(now);
+        }
+        return Duration.ofNanos(wait);
+    }
+
+    private Cache<String, TokenBucket> buckets(int capacity, Duration refillInterval) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(refillInterval.multipliedBy(capacity))
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.finance.app.security;
+
+/**
+ * Thrown when a password cannot be hashed or checked because the hashing
+ * threads are saturated. The request should be retried later.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
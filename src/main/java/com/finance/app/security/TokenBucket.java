@@ -0,0 +1,39 @@
+package com.finance.app.security;
+
+import java.time.Duration;
+
+/**
+ * A token bucket that starts full, holds at most {@code capacity} tokens
+ * and regains one every refill interval. Times are in
+ * {@link System#nanoTime()} units.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, Duration refillInterval, long now) {
+        this.capacity = capacity;
+        this.nanosPerToken = refillInterval.toNanos();
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Take a token if one is available.
+     *
+     * @param now the current time
+     * @return zero if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens--;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+}
@@ -1,14 +1,18 @@
 package com.finance.app.seeders;
 
 import com.finance.app.models.Account;
+import com.finance.app.models.Role;
 import com.finance.app.models.Transaction;
 import com.finance.app.models.User;
 import com.finance.app.repositories.AccountRepository;
 import com.finance.app.repositories.TransactionRepository;
 import com.finance.app.repositories.UserRepository;
+import com.finance.app.services.TransactionAnomalyService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +22,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 /**
  * Seeds the database with 500 fake transactions on startup if the table is
  * empty.
  * Generates messy raw descriptions typical of real bank transaction data.
+ * The test user, test@example.com, can only sign in with the password set
+ * in {@code app.seed.password}; without it the user gets a random password
+ * nobody knows, so no deployment ships a known credential.
  */
 @Component
 public class TransactionSeeder implements CommandLineRunner {
@@ -33,6 +41,9 @@ public class TransactionSeeder implements CommandLineRunner {
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final TransactionAnomalyService transactionAnomalyService;
+    private final PasswordEncoder passwordEncoder;
+    private final String testUserPassword;
     private final Random random = new Random();
 
     // Messy raw description templates typical of bank statements
@@ -164,10 +175,16 @@ public class TransactionSeeder implements CommandLineRunner {
 
     public TransactionSeeder(TransactionRepository transactionRepository,
             AccountRepository accountRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            TransactionAnomalyService transactionAnomalyService,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.seed.password:}") String testUserPassword) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
+        this.transactionAnomalyService = transactionAnomalyService;
+        this.passwordEncoder = passwordEncoder;
+        this.testUserPassword = testUserPassword;
     }
 
     @Override
@@ -188,6 +205,7 @@ public class TransactionSeeder implements CommandLineRunner {
 
         // Generate and save transactions
         List<Transaction> transactions = generateTransactions(testAccount);
+        transactionAnomalyService.screen(testUser.getId(), transactions);
         transactionRepository.saveAll(transactions);
 
         logger.info("Successfully seeded {} transactions.", transactions.size());
@@ -196,9 +214,16 @@ public class TransactionSeeder implements CommandLineRunner {
     private User getOrCreateTestUser() {
         return userRepository.findByEmail("test@example.com")
                 .orElseGet(() -> {
+                    String password = testUserPassword;
+                    if (password.isBlank()) {
+                        logger.info("app.seed.password is not set; the seeded test user cannot sign in.");
+                        password = UUID.randomUUID().toString();
+                    }
                     User user = new User();
                     user.setEmail("test@example.com");
                     user.setName("Test User");
+                    user.setPassword(passwordEncoder.encode(password));
+                    user.setRole(Role.USER);
                     user.setCreatedBy("TransactionSeeder");
                     return userRepository.save(user);
                 });
@@ -213,7 +238,7 @@ public class TransactionSeeder implements CommandLineRunner {
         Account account = new Account();
         account.setUser(user);
         account.setAccountName("Primary Checking");
-        account.setBalance(new BigDecimal("5000.00"));
+        account.setOpeningBalance(new BigDecimal("5000.00"));
         account.setCreatedBy("TransactionSeeder");
         return accountRepository.save(account);
     }
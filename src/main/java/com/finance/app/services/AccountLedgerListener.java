@@ -0,0 +1,67 @@
+package com.finance.app.services;
+
+import com.finance.app.ledger.LedgerEntry;
+import com.finance.app.models.Account;
+import com.finance.app.models.Transaction;
+import com.finance.app.repositories.AccountLedgerRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA listener that moves the account balance with every transaction
+ * insert, update and delete, in the same database transaction. An update
+ * reverses the stored entry and applies the new one, which nets to nothing
+ * unless the amount, date or account changed. Must be listed before
+ * {@link DataVersionEntityListener}, which resets the stored values this
+ * listener reads. Bulk JPQL/SQL writes bypass entity callbacks and must
+ * apply their entries through {@link AccountLedgerRepository} themselves.
+ */
+@Component
+public class AccountLedgerListener {
+
+    private final AccountLedgerRepository ledgerRepository;
+
+    public AccountLedgerListener(AccountLedgerRepository ledgerRepository) {
+        this.ledgerRepository = ledgerRepository;
+    }
+
+    @PostPersist
+    public void onInsert(Transaction transaction) {
+        ledgerRepository.applyAll(current(transaction));
+    }
+
+    @PostUpdate
+    public void onUpdate(Transaction transaction) {
+        List<LedgerEntry> entries = new ArrayList<>(current(transaction));
+        entries.addAll(reversal(transaction));
+        ledgerRepository.applyAll(entries);
+    }
+
+    @PostRemove
+    public void onDelete(Transaction transaction) {
+        ledgerRepository.applyAll(reversal(transaction));
+    }
+
+    private static List<LedgerEntry> current(Transaction transaction) {
+        Account account = transaction.getAccount();
+        if (account == null || account.getId() == null || transaction.getAmount() == null) {
+            return List.of();
+        }
+        return List.of(new LedgerEntry(account.getId(), transaction.getAmount(), transaction.getTransactionDate()));
+    }
+
+    private static List<LedgerEntry> reversal(Transaction transaction) {
+        UUID accountId = transaction.getPersistedAccountId();
+        if (accountId == null || transaction.getPersistedAmount() == null) {
+            return List.of();
+        }
+        return List.of(new LedgerEntry(accountId, transaction.getPersistedAmount().negate(),
+                transaction.getPersistedTransactionDate()));
+    }
+}
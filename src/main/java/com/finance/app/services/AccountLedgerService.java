@@ -0,0 +1,251 @@
+package com.finance.app.services;
+
+import com.finance.app.config.LedgerProperties;
+import com.finance.app.dto.AccountDTO;
+import com.finance.app.dto.BalancePointDTO;
+import com.finance.app.dto.NetWorthPointDTO;
+import com.finance.app.ledger.BalanceInterval;
+import com.finance.app.ledger.DailyBalance;
+import com.finance.app.ledger.NetWorthMerger;
+import com.finance.app.models.Account;
+import com.finance.app.repositories.AccountLedgerRepository;
+import com.finance.app.repositories.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads account balances kept by the ledger and takes the month-start
+ * snapshots that historical reads start from.
+ * <p>
+ * A balance at any date is the nearest earlier snapshot plus at most a
+ * month of transactions, so monthly histories cost one index lookup per
+ * point and daily histories one snapshot read plus a scan of the range,
+ * however old the account is.
+ */
+@Service
+public class AccountLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountLedgerService.class);
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final AccountRepository accountRepository;
+    private final AccountLedgerRepository ledgerRepository;
+    private final CurrentUserService currentUserService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxHistoryPoints;
+
+    public AccountLedgerService(AccountRepository accountRepository, AccountLedgerRepository ledgerRepository,
+            CurrentUserService currentUserService, PlatformTransactionManager transactionManager,
+            LedgerProperties properties) {
+        this.accountRepository = accountRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.currentUserService = currentUserService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxHistoryPoints = properties.getMaxHistoryPoints();
+    }
+
+    /**
+     * Get the authenticated user's accounts with their current balances.
+     *
+     * @return accounts ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<AccountDTO> getAccounts() {
+        return accountRepository.findByUserId(currentUserService.getCurrentUserId()).stream()
+                .sorted(Comparator.comparing(Account::getAccountName))
+                .map(account -> AccountDTO.builder()
+                        .id(account.getId())
+                        .accountName(account.getAccountName())
+                        .openingBalance(account.getOpeningBalance())
+                        .balance(account.getBalance())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Get the balance of one of the authenticated user's accounts at the end
+     * of a day.
+     *
+     * @param accountId the account UUID
+     * @param date      optional day (defaults to current date)
+     * @return the balance, or empty if the account is not the user's
+     */
+    @Transactional(readOnly = true)
+    public Optional<BalancePointDTO> getBalance(UUID accountId, LocalDate date) {
+        if (!isOwned(accountId)) {
+            return Optional.empty();
+        }
+        LocalDate day = date != null ? date : LocalDate.now();
+        BigDecimal balance = ledgerRepository.findBalancesAt(accountId, List.of(day)).get(day);
+        return Optional.of(BalancePointDTO.builder().date(day).balance(balance).build());
+    }
+
+    /**
+     * Check a balance history range before reading it.
+     *
+     * @param startDate optional start date
+     * @param endDate   optional end date
+     * @param interval  spacing of the points
+     * @return problems with the range, empty when it can be read
+     */
+    public List<String> validateHistory(LocalDate startDate, LocalDate endDate, BalanceInterval interval) {
+        List<String> errors = new ArrayList<>();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : defaultStart(end, interval);
+        if (start.isAfter(end)) {
+            errors.add("startDate is after endDate");
+        } else if (points(start, end, interval) > maxHistoryPoints) {
+            errors.add("range has more than " + maxHistoryPoints + " points");
+        }
+        return errors;
+    }
+
+    /**
+     * Get the end-of-day balances of one of the authenticated user's accounts
+     * over a range, one point per day or per month. Monthly points fall on
+     * month ends, with the last one on the end date. Read in one database
+     * snapshot, so a write landing between the reads is not half counted.
+     *
+     * @param accountId the account UUID
+     * @param startDate optional start date (defaults to 30 days or 12 months before end date)
+     * @param endDate   optional end date (defaults to current date)
+     * @param interval  spacing of the points
+     * @return balances in date order, or empty if the account is not the user's
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<List<BalancePointDTO>> getBalanceHistory(UUID accountId, LocalDate startDate,
+            LocalDate endDate, BalanceInterval interval) {
+        if (!isOwned(accountId)) {
+            return Optional.empty();
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : defaultStart(end, interval);
+        return Optional.of(interval == BalanceInterval.MONTH
+                ? monthlyHistory(accountId, start, end)
+                : dailyHistory(accountId, start, end));
+    }
+
+    /**
+     * Get the authenticated user's net worth, the sum of all account
+     * balances, at the end of each day or month in a range. Reads every
+     * account's daily balances in one query and merges them in memory, so
+     * the cost does not grow with the number of transactions or accounts
+     * queried separately.
+     *
+     * @param startDate optional start date (defaults to 30 days or 12 months before end date)
+     * @param endDate   optional end date (defaults to current date)
+     * @param interval  spacing of the points
+     * @return net worth in date order
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<NetWorthPointDTO> getNetWorthHistory(LocalDate startDate, LocalDate endDate,
+            BalanceInterval interval) {
+        UUID userId = currentUserService.getCurrentUserId();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : defaultStart(end, interval);
+        List<LocalDate> days = sampleDays(start, end, interval);
+        Map<UUID, BigDecimal> carriedIn = ledgerRepository.findBalancesBefore(userId, start);
+        Map<UUID, List<DailyBalance>> series = ledgerRepository.findDailyBalances(userId, start, end);
+        return NetWorthMerger.merge(carriedIn, series.values(), days).stream()
+                .map(point -> NetWorthPointDTO.builder().date(point.date()).netWorth(point.netWorth()).build())
+                .toList();
+    }
+
+    /**
+     * Take the current month's snapshot, and any earlier ones missing, for
+     * every account with transactions. Each account is snapshotted in its
+     * own transaction under its row lock, so concurrent writes are either
+     * fully counted in a new snapshot or adjust it after it is taken.
+     * Scheduled by {@link com.finance.app.config.SchedulingConfig}.
+     */
+    public void snapshot() {
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        List<UUID> accountIds = transactionTemplate.execute(status ->
+                ledgerRepository.findAccountsMissingSnapshot(monthStart));
+        int taken = 0;
+        for (UUID accountId : accountIds) {
+            try {
+                taken += transactionTemplate.execute(status -> {
+                    ledgerRepository.lockAccount(accountId);
+                    return ledgerRepository.insertMissingSnapshots(accountId, monthStart);
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not snapshot balance of account {}: {}", accountId, e.getMessage());
+            }
+        }
+        if (taken > 0) {
+            logger.info("Took {} balance snapshots for {} accounts", taken, accountIds.size());
+        }
+    }
+
+    private List<BalancePointDTO> dailyHistory(UUID accountId, LocalDate start, LocalDate end) {
+        LocalDate before = start.minusDays(1);
+        BigDecimal balance = ledgerRepository.findBalancesAt(accountId, List.of(before)).get(before);
+        Map<LocalDate, BigDecimal> totals = ledgerRepository.findDailyTotals(accountId, start, end);
+        List<BalancePointDTO> history = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            balance = balance.add(totals.getOrDefault(day, BigDecimal.ZERO));
+            history.add(BalancePointDTO.builder().date(day).balance(balance).build());
+        }
+        return history;
+    }
+
+    private List<BalancePointDTO> monthlyHistory(UUID accountId, LocalDate start, LocalDate end) {
+        List<LocalDate> days = sampleDays(start, end, BalanceInterval.MONTH);
+        Map<LocalDate, BigDecimal> balances = ledgerRepository.findBalancesAt(accountId, days);
+        return days.stream()
+                .map(day -> BalancePointDTO.builder().date(day).balance(balances.get(day)).build())
+                .toList();
+    }
+
+    /**
+     * Every day in the range, or each month end with the last one on the end date.
+     */
+    private static List<LocalDate> sampleDays(LocalDate start, LocalDate end, BalanceInterval interval) {
+        List<LocalDate> days = new ArrayList<>();
+        if (interval == BalanceInterval.DAY) {
+            start.datesUntil(end.plusDays(1)).forEach(days::add);
+            return days;
+        }
+        YearMonth last = YearMonth.from(end);
+        for (YearMonth month = YearMonth.from(start); !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate monthEnd = month.atEndOfMonth();
+            days.add(monthEnd.isAfter(end) ? end : monthEnd);
+        }
+        return days;
+    }
+
+    private boolean isOwned(UUID accountId) {
+        return accountRepository.existsByIdAndUserId(accountId, currentUserService.getCurrentUserId());
+    }
+
+    private static LocalDate defaultStart(LocalDate end, BalanceInterval interval) {
+        return interval == BalanceInterval.MONTH
+                ? end.minusMonths(DEFAULT_MONTHS - 1).withDayOfMonth(1)
+                : end.minusDays(DEFAULT_DAYS - 1);
+    }
+
+    private static long points(LocalDate start, LocalDate end, BalanceInterval interval) {
+        return interval == BalanceInterval.MONTH
+                ? ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(end)) + 1
+                : ChronoUnit.DAYS.between(start, end) + 1;
+    }
+}
@@ -0,0 +1,178 @@
+package com.finance.app.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches per-month analytics results keyed by (user, month, metric).
+ * <p>
+ * Closed months never expire; the current and future months expire after a
+ * short TTL because they still receive new transactions. Each entry keeps the
+ * user's data version it was computed at and is only served while that
+ * version is current, so writes committed on other nodes are seen too.
+ * Entries are also dropped as soon as a local write touches their month, and
+ * the cache is bounded by entry count with Caffeine's size-based eviction.
+ */
+@Component
+public class AnalyticsResultCache {
+
+    public static final String CACHE_NAME = "analyticsResults";
+
+    /**
+     * Metrics that can be cached per month.
+     */
+    public enum Metric {
+        MONTHLY_SPEND
+    }
+
+    record Key(UUID userId, YearMonth month, Metric metric) {
+    }
+
+    private record Versioned(long version, BigDecimal value) {
+    }
+
+    private final Cache<Key, Versioned> cache;
+    private final DataVersionService dataVersionService;
+
+    @Autowired
+    public AnalyticsResultCache(DataVersionService dataVersionService,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.cache.max-size:10000}") long maxSize,
+            @Value("${app.analytics.cache.open-month-ttl:30s}") Duration openMonthTtl) {
+        this(dataVersionService, meterRegistry, maxSize, openMonthTtl, Clock.systemDefaultZone());
+    }
+
+    AnalyticsResultCache(DataVersionService dataVersionService, MeterRegistry meterRegistry,
+            long maxSize, Duration openMonthTtl, Clock clock) {
+        this.dataVersionService = dataVersionService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new MonthExpiry(openMonthTtl.toNanos(), clock))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a cached result, computing and caching it on a miss.
+     *
+     * @param userId the user UUID
+     * @param month  the month the result covers
+     * @param metric the metric being computed
+     * @param loader computes the result on a miss
+     * @return the cached or freshly computed result
+     */
+    public BigDecimal get(UUID userId, YearMonth month, Metric metric, Supplier<BigDecimal> loader) {
+        return getAll(userId, Set.of(month), metric, missing -> Map.of(month, loader.get())).get(month);
+    }
+
+    /**
+     * Get cached results for several months, computing every missing month
+     * with a single loader call. The version is read before anything is
+     * computed, so results that race a write are stored under the older
+     * version and never served.
+     *
+     * @param userId the user UUID
+     * @param months the months to return
+     * @param metric the metric being computed
+     * @param loader computes the results for the missing months; must return every month it is given
+     * @return results for every requested month
+     */
+    public Map<YearMonth, BigDecimal> getAll(UUID userId, Collection<YearMonth> months, Metric metric,
+            Function<Set<YearMonth>, Map<YearMonth, BigDecimal>> loader) {
+        long version = dataVersionService.getUserVersion(userId);
+        Map<YearMonth, BigDecimal> results = new HashMap<>();
+        Set<YearMonth> missing = new HashSet<>();
+        for (YearMonth month : months) {
+            Versioned cached = cache.getIfPresent(new Key(userId, month, metric));
+            if (cached != null && cached.version() == version) {
+                results.put(month, cached.value());
+            } else {
+                missing.add(month);
+            }
+        }
+        if (missing.isEmpty()) {
+            return results;
+        }
+
+        Map<YearMonth, BigDecimal> loaded = loader.apply(Set.copyOf(missing));
+        for (YearMonth month : missing) {
+            BigDecimal value = loaded.get(month);
+            cache.put(new Key(userId, month, metric), new Versioned(version, value));
+            results.put(month, value);
+        }
+        return results;
+    }
+
+    /**
+     * Drop the cached results affected by a committed write.
+     *
+     * @param event the data change
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (event.allMonths()) {
+            cache.asMap().keySet().removeIf(key -> key.userId().equals(event.userId()));
+            return;
+        }
+        for (YearMonth month : event.months()) {
+            for (Metric metric : Metric.values()) {
+                cache.invalidate(new Key(event.userId(), month, metric));
+            }
+        }
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Keeps closed months indefinitely and expires open months after a TTL.
+     */
+    private static final class MonthExpiry implements Expiry<Key, Versioned> {
+
+        private final long openMonthTtlNanos;
+        private final Clock clock;
+
+        private MonthExpiry(long openMonthTtlNanos, Clock clock) {
+            this.openMonthTtlNanos = openMonthTtlNanos;
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, Versioned value, long currentTime) {
+            return key.month().isBefore(YearMonth.now(clock)) ? Long.MAX_VALUE : openMonthTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Versioned value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Versioned value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
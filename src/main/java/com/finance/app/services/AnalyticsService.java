@@ -1,21 +1,29 @@
 package com.finance.app.services;
 
 import com.finance.app.dto.BurnRateDTO;
-import com.finance.app.models.User;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.money.Money;
 import com.finance.app.repositories.TransactionRepository;
-import com.finance.app.repositories.UserRepository;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import com.finance.app.repositories.projections.CategoryTotal;
+import com.finance.app.repositories.projections.MonthSpendTotal;
+import com.finance.app.snapshot.TransactionSnapshot;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Service for analytics and reporting on financial data.
@@ -24,12 +32,21 @@ import java.util.List;
 public class AnalyticsService {
 
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final AnalyticsResultCache resultCache;
+    private final TransactionSnapshotService transactionSnapshotService;
+    private final DailySpendSummaryService dailySpendSummaryService;
     private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
+    private static final String UNCATEGORIZED = "Uncategorized";
 
-    public AnalyticsService(TransactionRepository transactionRepository, UserRepository userRepository) {
+    public AnalyticsService(TransactionRepository transactionRepository, CurrentUserService currentUserService,
+            AnalyticsResultCache resultCache, TransactionSnapshotService transactionSnapshotService,
+            DailySpendSummaryService dailySpendSummaryService) {
         this.transactionRepository = transactionRepository;
-        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
+        this.resultCache = resultCache;
+        this.transactionSnapshotService = transactionSnapshotService;
+        this.dailySpendSummaryService = dailySpendSummaryService;
     }
 
     /**
@@ -45,11 +62,21 @@ public class AnalyticsService {
      */
     @Transactional(readOnly = true)
     public List<BurnRateDTO> calculateBurnRate(LocalDate startDate, LocalDate endDate) {
-        // Get authenticated user
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+        return calculateBurnRate(currentUserService.getCurrentUserId(), startDate, endDate);
+    }
 
+    /**
+     * Calculate burn rate for an explicit user.
+     * Does not touch the security context, so it is safe to call from worker
+     * threads.
+     *
+     * @param userId    the user UUID
+     * @param startDate the start of the date range (optional)
+     * @param endDate   the end of the date range (optional)
+     * @return List of BurnRateDTO with monthly spending data
+     */
+    @Transactional(readOnly = true)
+    public List<BurnRateDTO> calculateBurnRate(UUID userId, LocalDate startDate, LocalDate endDate) {
         // Default to current date if not provided
         LocalDate effectiveEndDate = endDate != null ? endDate : LocalDate.now();
         YearMonth endMonth = YearMonth.from(effectiveEndDate);
@@ -65,34 +92,55 @@ public class AnalyticsService {
         // Determine current month for highlighting
         YearMonth currentMonth = YearMonth.now();
 
-        List<BurnRateDTO> results = new ArrayList<>();
-
-        // Iterate through months from start to end
-        YearMonth month = startMonth;
-        while (!month.isAfter(endMonth)) {
-            LocalDateTime startOfMonth = month.atDay(1).atStartOfDay();
-            LocalDateTime endOfMonth = month.atEndOfMonth().atTime(23, 59, 59);
-
-            // Sum all negative amounts (expenses) for this month FOR THE AUTHENTICATED USER
-            BigDecimal totalSpent = transactionRepository
-                    .findByAccount_User_IdAndTransactionDateBetween(user.getId(), startOfMonth, endOfMonth)
-                    .stream()
-                    .filter(t -> t.getAmount() != null && t.getAmount().compareTo(BigDecimal.ZERO) < 0)
-                    .map(t -> t.getAmount().abs())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        Map<YearMonth, BigDecimal> spend = transactionSnapshotService
+                .read(userId, snapshot -> sumMonthlySpend(snapshot, months))
+                .orElseGet(() -> resultCache.getAll(userId, months, AnalyticsResultCache.Metric.MONTHLY_SPEND,
+                        missing -> sumMonthlySpend(userId, missing)));
 
+        List<BurnRateDTO> results = new ArrayList<>();
+        for (YearMonth month : months) {
             results.add(BurnRateDTO.builder()
                     .monthName(month.format(MONTH_FORMATTER))
-                    .totalSpent(totalSpent)
+                    .totalSpent(spend.get(month))
                     .isCurrentMonth(month.equals(currentMonth))
                     .build());
-
-            month = month.plusMonths(1);
         }
 
         return results;
     }
 
+    private static Map<YearMonth, BigDecimal> sumMonthlySpend(TransactionSnapshot snapshot, List<YearMonth> months) {
+        Map<YearMonth, BigDecimal> spend = new HashMap<>();
+        for (YearMonth month : months) {
+            spend.put(month, Money.toBigDecimal(snapshot.spendUnits(month.atDay(1), month.atEndOfMonth())));
+        }
+        return spend;
+    }
+
+    // One grouped query covers every month, whichever months the cache is missing
+    private Map<YearMonth, BigDecimal> sumMonthlySpend(UUID userId, Set<YearMonth> months) {
+        YearMonth first = Collections.min(months);
+        YearMonth last = Collections.max(months);
+        List<MonthSpendTotal> totals = dailySpendSummaryService
+                .read(userId, summary -> summary.sumExpensesByMonth(userId, first.atDay(1), last.atEndOfMonth()))
+                .orElseGet(() -> transactionRepository.sumExpensesByMonth(userId, first.atDay(1).atStartOfDay(),
+                        last.atEndOfMonth().atTime(23, 59, 59)));
+
+        Map<YearMonth, Long> units = new HashMap<>();
+        for (MonthSpendTotal total : totals) {
+            units.put(YearMonth.of(total.getSpendYear(), total.getSpendMonth()), total.getTotalUnits());
+        }
+        Map<YearMonth, BigDecimal> spend = new HashMap<>();
+        for (YearMonth month : months) {
+            spend.put(month, Money.toBigDecimal(units.getOrDefault(month, 0L)));
+        }
+        return spend;
+    }
+
     /**
      * Calculate burn rate for the last 4 months (backward compatible).
      *
@@ -102,4 +150,59 @@ public class AnalyticsService {
     public List<BurnRateDTO> calculateBurnRate() {
         return calculateBurnRate(null, null);
     }
+
+    /**
+     * Sum a user's expenses per category within a date range.
+     * Aggregated over the in-memory snapshot when enabled, otherwise over the
+     * daily spend summary or the transactions in the database; uncategorized spend is reported under "Uncategorized".
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return category totals, largest spend first
+     */
+    @Transactional(readOnly = true)
+    public List<CategorySpendDTO> getCategoryBreakdown(UUID userId, LocalDate startDate, LocalDate endDate) {
+        Optional<List<TransactionSnapshot.CategorySpend>> snapshotSpend = transactionSnapshotService.read(userId,
+                snapshot -> snapshot.spendByCategory(startDate, endDate));
+        if (snapshotSpend.isPresent()) {
+            return snapshotSpend.get().stream()
+                    .sorted(Comparator.comparingLong(TransactionSnapshot.CategorySpend::units).reversed())
+                    .map(spend -> CategorySpendDTO.builder()
+                            .category(spend.category() != null ? spend.category() : UNCATEGORIZED)
+                            .totalSpent(Money.toBigDecimal(spend.units()))
+                            .transactionCount(spend.transactionCount())
+                            .build())
+                    .toList();
+        }
+
+        List<CategoryTotal> totals = dailySpendSummaryService
+                .read(userId, summary -> summary.sumExpensesByCategory(userId, startDate, endDate))
+                .orElseGet(() -> transactionRepository
+                        .sumExpensesByCategory(userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59)));
+        return totals.stream()
+                .map(row -> CategorySpendDTO.builder()
+                        .category(row.getCategory() != null ? row.getCategory() : UNCATEGORIZED)
+                        .totalSpent(row.getTotal())
+                        .transactionCount(row.getTransactionCount())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Sum a user's income and expenses within a date range in one query,
+     * over the daily spend summary when it is current.
+     *
+     * @param userId    the user UUID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return income and expense totals
+     */
+    @Transactional(readOnly = true)
+    public CashFlowTotal getCashFlow(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return dailySpendSummaryService
+                .read(userId, summary -> summary.sumCashFlow(userId, startDate, endDate))
+                .orElseGet(() -> transactionRepository
+                        .sumCashFlow(userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59)));
+    }
 }
@@ -0,0 +1,87 @@
+package com.finance.app.services;
+
+import com.finance.app.dto.BudgetStatusDTO;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.models.Budget;
+import com.finance.app.money.Money;
+import com.finance.app.repositories.BudgetRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for comparing category budgets against actual spending.
+ */
+@Service
+public class BudgetService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal WARNING_PERCENT = BigDecimal.valueOf(80);
+
+    private final BudgetRepository budgetRepository;
+    private final AnalyticsService analyticsService;
+
+    public BudgetService(BudgetRepository budgetRepository, AnalyticsService analyticsService) {
+        this.budgetRepository = budgetRepository;
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Get the status of every budget for a user in the given month.
+     *
+     * @param userId the user UUID
+     * @param month  the month to compare against
+     * @return one status per budget
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> getBudgetStatus(UUID userId, YearMonth month) {
+        List<Budget> budgets = budgetRepository.findByUserId(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Long> spentByCategory = new HashMap<>();
+        for (CategorySpendDTO category : analyticsService
+                .getCategoryBreakdown(userId, month.atDay(1), month.atEndOfMonth())) {
+            spentByCategory.merge(category.getCategory().toLowerCase(), Money.toUnits(category.getTotalSpent()),
+                    Money::add);
+        }
+
+        return budgets.stream()
+                .map(budget -> toStatus(budget, spentByCategory))
+                .toList();
+    }
+
+    private BudgetStatusDTO toStatus(Budget budget, Map<String, Long> spentByCategory) {
+        BigDecimal spent = Money.toBigDecimal(spentByCategory.getOrDefault(budget.getCategory().toLowerCase(), 0L));
+        BigDecimal limit = budget.getLimitAmount();
+        BigDecimal percentUsed = limit.signum() > 0
+                ? spent.multiply(HUNDRED).divide(limit, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return BudgetStatusDTO.builder()
+                .category(budget.getCategory())
+                .limitAmount(limit)
+                .spent(spent)
+                .percentUsed(percentUsed)
+                .status(determineStatus(percentUsed))
+                .build();
+    }
+
+    private String determineStatus(BigDecimal percentUsed) {
+        if (percentUsed.compareTo(HUNDRED) > 0) {
+            return "OVER";
+        }
+        if (percentUsed.compareTo(WARNING_PERCENT) >= 0) {
+            return "WARNING";
+        }
+        return "ON_TRACK";
+    }
+}
@@ -0,0 +1,169 @@
+package com.finance.app.services;
+
+import com.finance.app.dto.CategoryBreakdownDTO;
+import com.finance.app.dto.CategoryMonthDeltaDTO;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.dto.MerchantSpendDTO;
+import com.finance.app.money.Money;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.CategoryMonthTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Service for category and merchant spending analytics.
+ * All aggregation happens in the database; this service only shapes the
+ * grouped rows (at most one per category per month) into the response.
+ */
+@Service
+public class CategoryAnalyticsService {
+
+    private static final String UNCATEGORIZED = "Uncategorized";
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int DEFAULT_RANGE_MONTHS = 6;
+
+    private final TransactionRepository transactionRepository;
+    private final CurrentUserService currentUserService;
+
+    public CategoryAnalyticsService(TransactionRepository transactionRepository,
+            CurrentUserService currentUserService) {
+        this.transactionRepository = transactionRepository;
+        this.currentUserService = currentUserService;
+    }
+
+    /**
+     * Get the category breakdown for the authenticated user.
+     *
+     * @param startDate     optional start date (defaults to the start of the 6-month window ending at end date)
+     * @param endDate       optional end date (defaults to current date)
+     * @param merchantLimit number of top merchants to include
+     * @return category totals, top merchants and month-over-month deltas
+     */
+    @Transactional(readOnly = true)
+    public CategoryBreakdownDTO getCategoryBreakdown(LocalDate startDate, LocalDate endDate, int merchantLimit) {
+        UUID userId = currentUserService.getCurrentUserId();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : YearMonth.from(end).minusMonths(DEFAULT_RANGE_MONTHS - 1).atDay(1);
+        return getCategoryBreakdown(userId, start, end, merchantLimit);
+    }
+
+    /**
+     * Get the category breakdown for an explicit user.
+     * Category totals are derived from the monthly rows, so the whole response
+     * costs two grouped queries regardless of the range length.
+     *
+     * @param userId        the user UUID
+     * @param startDate     first day of the range (inclusive)
+     * @param endDate       last day of the range (inclusive)
+     * @param merchantLimit number of top merchants to include
+     * @return category totals, top merchants and month-over-month deltas
+     */
+    @Transactional(readOnly = true)
+    public CategoryBreakdownDTO getCategoryBreakdown(UUID userId, LocalDate startDate, LocalDate endDate,
+            int merchantLimit) {
+        List<CategoryMonthTotal> monthly = transactionRepository.sumExpensesByCategoryAndMonth(
+                userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+
+        List<MerchantSpendDTO> merchants = transactionRepository
+                .sumExpensesByMerchant(userId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59), merchantLimit)
+                .stream()
+                .map(row -> MerchantSpendDTO.builder()
+                        .merchant(row.getMerchant())
+                        .totalSpent(row.getTotal())
+                        .transactionCount(row.getTransactionCount())
+                        .build())
+                .toList();
+
+        return CategoryBreakdownDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .categories(totalByCategory(monthly))
+                .topMerchants(merchants)
+                .monthOverMonth(monthOverMonth(monthly, YearMonth.from(startDate), YearMonth.from(endDate)))
+                .build();
+    }
+
+    private List<CategorySpendDTO> totalByCategory(List<CategoryMonthTotal> monthly) {
+        Map<String, CategoryAccumulator> totals = new HashMap<>();
+        for (CategoryMonthTotal row : monthly) {
+            CategoryAccumulator total = totals.computeIfAbsent(categoryName(row), CategoryAccumulator::new);
+            total.units = Money.add(total.units, Money.toUnits(row.getTotal()));
+            total.transactionCount += row.getTransactionCount();
+        }
+        return totals.values().stream()
+                .sorted(Comparator.comparingLong((CategoryAccumulator total) -> total.units).reversed()
+                        .thenComparing(total -> total.category))
+                .map(total -> CategorySpendDTO.builder()
+                        .category(total.category)
+                        .totalSpent(Money.toBigDecimal(total.units))
+                        .transactionCount(total.transactionCount)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Build one delta per category per month in the range. Months without
+     * spend count as zero so a category that stops appearing shows a drop.
+     */
+    private List<CategoryMonthDeltaDTO> monthOverMonth(List<CategoryMonthTotal> monthly,
+            YearMonth firstMonth, YearMonth lastMonth) {
+        Map<String, Map<YearMonth, Long>> byCategory = new TreeMap<>();
+        for (CategoryMonthTotal row : monthly) {
+            byCategory.computeIfAbsent(categoryName(row), category -> new HashMap<>())
+                    .merge(YearMonth.of(row.getSpendYear(), row.getSpendMonth()), Money.toUnits(row.getTotal()),
+                            Money::add);
+        }
+
+        List<CategoryMonthDeltaDTO> deltas = new ArrayList<>();
+        byCategory.forEach((category, totals) -> {
+            Long previous = null;
+            for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                long current = totals.getOrDefault(month, 0L);
+                deltas.add(CategoryMonthDeltaDTO.builder()
+                        .category(category)
+                        .month(month.toString())
+                        .totalSpent(Money.toBigDecimal(current))
+                        .change(previous != null ? Money.toBigDecimal(Money.subtract(current, previous)) : null)
+                        .percentChange(percentChange(previous, current))
+                        .build());
+                previous = current;
+            }
+        });
+        return deltas;
+    }
+
+    private static BigDecimal percentChange(Long previous, long current) {
+        if (previous == null || previous == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(Money.subtract(current, previous))
+                .multiply(HUNDRED)
+                .divide(BigDecimal.valueOf(previous), 2, RoundingMode.HALF_UP);
+    }
+
+    private String categoryName(CategoryMonthTotal row) {
+        return row.getCategory() != null ? row.getCategory() : UNCATEGORIZED;
+    }
+
+    private static final class CategoryAccumulator {
+        private final String category;
+        private long units;
+        private long transactionCount;
+
+        private CategoryAccumulator(String category) {
+            this.category = category;
+        }
+    }
+}
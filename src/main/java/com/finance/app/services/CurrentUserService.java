@@ -0,0 +1,62 @@
+package com.finance.app.services;
+
+import com.finance.app.models.User;
+import com.finance.app.repositories.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Resolves the authenticated user from the security context.
+ */
+@Service
+public class CurrentUserService {
+
+    private final UserRepository userRepository;
+
+    public CurrentUserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Get the authenticated user.
+     * Must be called on the request thread, where the security context is bound.
+     *
+     * @return the authenticated user
+     * @throws UsernameNotFoundException if the user no longer exists
+     */
+    public User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+    }
+
+    /**
+     * Get the authenticated user's id.
+     * Uses the principal loaded during authentication when available, so no
+     * extra query is issued.
+     *
+     * @return the authenticated user's UUID
+     * @throws UsernameNotFoundException if the principal is not a User and the user no longer exists
+     */
+    public UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        return getCurrentUser().getId();
+    }
+
+    /**
+     * Get the authenticated user's login name, recorded as the author of
+     * writes. Must be called on the request thread.
+     *
+     * @return the authenticated user's email
+     */
+    public String getCurrentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+}
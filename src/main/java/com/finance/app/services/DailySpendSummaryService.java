@@ -0,0 +1,165 @@
+package com.finance.app.services;
+
+import com.finance.app.config.DailySummaryProperties;
+import com.finance.app.repositories.DailySpendSummaryRepository;
+import com.finance.app.repositories.UserDataVersionRepository;
+import com.finance.app.repositories.UserDataVersionRepository.SummaryVersions;
+import com.finance.app.repositories.projections.StaleSummaryMonth;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps the {@code daily_spend_summary} table in step with transactions and
+ * decides when analytics may read from it.
+ * <p>
+ * Committed writes mark the affected user-months dirty; a scheduled refresh
+ * rebuilds just those months with one delete and one grouped insert each.
+ * Until a user's dirty months are rebuilt, {@link #read} returns empty and
+ * callers fall back to the transactions table, so the summary never serves a
+ * result older than the last committed write. On startup the whole table is
+ * compared with the transactions once, which repairs any refresh lost to a
+ * crash; nothing is served from the summary until that has run.
+ * <p>
+ * Writes on another node never reach this node's dirty set, so each rebuild
+ * also records the user's data version it covers in
+ * {@code users.summary_version}, and reads need that to match the current
+ * data version too. A rebuild only touches the marked months when this node
+ * saw every write since the last recorded version; otherwise it rebuilds all
+ * of the user's rows.
+ */
+@Service
+public class DailySpendSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailySpendSummaryService.class);
+
+    // Bounds used to rebuild all of a user's rows; both fit a PostgreSQL DATE
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final DailySpendSummaryRepository summaryRepository;
+    private final UserDataVersionRepository dataVersionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final PendingMonths dirty = new PendingMonths();
+    private volatile boolean reconciled;
+
+    public DailySpendSummaryService(DailySpendSummaryRepository summaryRepository,
+            UserDataVersionRepository dataVersionRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry, DailySummaryProperties properties) {
+        this.summaryRepository = summaryRepository;
+        this.dataVersionRepository = dataVersionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = properties.isEnabled();
+        Gauge.builder("analytics.daily_summary.dirty_users", dirty, PendingMonths::size)
+                .description("Users whose daily spend summary is waiting for a refresh")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a query against the summary if it is current for the user.
+     *
+     * @param userId the user UUID
+     * @param query  the query to run
+     * @param <R>    the result type
+     * @return the result, or empty if the summary is disabled, not yet
+     *         reconciled or has unrefreshed writes for the user on any node
+     */
+    public <R> Optional<R> read(UUID userId, Function<DailySpendSummaryRepository, R> query) {
+        if (!enabled || !reconciled || dirty.contains(userId) || !dataVersionRepository.isSummaryCurrent(userId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(query.apply(summaryRepository));
+    }
+
+    /**
+     * Mark the months touched by a committed write for refresh. Budget-only
+     * writes mark no months but still move the data version, so they are
+     * marked too and the refresh records the new version.
+     *
+     * @param event the data change
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        dirty.mark(event.userId(), event.months(), event.allMonths(), event.version());
+    }
+
+    /**
+     * Reconcile the table on the first run, then rebuild every dirty
+     * user-month. A failed rebuild stays dirty and is retried on the next run.
+     * Scheduled by {@link com.finance.app.config.SchedulingConfig}.
+     */
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (!reconciled) {
+            reconcile();
+        }
+        dirty.process((userId, marked) -> transactionTemplate.executeWithoutResult(status -> rebuild(userId, marked)),
+                (userId, e) -> logger.warn("Could not refresh daily spend summary for user {}: {}",
+                        userId, e.getMessage()));
+    }
+
+    private void reconcile() {
+        long start = System.nanoTime();
+        List<StaleSummaryMonth> stale = transactionTemplate.execute(status -> summaryRepository.findStaleMonths());
+        for (StaleSummaryMonth month : stale) {
+            dirty.mark(month.getUserId(), Set.of(YearMonth.of(month.getSpendYear(), month.getSpendMonth())), false);
+        }
+        // Rows may match while the recorded version lags, e.g. after a crash between commit and refresh
+        List<UUID> behind = dataVersionRepository.findUsersWithStaleSummary();
+        behind.forEach(userId -> dirty.mark(userId, Set.of(), true));
+        reconciled = true;
+        logger.info("Reconciled daily spend summary in {} ms; {} user-months stale, {} users behind",
+                (System.nanoTime() - start) / 1_000_000, stale.size(), behind.size());
+    }
+
+    private void rebuild(UUID userId, PendingMonths.Mark marked) {
+        Optional<SummaryVersions> locked = dataVersionRepository.lockVersions(userId);
+        if (locked.isEmpty()) {
+            return;
+        }
+        SummaryVersions versions = locked.get();
+        if (marked.allMonths() || !coversEveryWrite(marked, versions)) {
+            summaryRepository.deleteRange(userId, EARLIEST, LATEST);
+            summaryRepository.insertRange(userId, EARLIEST.atStartOfDay(), LATEST.plusDays(1).atStartOfDay());
+        } else {
+            for (YearMonth month : marked.months()) {
+                summaryRepository.deleteRange(userId, month.atDay(1), month.atEndOfMonth());
+                summaryRepository.insertRange(userId, month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay());
+            }
+        }
+        dataVersionRepository.recordSummaryVersion(userId, versions.dataVersion());
+    }
+
+    // True if this node marked every write between the recorded summary version and now
+    private static boolean coversEveryWrite(PendingMonths.Mark marked, SummaryVersions versions) {
+        long missing = versions.dataVersion() - versions.summaryVersion();
+        long seen = marked.versions().stream()
+                .filter(version -> version - versions.summaryVersion() > 0 && version - versions.dataVersion() <= 0)
+                .count();
+        return seen == missing;
+    }
+
+    boolean isDirty(UUID userId) {
+        return dirty.contains(userId);
+    }
+}
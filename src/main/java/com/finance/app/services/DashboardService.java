@@ -0,0 +1,166 @@
+package com.finance.app.services;
+
+import com.finance.app.datasource.RoutingHint;
+import com.finance.app.dto.BudgetStatusDTO;
+import com.finance.app.dto.BurnRateDTO;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.dto.DashboardSummaryDTO;
+import com.finance.app.dto.SpendingForecastDTO;
+import com.finance.app.dto.TransactionDTO;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard summary by running each section concurrently on a
+ * bounded executor. Every section has its own timeout, counted from
+ * submission; a section that fails, times out or finds the executor full is
+ * left empty and reported instead of failing the response. Sections carry
+ * the user as a {@link RoutingHint}, so reads right after the user's own
+ * writes stay on the primary.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final CurrentUserService currentUserService;
+    private final AnalyticsService analyticsService;
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final SpendingForecastService spendingForecastService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration sectionTimeout;
+
+    public DashboardService(CurrentUserService currentUserService,
+            AnalyticsService analyticsService,
+            TransactionService transactionService,
+            BudgetService budgetService,
+            SpendingForecastService spendingForecastService,
+            @Value("${app.dashboard.executor.pool-size:16}") int poolSize,
+            @Value("${app.dashboard.executor.queue-capacity:256}") int queueCapacity,
+            @Value("${app.dashboard.section-timeout:3s}") Duration sectionTimeout) {
+        this.currentUserService = currentUserService;
+        this.analyticsService = analyticsService;
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+        this.spendingForecastService = spendingForecastService;
+        this.sectionTimeout = sectionTimeout;
+        this.executor = createExecutor(poolSize, queueCapacity);
+    }
+
+    /**
+     * Build the dashboard summary for the authenticated user.
+     * Response time is bounded by the slowest section, not the sum.
+     *
+     * @param startDate   optional start date (defaults to 4 months before end date)
+     * @param endDate     optional end date (defaults to current date)
+     * @param recentLimit number of recent transactions to include
+     * @return summary with every section that completed in time
+     */
+    public DashboardSummaryDTO getSummary(LocalDate startDate, LocalDate endDate, int recentLimit) {
+        // Resolve the user on the request thread; sections run without the security context
+        UUID userId = currentUserService.getCurrentUserId();
+        String username = currentUserService.getCurrentUsername();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : YearMonth.from(end).minusMonths(3).atDay(1);
+        List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<List<BurnRateDTO>> burnRate = section(username, "burnRate",
+                () -> analyticsService.calculateBurnRate(userId, start, end), unavailable);
+        CompletableFuture<CashFlowTotal> cashFlow = section(username, "totals",
+                () -> analyticsService.getCashFlow(userId, start, end), unavailable);
+        CompletableFuture<List<TransactionDTO>> recent = section(username, "recentTransactions",
+                () -> transactionService.getRecentTransactions(userId, recentLimit), unavailable);
+        CompletableFuture<List<CategorySpendDTO>> categories = section(username, "categoryBreakdown",
+                () -> analyticsService.getCategoryBreakdown(userId, start, end), unavailable);
+        CompletableFuture<List<BudgetStatusDTO>> budgets = section(username, "budgetStatus",
+                () -> budgetService.getBudgetStatus(userId, YearMonth.from(end)), unavailable);
+        CompletableFuture<SpendingForecastDTO> forecast = section(username, "spendingForecast",
+                () -> spendingForecastService.getForecast(userId, end), unavailable);
+
+        CompletableFuture.allOf(burnRate, cashFlow, recent, categories, budgets, forecast).join();
+
+        CashFlowTotal totals = cashFlow.join();
+        List<String> sortedUnavailable = new ArrayList<>(unavailable);
+        Collections.sort(sortedUnavailable);
+
+        return DashboardSummaryDTO.builder()
+                .startDate(start)
+                .endDate(end)
+                .totalIncome(totals != null ? totals.getIncome() : null)
+                .totalExpenses(totals != null ? totals.getExpenses() : null)
+                .burnRate(burnRate.join())
+                .recentTransactions(recent.join())
+                .categoryBreakdown(categories.join())
+                .budgetStatus(budgets.join())
+                .spendingForecast(forecast.join())
+                .unavailableSections(sortedUnavailable)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> section(String username, String name, Supplier<T> task,
+            List<String> unavailable) {
+        // Arm the timeout before submitting, so it also covers time spent in the queue
+        CompletableFuture<T> result = new CompletableFuture<T>()
+                .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            Future<?> running = executor.submit(() -> {
+                try {
+                    result.complete(RoutingHint.forUser(username, task));
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+            // Stop a timed-out section instead of letting it hold a pool thread
+            result.whenComplete((value, ex) -> {
+                if (ex instanceof TimeoutException) {
+                    running.cancel(true);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(ex);
+        }
+        return result.exceptionally(ex -> {
+            logger.warn("Dashboard section {} unavailable", name, ex);
+            unavailable.add(name);
+            return null;
+        });
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix("dashboard-");
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        // When saturated, reject the section rather than run it untimed on the request thread
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+}
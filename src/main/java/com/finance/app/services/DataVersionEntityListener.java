@@ -0,0 +1,84 @@
+package com.finance.app.services;
+
+import com.finance.app.models.Account;
+import com.finance.app.models.Budget;
+import com.finance.app.models.Transaction;
+import com.finance.app.models.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JPA listener that bumps the owning user's data version whenever a
+ * transaction or budget is inserted, updated or deleted, along with the
+ * months the change touched. Bulk JPQL/SQL updates bypass entity callbacks
+ * and must call {@link DataVersionService#recordWrite(UUID)} themselves.
+ */
+@Component
+public class DataVersionEntityListener {
+
+    private final DataVersionService dataVersionService;
+
+    public DataVersionEntityListener(DataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof Transaction transaction) {
+            transaction.markPersisted();
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (entity instanceof Transaction transaction) {
+            dataVersionService.recordWrite(ownerOf(entity), affectedMonths(transaction));
+            transaction.markPersisted();
+        } else {
+            dataVersionService.recordWrite(ownerOf(entity), Set.of());
+        }
+    }
+
+    /**
+     * The month the transaction is in now, plus the month it was moved out of
+     * when its date changed.
+     */
+    private static Set<YearMonth> affectedMonths(Transaction transaction) {
+        Set<YearMonth> months = new HashSet<>();
+        addMonth(months, transaction.getTransactionDate());
+        addMonth(months, transaction.getPersistedTransactionDate());
+        return months;
+    }
+
+    private static void addMonth(Set<YearMonth> months, LocalDateTime date) {
+        if (date != null) {
+            months.add(YearMonth.from(date));
+        }
+    }
+
+    private static UUID ownerOf(Object entity) {
+        if (entity instanceof Transaction transaction) {
+            Account account = transaction.getAccount();
+            return account != null ? idOf(account.getUser()) : null;
+        }
+        if (entity instanceof Budget budget) {
+            return idOf(budget.getUser());
+        }
+        return null;
+    }
+
+    private static UUID idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,171 @@
+package com.finance.app.services;
+
+import com.finance.app.repositories.UserDataVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks a data version per user, bumped whenever that user's transactions
+ * or budgets change. Controllers derive ETags from it so a conditional GET
+ * can be answered with 304 before any query runs.
+ * <p>
+ * Versions live in the users table and are bumped in the writing
+ * transaction, so they commit with the data and every node sees the same
+ * version. A reader always reads the version before the data, so it can
+ * never tag fresh data with a version that is newer than the data.
+ * After each commit a {@link UserDataChangedEvent} is published on the
+ * writing node so its derived caches can drop exactly the months that
+ * changed; other nodes see only the new version and rebuild instead.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserDataVersionRepository versionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @Autowired
+    public DataVersionService(UserDataVersionRepository versionRepository, ApplicationEventPublisher eventPublisher) {
+        this(versionRepository, eventPublisher, Clock.systemDefaultZone());
+    }
+
+    DataVersionService(UserDataVersionRepository versionRepository, ApplicationEventPublisher eventPublisher,
+            Clock clock) {
+        this.versionRepository = versionRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the current data version for a user.
+     *
+     * @param userId the user UUID
+     * @return the version, stable until the user's data changes
+     */
+    public long getUserVersion(UUID userId) {
+        return versionRepository.findVersion(userId);
+    }
+
+    /**
+     * Get the version of all data, bumped on every user's writes.
+     * Used by listings that are not scoped to one user.
+     *
+     * @return the global version
+     */
+    public long getGlobalVersion() {
+        return versionRepository.findGlobalVersion();
+    }
+
+    /**
+     * Strong ETag for a user-scoped response. Includes today's date because
+     * responses that default to "now" change at midnight without any write.
+     *
+     * @param userId the user UUID
+     * @return quoted ETag value
+     */
+    public String userETag(UUID userId) {
+        return "\"u" + Long.toHexString(getUserVersion(userId)) + "-" + LocalDate.now(clock).toEpochDay() + "\"";
+    }
+
+    /**
+     * Strong ETag for a response computed from all users' data.
+     *
+     * @return quoted ETag value
+     */
+    public String globalETag() {
+        return "\"g" + Long.toHexString(getGlobalVersion()) + "\"";
+    }
+
+    /**
+     * Record that a user's data changed in unknown months, e.g. after a bulk
+     * update. Every cached result for the user is discarded.
+     *
+     * @param userId the user UUID, ignored when null
+     */
+    public void recordWrite(UUID userId) {
+        record(userId, Set.of(), true);
+    }
+
+    /**
+     * Record that a user's data changed. Inside a transaction the version is
+     * bumped once per user in that transaction and the event is published
+     * after commit; a rollback leaves the version untouched.
+     *
+     * @param userId the user UUID, ignored when null
+     * @param months months whose transactions changed; empty for budget-only writes
+     */
+    public void recordWrite(UUID userId, Collection<YearMonth> months) {
+        record(userId, months, false);
+    }
+
+    private void record(UUID userId, Collection<YearMonth> months, boolean allMonths) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingWrite write = new PendingWrite(versionRepository.increment(userId));
+            write.months.addAll(months);
+            write.allMonths = allMonths;
+            publish(userId, write);
+            return;
+        }
+        Map<UUID, PendingWrite> pending = pendingWrites();
+        PendingWrite write = pending.get(userId);
+        if (write == null) {
+            write = new PendingWrite(versionRepository.increment(userId));
+            pending.put(userId, write);
+        }
+        write.months.addAll(months);
+        write.allMonths |= allMonths;
+    }
+
+    private Map<UUID, PendingWrite> pendingWrites() {
+        @SuppressWarnings("unchecked")
+        Map<UUID, PendingWrite> pending = (Map<UUID, PendingWrite>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<UUID, PendingWrite> writes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writes.forEach(DataVersionService.this::publish);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+                }
+            });
+            pending = writes;
+        }
+        return pending;
+    }
+
+    private void publish(UUID userId, PendingWrite write) {
+        eventPublisher.publishEvent(
+                new UserDataChangedEvent(userId, write.version, Set.copyOf(write.months), write.allMonths));
+    }
+
+    private static final class PendingWrite {
+        private final long version;
+        private final Set<YearMonth> months = new HashSet<>();
+        private boolean allMonths;
+
+        private PendingWrite(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.finance.app.services;
+
+import com.finance.app.config.LiveUpdateProperties;
+import com.finance.app.datasource.RoutingHint;
+import com.finance.app.dto.BudgetStatusDTO;
+import com.finance.app.dto.MonthTotalDTO;
+import com.finance.app.dto.TransactionDeltaDTO;
+import com.finance.app.outbox.TransactionChange;
+import com.finance.app.outbox.TransactionChangesEvent;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Pushes compact deltas to users' open server-sent event streams.
+ * <p>
+ * Transaction writes relayed from the outbox are sent as {@code transaction}
+ * events; after a commit, the totals of each changed month and the current
+ * budget statuses are recomputed once per user, however many writes arrived
+ * meanwhile, and sent as {@code month-total} and {@code budgets} events. A
+ * bulk change of unknown months sends {@code resync} instead, telling the
+ * client to refetch.
+ * <p>
+ * Producers only append to a stream's bounded buffer. A small pool writes
+ * buffers out, at most one task per stream at a time, so idle streams hold
+ * no thread; a task yields its thread after a buffer's worth of events.
+ * Totals are computed on a separate pool, so slow queries do not hold up
+ * writes. A stream whose buffer overflows is sent a single {@code resync}
+ * in place of the updates it missed. Writes block, so a client that stops
+ * reading would hold a writer thread: a stream whose write has been blocked,
+ * or that has stayed behind since an overflow, for longer than the send
+ * timeout is closed the next time anything is offered to it, at the latest
+ * on the next heartbeat.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    static final String TRANSACTION_EVENT = "transaction";
+    static final String MONTH_TOTAL_EVENT = "month-total";
+    static final String BUDGETS_EVENT = "budgets";
+    static final String RESYNC_EVENT = "resync";
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(3);
+
+    private final AnalyticsService analyticsService;
+    private final BudgetService budgetService;
+    private final Executor dispatchExecutor;
+    private final Executor totalsExecutor;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final ConcurrentHashMap<UUID, Deque<Connection>> connections = new ConcurrentHashMap<>();
+    private final PendingMonths pendingTotals = new PendingMonths();
+    private final Counter resyncs;
+    private final Counter stalls;
+
+    @Autowired
+    public LiveUpdateService(AnalyticsService analyticsService, BudgetService budgetService,
+            MeterRegistry meterRegistry, LiveUpdateProperties properties) {
+        this(analyticsService, budgetService, meterRegistry, properties,
+                createExecutor("live-updates-", properties.getDispatchThreads()),
+                createExecutor("live-totals-", properties.getTotalsThreads()));
+    }
+
+    LiveUpdateService(AnalyticsService analyticsService, BudgetService budgetService,
+            MeterRegistry meterRegistry, LiveUpdateProperties properties, Executor dispatchExecutor,
+            Executor totalsExecutor) {
+        this.analyticsService = analyticsService;
+        this.budgetService = budgetService;
+        this.dispatchExecutor = dispatchExecutor;
+        this.totalsExecutor = totalsExecutor;
+        this.enabled = properties.isEnabled();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.sendTimeoutNanos = properties.getSendTimeout().toNanos();
+        this.bufferSize = properties.getBufferSize();
+        this.maxConnectionsPerUser = properties.getMaxConnectionsPerUser();
+        Gauge.builder("live_updates.connections", connections,
+                        map -> map.values().stream().mapToInt(Deque::size).sum())
+                .description("Open live update streams")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("live_updates.resyncs")
+                .description("Streams told to refetch after their buffer overflowed")
+                .register(meterRegistry);
+        this.stalls = Counter.builder("live_updates.stalls")
+                .description("Streams closed because their client stopped reading")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Open a stream for a user. Opening more than the per-user limit closes
+     * the user's oldest stream.
+     *
+     * @param userId the user UUID
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter connect(UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(connection));
+
+        Deque<Connection> evicted = new ArrayDeque<>();
+        connections.compute(userId, (id, userConnections) -> {
+            Deque<Connection> open = userConnections != null ? userConnections : new ConcurrentLinkedDeque<>();
+            open.addLast(connection);
+            while (open.size() > maxConnectionsPerUser) {
+                evicted.add(open.pollFirst());
+            }
+            return open;
+        });
+        evicted.forEach(Connection::close);
+
+        // Sent right away so the client knows the stream is live before fetching its baseline
+        connection.offer(SseEmitter.event().reconnectTime(RECONNECT_DELAY.toMillis()).comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Send each relayed transaction write to its owner's streams.
+     *
+     * @param event a batch drained from the outbox
+     */
+    @EventListener
+    public void onTransactionChanges(TransactionChangesEvent event) {
+        for (TransactionChange change : event.changes()) {
+            Deque<Connection> open = connections.get(change.userId());
+            if (open == null) {
+                continue;
+            }
+            TransactionDeltaDTO delta = TransactionDeltaDTO.builder()
+                    .id(change.transactionId())
+                    .change(change.type())
+                    .amount(change.amount())
+                    .transactionDate(change.transactionDate())
+                    .build();
+            open.forEach(connection -> connection.offer(SseEmitter.event()
+                    .id(Long.toString(change.id()))
+                    .name(TRANSACTION_EVENT)
+                    .data(delta, MediaType.APPLICATION_JSON)));
+        }
+    }
+
+    /**
+     * Queue a recompute of the changed months for a connected user. Requests
+     * arriving before the recompute runs are merged into it.
+     *
+     * @param event the data change
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        UUID userId = event.userId();
+        if (!connections.containsKey(userId)) {
+            return;
+        }
+        // Only the first mark of a burst schedules a task; later ones merge into it
+        if (pendingTotals.mark(userId, event.months(), event.allMonths())) {
+            // Recompute on the primary: a lagging replica may not have the commit yet
+            totalsExecutor.execute(() -> RoutingHint.onPrimary(() -> publishTotals(userId)));
+        }
+    }
+
+    /**
+     * Write a keep-alive comment to every stream so proxies keep idle
+     * streams open and closed or stalled clients are noticed.
+     * Scheduled by {@link com.finance.app.config.SchedulingConfig}.
+     */
+    public void heartbeat() {
+        connections.values().forEach(open -> open.forEach(
+                connection -> connection.offer(SseEmitter.event().comment("keep-alive"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(open -> open.forEach(Connection::close));
+        for (Executor executor : List.of(dispatchExecutor, totalsExecutor)) {
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private void publishTotals(UUID userId) {
+        PendingMonths.Mark request = pendingTotals.take(userId);
+        Deque<Connection> open = connections.get(userId);
+        if (request == null || open == null) {
+            return;
+        }
+        try {
+            if (request.allMonths()) {
+                open.forEach(connection -> connection.offer(SseEmitter.event().name(RESYNC_EVENT).data("")));
+                return;
+            }
+            for (YearMonth month : request.months().stream().sorted().toList()) {
+                CashFlowTotal totals = analyticsService.getCashFlow(userId, month.atDay(1), month.atEndOfMonth());
+                MonthTotalDTO total = MonthTotalDTO.builder()
+                        .month(month)
+                        .totalIncome(totals.getIncome())
+                        .totalSpent(totals.getExpenses())
+                        .build();
+                open.forEach(connection -> connection.offer(SseEmitter.event()
+                        .name(MONTH_TOTAL_EVENT)
+                        .data(total, MediaType.APPLICATION_JSON)));
+            }
+            YearMonth current = YearMonth.now();
+            // Budget-only writes carry no months; spending in the current month moves budget status too
+            if (request.months().isEmpty() || request.months().contains(current)) {
+                List<BudgetStatusDTO> budgets = budgetService.getBudgetStatus(userId, current);
+                open.forEach(connection -> connection.offer(SseEmitter.event()
+                        .name(BUDGETS_EVENT)
+                        .data(budgets, MediaType.APPLICATION_JSON)));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not compute live totals for user {}: {}", userId, e.getMessage());
+            open.forEach(connection -> connection.offer(SseEmitter.event().name(RESYNC_EVENT).data("")));
+        }
+    }
+
+    private void remove(Connection connection) {
+        connection.closed();
+        connections.computeIfPresent(connection.userId, (id, open) -> {
+            open.remove(connection);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setThreadNamePrefix(threadNamePrefix);
+        taskExecutor.setCorePoolSize(threads);
+        taskExecutor.setMaxPoolSize(threads);
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    /**
+     * One open stream with its bounded buffer of unsent events.
+     */
+    private final class Connection {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private boolean stalled;
+        // System.nanoTime() when the current write started and when the buffer last overflowed; 0 when not
+        private long sendingSince;
+        private long behindSince;
+
+        private Connection(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            boolean stall;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                long now = System.nanoTime();
+                stall = isStalled(now);
+                if (stall) {
+                    stalled = true;
+                    closed();
+                } else {
+                    if (buffer.size() >= bufferSize) {
+                        // The client missed updates; one resync replaces everything it has not seen
+                        buffer.clear();
+                        buffer.add(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                        resyncs.increment();
+                        if (behindSince == 0) {
+                            behindSince = now;
+                        }
+                    } else {
+                        buffer.add(event);
+                    }
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (stall) {
+                // The writer blocked in send completes the emitter once it returns; completing here would block too
+                stalls.increment();
+                remove(this);
+                return;
+            }
+            dispatchExecutor.execute(this::drain);
+        }
+
+        private boolean isStalled(long now) {
+            return (sendingSince != 0 && now - sendingSince > sendTimeoutNanos)
+                    || (behindSince != 0 && now - behindSince > sendTimeoutNanos);
+        }
+
+        private void drain() {
+            for (int sent = 0; ; sent++) {
+                SseEmitter.SseEventBuilder event;
+                boolean complete = false;
+                boolean more = false;
+                synchronized (this) {
+                    event = closed ? null : buffer.poll();
+                    if (event == null) {
+                        draining = false;
+                        sendingSince = 0;
+                        behindSince = 0;
+                        complete = stalled;
+                    } else if (sent == bufferSize) {
+                        // Let other streams' tasks run before writing more of this one
+                        buffer.addFirst(event);
+                        sendingSince = 0;
+                        event = null;
+                        more = true;
+                    } else {
+                        sendingSince = System.nanoTime();
+                    }
+                }
+                if (complete) {
+                    emitter.complete();
+                } else if (more) {
+                    dispatchExecutor.execute(this::drain);
+                }
+                if (event == null) {
+                    return;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the stream already completed; the container ends the request
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            remove(this);
+            emitter.complete();
+        }
+
+        private synchronized void closed() {
+            closed = true;
+            buffer.clear();
+        }
+    }
+}
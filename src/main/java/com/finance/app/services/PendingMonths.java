@@ -0,0 +1,136 @@
+package com.finance.app.services;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-user months waiting for work after committed writes, such as a
+ * summary rebuild or a rescan.
+ * <p>
+ * Marks for the same user are merged into one. Each merge creates a new
+ * {@link Mark} and marks are compared by identity, so finishing the work
+ * for a mark only clears it if nothing was merged into it meanwhile; a
+ * write that lands during the work stays pending for the next run.
+ */
+final class PendingMonths {
+
+    private final ConcurrentHashMap<UUID, Mark> marks = new ConcurrentHashMap<>();
+
+    /**
+     * Mark months for a user, merging with anything already pending.
+     *
+     * @param userId    the user UUID
+     * @param months    the months to mark
+     * @param allMonths true when the affected months are unknown
+     * @return true if nothing was pending for the user before
+     */
+    boolean mark(UUID userId, Set<YearMonth> months, boolean allMonths) {
+        return mark(userId, months, allMonths, Set.of());
+    }
+
+    /**
+     * Mark months changed by a write at a known data version, merging with
+     * anything already pending.
+     *
+     * @param userId    the user UUID
+     * @param months    the months to mark
+     * @param allMonths true when the affected months are unknown
+     * @param version   the user's data version after the write
+     * @return true if nothing was pending for the user before
+     */
+    boolean mark(UUID userId, Set<YearMonth> months, boolean allMonths, long version) {
+        return mark(userId, months, allMonths, Set.of(version));
+    }
+
+    private boolean mark(UUID userId, Set<YearMonth> months, boolean allMonths, Set<Long> versions) {
+        Mark mark = new Mark(months, allMonths, versions);
+        return marks.merge(userId, mark, Mark::union) == mark;
+    }
+
+    boolean contains(UUID userId) {
+        return marks.containsKey(userId);
+    }
+
+    int size() {
+        return marks.size();
+    }
+
+    /**
+     * Remove and return a user's mark, whatever was merged into it.
+     *
+     * @param userId the user UUID
+     * @return the mark, or null if nothing was pending
+     */
+    Mark take(UUID userId) {
+        return marks.remove(userId);
+    }
+
+    /**
+     * Run the work for every pending user. A mark is cleared once its work
+     * succeeds, unless more months were merged into it meanwhile; a mark
+     * whose work fails stays pending for the next call.
+     *
+     * @param work      does the work for one user's mark
+     * @param onFailure told about each failed user
+     */
+    void process(BiConsumer<UUID, Mark> work, BiConsumer<UUID, RuntimeException> onFailure) {
+        for (UUID userId : List.copyOf(marks.keySet())) {
+            Mark mark = marks.get(userId);
+            if (mark == null) {
+                continue;
+            }
+            try {
+                work.accept(userId, mark);
+                marks.remove(userId, mark);
+            } catch (RuntimeException e) {
+                onFailure.accept(userId, e);
+            }
+        }
+    }
+
+    /**
+     * Months pending for one user. When {@code allMonths} is set the months
+     * are empty and every month must be treated as changed. {@code versions}
+     * holds the data versions of the marked writes that reported one.
+     */
+    static final class Mark {
+
+        private final Set<YearMonth> months;
+        private final boolean allMonths;
+        private final Set<Long> versions;
+
+        private Mark(Set<YearMonth> months, boolean allMonths, Set<Long> versions) {
+            this.months = allMonths ? Set.of() : months;
+            this.allMonths = allMonths;
+            this.versions = versions;
+        }
+
+        Set<YearMonth> months() {
+            return months;
+        }
+
+        boolean allMonths() {
+            return allMonths;
+        }
+
+        Set<Long> versions() {
+            return versions;
+        }
+
+        private Mark union(Mark other) {
+            Set<Long> mergedVersions = new HashSet<>(versions);
+            mergedVersions.addAll(other.versions);
+            if (allMonths || other.allMonths) {
+                return new Mark(Set.of(), true, Set.copyOf(mergedVersions));
+            }
+            Set<YearMonth> merged = new HashSet<>(months);
+            merged.addAll(other.months);
+            return new Mark(Set.copyOf(merged), false, Set.copyOf(mergedVersions));
+        }
+    }
+}
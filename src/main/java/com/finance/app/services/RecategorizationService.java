@@ -0,0 +1,161 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.config.TransactionBatchProperties;
+import com.finance.app.dto.RecategorizeRequest;
+import com.finance.app.dto.RecategorizeResultDTO;
+import com.finance.app.repositories.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves many of a user's transactions to another category with set-based
+ * updates, e.g. when categories are renamed or merged.
+ * <p>
+ * Matching transactions are walked in id order and updated one id range
+ * per database transaction, so row locks are held for one chunk at a time
+ * and a long run never blocks other writers for its whole length. Each
+ * chunk appends its outbox rows in the same statement and records the
+ * affected months, so caches, summaries and recurring scans catch up as
+ * chunks commit.
+ */
+@Service
+public class RecategorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecategorizationService.class);
+
+    // Ends of the uuid ordering, bounding the first and last chunks
+    static final UUID FIRST_ID = new UUID(0L, 0L);
+    static final UUID LAST_ID = new UUID(-1L, -1L);
+    private static final int CATEGORY_LENGTH = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final DataVersionService dataVersionService;
+    private final CurrentUserService currentUserService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter recategorized;
+    private final int chunkSize;
+    private final boolean outboxEnabled;
+
+    public RecategorizationService(TransactionRepository transactionRepository,
+            DataVersionService dataVersionService, CurrentUserService currentUserService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            TransactionBatchProperties properties, OutboxProperties outboxProperties) {
+        this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.currentUserService = currentUserService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recategorized = Counter.builder("transactions.recategorized")
+                .description("Transactions moved to another category by bulk recategorization")
+                .register(meterRegistry);
+        this.chunkSize = properties.getRecategorizeChunkSize();
+        this.outboxEnabled = outboxProperties.isEnabled();
+    }
+
+    /**
+     * Check a request before running it.
+     *
+     * @param request the recategorization
+     * @return problems with the request, empty when it can run
+     */
+    public List<String> validate(RecategorizeRequest request) {
+        List<String> errors = new ArrayList<>();
+        String toCategory = trimToNull(request.getToCategory());
+        if (toCategory == null) {
+            errors.add("toCategory is required");
+        } else if (toCategory.length() > CATEGORY_LENGTH) {
+            errors.add("toCategory is longer than " + CATEGORY_LENGTH + " characters");
+        }
+        if (trimToNull(request.getFromCategory()) == null && trimToNull(request.getMerchant()) == null) {
+            errors.add("fromCategory or merchant is required");
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            errors.add("startDate is after endDate");
+        }
+        return errors;
+    }
+
+    /**
+     * Move the authenticated user's matching transactions to the new
+     * category. Chunks committed before a failure stay applied; running the
+     * request again finishes the rest.
+     *
+     * @param request a request that passed {@link #validate}
+     * @return the number of transactions moved
+     */
+    public RecategorizeResultDTO recategorize(RecategorizeRequest request) {
+        UUID userId = currentUserService.getCurrentUserId();
+        String author = currentUserService.getCurrentUsername();
+        Filter filter = new Filter(userId,
+                trimToNull(request.getFromCategory()),
+                trimToNull(request.getMerchant()),
+                request.getStartDate() != null ? request.getStartDate().atStartOfDay() : null,
+                request.getEndDate() != null ? request.getEndDate().plusDays(1).atStartOfDay() : null,
+                trimToNull(request.getToCategory()));
+
+        List<String> monthKeys = transactionTemplate.execute(status -> transactionRepository.findRecategorizeMonths(
+                filter.userId(), filter.fromCategory(), filter.merchant(), filter.startTime(), filter.endTime(),
+                filter.toCategory()));
+        if (monthKeys.isEmpty()) {
+            return RecategorizeResultDTO.builder().build();
+        }
+        Set<YearMonth> months = monthKeys.stream().map(YearMonth::parse).collect(Collectors.toUnmodifiableSet());
+
+        // Chunk bounds are taken up front in one ordered scan; rows written meanwhile fall into some range
+        List<UUID> chunkEnds = new ArrayList<>(transactionTemplate.execute(status ->
+                transactionRepository.findRecategorizeChunkEnds(filter.userId(), filter.fromCategory(),
+                        filter.merchant(), filter.startTime(), filter.endTime(), filter.toCategory(), chunkSize)));
+        chunkEnds.add(LAST_ID);
+
+        long updated = 0;
+        UUID afterId = FIRST_ID;
+        for (UUID upToId : chunkEnds) {
+            updated += runChunk(filter, afterId, upToId, months, author);
+            afterId = upToId;
+        }
+        int chunks = chunkEnds.size();
+        recategorized.increment(updated);
+        logger.info("Recategorized {} transactions to {} for user {} in {} chunks",
+                updated, filter.toCategory(), userId, chunks);
+        return RecategorizeResultDTO.builder().updated(updated).chunks(chunks).build();
+    }
+
+    private int runChunk(Filter filter, UUID afterId, UUID upToId, Set<YearMonth> months, String author) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int changed = transactionRepository.recategorizeChunk(filter.userId(), filter.fromCategory(),
+                    filter.merchant(), filter.startTime(), filter.endTime(), filter.toCategory(), afterId, upToId,
+                    now, author, outboxEnabled);
+            if (changed > 0) {
+                dataVersionService.recordWrite(filter.userId(), months);
+            }
+            return changed;
+        });
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Filter(UUID userId, String fromCategory, String merchant, LocalDateTime startTime,
+            LocalDateTime endTime, String toCategory) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.finance.app.services;
+
+import com.finance.app.config.RecurringProperties;
+import com.finance.app.dto.RecurringSeriesDTO;
+import com.finance.app.models.RecurringSeries;
+import com.finance.app.money.Money;
+import com.finance.app.recurring.RecurringDetector;
+import com.finance.app.repositories.RecurringSeriesRepository;
+import com.finance.app.repositories.projections.MerchantCharge;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintains each user's detected recurring charges in
+ * {@code recurring_series}.
+ * <p>
+ * Committed writes mark the changed months; a scheduled scan then reloads
+ * only the merchants charged in those months, plus any series spanning them,
+ * and runs {@link RecurringDetector} over their history. A bulk change of
+ * unknown months rescans all of the user's merchants. Each scan records the
+ * user's transaction watermark first, and on startup users whose watermark
+ * no longer matches are rescanned, which repairs scans lost to a crash.
+ */
+@Service
+public class RecurringDetectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringDetectionService.class);
+
+    private final RecurringSeriesRepository seriesRepository;
+    private final CurrentUserService currentUserService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int lookbackMonths;
+    private final PendingMonths pending = new PendingMonths();
+    private volatile boolean reconciled;
+
+    public RecurringDetectionService(RecurringSeriesRepository seriesRepository,
+            CurrentUserService currentUserService, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry, RecurringProperties properties) {
+        this.seriesRepository = seriesRepository;
+        this.currentUserService = currentUserService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = properties.isEnabled();
+        this.lookbackMonths = properties.getLookbackMonths();
+        Gauge.builder("recurring.pending_users", pending, PendingMonths::size)
+                .description("Users whose recurring charges are waiting for a scan")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the authenticated user's recurring charges.
+     *
+     * @param includeInactive whether to include series whose next charge is overdue
+     * @return series ordered by merchant
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringSeriesDTO> getRecurringSeries(boolean includeInactive) {
+        LocalDate today = LocalDate.now();
+        return seriesRepository.findByUserIdOrderByMerchant(currentUserService.getCurrentUserId()).stream()
+                .map(series -> toDTO(series, today))
+                .filter(series -> includeInactive || series.isActive())
+                .toList();
+    }
+
+    /**
+     * Check whether a user has committed writes not yet reflected in their
+     * series.
+     *
+     * @param userId the user UUID
+     * @return true while a scan is pending
+     */
+    public boolean isPending(UUID userId) {
+        return enabled && (!reconciled || pending.contains(userId));
+    }
+
+    /**
+     * Mark the months touched by a committed write for scanning.
+     *
+     * @param event the data change
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!enabled || (!event.allMonths() && event.months().isEmpty())) {
+            return;
+        }
+        pending.mark(event.userId(), event.months(), event.allMonths());
+    }
+
+    /**
+     * Rescan stale users on the first run, then scan every pending user.
+     * A failed scan stays pending and is retried on the next run.
+     * Scheduled by {@link com.finance.app.config.SchedulingConfig}.
+     */
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (!reconciled) {
+            List<UUID> stale = transactionTemplate.execute(status -> seriesRepository.findUsersToRescan());
+            stale.forEach(userId -> pending.mark(userId, Set.of(), true));
+            reconciled = true;
+            logger.info("{} users queued for a recurring charge rescan", stale.size());
+        }
+        pending.process((userId, scan) -> transactionTemplate.executeWithoutResult(status -> scan(userId, scan)),
+                (userId, e) -> logger.warn("Could not scan recurring charges for user {}: {}",
+                        userId, e.getMessage()));
+    }
+
+    private void scan(UUID userId, PendingMonths.Mark scan) {
+        // Record the watermark before reading so a write committing meanwhile
+        // leaves it behind and is caught by the startup check
+        seriesRepository.markScanned(userId);
+        LocalDateTime since = YearMonth.now().minusMonths(lookbackMonths).atDay(1).atStartOfDay();
+
+        List<MerchantCharge> charges;
+        List<RecurringSeries> existing;
+        if (scan.allMonths()) {
+            charges = seriesRepository.findAllCharges(userId, since);
+            existing = seriesRepository.findByUserIdOrderByMerchant(userId);
+        } else {
+            Set<String> merchants = new HashSet<>();
+            for (YearMonth month : scan.months()) {
+                merchants.addAll(seriesRepository.findMerchantsCharged(userId, month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay()));
+                merchants.addAll(seriesRepository.findMerchantsSpanning(userId, month.atDay(1),
+                        month.atEndOfMonth()));
+            }
+            if (merchants.isEmpty()) {
+                return;
+            }
+            charges = seriesRepository.findCharges(userId, since, merchants);
+            existing = seriesRepository.findByUserIdAndMerchantIn(userId, merchants);
+        }
+
+        List<RecurringDetector.Charge> series = new ArrayList<>(charges.size());
+        for (MerchantCharge charge : charges) {
+            series.add(new RecurringDetector.Charge(charge.getMerchant(), LocalDate.ofEpochDay(charge.getEpochDay()),
+                    Money.toUnits(charge.getAmount()), charge.getCategory()));
+        }
+        apply(userId, existing, RecurringDetector.detect(series));
+    }
+
+    private void apply(UUID userId, List<RecurringSeries> existing, List<RecurringDetector.Detection> detections) {
+        Map<String, RecurringSeries> byMerchant = new HashMap<>();
+        existing.forEach(series -> byMerchant.put(series.getMerchant(), series));
+
+        List<RecurringSeries> saved = new ArrayList<>(detections.size());
+        for (RecurringDetector.Detection detection : detections) {
+            RecurringSeries series = byMerchant.remove(detection.merchant());
+            if (series == null) {
+                series = RecurringSeries.builder().userId(userId).merchant(detection.merchant()).build();
+            }
+            series.setCategory(detection.category());
+            series.setCadence(detection.cadence());
+            series.setTypicalAmount(Money.toBigDecimal(detection.typicalUnits()));
+            series.setOccurrences(detection.occurrences());
+            series.setFirstSeen(detection.firstSeen());
+            series.setLastSeen(detection.lastSeen());
+            series.setNextExpected(detection.cadence().next(detection.lastSeen()));
+            saved.add(series);
+        }
+        // Merchants left over no longer recur
+        seriesRepository.deleteAll(byMerchant.values());
+        seriesRepository.saveAll(saved);
+    }
+
+    private static RecurringSeriesDTO toDTO(RecurringSeries series, LocalDate today) {
+        return RecurringSeriesDTO.builder()
+                .merchant(series.getMerchant())
+                .category(series.getCategory())
+                .cadence(series.getCadence())
+                .typicalAmount(series.getTypicalAmount())
+                .monthlyCost(series.getCadence().monthlyCost(series.getTypicalAmount()))
+                .occurrences(series.getOccurrences())
+                .firstSeen(series.getFirstSeen())
+                .lastSeen(series.getLastSeen())
+                .nextExpected(series.getNextExpected())
+                .active(!today.isAfter(series.getCadence().graceEnd(series.getLastSeen())))
+                .build();
+    }
+}
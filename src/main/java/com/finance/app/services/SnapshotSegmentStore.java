@@ -0,0 +1,158 @@
+package com.finance.app.services;
+
+import com.finance.app.config.SnapshotProperties;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.TransactionWatermark;
+import com.finance.app.snapshot.DataWatermark;
+import com.finance.app.snapshot.SnapshotSegment;
+import com.finance.app.snapshot.TransactionSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Persists transaction snapshots as segment files so a restarted node can
+ * serve analytics without rebuilding every snapshot from the database.
+ * <p>
+ * On startup every segment is memory-mapped and checked against the
+ * database with one grouped watermark query; stale or corrupt files are
+ * deleted. Valid segments are handed to {@link TransactionSnapshotService}
+ * on each user's first read, as long as no write has committed since they
+ * were checked.
+ */
+@Component
+public class SnapshotSegmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotSegmentStore.class);
+
+    private final TransactionRepository transactionRepository;
+    private final DataVersionService dataVersionService;
+    private final boolean enabled;
+    private final Path directory;
+    private final Map<UUID, WarmSegment> warmSegments = new ConcurrentHashMap<>();
+
+    public SnapshotSegmentStore(TransactionRepository transactionRepository, DataVersionService dataVersionService,
+            SnapshotProperties properties) {
+        this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.enabled = properties.isEnabled() && properties.isPersistSegments();
+        this.directory = properties.getSegmentDirectory();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Map the segment files left by the previous run and keep those that
+     * still match the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSegments() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<UUID, SnapshotSegment.Mapped> mapped = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SnapshotSegment.FILE_SUFFIX))
+                    .toList()) {
+                Optional<SnapshotSegment.Mapped> segment = SnapshotSegment.map(file);
+                if (segment.isPresent()) {
+                    mapped.put(segment.get().userId(), segment.get());
+                } else {
+                    logger.warn("Discarding unreadable snapshot segment {}", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not load snapshot segments from {}: {}", directory, e.getMessage());
+            return;
+        }
+        if (mapped.isEmpty()) {
+            return;
+        }
+
+        // Read versions before the database so a write committing meanwhile
+        // either shows in the watermark or bumps the version
+        Map<UUID, Long> versions = new HashMap<>();
+        mapped.keySet().forEach(userId -> versions.put(userId, dataVersionService.getUserVersion(userId)));
+        Map<UUID, DataWatermark> current = new HashMap<>();
+        for (TransactionWatermark row : transactionRepository.findTransactionWatermarks(mapped.keySet())) {
+            current.put(row.getUserId(),
+                    DataWatermark.of(row.getTransactionCount(), row.getAmountTotal(), row.getLastUpdatedAt(),
+                            row.getContentChecksum()));
+        }
+
+        mapped.forEach((userId, segment) -> {
+            if (segment.watermark().equals(current.getOrDefault(userId, DataWatermark.EMPTY))) {
+                warmSegments.put(userId, new WarmSegment(segment.snapshot(), versions.get(userId)));
+            } else {
+                deleteQuietly(segmentFile(userId));
+            }
+        });
+        logger.info("Mapped {} of {} snapshot segments in {} ms", warmSegments.size(), mapped.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Take the mapped snapshot for a user if it is still current.
+     * Each segment is handed out at most once.
+     *
+     * @param userId         the user UUID
+     * @param currentVersion the user's data version, read before calling
+     * @return the mapped snapshot, or empty if there is none or the user's data changed since startup
+     */
+    public Optional<TransactionSnapshot> take(UUID userId, long currentVersion) {
+        WarmSegment segment = warmSegments.remove(userId);
+        if (segment == null || segment.version() != currentVersion) {
+            return Optional.empty();
+        }
+        return Optional.of(segment.snapshot());
+    }
+
+    /**
+     * Persist a user's snapshot, replacing any previous segment.
+     *
+     * @param userId   the user UUID
+     * @param snapshot the snapshot, pinned by the caller
+     */
+    public void write(UUID userId, TransactionSnapshot snapshot) {
+        try {
+            SnapshotSegment.write(segmentFile(userId), userId, snapshot);
+        } catch (IOException e) {
+            logger.warn("Could not write snapshot segment for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    int warmSegmentCount() {
+        return warmSegments.size();
+    }
+
+    private Path segmentFile(UUID userId) {
+        return directory.resolve(userId + SnapshotSegment.FILE_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete stale snapshot segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record WarmSegment(TransactionSnapshot snapshot, long version) {
+    }
+}
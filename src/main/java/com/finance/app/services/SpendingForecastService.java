@@ -0,0 +1,195 @@
+package com.finance.app.services;
+
+import com.finance.app.dto.MonthlySpendTrendDTO;
+import com.finance.app.dto.SpendingForecastDTO;
+import com.finance.app.money.Money;
+import com.finance.app.repositories.BudgetRepository;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.DailySpendTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for rolling spending averages and the current month's forecast.
+ * <p>
+ * Everything is derived from one array of daily spend covering the trend
+ * months plus enough earlier months to fill the longest window. The array
+ * comes from the in-memory snapshot when enabled, otherwise from a single
+ * grouped query over the daily spend summary (or the transactions while the
+ * summary is catching up), and is walked once: days are summed into months
+ * and each closed month slides through 3, 6 and 12-month window accumulators.
+ */
+@Service
+public class SpendingForecastService {
+
+    private static final int TREND_MONTHS = 12;
+    private static final int[] WINDOW_MONTHS = {3, 6, 12};
+    private static final int LONGEST_WINDOW = 12;
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionSnapshotService transactionSnapshotService;
+    private final DailySpendSummaryService dailySpendSummaryService;
+    private final CurrentUserService currentUserService;
+
+    public SpendingForecastService(TransactionRepository transactionRepository, BudgetRepository budgetRepository,
+            TransactionSnapshotService transactionSnapshotService, DailySpendSummaryService dailySpendSummaryService,
+            CurrentUserService currentUserService) {
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionSnapshotService = transactionSnapshotService;
+        this.dailySpendSummaryService = dailySpendSummaryService;
+        this.currentUserService = currentUserService;
+    }
+
+    /**
+     * Forecast the authenticated user's spending for the month containing the
+     * given date.
+     *
+     * @param asOf the last day to count (optional, defaults to today)
+     * @return the forecast with the trailing 12-month trend
+     */
+    @Transactional(readOnly = true)
+    public SpendingForecastDTO getForecast(LocalDate asOf) {
+        return getForecast(currentUserService.getCurrentUserId(), asOf != null ? asOf : LocalDate.now());
+    }
+
+    /**
+     * Forecast an explicit user's spending for the month containing the given
+     * date. Does not touch the security context, so it is safe to call from
+     * worker threads.
+     *
+     * @param userId the user UUID
+     * @param asOf   the last day to count
+     * @return the forecast with the trailing 12-month trend
+     */
+    @Transactional(readOnly = true)
+    public SpendingForecastDTO getForecast(UUID userId, LocalDate asOf) {
+        YearMonth currentMonth = YearMonth.from(asOf);
+        YearMonth firstTrendMonth = currentMonth.minusMonths(TREND_MONTHS);
+        YearMonth firstMonth = firstTrendMonth.minusMonths(LONGEST_WINDOW - 1);
+        long[] daily = loadDailySpend(userId, firstMonth.atDay(1), asOf);
+
+        RollingWindow[] windows = new RollingWindow[WINDOW_MONTHS.length];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new RollingWindow(WINDOW_MONTHS[i]);
+        }
+        List<MonthlySpendTrendDTO> trend = new ArrayList<>(TREND_MONTHS);
+        // Months before the first expense are not history yet; counting them
+        // as zero would drag a new user's averages down
+        boolean hasHistory = false;
+        int day = 0;
+        for (YearMonth month = firstMonth; month.isBefore(currentMonth); month = month.plusMonths(1)) {
+            long monthUnits = 0;
+            for (int end = day + month.lengthOfMonth(); day < end; day++) {
+                monthUnits = Money.add(monthUnits, daily[day]);
+            }
+            hasHistory |= monthUnits != 0;
+            if (hasHistory) {
+                for (RollingWindow window : windows) {
+                    window.add(monthUnits);
+                }
+            }
+            if (!month.isBefore(firstTrendMonth)) {
+                trend.add(MonthlySpendTrendDTO.builder()
+                        .monthName(month.format(MONTH_FORMATTER))
+                        .totalSpent(Money.toBigDecimal(monthUnits))
+                        .rollingAverage3(windows[0].average())
+                        .rollingAverage6(windows[1].average())
+                        .rollingAverage12(windows[2].average())
+                        .build());
+            }
+        }
+
+        long spentUnits = 0;
+        for (; day < daily.length; day++) {
+            spentUnits = Money.add(spentUnits, daily[day]);
+        }
+        int daysElapsed = asOf.getDayOfMonth();
+        int daysInMonth = currentMonth.lengthOfMonth();
+        BigDecimal spent = Money.toBigDecimal(spentUnits);
+        BigDecimal dailyPace = spent.divide(BigDecimal.valueOf(daysElapsed), Money.SCALE, RoundingMode.HALF_UP);
+        BigDecimal projected = spent.multiply(BigDecimal.valueOf(daysInMonth))
+                .divide(BigDecimal.valueOf(daysElapsed), Money.SCALE, RoundingMode.HALF_UP);
+        BigDecimal budget = budgetRepository.sumLimitAmountByUserId(userId);
+
+        return SpendingForecastDTO.builder()
+                .monthName(currentMonth.format(MONTH_FORMATTER))
+                .asOf(asOf)
+                .daysElapsed(daysElapsed)
+                .daysInMonth(daysInMonth)
+                .spentToDate(spent)
+                .dailyPace(dailyPace)
+                .projectedMonthEnd(projected)
+                .rollingAverage3(windows[0].average())
+                .rollingAverage6(windows[1].average())
+                .rollingAverage12(windows[2].average())
+                .monthlyBudget(budget)
+                .projectedOverBudget(budget != null ? projected.compareTo(budget) > 0 : null)
+                .trend(trend)
+                .build();
+    }
+
+    /**
+     * Load spend per day, in minor units, indexed by days since {@code from}.
+     */
+    private long[] loadDailySpend(UUID userId, LocalDate from, LocalDate to) {
+        return transactionSnapshotService.read(userId, snapshot -> snapshot.dailySpendUnits(from, to))
+                .orElseGet(() -> {
+                    List<DailySpendTotal> rows = dailySpendSummaryService
+                            .read(userId, summary -> summary.sumExpensesByDay(userId, from, to))
+                            .orElseGet(() -> transactionRepository
+                                    .sumExpensesByDay(userId, from.atStartOfDay(), to.atTime(23, 59, 59)));
+                    long[] daily = new long[(int) ChronoUnit.DAYS.between(from, to) + 1];
+                    for (DailySpendTotal row : rows) {
+                        LocalDate date = LocalDate.of(row.getSpendYear(), row.getSpendMonth(), row.getSpendDay());
+                        daily[(int) ChronoUnit.DAYS.between(from, date)] = Money.toUnits(row.getTotal());
+                    }
+                    return daily;
+                });
+    }
+
+    /**
+     * Sum of the last {@code size} monthly totals, kept in a ring buffer so
+     * each month is one add and one subtract.
+     */
+    private static final class RollingWindow {
+
+        private final long[] months;
+        private int count;
+        private long sum;
+
+        private RollingWindow(int size) {
+            this.months = new long[size];
+        }
+
+        private void add(long units) {
+            int slot = count % months.length;
+            if (count >= months.length) {
+                sum = Money.subtract(sum, months[slot]);
+            }
+            months[slot] = units;
+            sum = Money.add(sum, units);
+            count++;
+        }
+
+        private BigDecimal average() {
+            int filled = Math.min(count, months.length);
+            if (filled == 0) {
+                return null;
+            }
+            return Money.toBigDecimal(sum).divide(BigDecimal.valueOf(filled), Money.SCALE, RoundingMode.HALF_UP);
+        }
+    }
+}
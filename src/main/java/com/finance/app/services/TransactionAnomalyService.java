@@ -0,0 +1,109 @@
+package com.finance.app.services;
+
+import com.finance.app.anomaly.AnomalyDetector;
+import com.finance.app.anomaly.AnomalyType;
+import com.finance.app.config.AnomalyProperties;
+import com.finance.app.models.MerchantChargeStats;
+import com.finance.app.models.Transaction;
+import com.finance.app.repositories.MerchantChargeStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Flags outlier and duplicate expenses as they are ingested.
+ * <p>
+ * Each user keeps running statistics per merchant in
+ * {@code merchant_charge_stats}; screening a batch locks and loads only the
+ * rows of the merchants in it, so the cost per transaction does not grow
+ * with history. Callers screen new transactions before saving them, in the
+ * same database transaction.
+ */
+@Service
+public class TransactionAnomalyService {
+
+    private final MerchantChargeStatsRepository statsRepository;
+    private final MeterRegistry meterRegistry;
+    private final AnomalyDetector detector;
+    private final boolean enabled;
+
+    public TransactionAnomalyService(MerchantChargeStatsRepository statsRepository,
+            MeterRegistry meterRegistry, AnomalyProperties properties) {
+        this.statsRepository = statsRepository;
+        this.meterRegistry = meterRegistry;
+        this.detector = new AnomalyDetector(properties.getZScore(), properties.getMinSamples(),
+                properties.getDuplicateWindow());
+        this.enabled = properties.isEnabled();
+    }
+
+    /**
+     * Screen new transactions of one user, setting their anomaly, and add
+     * their expenses to the merchant statistics. Income is not screened.
+     *
+     * @param userId       the owning user
+     * @param transactions transactions about to be inserted
+     */
+    @Transactional
+    public void screen(UUID userId, Collection<Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        List<Transaction> candidates = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getAmount() != null && transaction.getAmount().signum() < 0
+                    && transaction.getTransactionDate() != null) {
+                candidates.add(transaction);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Named by the database so merchants match the ones queries group by
+        List<String> names = statsRepository.normalizeMerchants(
+                candidates.stream().map(Transaction::getCleanDescription).toArray(String[]::new),
+                candidates.stream().map(Transaction::getRawDescription).toArray(String[]::new));
+        // New transactions share one hash code until they have an id, so key them by identity
+        Map<Transaction, String> merchants = new IdentityHashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (names.get(i) != null) {
+                merchants.put(candidates.get(i), names.get(i));
+            }
+        }
+        if (merchants.isEmpty()) {
+            return;
+        }
+
+        Map<String, MerchantChargeStats> stats = new HashMap<>();
+        Set<String> merchantNames = new HashSet<>(merchants.values());
+        statsRepository.findByUserIdAndMerchantInOrderByMerchant(userId, merchantNames)
+                .forEach(row -> stats.put(row.getMerchant(), row));
+
+        // Oldest first, so duplicates within the batch are caught in order
+        List<Transaction> expenses = merchants.keySet().stream()
+                .sorted(Comparator.comparing(Transaction::getTransactionDate))
+                .toList();
+        for (Transaction transaction : expenses) {
+            MerchantChargeStats merchantStats = stats.computeIfAbsent(merchants.get(transaction),
+                    merchant -> new MerchantChargeStats(userId, merchant));
+            AnomalyType anomaly = detector.screen(merchantStats, transaction.getAmount().negate(),
+                    transaction.getTransactionDate());
+            transaction.setAnomaly(anomaly);
+            if (anomaly != null) {
+                meterRegistry.counter("transactions.anomalies", "type", anomaly.name()).increment();
+            }
+        }
+        statsRepository.saveAll(stats.values());
+    }
+}
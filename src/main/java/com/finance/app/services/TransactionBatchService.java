@@ -0,0 +1,300 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.config.TransactionBatchProperties;
+import com.finance.app.dto.BatchItemResultDTO;
+import com.finance.app.dto.TransactionBatchResultDTO;
+import com.finance.app.dto.TransactionCreateRequest;
+import com.finance.app.dto.TransactionUpdateRequest;
+import com.finance.app.ledger.LedgerEntry;
+import com.finance.app.models.Account;
+import com.finance.app.models.Transaction;
+import com.finance.app.outbox.TransactionChangeType;
+import com.finance.app.repositories.AccountLedgerRepository;
+import com.finance.app.repositories.TransactionBatchRepository;
+import com.finance.app.repositories.TransactionOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates and updates many transactions of the authenticated user at once,
+ * for clients syncing offline edits.
+ * <p>
+ * A batch is validated in one pass, with one query for all the accounts or
+ * transactions it references. Invalid items are rejected with their errors
+ * and the rest are applied with JDBC batch statements in a single database
+ * transaction. New expenses are screened for anomalies first. As the writes
+ * bypass the entity listeners, the outbox rows, the balance ledger entries
+ * and the data version bump are issued here.
+ */
+@Service
+public class TransactionBatchService {
+
+    static final String CREATED = "CREATED";
+    static final String UPDATED = "UPDATED";
+    static final String REJECTED = "REJECTED";
+
+    private static final Set<String> STATUSES = Set.of("PENDING", "REVIEWED", "COMPLETED");
+    private static final String DEFAULT_STATUS = "PENDING";
+    private static final int CATEGORY_LENGTH = 100;
+    private static final int AMOUNT_SCALE = 4;
+    private static final int AMOUNT_INTEGER_DIGITS = 15;
+
+    private final TransactionBatchRepository batchRepository;
+    private final TransactionOutboxRepository outboxRepository;
+    private final AccountLedgerRepository ledgerRepository;
+    private final TransactionAnomalyService anomalyService;
+    private final DataVersionService dataVersionService;
+    private final CurrentUserService currentUserService;
+    private final MeterRegistry meterRegistry;
+    private final int maxItems;
+    private final int jdbcBatchSize;
+    private final boolean outboxEnabled;
+
+    public TransactionBatchService(TransactionBatchRepository batchRepository,
+            TransactionOutboxRepository outboxRepository, AccountLedgerRepository ledgerRepository,
+            TransactionAnomalyService anomalyService, DataVersionService dataVersionService,
+            CurrentUserService currentUserService, MeterRegistry meterRegistry,
+            TransactionBatchProperties properties, OutboxProperties outboxProperties) {
+        this.batchRepository = batchRepository;
+        this.outboxRepository = outboxRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.anomalyService = anomalyService;
+        this.dataVersionService = dataVersionService;
+        this.currentUserService = currentUserService;
+        this.meterRegistry = meterRegistry;
+        this.maxItems = properties.getMaxItems();
+        this.jdbcBatchSize = properties.getJdbcBatchSize();
+        this.outboxEnabled = outboxProperties.isEnabled();
+    }
+
+    /**
+     * @return the most items accepted in one batch
+     */
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Create transactions in the authenticated user's accounts.
+     *
+     * @param requests transactions to create
+     * @return per-item results in request order
+     */
+    @Transactional
+    public TransactionBatchResultDTO createAll(List<TransactionCreateRequest> requests) {
+        UUID userId = currentUserService.getCurrentUserId();
+        Set<UUID> accountIds = new HashSet<>();
+        requests.stream().filter(Objects::nonNull).map(TransactionCreateRequest::getAccountId)
+                .filter(Objects::nonNull).forEach(accountIds::add);
+        Set<UUID> ownedAccounts = accountIds.isEmpty()
+                ? Set.of()
+                : batchRepository.findOwnedAccountIds(userId, accountIds);
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Transaction> created = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            TransactionCreateRequest request = requests.get(index);
+            List<String> errors = validateCreate(request, ownedAccounts);
+            if (!errors.isEmpty()) {
+                results.add(rejected(index, null, errors));
+                continue;
+            }
+            Transaction transaction = toTransaction(request);
+            created.add(transaction);
+            results.add(BatchItemResultDTO.builder().index(index).id(transaction.getId()).result(CREATED).build());
+        }
+
+        if (!created.isEmpty()) {
+            anomalyService.screen(userId, created);
+            batchRepository.insertAll(created, currentUserService.getCurrentUsername(), jdbcBatchSize);
+            ledgerRepository.applyAll(created.stream().map(transaction -> new LedgerEntry(
+                    transaction.getAccount().getId(), transaction.getAmount(), transaction.getTransactionDate()))
+                    .toList());
+            recordChanges(userId, TransactionChangeType.CREATED, created);
+        }
+        return summarize("create", results);
+    }
+
+    /**
+     * Update the category, clean description or status of the authenticated
+     * user's transactions. Amounts and dates are not editable here.
+     *
+     * @param requests changes to apply
+     * @return per-item results in request order
+     */
+    @Transactional
+    public TransactionBatchResultDTO updateAll(List<TransactionUpdateRequest> requests) {
+        UUID userId = currentUserService.getCurrentUserId();
+        Map<UUID, Integer> occurrences = new HashMap<>();
+        requests.stream().filter(Objects::nonNull).map(TransactionUpdateRequest::getId)
+                .filter(Objects::nonNull).forEach(id -> occurrences.merge(id, 1, Integer::sum));
+        Map<UUID, Transaction> owned = new HashMap<>();
+        if (!occurrences.isEmpty()) {
+            batchRepository.lockOwned(userId, occurrences.keySet())
+                    .forEach(transaction -> owned.put(transaction.getId(), transaction));
+        }
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Transaction> updated = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            TransactionUpdateRequest request = requests.get(index);
+            List<String> errors = validateUpdate(request, occurrences, owned);
+            UUID id = request != null ? request.getId() : null;
+            if (!errors.isEmpty()) {
+                results.add(rejected(index, id, errors));
+                continue;
+            }
+            Transaction transaction = owned.get(id);
+            apply(request, transaction);
+            updated.add(transaction);
+            results.add(BatchItemResultDTO.builder().index(index).id(id).result(UPDATED).build());
+        }
+
+        if (!updated.isEmpty()) {
+            batchRepository.updateAll(updated, currentUserService.getCurrentUsername(), jdbcBatchSize);
+            recordChanges(userId, TransactionChangeType.UPDATED, updated);
+        }
+        return summarize("update", results);
+    }
+
+    private void recordChanges(UUID userId, TransactionChangeType type, List<Transaction> transactions) {
+        if (outboxEnabled) {
+            outboxRepository.appendAll(userId, type, transactions);
+        }
+        Set<YearMonth> months = new HashSet<>();
+        transactions.forEach(transaction -> months.add(YearMonth.from(transaction.getTransactionDate())));
+        dataVersionService.recordWrite(userId, months);
+    }
+
+    private static List<String> validateCreate(TransactionCreateRequest request, Set<UUID> ownedAccounts) {
+        List<String> errors = new ArrayList<>();
+        if (request == null) {
+            errors.add("item is empty");
+            return errors;
+        }
+        if (request.getAccountId() == null) {
+            errors.add("accountId is required");
+        } else if (!ownedAccounts.contains(request.getAccountId())) {
+            errors.add("accountId is not one of your accounts");
+        }
+        BigDecimal amount = request.getAmount();
+        if (amount == null) {
+            errors.add("amount is required");
+        } else if (amount.scale() > AMOUNT_SCALE) {
+            errors.add("amount has more than " + AMOUNT_SCALE + " decimal places");
+        } else if (amount.precision() - amount.scale() > AMOUNT_INTEGER_DIGITS) {
+            errors.add("amount is too large");
+        }
+        if (request.getTransactionDate() == null) {
+            errors.add("transactionDate is required");
+        }
+        if (trimToNull(request.getRawDescription()) == null && trimToNull(request.getCleanDescription()) == null) {
+            errors.add("rawDescription or cleanDescription is required");
+        }
+        validateCategoryAndStatus(request.getCategory(), request.getStatus(), errors);
+        return errors;
+    }
+
+    private static List<String> validateUpdate(TransactionUpdateRequest request, Map<UUID, Integer> occurrences,
+            Map<UUID, Transaction> owned) {
+        List<String> errors = new ArrayList<>();
+        if (request == null) {
+            errors.add("item is empty");
+            return errors;
+        }
+        if (request.getId() == null) {
+            errors.add("id is required");
+        } else if (occurrences.get(request.getId()) > 1) {
+            errors.add("id appears more than once in the batch");
+        } else if (!owned.containsKey(request.getId())) {
+            errors.add("id is not one of your transactions");
+        }
+        if (request.getCleanDescription() == null && request.getCategory() == null && request.getStatus() == null) {
+            errors.add("nothing to update");
+        }
+        validateCategoryAndStatus(request.getCategory(), request.getStatus(), errors);
+        return errors;
+    }
+
+    private static void validateCategoryAndStatus(String category, String status, List<String> errors) {
+        String trimmedCategory = trimToNull(category);
+        if (trimmedCategory != null && trimmedCategory.length() > CATEGORY_LENGTH) {
+            errors.add("category is longer than " + CATEGORY_LENGTH + " characters");
+        }
+        if (status != null && !STATUSES.contains(normalizeStatus(status))) {
+            errors.add("status must be one of " + String.join(", ", STATUSES.stream().sorted().toList()));
+        }
+    }
+
+    private static Transaction toTransaction(TransactionCreateRequest request) {
+        Account account = new Account();
+        account.setId(request.getAccountId());
+        Transaction transaction = new Transaction();
+        transaction.setId(UUID.randomUUID());
+        transaction.setAccount(account);
+        transaction.setRawDescription(trimToNull(request.getRawDescription()));
+        transaction.setCleanDescription(trimToNull(request.getCleanDescription()));
+        transaction.setCategory(trimToNull(request.getCategory()));
+        transaction.setAmount(request.getAmount());
+        transaction.setTransactionDate(request.getTransactionDate());
+        transaction.setStatus(request.getStatus() != null ? normalizeStatus(request.getStatus()) : DEFAULT_STATUS);
+        return transaction;
+    }
+
+    private static void apply(TransactionUpdateRequest request, Transaction transaction) {
+        // Empty strings clear a field; null leaves it as it is
+        if (request.getCleanDescription() != null) {
+            transaction.setCleanDescription(trimToNull(request.getCleanDescription()));
+        }
+        if (request.getCategory() != null) {
+            transaction.setCategory(trimToNull(request.getCategory()));
+        }
+        if (request.getStatus() != null) {
+            transaction.setStatus(normalizeStatus(request.getStatus()));
+        }
+    }
+
+    private TransactionBatchResultDTO summarize(String operation, List<BatchItemResultDTO> results) {
+        int rejected = (int) results.stream().filter(result -> REJECTED.equals(result.getResult())).count();
+        int applied = results.size() - rejected;
+        meterRegistry.counter("transactions.batch_items", "operation", operation, "result", "applied")
+                .increment(applied);
+        meterRegistry.counter("transactions.batch_items", "operation", operation, "result", "rejected")
+                .increment(rejected);
+        return TransactionBatchResultDTO.builder()
+                .applied(applied)
+                .rejected(rejected)
+                .results(results)
+                .build();
+    }
+
+    private static BatchItemResultDTO rejected(int index, UUID id, List<String> errors) {
+        return BatchItemResultDTO.builder().index(index).id(id).result(REJECTED).errors(errors).build();
+    }
+
+    private static String normalizeStatus(String status) {
+        return status.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,56 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.models.Account;
+import com.finance.app.models.Transaction;
+import com.finance.app.outbox.TransactionChangeType;
+import com.finance.app.repositories.TransactionOutboxRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener that appends every transaction insert, update and delete to
+ * the outbox in the same database transaction, so a change is relayed if and
+ * only if it commits. Must be listed before {@link DataVersionEntityListener},
+ * which resets the previous date this listener reads. Bulk JPQL/SQL updates
+ * bypass entity callbacks and must append their changes themselves.
+ */
+@Component
+public class TransactionOutboxListener {
+
+    private final TransactionOutboxRepository outboxRepository;
+    private final boolean enabled;
+
+    public TransactionOutboxListener(TransactionOutboxRepository outboxRepository, OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.enabled = properties.isEnabled();
+    }
+
+    @PostPersist
+    public void onInsert(Transaction transaction) {
+        append(transaction, TransactionChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Transaction transaction) {
+        append(transaction, TransactionChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDelete(Transaction transaction) {
+        append(transaction, TransactionChangeType.DELETED);
+    }
+
+    private void append(Transaction transaction, TransactionChangeType type) {
+        Account account = transaction.getAccount();
+        if (!enabled || account == null || account.getUser() == null) {
+            return;
+        }
+        outboxRepository.append(account.getUser().getId(), transaction.getId(), type,
+                transaction.getTransactionDate(),
+                type == TransactionChangeType.UPDATED ? transaction.getPersistedTransactionDate() : null,
+                transaction.getAmount());
+    }
+}
@@ -0,0 +1,122 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.outbox.TransactionChange;
+import com.finance.app.outbox.TransactionChangesEvent;
+import com.finance.app.repositories.TransactionOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the transaction outbox in batches and publishes each batch as a
+ * {@link TransactionChangesEvent}.
+ * <p>
+ * A batch is locked with {@code FOR UPDATE SKIP LOCKED}, dispatched to the
+ * listeners and deleted in one transaction, so several relays can run side
+ * by side and listeners that write to the database commit together with the
+ * delete. If a listener fails the batch is rolled back and its attempt count
+ * raised; changes that reach the attempt limit are marked DEAD, counted in
+ * {@code outbox.dead_lettered} and kept in the outbox for inspection, but no
+ * longer relayed.
+ * <p>
+ * Only live updates consume these events. The daily spend summary, the
+ * recurring charge scan and the result caches stay on the after-commit
+ * {@link UserDataChangedEvent}: they must stop serving a month as soon as
+ * its write commits, not a relay interval later, and that event also covers
+ * writes the outbox never sees, such as budget changes. What a crash loses
+ * there is rebuilt on startup instead: the caches start empty, and the
+ * summary and recurring scan reconcile against the transactions.
+ */
+@Service
+public class TransactionOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionOutboxRelay.class);
+
+    private final TransactionOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public TransactionOutboxRelay(TransactionOutboxRepository outboxRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry, OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatched = Counter.builder("outbox.dispatched")
+                .description("Transaction changes delivered to listeners")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures")
+                .description("Outbox batches rolled back by a failing listener")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.dead_lettered")
+                .description("Transaction changes given up on after reaching the attempt limit")
+                .register(meterRegistry);
+        this.enabled = properties.isEnabled();
+        this.batchSize = properties.getBatchSize();
+        this.maxAttempts = properties.getMaxAttempts();
+    }
+
+    /**
+     * Dispatch batches until the outbox is drained or a batch fails.
+     * Scheduled by {@link com.finance.app.config.SchedulingConfig}.
+     */
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        int delivered;
+        do {
+            delivered = relayBatch();
+        } while (delivered == batchSize);
+    }
+
+    /**
+     * Dispatch one batch.
+     *
+     * @return number of changes delivered, 0 when empty or failed
+     */
+    int relayBatch() {
+        List<Long> ids = new ArrayList<>();
+        try {
+            Integer delivered = transactionTemplate.execute(status -> {
+                List<TransactionChange> batch = outboxRepository.lockBatch(batchSize);
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                batch.forEach(change -> ids.add(change.id()));
+                eventPublisher.publishEvent(new TransactionChangesEvent(batch));
+                outboxRepository.delete(ids);
+                return batch.size();
+            });
+            dispatched.increment(delivered);
+            return delivered;
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.warn("Could not relay {} outbox changes: {}", ids.size(), e.getMessage());
+            if (!ids.isEmpty()) {
+                List<Long> dead = transactionTemplate.execute(
+                        status -> outboxRepository.recordFailure(ids, String.valueOf(e.getMessage()), maxAttempts));
+                if (!dead.isEmpty()) {
+                    deadLettered.increment(dead.size());
+                    logger.error("Gave up relaying outbox changes {} after {} attempts", dead, maxAttempts);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.finance.app.dto.TransactionDTO;
 import com.finance.app.models.Transaction;
 import com.finance.app.repositories.TransactionRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Service layer for Transaction business logic.
@@ -16,6 +19,9 @@ import java.math.BigDecimal;
 @Service
 public class TransactionService {
 
+    private static final BigDecimal FLAG_THRESHOLD = new BigDecimal("1000");
+    private static final BigDecimal FLAG_THRESHOLD_NEGATIVE = FLAG_THRESHOLD.negate();
+
     private final TransactionRepository transactionRepository;
 
     public TransactionService(TransactionRepository transactionRepository) {
@@ -47,6 +53,23 @@ public class TransactionService {
                 .map(this::toDTO);
     }
 
+    /**
+     * Get a user's most recent transactions, newest first.
+     * Skips the count query a Page would need.
+     *
+     * @param userId the user UUID
+     * @param limit  maximum number of transactions
+     * @return recent transactions
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getRecentTransactions(UUID userId, int limit) {
+        return transactionRepository
+                .findByAccount_User_IdOrderByTransactionDateDesc(userId, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
     /**
      * Convert Transaction entity to DTO.
      *
@@ -62,13 +85,15 @@ public class TransactionService {
                 .amount(transaction.getAmount())
                 .transactionDate(transaction.getTransactionDate())
                 .status(transaction.getStatus() != null ? transaction.getStatus() : determineStatus(transaction))
+                .anomaly(transaction.getAnomaly())
                 .build();
     }
 
     /**
      * Determine transaction status based on data completeness.
      * - Cleaned: has both clean description and category
-     * - Flagged: high value transactions (>$1000) without categorization
+     * - Flagged: outliers or duplicates found at ingest, and high value
+     *   transactions (>$1000) without categorization
      * - Raw: not yet processed
      *
      * @param transaction the transaction
@@ -80,14 +105,18 @@ public class TransactionService {
         boolean hasCategory = transaction.getCategory() != null
                 && !transaction.getCategory().isEmpty();
 
+        if (transaction.getAnomaly() != null) {
+            return "Flagged";
+        }
+
         if (hasCleaned && hasCategory) {
             return "Cleaned";
         }
 
         // Flag high-value uncategorized transactions
-        BigDecimal threshold = new BigDecimal("1000");
-        if (transaction.getAmount() != null
-                && transaction.getAmount().abs().compareTo(threshold) > 0
+        BigDecimal amount = transaction.getAmount();
+        if (amount != null
+                && (amount.compareTo(FLAG_THRESHOLD) > 0 || amount.compareTo(FLAG_THRESHOLD_NEGATIVE) < 0)
                 && !hasCategory) {
             return "Flagged";
         }
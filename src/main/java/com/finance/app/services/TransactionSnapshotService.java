@@ -0,0 +1,383 @@
+package com.finance.app.services;
+
+import com.finance.app.config.SnapshotProperties;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.SnapshotRow;
+import com.finance.app.snapshot.SlabAllocator;
+import com.finance.app.snapshot.TransactionSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Keeps a {@link TransactionSnapshot} per active user so analytics can run
+ * over primitive columns instead of querying per request.
+ * <p>
+ * Snapshots are built lazily on first use and held in an LRU bounded by their
+ * estimated size in bytes. Each committed write records the months it touched
+ * against the user's data version; the next read reloads only those months,
+ * and falls back to a full rebuild whenever a version was missed, such as one
+ * bumped by a write on another node.
+ * <p>
+ * With DIRECT or MAPPED storage the columns are copied into blocks from a
+ * {@link SlabAllocator}, keeping the heap small. When the allocator is full
+ * the coldest users are evicted explicitly; their blocks are freed once no
+ * reader still has them pinned.
+ * <p>
+ * With segment persistence enabled, snapshots are written to disk on
+ * shutdown and a user's first read after a restart is served from the
+ * mapped file instead of the database.
+ */
+@Service
+public class TransactionSnapshotService {
+
+    public static final String CACHE_NAME = "transactionSnapshots";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSnapshotService.class);
+    private static final int EVICTION_BATCH = 8;
+    private static final int CACHED_READ_ATTEMPTS = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final DataVersionService dataVersionService;
+    private final SnapshotSegmentStore segmentStore;
+    private final boolean enabled;
+    private final SlabAllocator allocator;
+    private final Cache<UUID, Holder> snapshots;
+
+    @Autowired
+    public TransactionSnapshotService(TransactionRepository transactionRepository,
+            DataVersionService dataVersionService,
+            SnapshotSegmentStore segmentStore,
+            MeterRegistry meterRegistry,
+            SnapshotProperties properties) {
+        this(transactionRepository, dataVersionService, segmentStore, meterRegistry, properties,
+                ForkJoinPool.commonPool());
+    }
+
+    TransactionSnapshotService(TransactionRepository transactionRepository, DataVersionService dataVersionService,
+            SnapshotSegmentStore segmentStore, MeterRegistry meterRegistry, SnapshotProperties properties,
+            Executor removalExecutor) {
+        this.transactionRepository = transactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.segmentStore = segmentStore;
+        this.enabled = properties.isEnabled();
+        long maxBytes = properties.getMaxBytes().toBytes();
+        int slabBytes = Math.toIntExact(properties.getSlabSize().toBytes());
+        this.allocator = switch (properties.getStorage()) {
+            case HEAP -> null;
+            case DIRECT -> SlabAllocator.direct(maxBytes, slabBytes);
+            case MAPPED -> SlabAllocator.mapped(properties.getDirectory(), maxBytes, slabBytes);
+        };
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID userId, Holder holder) -> holder.weight())
+                .executor(removalExecutor)
+                .removalListener((UUID userId, Holder holder, RemovalCause cause) -> {
+                    // Re-inserting the same holder to refresh its weight is not a removal
+                    if (holder != null && cause != RemovalCause.REPLACED) {
+                        holder.retire();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, CACHE_NAME);
+        if (allocator != null) {
+            Gauge.builder("analytics.snapshot.offheap.used", allocator, SlabAllocator::usedBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("analytics.snapshot.offheap.reserved", allocator, SlabAllocator::reservedBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Run a query against an up-to-date snapshot of a user's transactions.
+     * The snapshot is pinned for the duration of the query and must not be
+     * used after it returns. Must be called inside a transaction when it may
+     * need to load rows.
+     * <p>
+     * A snapshot that keeps being evicted as soon as it is cached, as one
+     * larger than the whole cache is, is built for this read alone instead.
+     *
+     * @param userId the user UUID
+     * @param query  computes a result from the snapshot
+     * @param <R>    the result type
+     * @return the result, or empty when snapshots are disabled
+     */
+    public <R> Optional<R> read(UUID userId, Function<TransactionSnapshot, R> query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        for (int attempt = 0; attempt < CACHED_READ_ATTEMPTS; attempt++) {
+            TransactionSnapshot snapshot = currentSnapshot(userId);
+            // A snapshot evicted since it was looked up cannot be pinned; look it up again
+            if (snapshot != null && snapshot.retain()) {
+                try {
+                    return Optional.of(query.apply(snapshot));
+                } finally {
+                    snapshot.release();
+                }
+            }
+        }
+        logger.debug("Transaction snapshot for user {} evicted on every attempt; building one uncached", userId);
+        // Kept on the heap and owned by this read alone, so nothing can free it underneath the query
+        return Optional.of(query.apply(TransactionSnapshot.of(transactionRepository.findSnapshotRows(userId))));
+    }
+
+    /**
+     * Record the months a committed write touched so the next read can reload
+     * just those months. Users without a snapshot are ignored.
+     *
+     * @param event the data change
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.allMonths()) {
+            evict(event.userId());
+            return;
+        }
+        Holder holder = snapshots.getIfPresent(event.userId());
+        if (holder != null) {
+            synchronized (holder.changedMonths) {
+                holder.changedMonths.put(event.version(), event.months());
+            }
+        }
+    }
+
+    /**
+     * Persist every cached snapshot as a segment file for the next startup.
+     * Snapshots that are behind the database are written anyway: their
+     * watermark will not match on startup and they are discarded then.
+     */
+    @PreDestroy
+    public void persistSegments() {
+        if (!enabled || !segmentStore.isEnabled()) {
+            return;
+        }
+        int written = 0;
+        for (Map.Entry<UUID, Holder> entry : snapshots.asMap().entrySet()) {
+            Built built = entry.getValue().built.get();
+            if (built != null && built.snapshot().retain()) {
+                try {
+                    segmentStore.write(entry.getKey(), built.snapshot());
+                    written++;
+                } finally {
+                    built.snapshot().release();
+                }
+            }
+        }
+        logger.info("Persisted {} transaction snapshot segments", written);
+    }
+
+    long estimatedBytes() {
+        snapshots.cleanUp();
+        return snapshots.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    SlabAllocator allocator() {
+        return allocator;
+    }
+
+    private TransactionSnapshot currentSnapshot(UUID userId) {
+        // The holder is registered before the version is read, so no write
+        // committed after that read can go unrecorded
+        Holder holder = snapshots.get(userId, id -> new Holder());
+        Built built = holder.built.get();
+        if (built != null && built.version() == dataVersionService.getUserVersion(userId)) {
+            return built.snapshot();
+        }
+
+        synchronized (holder) {
+            if (holder.retired) {
+                return null;
+            }
+            long current = dataVersionService.getUserVersion(userId);
+            built = holder.built.get();
+            if (built == null) {
+                TransactionSnapshot snapshot = segmentStore.take(userId, current)
+                        .orElseGet(() -> store(userId, TransactionSnapshot.of(
+                                transactionRepository.findSnapshotRows(userId))));
+                built = holder.install(null, new Built(snapshot, current));
+            } else if (built.version() != current) {
+                TransactionSnapshot base = built.snapshot();
+                if (!base.retain()) {
+                    return null;
+                }
+                try {
+                    built = holder.install(built, refresh(userId, holder, built, current));
+                } finally {
+                    base.release();
+                }
+            }
+        }
+        if (built == null) {
+            return null;
+        }
+        // Re-insert so the weigher sees the new size; a no-op if it was evicted
+        snapshots.asMap().replace(userId, holder, holder);
+        return built.snapshot();
+    }
+
+    private Built refresh(UUID userId, Holder holder, Built built, long current) {
+        Set<YearMonth> months = new TreeSet<>();
+        long seen = 0;
+        synchronized (holder.changedMonths) {
+            Iterator<Map.Entry<Long, Set<YearMonth>>> changes = holder.changedMonths.entrySet().iterator();
+            while (changes.hasNext()) {
+                Map.Entry<Long, Set<YearMonth>> change = changes.next();
+                // Compare by difference, which stays correct if a version ever wraps
+                long sinceBuilt = change.getKey() - built.version();
+                long untilCurrent = current - change.getKey();
+                if (untilCurrent < 0) {
+                    continue;
+                }
+                if (sinceBuilt > 0) {
+                    months.addAll(change.getValue());
+                    seen++;
+                }
+                changes.remove();
+            }
+        }
+
+        if (seen != current - built.version()) {
+            logger.debug("Rebuilding transaction snapshot for user {}: {} of {} changes recorded",
+                    userId, seen, current - built.version());
+            return new Built(store(userId, TransactionSnapshot.of(transactionRepository.findSnapshotRows(userId))),
+                    current);
+        }
+        if (months.isEmpty()) {
+            return new Built(built.snapshot(), current);
+        }
+
+        List<SnapshotRow> rows = new ArrayList<>();
+        for (YearMonth month : months) {
+            rows.addAll(transactionRepository.findSnapshotRows(userId,
+                    month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(23, 59, 59)));
+        }
+        return new Built(store(userId, built.snapshot().replaceMonths(months, rows)), current);
+    }
+
+    /**
+     * Move a freshly built snapshot off the heap when configured to. If the
+     * allocator is full, evict the coldest other users and try once more;
+     * if there is still no room the snapshot stays on the heap.
+     * <p>
+     * Evicted blocks are back in the allocator before the retry, except those
+     * of a snapshot still pinned by a reader, which are freed when the reader
+     * finishes and only help later builds.
+     */
+    private TransactionSnapshot store(UUID userId, TransactionSnapshot snapshot) {
+        if (allocator == null) {
+            return snapshot;
+        }
+        Optional<TransactionSnapshot> offHeap = snapshot.copyOffHeap(allocator);
+        if (offHeap.isEmpty()) {
+            snapshots.policy().eviction().ifPresent(eviction -> eviction.coldest(EVICTION_BATCH).keySet().stream()
+                    .filter(coldUser -> !coldUser.equals(userId))
+                    .forEach(this::evict));
+            offHeap = snapshot.copyOffHeap(allocator);
+        }
+        if (offHeap.isEmpty()) {
+            logger.debug("No off-heap room for the snapshot of user {}; keeping it on the heap", userId);
+        }
+        return offHeap.orElse(snapshot);
+    }
+
+    /**
+     * Remove a user's snapshot and retire it on the calling thread. The
+     * cache's removal listener runs asynchronously, so relying on it would
+     * leave the blocks allocated for a while after an explicit eviction; it
+     * retires the holder again later, which is a no-op.
+     */
+    private void evict(UUID userId) {
+        Holder holder = snapshots.asMap().remove(userId);
+        if (holder != null) {
+            holder.retire();
+        }
+    }
+
+    private record Built(TransactionSnapshot snapshot, long version) {
+    }
+
+    /**
+     * Cache entry for one user: the latest snapshot and the changes recorded
+     * since it was built. The holder owns one reference to its snapshot,
+     * dropped when the snapshot is replaced or the holder is evicted.
+     */
+    private static final class Holder {
+
+        private final Map<Long, Set<YearMonth>> changedMonths = new HashMap<>();
+        private final AtomicReference<Built> built = new AtomicReference<>();
+        private volatile boolean retired;
+
+        private int weight() {
+            Built current = built.get();
+            return current == null ? 0 : (int) Math.min(Integer.MAX_VALUE, current.snapshot().estimatedBytes());
+        }
+
+        /**
+         * Replace {@code expected} with {@code next}, releasing whichever
+         * snapshot is no longer owned. Returns null if the holder was retired
+         * meanwhile, in which case {@code next} is not kept either.
+         */
+        private Built install(Built expected, Built next) {
+            boolean sameSnapshot = expected != null && expected.snapshot() == next.snapshot();
+            if (!built.compareAndSet(expected, next)) {
+                if (!sameSnapshot) {
+                    next.snapshot().release();
+                }
+                return null;
+            }
+            if (expected != null && !sameSnapshot) {
+                expected.snapshot().release();
+            }
+            if (retired) {
+                // Retired after the swap: whoever takes the snapshot out releases it
+                Built orphan = built.getAndSet(null);
+                if (orphan != null) {
+                    orphan.snapshot().release();
+                }
+                return null;
+            }
+            return next;
+        }
+
+        private void retire() {
+            retired = true;
+            Built current = built.getAndSet(null);
+            if (current != null) {
+                current.snapshot().release();
+            }
+        }
+    }
+}
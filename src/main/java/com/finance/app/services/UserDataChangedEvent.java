@@ -0,0 +1,26 @@
+package com.finance.app.services;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after commit when a user's transactions or budgets change.
+ *
+ * @param userId    the user whose data changed
+ * @param version   the user's data version after this change
+ * @param months    months whose transactions changed; empty for budget-only writes
+ * @param allMonths true when the affected months are unknown (e.g. bulk updates)
+ */
+public record UserDataChangedEvent(UUID userId, long version, Set<YearMonth> months, boolean allMonths) {
+
+    /**
+     * Check whether transactions in the given month may have changed.
+     *
+     * @param month the month to check
+     * @return true if cached results for the month must be discarded
+     */
+    public boolean affects(YearMonth month) {
+        return allMonths || months.contains(month);
+    }
+}
@@ -0,0 +1,82 @@
+package com.finance.app.snapshot;
+
+import com.finance.app.money.Money;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Fingerprint of a user's transactions: row count, sum of all amounts, the
+ * latest update time and a checksum of the snapshotted columns. The
+ * checksum is the sum over all rows of a 32-bit hash of the row's day,
+ * amount, account and category, so it does not depend on row order and
+ * changes with any edit to those columns, whether or not the writer moved
+ * {@code updated_at}. A persisted snapshot whose watermark equals the
+ * database's is still current.
+ * <p>
+ * The database computes the same checksum in
+ * {@code TransactionRepository.findTransactionWatermarks}; the row key
+ * built by {@link #rowHash} must stay in step with that query.
+ *
+ * @param transactionCount  number of transactions
+ * @param amountUnits       sum of all amounts in {@link Money} minor units
+ * @param lastUpdatedMicros latest {@code updated_at} in microseconds since the epoch, 0 if none
+ * @param contentChecksum   sum of the per-row hashes, 0 if none
+ */
+public record DataWatermark(long transactionCount, long amountUnits, long lastUpdatedMicros, long contentChecksum) {
+
+    public static final DataWatermark EMPTY = new DataWatermark(0, 0, 0, 0);
+
+    /**
+     * Build a watermark from database aggregates.
+     *
+     * @param transactionCount number of transactions
+     * @param amountTotal      sum of all amounts, null if none
+     * @param lastUpdatedAt    latest update time, null if none
+     * @param contentChecksum  sum of the per-row hashes, null if none
+     * @return the watermark
+     */
+    public static DataWatermark of(long transactionCount, BigDecimal amountTotal, LocalDateTime lastUpdatedAt,
+            Long contentChecksum) {
+        return new DataWatermark(transactionCount,
+                amountTotal != null ? Money.toUnits(amountTotal) : 0,
+                toMicros(lastUpdatedAt),
+                contentChecksum != null ? contentChecksum : 0);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000 : 0;
+    }
+
+    /**
+     * Hash one row as the first 32 bits of the MD5 of
+     * {@code epochDay|amountUnits|accountId|category}, where the category is
+     * {@code =name}, or {@code -} when uncategorized.
+     *
+     * @param md5         a digest to reuse across rows
+     * @param epochDay    the transaction's day
+     * @param amountUnits the amount in minor units
+     * @param accountId   the account
+     * @param category    the category, null when uncategorized
+     * @return the hash, between 0 and 2^32 - 1
+     */
+    static long rowHash(MessageDigest md5, int epochDay, long amountUnits, UUID accountId, String category) {
+        String key = epochDay + "|" + amountUnits + "|" + accountId + "|" + (category != null ? "=" + category : "-");
+        byte[] digest = md5.digest(key.getBytes(StandardCharsets.UTF_8));
+        return ((digest[0] & 0xFFL) << 24) | ((digest[1] & 0xFFL) << 16) | ((digest[2] & 0xFFL) << 8)
+                | (digest[3] & 0xFFL);
+    }
+
+    static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
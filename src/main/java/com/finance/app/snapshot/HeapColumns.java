@@ -0,0 +1,62 @@
+package com.finance.app.snapshot;
+
+/**
+ * Columns held as primitive arrays on the heap. Freed by the garbage
+ * collector, so pinning is a no-op.
+ */
+final class HeapColumns implements SnapshotColumns {
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int[] epochDays;
+    private final long[] amountUnits;
+    private final int[] categoryIds;
+    private final int[] accountIds;
+
+    HeapColumns(int[] epochDays, long[] amountUnits, int[] categoryIds, int[] accountIds) {
+        this.epochDays = epochDays;
+        this.amountUnits = amountUnits;
+        this.categoryIds = categoryIds;
+        this.accountIds = accountIds;
+    }
+
+    @Override
+    public int size() {
+        return epochDays.length;
+    }
+
+    @Override
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    @Override
+    public long amountUnits(int row) {
+        return amountUnits[row];
+    }
+
+    @Override
+    public int categoryId(int row) {
+        return categoryIds[row];
+    }
+
+    @Override
+    public int accountId(int row) {
+        return accountIds[row];
+    }
+
+    @Override
+    public long bytes() {
+        return 4L * ARRAY_HEADER_BYTES + (long) size() * TransactionSnapshot.ROW_BYTES;
+    }
+
+    @Override
+    public boolean retain() {
+        return true;
+    }
+
+    @Override
+    public void release() {
+        // Nothing to free
+    }
+}
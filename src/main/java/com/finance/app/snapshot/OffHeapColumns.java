@@ -0,0 +1,139 @@
+package com.finance.app.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Columns packed into a byte buffer outside the heap: a {@link SlabAllocator}
+ * block, or a region of a mapped {@link SnapshotSegment} file.
+ * <p>
+ * Layout is column by column: amounts (8 bytes each, first so they stay
+ * aligned), then days, category ids and account ids (4 bytes each). The
+ * buffer is reference counted: the owning snapshot holds one reference and
+ * each reader pins another, so a block is only returned to the allocator
+ * once it is both evicted and no longer being read.
+ */
+final class OffHeapColumns implements SnapshotColumns {
+
+    private final ByteBuffer buffer;
+    private final long bytes;
+    private final Runnable onFree;
+    private final int size;
+    private final int daysOffset;
+    private final int categoriesOffset;
+    private final int accountsOffset;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private OffHeapColumns(ByteBuffer buffer, long bytes, Runnable onFree, int size) {
+        this.buffer = buffer;
+        this.bytes = bytes;
+        this.onFree = onFree;
+        this.size = size;
+        this.daysOffset = size * Long.BYTES;
+        this.categoriesOffset = daysOffset + size * Integer.BYTES;
+        this.accountsOffset = categoriesOffset + size * Integer.BYTES;
+    }
+
+    /**
+     * Copy columns into a newly allocated block.
+     *
+     * @param source    the columns to copy
+     * @param allocator the allocator to take the block from
+     * @return the copy, or empty if the allocator has no room
+     */
+    static Optional<OffHeapColumns> copyOf(SnapshotColumns source, SlabAllocator allocator) {
+        int size = source.size();
+        long bytes = (long) size * TransactionSnapshot.ROW_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        return allocator.allocate((int) bytes).map(block -> {
+            write(source, block.buffer());
+            return new OffHeapColumns(block.buffer(), block.capacity(), block::free, size);
+        });
+    }
+
+    /**
+     * Wrap columns already laid out in a buffer, such as a mapped file.
+     * The buffer is left to the garbage collector once released.
+     *
+     * @param buffer the columns, in the buffer's byte order
+     * @param size   the number of rows
+     * @return the columns
+     */
+    static OffHeapColumns wrap(ByteBuffer buffer, int size) {
+        return new OffHeapColumns(buffer, (long) size * TransactionSnapshot.ROW_BYTES, () -> { }, size);
+    }
+
+    /**
+     * Write columns into a buffer in this class's layout, starting at index 0.
+     *
+     * @param source the columns to write
+     * @param target a buffer of at least {@code source.size() * ROW_BYTES} bytes
+     */
+    static void write(SnapshotColumns source, ByteBuffer target) {
+        int size = source.size();
+        int daysOffset = size * Long.BYTES;
+        int categoriesOffset = daysOffset + size * Integer.BYTES;
+        int accountsOffset = categoriesOffset + size * Integer.BYTES;
+        for (int row = 0; row < size; row++) {
+            target.putLong(row * Long.BYTES, source.amountUnits(row));
+            target.putInt(daysOffset + row * Integer.BYTES, source.epochDay(row));
+            target.putInt(categoriesOffset + row * Integer.BYTES, source.categoryId(row));
+            target.putInt(accountsOffset + row * Integer.BYTES, source.accountId(row));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int epochDay(int row) {
+        return buffer.getInt(daysOffset + row * Integer.BYTES);
+    }
+
+    @Override
+    public long amountUnits(int row) {
+        return buffer.getLong(row * Long.BYTES);
+    }
+
+    @Override
+    public int categoryId(int row) {
+        return buffer.getInt(categoriesOffset + row * Integer.BYTES);
+    }
+
+    @Override
+    public int accountId(int row) {
+        return buffer.getInt(accountsOffset + row * Integer.BYTES);
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            onFree.run();
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Snapshot columns released more often than retained");
+        }
+    }
+}
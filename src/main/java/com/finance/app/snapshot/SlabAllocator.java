@@ -0,0 +1,282 @@
+package com.finance.app.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hands out fixed-size blocks carved from large off-heap slabs.
+ * <p>
+ * Block sizes are powers of two from {@value #MIN_BLOCK_BYTES} bytes up to
+ * the slab size. A slab serves one block size at a time and carves its
+ * blocks on demand; freed blocks go back to their slab. Once every block of
+ * a slab is free, the slab joins a shared pool of empty slabs, from which
+ * any size class can take it and re-carve it, so capacity released by one
+ * size class is available to the others. The process never allocates or
+ * frees native memory after warm-up. Slabs are direct buffers, or regions of
+ * files mapped from a directory so the OS can page cold data out. Slabs are
+ * never released to the OS: the allocator is capped at a fixed capacity and
+ * callers evict to make room.
+ */
+public final class SlabAllocator {
+
+    public static final int MIN_BLOCK_BYTES = 4096;
+
+    private static final Logger logger = LoggerFactory.getLogger(SlabAllocator.class);
+
+    private final long capacityBytes;
+    private final int slabBytes;
+    private final Path directory;
+    // Per size class, the slabs that have a free block and at least one in use
+    private final List<ArrayDeque<Slab>> partialSlabs = new ArrayList<>();
+    private final ArrayDeque<Slab> emptySlabs = new ArrayDeque<>();
+    private long reservedBytes;
+    private long usedBytes;
+
+    private SlabAllocator(long capacityBytes, int slabBytes, Path directory) {
+        if (slabBytes < MIN_BLOCK_BYTES || Integer.bitCount(slabBytes) != 1) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least "
+                    + MIN_BLOCK_BYTES + " bytes: " + slabBytes);
+        }
+        this.capacityBytes = capacityBytes;
+        this.slabBytes = slabBytes;
+        this.directory = directory;
+        for (int blockBytes = MIN_BLOCK_BYTES; blockBytes <= slabBytes; blockBytes <<= 1) {
+            partialSlabs.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Create an allocator backed by direct byte buffers.
+     *
+     * @param capacityBytes maximum bytes reserved across all slabs
+     * @param slabBytes     bytes per slab, a power of two
+     * @return the allocator
+     */
+    public static SlabAllocator direct(long capacityBytes, int slabBytes) {
+        return new SlabAllocator(capacityBytes, slabBytes, null);
+    }
+
+    /**
+     * Create an allocator backed by memory-mapped files. Each file is
+     * unlinked as soon as it is mapped, so nothing is left behind on exit.
+     *
+     * @param directory     directory for the slab files, created if missing
+     * @param capacityBytes maximum bytes reserved across all slabs
+     * @param slabBytes     bytes per slab, a power of two
+     * @return the allocator
+     */
+    public static SlabAllocator mapped(Path directory, long capacityBytes, int slabBytes) {
+        return new SlabAllocator(capacityBytes, slabBytes, directory);
+    }
+
+    /**
+     * Allocate a block of at least the given size.
+     *
+     * @param bytes the bytes needed
+     * @return the block, or empty if the request exceeds the slab size or
+     *         the capacity is exhausted
+     */
+    public synchronized Optional<Block> allocate(int bytes) {
+        int sizeClass = sizeClass(bytes);
+        if (sizeClass >= partialSlabs.size()) {
+            return Optional.empty();
+        }
+        ArrayDeque<Slab> partial = partialSlabs.get(sizeClass);
+        Slab slab = partial.peek();
+        if (slab == null) {
+            slab = takeEmptySlab(sizeClass);
+            if (slab == null) {
+                return Optional.empty();
+            }
+            partial.push(slab);
+        }
+        ByteBuffer buffer = slab.take();
+        if (!slab.hasFree()) {
+            partial.remove(slab);
+        }
+        usedBytes += buffer.capacity();
+        return Optional.of(new Block(buffer, slab));
+    }
+
+    /**
+     * @return bytes in blocks currently handed out
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return bytes reserved in slabs, whether handed out or free
+     */
+    public synchronized long reservedBytes() {
+        return reservedBytes;
+    }
+
+    private synchronized void free(Block block) {
+        Slab slab = block.slab;
+        usedBytes -= block.buffer.capacity();
+        boolean wasFull = !slab.hasFree();
+        slab.put(block.buffer);
+        ArrayDeque<Slab> partial = partialSlabs.get(slab.sizeClass);
+        if (slab.inUse == 0) {
+            if (!wasFull) {
+                partial.remove(slab);
+            }
+            emptySlabs.push(slab);
+        } else if (wasFull) {
+            partial.push(slab);
+        }
+    }
+
+    private static int sizeClass(int bytes) {
+        // Smallest power of two that fits, as a shift relative to the minimum block
+        int log2Ceiling = Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(MIN_BLOCK_BYTES, bytes) - 1);
+        return log2Ceiling - Integer.numberOfTrailingZeros(MIN_BLOCK_BYTES);
+    }
+
+    /**
+     * Take an empty slab for a size class: one last used by the same class
+     * if there is one, else any empty slab, else a newly reserved one.
+     */
+    private Slab takeEmptySlab(int sizeClass) {
+        for (Slab slab : emptySlabs) {
+            if (slab.sizeClass == sizeClass) {
+                emptySlabs.remove(slab);
+                return slab;
+            }
+        }
+        Slab slab = emptySlabs.poll();
+        if (slab == null) {
+            slab = addSlab();
+        }
+        if (slab != null) {
+            slab.carve(sizeClass);
+        }
+        return slab;
+    }
+
+    private Slab addSlab() {
+        if (reservedBytes + slabBytes > capacityBytes) {
+            return null;
+        }
+        ByteBuffer memory;
+        try {
+            memory = directory == null ? ByteBuffer.allocateDirect(slabBytes) : mapSlab();
+        } catch (IOException | OutOfMemoryError e) {
+            logger.warn("Could not reserve a {} byte snapshot slab: {}", slabBytes, e.getMessage());
+            return null;
+        }
+        reservedBytes += slabBytes;
+        return new Slab(memory);
+    }
+
+    private ByteBuffer mapSlab() throws IOException {
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "snapshot-slab-", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, slabBytes);
+        } finally {
+            // The mapping stays valid after the file is unlinked
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * One slab of memory, carved into blocks of a single size class. Blocks
+     * are sliced off the end of the carved region on first use, so carving
+     * a slab for another size class costs nothing up front.
+     */
+    private final class Slab {
+
+        private final ByteBuffer memory;
+        private final ArrayDeque<ByteBuffer> released = new ArrayDeque<>();
+        private int sizeClass = -1;
+        private int carvedBytes;
+        private int inUse;
+
+        private Slab(ByteBuffer memory) {
+            this.memory = memory;
+        }
+
+        private void carve(int newSizeClass) {
+            sizeClass = newSizeClass;
+            carvedBytes = 0;
+            released.clear();
+        }
+
+        private boolean hasFree() {
+            return !released.isEmpty() || carvedBytes < slabBytes;
+        }
+
+        private ByteBuffer take() {
+            inUse++;
+            if (!released.isEmpty()) {
+                return released.pop();
+            }
+            int blockBytes = MIN_BLOCK_BYTES << sizeClass;
+            ByteBuffer block = memory.slice(carvedBytes, blockBytes).order(ByteOrder.nativeOrder());
+            carvedBytes += blockBytes;
+            return block;
+        }
+
+        private void put(ByteBuffer block) {
+            inUse--;
+            released.push(block);
+        }
+    }
+
+    /**
+     * A block of off-heap memory. Must be freed exactly once.
+     */
+    public final class Block {
+
+        private final ByteBuffer buffer;
+        private final Slab slab;
+        private boolean freed;
+
+        private Block(ByteBuffer buffer, Slab slab) {
+            this.buffer = buffer;
+            this.slab = slab;
+        }
+
+        /**
+         * @return the block's memory, in native byte order
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        public int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Return the block to its allocator.
+         */
+        public void free() {
+            synchronized (SlabAllocator.this) {
+                if (freed) {
+                    throw new IllegalStateException("Block already freed");
+                }
+                freed = true;
+                SlabAllocator.this.free(this);
+            }
+        }
+    }
+}
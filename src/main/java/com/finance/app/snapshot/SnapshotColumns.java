@@ -0,0 +1,35 @@
+package com.finance.app.snapshot;
+
+/**
+ * Column storage behind a {@link TransactionSnapshot}. Rows are indexed
+ * from zero and sorted by epoch day.
+ */
+interface SnapshotColumns {
+
+    int size();
+
+    int epochDay(int row);
+
+    long amountUnits(int row);
+
+    int categoryId(int row);
+
+    int accountId(int row);
+
+    /**
+     * Bytes held by the columns, on or off the heap.
+     */
+    long bytes();
+
+    /**
+     * Pin the storage for a read.
+     *
+     * @return false if the storage has already been released
+     */
+    boolean retain();
+
+    /**
+     * Drop one pin; storage is freed when the last pin is dropped.
+     */
+    void release();
+}
@@ -0,0 +1,183 @@
+package com.finance.app.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file holding one user's {@link TransactionSnapshot}, written on
+ * shutdown and memory-mapped on startup so analytics are warm right away.
+ * <p>
+ * Little-endian layout: a fixed header (magic, format version, user id,
+ * {@link DataWatermark} without its checksum, row and dictionary counts,
+ * CRC32C and length of the payload, then the watermark's content checksum),
+ * then the payload: the columns in {@link OffHeapColumns} layout,
+ * the account ids, and the categories as length-prefixed UTF-8 (length -1
+ * for uncategorized). A mapped snapshot reads its columns straight from the
+ * file, so loading costs one checksum pass and no per-row copying.
+ */
+public final class SnapshotSegment {
+
+    public static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x46534E50;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 80;
+    private static final int NULL_CATEGORY = -1;
+
+    private SnapshotSegment() {
+    }
+
+    /**
+     * A snapshot mapped from a segment file.
+     *
+     * @param userId    the user the snapshot belongs to
+     * @param watermark the watermark recorded when the file was written
+     * @param snapshot  the snapshot, backed by the mapped file
+     */
+    public record Mapped(UUID userId, DataWatermark watermark, TransactionSnapshot snapshot) {
+    }
+
+    /**
+     * Write a snapshot to a file. The file is written beside the target and
+     * moved into place, so readers never see a partial segment.
+     *
+     * @param file     the segment file
+     * @param userId   the user the snapshot belongs to
+     * @param snapshot the snapshot
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, UUID userId, TransactionSnapshot snapshot) throws IOException {
+        List<byte[]> categories = new ArrayList<>();
+        long categoryBytes = 0;
+        for (String category : snapshot.categories()) {
+            byte[] encoded = category != null ? category.getBytes(StandardCharsets.UTF_8) : null;
+            categories.add(encoded);
+            categoryBytes += Integer.BYTES + (encoded != null ? encoded.length : 0);
+        }
+        int rows = snapshot.size();
+        long columnBytes = (long) rows * TransactionSnapshot.ROW_BYTES;
+        long payloadBytes = columnBytes + (long) snapshot.accounts().size() * 2 * Long.BYTES + categoryBytes;
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large for a segment: " + payloadBytes + " bytes");
+        }
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, (int) payloadBytes).order(ByteOrder.LITTLE_ENDIAN);
+            OffHeapColumns.write(snapshot.columns(), payload);
+            payload.position((int) columnBytes);
+            for (UUID account : snapshot.accounts()) {
+                payload.putLong(account.getMostSignificantBits()).putLong(account.getLeastSignificantBits());
+            }
+            for (byte[] category : categories) {
+                payload.putInt(category != null ? category.length : NULL_CATEGORY);
+                if (category != null) {
+                    payload.put(category);
+                }
+            }
+
+            DataWatermark watermark = snapshot.watermark();
+            buffer.putInt(0, MAGIC)
+                    .putInt(4, FORMAT_VERSION)
+                    .putLong(8, userId.getMostSignificantBits())
+                    .putLong(16, userId.getLeastSignificantBits())
+                    .putLong(24, watermark.transactionCount())
+                    .putLong(32, watermark.amountUnits())
+                    .putLong(40, watermark.lastUpdatedMicros())
+                    .putInt(48, rows)
+                    .putInt(52, snapshot.accounts().size())
+                    .putInt(56, categories.size())
+                    .putInt(60, checksum(payload))
+                    .putLong(64, payloadBytes)
+                    .putLong(72, watermark.contentChecksum());
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Map a segment file read-only and verify it.
+     *
+     * @param file the segment file
+     * @return the mapped snapshot, or empty if the file is truncated, from
+     *         another format version or fails its checksum
+     * @throws IOException if the file cannot be read
+     */
+    public static Optional<Mapped> map(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getLong(64) != buffer.capacity() - HEADER_BYTES) {
+            return Optional.empty();
+        }
+        ByteBuffer payload = buffer.slice(HEADER_BYTES, buffer.capacity() - HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (checksum(payload) != buffer.getInt(60)) {
+            return Optional.empty();
+        }
+
+        UUID userId = new UUID(buffer.getLong(8), buffer.getLong(16));
+        DataWatermark watermark = new DataWatermark(buffer.getLong(24), buffer.getLong(32), buffer.getLong(40),
+                buffer.getLong(72));
+        int rows = buffer.getInt(48);
+        int accountCount = buffer.getInt(52);
+        int categoryCount = buffer.getInt(56);
+
+        long columnBytes = (long) rows * TransactionSnapshot.ROW_BYTES;
+        if (rows < 0 || columnBytes + (long) accountCount * 2 * Long.BYTES > payload.capacity()) {
+            return Optional.empty();
+        }
+        payload.position((int) columnBytes);
+        List<UUID> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(new UUID(payload.getLong(), payload.getLong()));
+        }
+        List<String> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            int length = payload.getInt();
+            if (length == NULL_CATEGORY) {
+                categories.add(null);
+            } else {
+                byte[] encoded = new byte[length];
+                payload.get(encoded);
+                categories.add(new String(encoded, StandardCharsets.UTF_8));
+            }
+        }
+
+        ByteBuffer columns = payload.slice(0, (int) columnBytes).order(ByteOrder.LITTLE_ENDIAN);
+        TransactionSnapshot snapshot = TransactionSnapshot.of(OffHeapColumns.wrap(columns, rows), categories,
+                accounts, watermark.lastUpdatedMicros());
+        return Optional.of(new Mapped(userId, watermark, snapshot));
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate().clear());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,13 @@
+package com.finance.app.snapshot;
+
+/**
+ * Where the columns of a {@link TransactionSnapshot} are kept.
+ */
+public enum SnapshotStorage {
+    /** Primitive arrays on the Java heap. */
+    HEAP,
+    /** Direct byte buffers outside the heap. */
+    DIRECT,
+    /** Memory-mapped files in a configured directory, paged by the OS. */
+    MAPPED
+}
@@ -0,0 +1,363 @@
+package com.finance.app.snapshot;
+
+import com.finance.app.money.Money;
+import com.finance.app.repositories.projections.SnapshotRow;
+
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable columnar copy of one user's transactions for in-memory analytics.
+ * <p>
+ * Rows are stored as parallel primitive columns sorted by day: epoch day,
+ * amount in {@link Money} minor units, and dictionary ids for category and
+ * account. Range queries binary-search the first day and then run a tight
+ * loop, so they touch no objects per row. Updates produce a new snapshot via
+ * {@link #replaceMonths}, leaving readers of the old one unaffected.
+ * <p>
+ * Columns live on the heap unless moved off-heap with {@link #copyOffHeap}.
+ * Off-heap snapshots must be pinned with {@link #retain()} while being read
+ * and freed by whoever owns them with a final {@link #release()}.
+ */
+public final class TransactionSnapshot {
+
+    static final int ROW_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private static final int DICTIONARY_ENTRY_BYTES = 64;
+    private static final int FIXED_BYTES = 128;
+
+    private final SnapshotColumns columns;
+    private final List<String> categories;
+    private final List<UUID> accounts;
+    private final long lastUpdatedMicros;
+
+    private TransactionSnapshot(SnapshotColumns columns, List<String> categories, List<UUID> accounts,
+            long lastUpdatedMicros) {
+        this.columns = columns;
+        this.categories = categories;
+        this.accounts = accounts;
+        this.lastUpdatedMicros = lastUpdatedMicros;
+    }
+
+    static TransactionSnapshot of(SnapshotColumns columns, List<String> categories, List<UUID> accounts,
+            long lastUpdatedMicros) {
+        return new TransactionSnapshot(columns, Collections.unmodifiableList(categories),
+                Collections.unmodifiableList(accounts), lastUpdatedMicros);
+    }
+
+    /**
+     * Build a snapshot from rows ordered by transaction date.
+     *
+     * @param rows the user's transactions, oldest first
+     * @return the snapshot
+     */
+    public static TransactionSnapshot of(List<? extends SnapshotRow> rows) {
+        Builder builder = new Builder(rows.size(), List.of(), List.of(), 0);
+        rows.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Return a copy in which every row in the given months is replaced by the
+     * given rows. Rows outside the months are kept as they are.
+     *
+     * @param months       the months to replace
+     * @param rowsInMonths the current rows for those months, ordered by transaction date
+     * @return the updated snapshot
+     */
+    public TransactionSnapshot replaceMonths(Set<YearMonth> months, List<? extends SnapshotRow> rowsInMonths) {
+        long[] replacedRanges = new long[months.size() * 2];
+        int range = 0;
+        for (YearMonth month : months) {
+            replacedRanges[range++] = month.atDay(1).toEpochDay();
+            replacedRanges[range++] = month.atEndOfMonth().toEpochDay();
+        }
+
+        Builder builder = new Builder(size() + rowsInMonths.size(), categories, accounts, lastUpdatedMicros);
+        int next = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            int epochDay = columns.epochDay(i);
+            if (inRanges(epochDay, replacedRanges)) {
+                continue;
+            }
+            while (next < rowsInMonths.size()
+                    && rowsInMonths.get(next).getTransactionDate().toLocalDate().toEpochDay() < epochDay) {
+                builder.add(rowsInMonths.get(next++));
+            }
+            builder.addEncoded(epochDay, columns.amountUnits(i), columns.categoryId(i), columns.accountId(i));
+        }
+        while (next < rowsInMonths.size()) {
+            builder.add(rowsInMonths.get(next++));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy the columns into a block from the given allocator. This snapshot
+     * is left unchanged.
+     *
+     * @param allocator the off-heap allocator
+     * @return the off-heap copy, or empty if the allocator has no room
+     */
+    public Optional<TransactionSnapshot> copyOffHeap(SlabAllocator allocator) {
+        return OffHeapColumns.copyOf(columns, allocator)
+                .map(offHeap -> new TransactionSnapshot(offHeap, categories, accounts, lastUpdatedMicros));
+    }
+
+    /**
+     * Pin the columns while reading. Always succeeds on the heap.
+     *
+     * @return false if the snapshot has already been freed and must not be read
+     */
+    public boolean retain() {
+        return columns.retain();
+    }
+
+    /**
+     * Drop a pin taken with {@link #retain()}, or the owner's reference.
+     * Off-heap memory is returned to its allocator when the last one is dropped.
+     */
+    public void release() {
+        columns.release();
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Sum expenses (negative amounts) between two days, as a positive amount.
+     *
+     * @param from first day (inclusive)
+     * @param to   last day (inclusive)
+     * @return total spend in minor units
+     */
+    public long spendUnits(LocalDate from, LocalDate to) {
+        long last = to.toEpochDay();
+        long spent = 0;
+        int size = columns.size();
+        for (int i = firstIndexOnOrAfter(from.toEpochDay()); i < size && columns.epochDay(i) <= last; i++) {
+            long amount = columns.amountUnits(i);
+            if (amount < 0) {
+                spent = Money.subtract(spent, amount);
+            }
+        }
+        return spent;
+    }
+
+    /**
+     * Sum expenses per day between two days.
+     *
+     * @param from first day (inclusive)
+     * @param to   last day (inclusive)
+     * @return spend in minor units, indexed by days since {@code from}
+     */
+    public long[] dailySpendUnits(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        long[] daily = new long[(int) (last - first + 1)];
+        int size = columns.size();
+        for (int i = firstIndexOnOrAfter(first); i < size; i++) {
+            int epochDay = columns.epochDay(i);
+            if (epochDay > last) {
+                break;
+            }
+            long amount = columns.amountUnits(i);
+            if (amount < 0) {
+                int day = (int) (epochDay - first);
+                daily[day] = Money.subtract(daily[day], amount);
+            }
+        }
+        return daily;
+    }
+
+    /**
+     * Sum expenses per category between two days.
+     *
+     * @param from first day (inclusive)
+     * @param to   last day (inclusive)
+     * @return one entry per category with spend, in no particular order
+     */
+    public List<CategorySpend> spendByCategory(LocalDate from, LocalDate to) {
+        long last = to.toEpochDay();
+        long[] units = new long[categories.size()];
+        long[] counts = new long[categories.size()];
+        int size = columns.size();
+        for (int i = firstIndexOnOrAfter(from.toEpochDay()); i < size && columns.epochDay(i) <= last; i++) {
+            long amount = columns.amountUnits(i);
+            if (amount < 0) {
+                int category = columns.categoryId(i);
+                units[category] = Money.subtract(units[category], amount);
+                counts[category]++;
+            }
+        }
+
+        List<CategorySpend> result = new ArrayList<>();
+        for (int id = 0; id < units.length; id++) {
+            if (counts[id] > 0) {
+                result.add(new CategorySpend(categories.get(id), units[id], counts[id]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Approximate footprint on and off the heap, used to bound the snapshot
+     * cache by bytes.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimatedBytes() {
+        return FIXED_BYTES
+                + columns.bytes()
+                + (long) (categories.size() + accounts.size()) * DICTIONARY_ENTRY_BYTES;
+    }
+
+    /**
+     * Fingerprint of the rows, compared with the database's to decide whether
+     * a persisted copy is still current. The update time is the latest ever
+     * loaded, so a deleted row can only cause a false mismatch.
+     *
+     * @return the watermark
+     */
+    public DataWatermark watermark() {
+        MessageDigest md5 = DataWatermark.md5();
+        long amountTotal = 0;
+        long contentChecksum = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            amountTotal = Money.add(amountTotal, columns.amountUnits(i));
+            contentChecksum += DataWatermark.rowHash(md5, columns.epochDay(i), columns.amountUnits(i),
+                    accounts.get(columns.accountId(i)), categories.get(columns.categoryId(i)));
+        }
+        return new DataWatermark(size(), amountTotal, lastUpdatedMicros, contentChecksum);
+    }
+
+    SnapshotColumns columns() {
+        return columns;
+    }
+
+    List<String> categories() {
+        return categories;
+    }
+
+    List<UUID> accounts() {
+        return accounts;
+    }
+
+    private int firstIndexOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = columns.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (columns.epochDay(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean inRanges(int epochDay, long[] ranges) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (epochDay >= ranges[i] && epochDay <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spend for one category.
+     *
+     * @param category         the category name, null when uncategorized
+     * @param units            total spend in minor units
+     * @param transactionCount number of expense transactions
+     */
+    public record CategorySpend(String category, long units, long transactionCount) {
+    }
+
+    /**
+     * Appends rows and interns categories and accounts into dictionaries.
+     */
+    private static final class Builder {
+
+        private final List<String> categories;
+        private final List<UUID> accounts;
+        private final Map<String, Integer> categoryIds = new HashMap<>();
+        private final Map<UUID, Integer> accountIds = new HashMap<>();
+        private int[] days;
+        private long[] units;
+        private int[] categoryColumn;
+        private int[] accountColumn;
+        private int size;
+        private long lastUpdatedMicros;
+
+        private Builder(int capacity, List<String> categories, List<UUID> accounts, long lastUpdatedMicros) {
+            this.lastUpdatedMicros = lastUpdatedMicros;
+            this.categories = new ArrayList<>(categories);
+            this.accounts = new ArrayList<>(accounts);
+            for (int id = 0; id < categories.size(); id++) {
+                categoryIds.put(categories.get(id), id);
+            }
+            for (int id = 0; id < accounts.size(); id++) {
+                accountIds.put(accounts.get(id), id);
+            }
+            days = new int[capacity];
+            units = new long[capacity];
+            categoryColumn = new int[capacity];
+            accountColumn = new int[capacity];
+        }
+
+        private void add(SnapshotRow row) {
+            int categoryId = categoryIds.computeIfAbsent(row.getCategory(), category -> {
+                categories.add(category);
+                return categories.size() - 1;
+            });
+            int accountId = accountIds.computeIfAbsent(row.getAccountId(), account -> {
+                accounts.add(account);
+                return accounts.size() - 1;
+            });
+            lastUpdatedMicros = Math.max(lastUpdatedMicros, DataWatermark.toMicros(row.getUpdatedAt()));
+            addEncoded(Math.toIntExact(row.getTransactionDate().toLocalDate().toEpochDay()),
+                    Money.toUnits(row.getAmount()), categoryId, accountId);
+        }
+
+        private void addEncoded(int epochDay, long amountUnits, int categoryId, int accountId) {
+            if (size == days.length) {
+                int capacity = Math.max(16, size * 2);
+                days = Arrays.copyOf(days, capacity);
+                units = Arrays.copyOf(units, capacity);
+                categoryColumn = Arrays.copyOf(categoryColumn, capacity);
+                accountColumn = Arrays.copyOf(accountColumn, capacity);
+            }
+            days[size] = epochDay;
+            units[size] = amountUnits;
+            categoryColumn[size] = categoryId;
+            accountColumn[size] = accountId;
+            size++;
+        }
+
+        private TransactionSnapshot build() {
+            if (size < days.length) {
+                days = Arrays.copyOf(days, size);
+                units = Arrays.copyOf(units, size);
+                categoryColumn = Arrays.copyOf(categoryColumn, size);
+                accountColumn = Arrays.copyOf(accountColumn, size);
+            }
+            // Category may be null (uncategorized), so List.copyOf cannot be used
+            return TransactionSnapshot.of(new HeapColumns(days, units, categoryColumn, accountColumn),
+                    categories, accounts, lastUpdatedMicros);
+        }
+    }
+}
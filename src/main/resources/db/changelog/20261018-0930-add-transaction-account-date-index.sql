@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset finance:004-add-transaction-account-date-index
+-- Composite index for per-user range aggregations (category, merchant and monthly breakdowns)
+CREATE INDEX idx_transactions_account_id_transaction_date ON transactions(account_id, transaction_date);
+
+--rollback DROP INDEX idx_transactions_account_id_transaction_date;
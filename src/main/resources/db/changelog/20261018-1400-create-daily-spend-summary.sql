@@ -0,0 +1,33 @@
+--liquibase formatted sql
+
+--changeset finance:005-create-daily-spend-summary
+-- Per-user, per-day, per-category sums maintained by DailySpendSummaryService.
+-- Uncategorized transactions are stored under the empty category so it can be part of the key.
+CREATE TABLE daily_spend_summary (
+    user_id UUID NOT NULL,
+    spend_date DATE NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    expense_total DECIMAL(19, 4) NOT NULL,
+    expense_count INTEGER NOT NULL,
+    income_total DECIMAL(19, 4) NOT NULL,
+    income_count INTEGER NOT NULL,
+    CONSTRAINT pk_daily_spend_summary PRIMARY KEY (user_id, spend_date, category),
+    CONSTRAINT fk_daily_spend_summary_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+--rollback DROP TABLE daily_spend_summary;
+
+--changeset finance:005-populate-daily-spend-summary
+INSERT INTO daily_spend_summary (user_id, spend_date, category, expense_total, expense_count, income_total, income_count)
+SELECT a.user_id,
+       CAST(t.transaction_date AS DATE),
+       COALESCE(t.category, ''),
+       COALESCE(-SUM(t.amount) FILTER (WHERE t.amount < 0), 0),
+       COUNT(*) FILTER (WHERE t.amount < 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.amount > 0), 0),
+       COUNT(*) FILTER (WHERE t.amount > 0)
+FROM transactions t
+JOIN accounts a ON a.id = t.account_id
+GROUP BY a.user_id, CAST(t.transaction_date AS DATE), COALESCE(t.category, '');
+
+--rollback DELETE FROM daily_spend_summary;
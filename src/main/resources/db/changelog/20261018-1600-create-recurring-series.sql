@@ -0,0 +1,34 @@
+--liquibase formatted sql
+
+--changeset finance:006-create-recurring-series
+-- Recurring charges detected per user and merchant by RecurringDetectionService
+CREATE TABLE recurring_series (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    merchant VARCHAR(255) NOT NULL,
+    category VARCHAR(100),
+    cadence VARCHAR(20) NOT NULL,
+    typical_amount DECIMAL(19, 4) NOT NULL,
+    occurrences INTEGER NOT NULL,
+    first_seen DATE NOT NULL,
+    last_seen DATE NOT NULL,
+    next_expected DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_recurring_series_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uk_recurring_series_user_merchant UNIQUE (user_id, merchant)
+);
+
+--rollback DROP TABLE recurring_series;
+
+--changeset finance:006-create-recurring-scan-state
+-- Transaction watermark of each user's last scan; a mismatch at startup triggers a rescan
+CREATE TABLE recurring_scan_state (
+    user_id UUID PRIMARY KEY,
+    transaction_count BIGINT NOT NULL,
+    amount_total DECIMAL(19, 4) NOT NULL,
+    last_updated_at TIMESTAMP,
+    scanned_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_recurring_scan_state_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+--rollback DROP TABLE recurring_scan_state;
@@ -0,0 +1,49 @@
+--liquibase formatted sql
+
+--changeset finance:007-add-transaction-anomaly
+-- OUTLIER or DUPLICATE when flagged by TransactionAnomalyService at ingest
+ALTER TABLE transactions ADD COLUMN anomaly VARCHAR(20);
+
+--rollback ALTER TABLE transactions DROP COLUMN anomaly;
+
+--changeset finance:007-create-merchant-charge-stats
+-- Running count, mean and sum of squared deviations of each user's expenses per merchant
+CREATE TABLE merchant_charge_stats (
+    user_id UUID NOT NULL,
+    merchant VARCHAR(255) NOT NULL,
+    charge_count BIGINT NOT NULL,
+    mean_amount DOUBLE PRECISION NOT NULL,
+    m2 DOUBLE PRECISION NOT NULL,
+    last_amount DECIMAL(19, 4),
+    last_charged_at TIMESTAMP,
+    CONSTRAINT pk_merchant_charge_stats PRIMARY KEY (user_id, merchant),
+    CONSTRAINT fk_merchant_charge_stats_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+--rollback DROP TABLE merchant_charge_stats;
+
+--changeset finance:007-populate-merchant-charge-stats
+-- Seed the statistics from existing expenses; those transactions are not flagged retroactively
+INSERT INTO merchant_charge_stats (user_id, merchant, charge_count, mean_amount, m2, last_amount, last_charged_at)
+SELECT m.user_id,
+       m.merchant,
+       COUNT(*),
+       CAST(AVG(m.amount) AS DOUBLE PRECISION),
+       CAST(VAR_POP(m.amount) * COUNT(*) AS DOUBLE PRECISION),
+       (ARRAY_AGG(m.amount ORDER BY m.transaction_date DESC))[1],
+       MAX(m.transaction_date)
+FROM (
+    SELECT a.user_id,
+           LEFT(COALESCE(NULLIF(TRIM(t.clean_description), ''),
+                         TRIM(REGEXP_REPLACE(UPPER(t.raw_description), '\s+\S*[0-9].*$', ''))),
+                255) AS merchant,
+           -t.amount AS amount,
+           t.transaction_date
+    FROM transactions t
+    JOIN accounts a ON a.id = t.account_id
+    WHERE t.amount < 0
+) m
+WHERE m.merchant IS NOT NULL AND m.merchant <> ''
+GROUP BY m.user_id, m.merchant;
+
+--rollback DELETE FROM merchant_charge_stats;
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset finance:008-create-transaction-outbox
+-- Transaction writes appended in the writing transaction and deleted once TransactionOutboxRelay delivers them.
+-- No foreign keys, so an append never waits on the user or transaction rows.
+CREATE TABLE transaction_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    transaction_date TIMESTAMP,
+    previous_transaction_date TIMESTAMP,
+    amount DECIMAL(19, 4),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+--rollback DROP TABLE transaction_outbox;
@@ -0,0 +1,49 @@
+--liquibase formatted sql
+
+--changeset finance:009-add-account-ledger-columns
+-- The balance so far becomes the opening balance; from here on balance is the opening balance plus every
+-- transaction, moved by AccountLedgerRepository in the same database transaction as each write.
+ALTER TABLE accounts ADD COLUMN opening_balance DECIMAL(19, 4) NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+UPDATE accounts a
+SET opening_balance = a.balance,
+    balance = a.balance + COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.account_id = a.id), 0);
+
+--rollback UPDATE accounts SET balance = opening_balance;
+--rollback ALTER TABLE accounts DROP COLUMN version;
+--rollback ALTER TABLE accounts DROP COLUMN opening_balance;
+
+--changeset finance:009-create-account-balance-snapshots
+-- Balance at the start of each month, before that day's transactions. Written by AccountLedgerService and
+-- adjusted by back-dated writes, so a balance at any date is the nearest earlier snapshot plus a short scan.
+CREATE TABLE account_balance_snapshots (
+    account_id UUID NOT NULL,
+    snapshot_date DATE NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    CONSTRAINT pk_account_balance_snapshots PRIMARY KEY (account_id, snapshot_date),
+    CONSTRAINT fk_account_balance_snapshots_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+--rollback DROP TABLE account_balance_snapshots;
+
+--changeset finance:009-populate-account-balance-snapshots
+INSERT INTO account_balance_snapshots (account_id, snapshot_date, balance)
+SELECT m.account_id,
+       CAST(m.month_start AS DATE),
+       m.opening_balance + COALESCE(SUM(m.total) OVER (PARTITION BY m.account_id ORDER BY m.month_start
+                                                       ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0)
+FROM (
+    SELECT a.id AS account_id, a.opening_balance, s.month_start, COALESCE(mt.total, 0) AS total
+    FROM accounts a
+    JOIN (SELECT account_id, DATE_TRUNC('month', MIN(transaction_date)) AS first_month
+          FROM transactions
+          GROUP BY account_id) f ON f.account_id = a.id
+    CROSS JOIN LATERAL GENERATE_SERIES(f.first_month, DATE_TRUNC('month', LOCALTIMESTAMP), INTERVAL '1 month')
+        AS s(month_start)
+    LEFT JOIN (SELECT account_id, DATE_TRUNC('month', transaction_date) AS month_start, SUM(amount) AS total
+               FROM transactions
+               GROUP BY account_id, DATE_TRUNC('month', transaction_date)) mt
+        ON mt.account_id = a.id AND mt.month_start = s.month_start
+) m;
+
+--rollback DELETE FROM account_balance_snapshots;
@@ -0,0 +1,26 @@
+--liquibase formatted sql
+
+--changeset finance:010-create-account-daily-balances
+-- Balance at the end of each day an account has transactions, kept by AccountLedgerRepository with every write.
+-- Days without a row carry the balance of the latest earlier row, or the opening balance before the first one.
+CREATE TABLE account_daily_balances (
+    account_id UUID NOT NULL,
+    balance_date DATE NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    CONSTRAINT pk_account_daily_balances PRIMARY KEY (account_id, balance_date),
+    CONSTRAINT fk_account_daily_balances_account FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+--rollback DROP TABLE account_daily_balances;
+
+--changeset finance:010-populate-account-daily-balances
+INSERT INTO account_daily_balances (account_id, balance_date, balance)
+SELECT d.account_id,
+       d.day,
+       a.opening_balance + SUM(d.total) OVER (PARTITION BY d.account_id ORDER BY d.day)
+FROM (SELECT account_id, CAST(transaction_date AS DATE) AS day, SUM(amount) AS total
+      FROM transactions
+      GROUP BY account_id, CAST(transaction_date AS DATE)) d
+JOIN accounts a ON a.id = d.account_id;
+
+--rollback DELETE FROM account_daily_balances;
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset finance:011-add-user-data-version
+-- Bumped by DataVersionService in the same database transaction as each write to the user's transactions or
+-- budgets, so every node derives the same ETags and cache versions from it.
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE users DROP COLUMN data_version;
+
+--changeset finance:011-add-user-summary-version
+-- The data_version the user's daily_spend_summary rows were last rebuilt at. DailySpendSummaryService only reads
+-- them while it matches data_version, so no node serves rows a write on another node has not refreshed yet.
+ALTER TABLE users ADD COLUMN summary_version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE users DROP COLUMN summary_version;
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset finance:012-create-merchant-name-function splitStatements:false
+-- The merchant a transaction was charged by: the clean description when present, otherwise the raw
+-- description upper-cased with everything from the first token containing a digit (store numbers,
+-- reference codes) stripped; null when both are blank. Every query grouping or matching by merchant uses it.
+CREATE OR REPLACE FUNCTION merchant_name(clean_description TEXT, raw_description TEXT)
+RETURNS TEXT AS $$
+    SELECT NULLIF(LEFT(COALESCE(NULLIF(TRIM(clean_description), ''),
+                                TRIM(REGEXP_REPLACE(UPPER(raw_description), '\s+\S*[0-9].*$', ''))),
+                       255), '');
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+--rollback DROP FUNCTION IF EXISTS merchant_name(TEXT, TEXT);
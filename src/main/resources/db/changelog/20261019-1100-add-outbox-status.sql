@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset finance:013-add-outbox-status
+-- PENDING changes are relayed; a change that fails app.outbox.max-attempts deliveries becomes DEAD and stays for
+-- inspection without being picked up again. Rows already past the default limit of 10 are marked DEAD.
+ALTER TABLE transaction_outbox ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+UPDATE transaction_outbox SET status = 'DEAD' WHERE attempts >= 10;
+CREATE INDEX idx_transaction_outbox_pending ON transaction_outbox (id) WHERE status = 'PENDING';
+
+--rollback DROP INDEX IF EXISTS idx_transaction_outbox_pending;
+--rollback ALTER TABLE transaction_outbox DROP COLUMN status;
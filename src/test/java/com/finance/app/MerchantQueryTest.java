@@ -0,0 +1,120 @@
+package com.finance.app;
+
+import com.finance.app.repositories.MerchantChargeStatsRepository;
+import com.finance.app.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the merchant_name database function and the recategorization queries
+ * built on it against the database: descriptions normalize as the analytics
+ * queries expect, and a chunk update appends outbox rows only when asked.
+ * Uses the same context as QueryCountTest.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.analytics.daily-summary.enabled=false",
+        "app.recurring.enabled=false",
+        "app.outbox.enabled=false",
+        "app.live-updates.enabled=false",
+        "app.ledger.snapshots-enabled=false"
+})
+class MerchantQueryTest {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MerchantChargeStatsRepository statsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, email, name, password, role) "
+                + "VALUES (?, ?, 'Merchants', 'x', 'USER')", userId, "merchants-" + userId + "@example.com");
+        jdbcTemplate.update("INSERT INTO accounts (id, user_id, account_name) VALUES (?, ?, 'Checking')",
+                accountId, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction_outbox WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("should normalize merchants like the analytics queries")
+    void shouldNormalizeMerchants() {
+        // When
+        var merchants = statsRepository.normalizeMerchants(
+                new String[] {" Trader Joe's ", null, "", null},
+                new String[] {"TRADER JOE'S #123", "usps po 123456789", "7-ELEVEN 0042", "  "});
+
+        // Then
+        assertThat(merchants).containsExactly("Trader Joe's", "USPS PO", "7-ELEVEN", null);
+    }
+
+    @Test
+    @DisplayName("should recategorize a merchant's rows and append outbox rows only when asked")
+    void shouldRecategorizeByMerchant() {
+        // Given
+        insert("NETFLIX.COM 8842", "Entertainment", LocalDateTime.of(2025, 3, 2, 9, 0));
+        insert("NETFLIX.COM 1177", "Entertainment", LocalDateTime.of(2025, 4, 2, 9, 0));
+        insert("SPOTIFY 0042", "Entertainment", LocalDateTime.of(2025, 3, 5, 9, 0));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        var months = transactionRepository.findRecategorizeMonths(userId, "Entertainment", "NETFLIX.COM",
+                null, null, "Streaming");
+        var chunkEnds = transactionRepository.findRecategorizeChunkEnds(userId, "Entertainment", "NETFLIX.COM",
+                null, null, "Streaming", 1);
+        Integer logged = transactionTemplate.execute(status -> transactionRepository.recategorizeChunk(userId,
+                "Entertainment", "NETFLIX.COM", null, null, "Streaming", FIRST_ID, chunkEnds.get(0),
+                LocalDateTime.now(), "test", true));
+        Integer unlogged = transactionTemplate.execute(status -> transactionRepository.recategorizeChunk(userId,
+                "Entertainment", "NETFLIX.COM", null, null, "Streaming", chunkEnds.get(0), LAST_ID,
+                LocalDateTime.now(), "test", false));
+
+        // Then
+        assertThat(months).containsExactlyInAnyOrder("2025-03", "2025-04");
+        assertThat(chunkEnds).hasSize(2);
+        assertThat(logged).isEqualTo(1);
+        assertThat(unlogged).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_outbox WHERE user_id = ?",
+                Integer.class, userId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT category FROM transactions WHERE account_id = ? "
+                + "ORDER BY raw_description", String.class, accountId))
+                .containsExactly("Streaming", "Streaming", "Entertainment");
+    }
+
+    private void insert(String raw, String category, LocalDateTime date) {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (account_id, raw_description, category, amount, transaction_date)
+                VALUES (?, ?, ?, ?, ?)
+                """, accountId, raw, category, new BigDecimal("-15.49"), date);
+    }
+}
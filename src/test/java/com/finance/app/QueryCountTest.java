@@ -0,0 +1,203 @@
+package com.finance.app;
+
+import com.finance.app.models.Account;
+import com.finance.app.models.Budget;
+import com.finance.app.models.Role;
+import com.finance.app.models.Transaction;
+import com.finance.app.models.User;
+import com.finance.app.repositories.AccountRepository;
+import com.finance.app.repositories.BudgetRepository;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.UserRepository;
+import com.finance.app.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the statements Hibernate prepares per endpoint, for a user with
+ * several accounts, budgets and transactions, so a lazy association walked
+ * per row shows up as a count that grows with the data.
+ * Scheduled jobs are switched off so that only the request's own statements
+ * are counted. Each count includes the user lookup done by the JWT filter.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.analytics.daily-summary.enabled=false",
+        "app.recurring.enabled=false",
+        "app.outbox.enabled=false",
+        "app.live-updates.enabled=false",
+        "app.ledger.snapshots-enabled=false"
+})
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+    private static final int ACCOUNTS = 3;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final List<UUID> createdUsers = new ArrayList<>();
+    private Statistics statistics;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = createUserWithData(ACCOUNTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Accounts, transactions, budgets and ledger rows cascade from the user
+        createdUsers.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+    }
+
+    @Test
+    @DisplayName("GET /api/auth/me reads nothing beyond the authenticated user")
+    void shouldReadOnlyUserForProfile() throws Exception {
+        // When & Then
+        assertThat(queriesFor("/api/auth/me", token)).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/accounts reads all accounts in one query")
+    void shouldReadAccountsInOneQuery() throws Exception {
+        // Given
+        String largerUser = createUserWithData(ACCOUNTS * 2);
+
+        // When
+        long queries = queriesFor("/api/accounts", token);
+
+        // Then
+        assertThat(queries).isEqualTo(2);
+        assertThat(queriesFor("/api/accounts", largerUser)).isEqualTo(queries);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions reads a page and its count without loading accounts")
+    void shouldReadTransactionPageWithoutAccounts() throws Exception {
+        // When & Then
+        assertThat(queriesFor("/api/transactions?size=20", token)).isEqualTo(3);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/summary issues the same queries however many accounts there are")
+    void shouldReadDashboardIndependentOfAccounts() throws Exception {
+        // Given
+        String largerUser = createUserWithData(ACCOUNTS * 2);
+
+        // When
+        long queries = queriesFor("/api/dashboard/summary", token);
+
+        // Then: user, two budget queries, and transaction queries of which the
+        // burn rate issues one for the whole range while the daily summary is off
+        assertThat(queries).isLessThanOrEqualTo(9);
+        assertThat(queriesFor("/api/dashboard/summary", largerUser)).isEqualTo(queries);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    private long queriesFor(String path, String token) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String createUserWithData(int accounts) {
+        User user = new TransactionTemplate(transactionManager).execute(status -> createUser(accounts));
+        createdUsers.add(user.getId());
+        return jwtService.generateToken(user);
+    }
+
+    private User createUser(int accounts) {
+        User created = new User();
+        created.setEmail("query-count-" + UUID.randomUUID() + "@example.com");
+        created.setName("Query Count");
+        created.setPassword("not-used");
+        created.setRole(Role.USER);
+        created = userRepository.save(created);
+        for (int a = 0; a < accounts; a++) {
+            createAccount(created, "Account " + a);
+        }
+        for (String category : List.of("Food", "Transport")) {
+            Budget budget = new Budget();
+            budget.setUser(created);
+            budget.setCategory(category);
+            budget.setLimitAmount(new BigDecimal("100.00"));
+            budgetRepository.save(budget);
+        }
+        return created;
+    }
+
+    private void createAccount(User owner, String name) {
+        Account account = new Account();
+        account.setUser(owner);
+        account.setAccountName(name);
+        account = accountRepository.save(account);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+            Transaction transaction = new Transaction();
+            transaction.setAccount(account);
+            transaction.setRawDescription("QUERY COUNT " + t);
+            transaction.setCategory(t % 2 == 0 ? "Food" : "Transport");
+            transaction.setAmount(new BigDecimal("-12.50"));
+            transaction.setTransactionDate(LocalDateTime.now().minusDays(t));
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+}
@@ -0,0 +1,100 @@
+package com.finance.app;
+
+import com.finance.app.repositories.UserDataVersionRepository;
+import com.finance.app.services.DataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two DataVersionService instances, standing in for two nodes, over
+ * the same database: a write committed through one moves the version and
+ * ETag the other reads, once per transaction, and a rolled back write moves
+ * neither. Uses the same context as QueryCountTest.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.analytics.daily-summary.enabled=false",
+        "app.recurring.enabled=false",
+        "app.outbox.enabled=false",
+        "app.live-updates.enabled=false",
+        "app.ledger.snapshots-enabled=false"
+})
+class SharedDataVersionTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private DataVersionService nodeA;
+    private DataVersionService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, email, name, password, role) "
+                + "VALUES (?, ?, 'Versions', 'x', 'USER')", userId, "versions-" + userId + "@example.com");
+        nodeA = new DataVersionService(versionRepository, event -> {
+        });
+        nodeB = new DataVersionService(versionRepository, event -> {
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("should show a write committed on one node to every node")
+    void shouldShareVersionAcrossNodes() {
+        // Given
+        long version = nodeB.getUserVersion(userId);
+        long global = nodeB.getGlobalVersion();
+        String etag = nodeB.userETag(userId);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            nodeA.recordWrite(userId, Set.of(YearMonth.of(2025, 1)));
+            nodeA.recordWrite(userId, Set.of(YearMonth.of(2025, 2)));
+        });
+
+        // Then
+        assertThat(nodeB.getUserVersion(userId)).isEqualTo(version + 1);
+        assertThat(nodeB.getGlobalVersion()).isGreaterThan(global);
+        assertThat(nodeB.userETag(userId)).isNotEqualTo(etag).isEqualTo(nodeA.userETag(userId));
+    }
+
+    @Test
+    @DisplayName("should leave the version untouched when the write rolls back")
+    void shouldRollBackVersionWithWrite() {
+        // Given
+        long version = nodeB.getUserVersion(userId);
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            nodeA.recordWrite(userId);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(nodeB.getUserVersion(userId)).isEqualTo(version);
+    }
+}
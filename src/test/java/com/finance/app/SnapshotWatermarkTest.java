@@ -0,0 +1,122 @@
+package com.finance.app;
+
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.TransactionWatermark;
+import com.finance.app.snapshot.DataWatermark;
+import com.finance.app.snapshot.TransactionSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the database's transaction watermark against the one computed
+ * from a snapshot of the same rows, so the SQL and Java row hashes cannot
+ * drift apart, and that an edit which leaves updated_at alone still
+ * changes it. Uses the same context as QueryCountTest.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.analytics.daily-summary.enabled=false",
+        "app.recurring.enabled=false",
+        "app.outbox.enabled=false",
+        "app.live-updates.enabled=false",
+        "app.ledger.snapshots-enabled=false"
+})
+class SnapshotWatermarkTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (id, email, name, password, role) "
+                + "VALUES (?, ?, 'Watermark', 'x', 'USER')", userId, "watermark-" + userId + "@example.com");
+        jdbcTemplate.update("INSERT INTO accounts (id, user_id, account_name) VALUES (?, ?, 'Checking')",
+                accountId, userId);
+        insert(LocalDateTime.of(2025, 1, 5, 9, 30), "-12.3400", "Dining");
+        insert(LocalDateTime.of(2025, 1, 5, 23, 59), "2500.0000", "Salary");
+        insert(LocalDateTime.of(2025, 2, 1, 0, 0), "-0.0100", null);
+        insert(LocalDateTime.of(2025, 2, 14, 12, 0), "-99.9900", "Café & Bäckerei");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("should compute the same watermark in the database as from the snapshot")
+    void shouldMatchSnapshotWatermark() {
+        // When
+        DataWatermark fromSnapshot = TransactionSnapshot.of(transactionRepository.findSnapshotRows(userId))
+                .watermark();
+
+        // Then
+        assertThat(databaseWatermark()).isEqualTo(fromSnapshot);
+        assertThat(fromSnapshot.contentChecksum()).isNotZero();
+    }
+
+    @Test
+    @DisplayName("should change the watermark when raw SQL edits a row without touching updated_at")
+    void shouldDetectEditsWithoutUpdatedAt() {
+        // Given
+        DataWatermark before = TransactionSnapshot.of(transactionRepository.findSnapshotRows(userId)).watermark();
+
+        // When: with triggers off, as in a restore or replicated load, updated_at stays put
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET session_replication_role = replica");
+                try {
+                    statement.executeUpdate("UPDATE transactions SET category = 'Groceries' "
+                            + "WHERE account_id = '" + accountId + "' AND category = 'Dining'");
+                } finally {
+                    statement.execute("SET session_replication_role = DEFAULT");
+                }
+            }
+            return null;
+        });
+
+        // Then
+        DataWatermark after = databaseWatermark();
+        assertThat(after.transactionCount()).isEqualTo(before.transactionCount());
+        assertThat(after.amountUnits()).isEqualTo(before.amountUnits());
+        assertThat(after.lastUpdatedMicros()).isEqualTo(before.lastUpdatedMicros());
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    private DataWatermark databaseWatermark() {
+        List<TransactionWatermark> rows = transactionRepository.findTransactionWatermarks(Set.of(userId));
+        assertThat(rows).hasSize(1);
+        TransactionWatermark row = rows.get(0);
+        assertThat(row.getUserId()).isEqualTo(userId);
+        return DataWatermark.of(row.getTransactionCount(), row.getAmountTotal(), row.getLastUpdatedAt(),
+                row.getContentChecksum());
+    }
+
+    private void insert(LocalDateTime date, String amount, String category) {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (account_id, raw_description, category, amount, transaction_date)
+                VALUES (?, 'Watermark test', ?, ?, ?)
+                """, accountId, category, new BigDecimal(amount), date);
+    }
+}
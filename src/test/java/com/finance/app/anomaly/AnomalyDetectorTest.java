@@ -0,0 +1,83 @@
+package com.finance.app.anomaly;
+
+import com.finance.app.models.MerchantChargeStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for AnomalyDetector.
+ */
+class AnomalyDetectorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final AnomalyDetector detector = new AnomalyDetector(3.0, 5, Duration.ofHours(24));
+    private final MerchantChargeStats stats = new MerchantChargeStats(UUID.randomUUID(), "GROCER");
+
+    private AnomalyType screen(String amount, int day) {
+        return detector.screen(stats, new BigDecimal(amount), START.plusDays(day));
+    }
+
+    @Test
+    @DisplayName("should keep Welford statistics matching the sample mean and variance")
+    void shouldTrackRunningStatistics() {
+        // When
+        String[] amounts = {"40.00", "55.00", "47.50", "62.25", "38.75"};
+        for (int i = 0; i < amounts.length; i++) {
+            screen(amounts[i], i * 7);
+        }
+
+        // Then - mean 48.70, sample variance 99.85625
+        assertThat(stats.getChargeCount()).isEqualTo(5);
+        assertThat(stats.getMeanAmount()).isCloseTo(48.70, within(1e-9));
+        assertThat(stats.getM2() / (stats.getChargeCount() - 1)).isCloseTo(99.85625, within(1e-9));
+        assertThat(stats.getLastAmount()).isEqualByComparingTo("38.75");
+    }
+
+    @Test
+    @DisplayName("should flag outliers only once the merchant has enough history")
+    void shouldFlagOutliers() {
+        // Given
+        MerchantChargeStats newMerchant = new MerchantChargeStats(UUID.randomUUID(), "NEW SHOP");
+        assertThat(detector.screen(newMerchant, new BigDecimal("500.00"), START)).isNull();
+        for (int i = 0; i < 5; i++) {
+            assertThat(screen(i % 2 == 0 ? "45.00" : "55.00", i * 7)).isNull();
+        }
+
+        // When & Then - a small price change on a steady charge is not flagged
+        assertThat(screen("70.00", 40)).isNull();
+        assertThat(screen("400.00", 47)).isEqualTo(AnomalyType.OUTLIER);
+    }
+
+    @Test
+    @DisplayName("should flag the same amount charged again within the window")
+    void shouldFlagDuplicates() {
+        // Given
+        screen("19.99", 0);
+
+        // When & Then
+        assertThat(detector.screen(stats, new BigDecimal("19.9900"), START.plusHours(3)))
+                .isEqualTo(AnomalyType.DUPLICATE);
+        assertThat(detector.screen(stats, new BigDecimal("19.99"), START.plusDays(3))).isNull();
+        assertThat(detector.screen(stats, new BigDecimal("24.99"), START.plusDays(3).plusHours(1))).isNull();
+    }
+
+    @Test
+    @DisplayName("should compare a repeat only with the merchant's latest charge")
+    void shouldMissInterleavedRepeats() {
+        // Given
+        screen("10.00", 0);
+        assertThat(detector.screen(stats, new BigDecimal("20.00"), START.plusHours(1))).isNull();
+
+        // When & Then - the first charge is no longer the latest, so the repeat is not flagged
+        assertThat(detector.screen(stats, new BigDecimal("10.00"), START.plusHours(2))).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package com.finance.app.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the password encoder built by ApplicationConfig.
+ * Verifies that hashes from before the algorithm prefix still match and
+ * that hashes in another algorithm or at a lower cost ask to be upgraded.
+ */
+class ApplicationConfigTest {
+
+    @Test
+    @DisplayName("should accept unprefixed BCrypt hashes and ask to rehash them")
+    void shouldUpgradeLegacyHashes() {
+        // Given
+        PasswordEncoder encoder = ApplicationConfig.delegatingPasswordEncoder(new PasswordHashingProperties());
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+
+        // When
+        String rehashed = encoder.encode("password");
+
+        // Then
+        assertThat(encoder.matches("password", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+        assertThat(rehashed).startsWith("{bcrypt}");
+        assertThat(encoder.matches("password", rehashed)).isTrue();
+        assertThat(encoder.upgradeEncoding(rehashed)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should hash with Argon2 when configured and still check BCrypt hashes")
+    void shouldSwitchToArgon2() {
+        // Given
+        PasswordHashingProperties bcryptProperties = new PasswordHashingProperties();
+        bcryptProperties.setBcryptStrength(4);
+        String bcryptHash = ApplicationConfig.delegatingPasswordEncoder(bcryptProperties).encode("password");
+        PasswordHashingProperties argon2Properties = new PasswordHashingProperties();
+        argon2Properties.setAlgorithm(PasswordHashingProperties.Algorithm.ARGON2);
+        PasswordEncoder encoder = ApplicationConfig.delegatingPasswordEncoder(argon2Properties);
+
+        // When
+        String argon2Hash = encoder.encode("password");
+
+        // Then
+        assertThat(argon2Hash).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches("password", argon2Hash)).isTrue();
+        assertThat(encoder.matches("password", bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(argon2Hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should ask to rehash BCrypt hashes below the configured strength")
+    void shouldUpgradeWeakerHashes() {
+        // Given
+        PasswordHashingProperties weaker = new PasswordHashingProperties();
+        weaker.setBcryptStrength(4);
+        String weakHash = ApplicationConfig.delegatingPasswordEncoder(weaker).encode("password");
+        PasswordHashingProperties stronger = new PasswordHashingProperties();
+        stronger.setBcryptStrength(5);
+
+        // When & Then
+        assertThat(ApplicationConfig.delegatingPasswordEncoder(stronger).upgradeEncoding(weakHash)).isTrue();
+    }
+}
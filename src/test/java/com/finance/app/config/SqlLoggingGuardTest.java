@@ -0,0 +1,87 @@
+package com.finance.app.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SqlLoggingGuard.
+ * The Hibernate SQL loggers are pinned to WARN, as the prod profile sets
+ * them, so the results do not depend on the test run's logging setup.
+ */
+class SqlLoggingGuardTest {
+
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+    private final Logger bindLogger = (Logger) LoggerFactory.getLogger("org.hibernate.orm.jdbc.bind");
+    private Level sqlLevel;
+    private Level bindLevel;
+
+    @BeforeEach
+    void setUp() {
+        sqlLevel = sqlLogger.getLevel();
+        bindLevel = bindLogger.getLevel();
+        sqlLogger.setLevel(Level.WARN);
+        bindLogger.setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.setLevel(sqlLevel);
+        bindLogger.setLevel(bindLevel);
+    }
+
+    @Test
+    @DisplayName("reports show-sql and format_sql when enabled")
+    void shouldReportEnabledSqlLogging() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true");
+        SqlLoggingGuard guard = new SqlLoggingGuard(environment);
+
+        // When
+        List<String> enabled = guard.findEnabledSqlLogging();
+
+        // Then
+        assertThat(enabled).containsExactly("spring.jpa.show-sql", "hibernate.format_sql");
+    }
+
+    @Test
+    @DisplayName("reports the Hibernate SQL logger when it logs at debug")
+    void shouldReportDebugSqlLogger() {
+        // Given
+        sqlLogger.setLevel(Level.DEBUG);
+        SqlLoggingGuard guard = new SqlLoggingGuard(new MockEnvironment());
+
+        // When
+        List<String> enabled = guard.findEnabledSqlLogging();
+
+        // Then
+        assertThat(enabled).containsExactly("org.hibernate.SQL");
+    }
+
+    @Test
+    @DisplayName("reports nothing when SQL logging is off")
+    void shouldReportNothingWhenDisabled() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "false")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "false");
+        SqlLoggingGuard guard = new SqlLoggingGuard(environment);
+
+        // When
+        List<String> enabled = guard.findEnabledSqlLogging();
+
+        // Then
+        assertThat(enabled).isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.BalancePointDTO;
+import com.finance.app.ledger.BalanceInterval;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.services.AccountLedgerService;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for AccountController.
+ */
+@WebMvcTest(AccountController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({DataVersionService.class, InMemoryUserDataVersionRepository.class})
+class AccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountLedgerService accountLedgerService;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    @MockBean
+    private com.finance.app.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+    }
+
+    @Test
+    @DisplayName("GET /api/accounts/{id}/balance-history returns monthly points with an ETag")
+    void shouldReturnHistory() throws Exception {
+        // Given
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 2, 28);
+        when(accountLedgerService.validateHistory(start, end, BalanceInterval.MONTH)).thenReturn(List.of());
+        when(accountLedgerService.getBalanceHistory(accountId, start, end, BalanceInterval.MONTH))
+                .thenReturn(Optional.of(List.of(
+                        BalancePointDTO.builder().date(LocalDate.of(2025, 1, 31)).balance(new BigDecimal("5100.00")).build(),
+                        BalancePointDTO.builder().date(end).balance(new BigDecimal("4870.25")).build())));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/{accountId}/balance-history", accountId)
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-02-28")
+                        .param("interval", "MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].balance", is(4870.25)))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("GET /api/accounts/{id}/balance-history rejects an invalid range")
+    void shouldRejectInvalidRange() throws Exception {
+        // Given
+        when(accountLedgerService.validateHistory(any(), any(), any()))
+                .thenReturn(List.of("startDate is after endDate"));
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/{accountId}/balance-history", accountId)
+                        .param("startDate", "2025-03-01")
+                        .param("endDate", "2025-02-01"))
+                .andExpect(status().isBadRequest());
+        verify(accountLedgerService, never()).getBalanceHistory(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/accounts/{id}/balance returns 404 for another user's account")
+    void shouldHideOtherAccounts() throws Exception {
+        // Given
+        when(accountLedgerService.getBalance(accountId, null)).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/accounts/{accountId}/balance", accountId))
+                .andExpect(status().isNotFound());
+    }
+}
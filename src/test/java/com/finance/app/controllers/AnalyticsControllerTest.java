@@ -1,19 +1,31 @@
 package com.finance.app.controllers;
 
 import com.finance.app.dto.BurnRateDTO;
+import com.finance.app.dto.CategoryBreakdownDTO;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.dto.SpendingForecastDTO;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
 import com.finance.app.services.AnalyticsService;
+import com.finance.app.services.CategoryAnalyticsService;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.SpendingForecastService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @WebMvcTest(AnalyticsController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({DataVersionService.class, InMemoryUserDataVersionRepository.class})
 class AnalyticsControllerTest {
 
         @Autowired
@@ -34,12 +47,31 @@ class AnalyticsControllerTest {
         @MockBean
         private AnalyticsService analyticsService;
 
+        @MockBean
+        private CategoryAnalyticsService categoryAnalyticsService;
+
+        @MockBean
+        private CurrentUserService currentUserService;
+
+        @MockBean
+        private SpendingForecastService spendingForecastService;
+
+        @Autowired
+        private DataVersionService dataVersionService;
+
+        private final UUID userId = UUID.randomUUID();
+
         @MockBean
         private com.finance.app.security.JwtService jwtService;
 
         @MockBean
         private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
 
+        @BeforeEach
+        void setUp() {
+                when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        }
+
         private List<BurnRateDTO> createSampleBurnRateData() {
                 return Arrays.asList(
                                 BurnRateDTO.builder()
@@ -174,4 +206,92 @@ class AnalyticsControllerTest {
                                 isNull(),
                                 eq(LocalDate.of(2025, 12, 31)));
         }
+
+        @Test
+        @DisplayName("GET /api/analytics/categories clamps the merchant limit")
+        void shouldReturnCategoryBreakdown() throws Exception {
+                // Given
+                CategoryBreakdownDTO breakdown = CategoryBreakdownDTO.builder()
+                                .categories(List.of(new CategorySpendDTO("Dining", new BigDecimal("120.00"), 4)))
+                                .topMerchants(List.of())
+                                .monthOverMonth(List.of())
+                                .build();
+                when(categoryAnalyticsService.getCategoryBreakdown(any(), any(), anyInt()))
+                                .thenReturn(breakdown);
+
+                // When & Then
+                mockMvc.perform(get("/api/analytics/categories")
+                                .param("startDate", "2025-01-01")
+                                .param("merchantLimit", "500"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.categories", hasSize(1)))
+                                .andExpect(jsonPath("$.categories[0].category", is("Dining")))
+                                .andExpect(jsonPath("$.categories[0].transactionCount", is(4)));
+
+                verify(categoryAnalyticsService).getCategoryBreakdown(LocalDate.of(2025, 1, 1), null, 50);
+        }
+
+        @Test
+        @DisplayName("GET /api/analytics/burn-rate returns 304 without recomputing when the ETag matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+                // Given
+                when(analyticsService.calculateBurnRate(any(), any()))
+                                .thenReturn(createSampleBurnRateData());
+                String etag = mockMvc.perform(get("/api/analytics/burn-rate"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                // When & Then
+                mockMvc.perform(get("/api/analytics/burn-rate").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+
+                verify(analyticsService, times(1)).calculateBurnRate(any(), any());
+        }
+
+        @Test
+        @DisplayName("GET /api/analytics/burn-rate recomputes after the user's data changes")
+        void shouldRecomputeAfterWrite() throws Exception {
+                // Given
+                when(analyticsService.calculateBurnRate(any(), any()))
+                                .thenReturn(createSampleBurnRateData());
+                String etag = mockMvc.perform(get("/api/analytics/burn-rate"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                // When
+                dataVersionService.recordWrite(userId);
+
+                // Then
+                mockMvc.perform(get("/api/analytics/burn-rate").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+
+                verify(analyticsService, times(2)).calculateBurnRate(any(), any());
+        }
+
+        @Test
+        @DisplayName("GET /api/analytics/forecast returns the projection against budget")
+        void shouldReturnForecast() throws Exception {
+                // Given
+                SpendingForecastDTO forecast = SpendingForecastDTO.builder()
+                                .monthName("Feb 2026")
+                                .asOf(LocalDate.of(2026, 2, 14))
+                                .spentToDate(new BigDecimal("700.00"))
+                                .projectedMonthEnd(new BigDecimal("1400.00"))
+                                .monthlyBudget(new BigDecimal("1200.00"))
+                                .projectedOverBudget(true)
+                                .trend(List.of())
+                                .build();
+                when(spendingForecastService.getForecast(any())).thenReturn(forecast);
+
+                // When & Then
+                mockMvc.perform(get("/api/analytics/forecast").param("asOf", "2026-02-14"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().exists(HttpHeaders.ETAG))
+                                .andExpect(jsonPath("$.projectedMonthEnd", is(1400.00)))
+                                .andExpect(jsonPath("$.projectedOverBudget", is(true)));
+
+                verify(spendingForecastService).getForecast(LocalDate.of(2026, 2, 14));
+        }
 }
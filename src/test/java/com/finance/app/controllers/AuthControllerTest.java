@@ -4,20 +4,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finance.app.dto.AuthResponse;
 import com.finance.app.dto.LoginRequest;
 import com.finance.app.dto.RegisterRequest;
+import com.finance.app.models.Account;
+import com.finance.app.models.Role;
+import com.finance.app.models.User;
+import com.finance.app.security.LoginRateLimiter;
+import com.finance.app.security.PasswordHashingBusyException;
 import com.finance.app.services.AuthService;
 import com.finance.app.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.aMapWithSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,6 +59,9 @@ class AuthControllerTest {
     @MockBean
     private UserDetailsService userDetailsService; // Required by SecurityConfig
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
     @Test
     void register_shouldReturnAuthResponse() throws Exception {
         RegisterRequest request = RegisterRequest.builder()
@@ -77,6 +99,7 @@ class AuthControllerTest {
                 .email("test@example.com")
                 .build();
 
+        when(loginRateLimiter.tryAcquire(anyString(), eq("test@example.com"))).thenReturn(Duration.ZERO);
         when(authService.login(any(LoginRequest.class))).thenReturn(response);
 
         mockMvc.perform(post("/api/auth/login")
@@ -85,4 +108,63 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"));
     }
+
+    @Test
+    void login_shouldReturn429WhenRateLimited() throws Exception {
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password")
+                .build();
+
+        when(loginRateLimiter.tryAcquire(anyString(), eq("test@example.com"))).thenReturn(Duration.ofMillis(2500));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+        verify(authService, never()).login(any(LoginRequest.class));
+    }
+
+    @Test
+    void login_shouldReturn503WhenHashingIsSaturated() throws Exception {
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password")
+                .build();
+
+        when(loginRateLimiter.tryAcquire(anyString(), eq("test@example.com"))).thenReturn(Duration.ZERO);
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new PasswordHashingBusyException("Password hashing queue is full", null));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void me_shouldReturnProfileWithoutAssociations() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        user.setName("Test User");
+        user.setPassword("hashed");
+        user.setRole(Role.USER);
+        user.setAccounts(List.of(new Account()));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        mockMvc.perform(get("/api/auth/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("test@example.com"))
+                .andExpect(jsonPath("$.role").value("USER"))
+                .andExpect(jsonPath("$", aMapWithSize(4)));
+    }
 }
@@ -0,0 +1,95 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.DashboardSummaryDTO;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DashboardService;
+import com.finance.app.services.DataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for DashboardController.
+ */
+@WebMvcTest(DashboardController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({DataVersionService.class, InMemoryUserDataVersionRepository.class})
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    @MockBean
+    private com.finance.app.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUserService.getCurrentUserId()).thenReturn(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/summary returns the combined summary and never caches partial results")
+    void shouldReturnSummary() throws Exception {
+        // Given
+        when(dashboardService.getSummary(any(), any(), anyInt())).thenReturn(DashboardSummaryDTO.builder()
+                .totalExpenses(new BigDecimal("250.00"))
+                .unavailableSections(List.of("budgetStatus"))
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/dashboard/summary").param("startDate", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExpenses", is(250.00)))
+                .andExpect(jsonPath("$.unavailableSections[0]", is("budgetStatus")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        verify(dashboardService).getSummary(eq(LocalDate.of(2025, 1, 1)), isNull(), eq(10));
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/summary caps the recent transaction limit")
+    void shouldCapRecentLimit() throws Exception {
+        // Given
+        when(dashboardService.getSummary(any(), any(), anyInt())).thenReturn(new DashboardSummaryDTO());
+
+        // When & Then
+        mockMvc.perform(get("/api/dashboard/summary").param("recentLimit", "500"))
+                .andExpect(status().isOk());
+
+        verify(dashboardService).getSummary(isNull(), isNull(), eq(50));
+    }
+}
@@ -0,0 +1,90 @@
+package com.finance.app.controllers;
+
+import com.finance.app.dto.RecurringSeriesDTO;
+import com.finance.app.recurring.Cadence;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.services.CurrentUserService;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.RecurringDetectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for RecurringController.
+ */
+@WebMvcTest(RecurringController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({DataVersionService.class, InMemoryUserDataVersionRepository.class})
+class RecurringControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecurringDetectionService recurringDetectionService;
+
+    @MockBean
+    private CurrentUserService currentUserService;
+
+    @MockBean
+    private com.finance.app.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(recurringDetectionService.getRecurringSeries(true)).thenReturn(List.of(RecurringSeriesDTO.builder()
+                .merchant("NETFLIX")
+                .cadence(Cadence.MONTHLY)
+                .monthlyCost(new BigDecimal("15.99"))
+                .active(true)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("GET /api/recurring returns the series with an ETag")
+    void shouldReturnSeries() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/recurring").param("includeInactive", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].merchant", is("NETFLIX")))
+                .andExpect(jsonPath("$[0].cadence", is("MONTHLY")))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("GET /api/recurring is not cached while a scan is pending")
+    void shouldNotCacheWhilePending() throws Exception {
+        // Given
+        when(recurringDetectionService.isPending(userId)).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(get("/api/recurring").param("includeInactive", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+}
@@ -1,6 +1,12 @@
 package com.finance.app.controllers;
 
+import com.finance.app.dto.BatchItemResultDTO;
+import com.finance.app.dto.TransactionBatchResultDTO;
 import com.finance.app.dto.TransactionDTO;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.RecategorizationService;
+import com.finance.app.services.TransactionBatchService;
 import com.finance.app.services.TransactionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,9 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -20,9 +28,14 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -31,6 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @WebMvcTest(TransactionController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({DataVersionService.class, InMemoryUserDataVersionRepository.class})
 class TransactionControllerTest {
 
     @Autowired
@@ -39,6 +53,12 @@ class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
+    @MockBean
+    private RecategorizationService recategorizationService;
+
     @MockBean
     private com.finance.app.security.JwtService jwtService;
 
@@ -170,4 +190,53 @@ class TransactionControllerTest {
                     .andExpect(jsonPath("$.content[0].status").exists());
         }
     }
+
+    @Nested
+    @DisplayName("Batch writes")
+    class BatchWriteTests {
+
+        @Test
+        @DisplayName("should return per-item results of a batch create")
+        void shouldReturnPerItemResults() throws Exception {
+            // Arrange
+            UUID createdId = UUID.randomUUID();
+            TransactionBatchResultDTO result = TransactionBatchResultDTO.builder()
+                    .applied(1)
+                    .rejected(1)
+                    .results(List.of(
+                            BatchItemResultDTO.builder().index(0).id(createdId).result("CREATED").build(),
+                            BatchItemResultDTO.builder().index(1).result("REJECTED")
+                                    .errors(List.of("amount is required")).build()))
+                    .build();
+            when(transactionBatchService.getMaxItems()).thenReturn(1000);
+            when(transactionBatchService.createAll(anyList())).thenReturn(result);
+
+            // Act & Assert
+            mockMvc.perform(post("/api/transactions/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("""
+                            [{"accountId": "%s", "rawDescription": "COFFEE", "amount": -4.20,
+                              "transactionDate": "2025-03-04T08:15:00"},
+                             {"accountId": "%s", "rawDescription": "TEA"}]
+                            """.formatted(UUID.randomUUID(), UUID.randomUUID())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.applied").value(1))
+                    .andExpect(jsonPath("$.results[0].id").value(createdId.toString()))
+                    .andExpect(jsonPath("$.results[1].errors[0]").value("amount is required"));
+        }
+
+        @Test
+        @DisplayName("should refuse a batch over the item limit")
+        void shouldRefuseOversizedBatch() throws Exception {
+            // Arrange
+            when(transactionBatchService.getMaxItems()).thenReturn(1);
+
+            // Act & Assert
+            mockMvc.perform(patch("/api/transactions/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{\"category\": \"Dining\"}, {\"category\": \"Travel\"}]"))
+                    .andExpect(status().isPayloadTooLarge());
+            verify(transactionBatchService, never()).updateAll(anyList());
+        }
+    }
 }
@@ -0,0 +1,215 @@
+package com.finance.app.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaA;
+
+    @Mock
+    private DataSource replicaB;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaAConnection = mock(Connection.class);
+    private final Connection replicaBConnection = mock(Connection.class);
+
+    private ReadYourWritesTracker tracker;
+    private String currentUser;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        currentUser = "test@example.com";
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private ReplicaRoutingDataSource router(List<DataSource> replicas) {
+        return new ReplicaRoutingDataSource(primary, replicas, ReplicaSelectionStrategy.ROUND_ROBIN,
+                tracker, () -> currentUser, 30_000);
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    @Test
+    @DisplayName("read-write transactions use the primary")
+    void shouldRouteWritesToPrimary() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        beginTransaction(false);
+
+        // When
+        Connection connection = router(List.of(replicaA)).getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("read-only transactions alternate between replicas")
+    void shouldRoundRobinReadsAcrossReplicas() throws SQLException {
+        // Given
+        when(replicaA.getConnection()).thenReturn(replicaAConnection);
+        when(replicaB.getConnection()).thenReturn(replicaBConnection);
+        ReplicaRoutingDataSource router = router(List.of(replicaA, replicaB));
+        beginTransaction(true);
+
+        // When & Then
+        assertThat(router.getConnection()).isSameAs(replicaAConnection);
+        assertThat(router.getConnection()).isSameAs(replicaBConnection);
+        assertThat(router.getConnection()).isSameAs(replicaAConnection);
+    }
+
+    @Test
+    @DisplayName("falls back to the primary when every replica fails")
+    void shouldFallBackToPrimaryWhenReplicasFail() throws SQLException {
+        // Given
+        when(replicaA.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        beginTransaction(true);
+
+        // When
+        Connection connection = router(List.of(replicaA)).getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("reads after a write stay on the primary within the lag window")
+    void shouldPinReadsToPrimaryAfterWrite() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource router = router(List.of(replicaA));
+        beginTransaction(false);
+        router.getConnection();
+
+        // When
+        beginTransaction(true);
+        Connection connection = router.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("reads off the request thread use the routing hint's user")
+    void shouldPinReadsForHintedUserWithoutSecurityContext() {
+        // Given
+        tracker.recordWrite("test@example.com");
+        currentUser = null;
+        ReplicaRoutingDataSource router = router(List.of(replicaA));
+        beginTransaction(true);
+
+        // When
+        boolean replica = RoutingHint.forUser("test@example.com", router::shouldUseReplica);
+
+        // Then
+        assertThat(replica).isFalse();
+        assertThat(router.shouldUseReplica()).isTrue();
+    }
+
+    @Test
+    @DisplayName("reads that demand the primary skip the replicas")
+    void shouldUsePrimaryWhenHintRequiresIt() {
+        // Given
+        ReplicaRoutingDataSource router = router(List.of(replicaA));
+        beginTransaction(true);
+        boolean[] replica = new boolean[1];
+
+        // When
+        RoutingHint.onPrimary(() -> replica[0] = router.shouldUseReplica());
+
+        // Then
+        assertThat(replica[0]).isFalse();
+        assertThat(router.shouldUseReplica()).isTrue();
+    }
+
+    @Test
+    @DisplayName("a write transaction longer than the lag window pins reads from its commit")
+    void shouldPinFromCommitNotFirstStatement() throws SQLException {
+        // Given: the write's first statement runs, then the transaction outlasts the window
+        MutableClock clock = new MutableClock();
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource router = router(List.of(replicaA));
+        beginTransaction(false);
+        TransactionSynchronizationManager.initSynchronization();
+        router.getConnection();
+        clock.advance(Duration.ofSeconds(30));
+
+        // When
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        beginTransaction(true);
+        Connection connection = router.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
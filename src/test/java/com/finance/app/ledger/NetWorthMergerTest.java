@@ -0,0 +1,68 @@
+package com.finance.app.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NetWorthMerger.
+ */
+class NetWorthMergerTest {
+
+    private static final UUID CHECKING = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SAVINGS = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID CARD = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private static DailyBalance balance(UUID accountId, String date, String amount) {
+        return new DailyBalance(accountId, LocalDate.parse(date), new BigDecimal(amount));
+    }
+
+    @Test
+    @DisplayName("should carry each account's latest balance across days it did not change")
+    void shouldMergeSeriesByDate() {
+        // Given
+        Map<UUID, BigDecimal> carriedIn = Map.of(
+                CHECKING, new BigDecimal("1000"),
+                SAVINGS, new BigDecimal("5000"),
+                CARD, new BigDecimal("-200"));
+        List<List<DailyBalance>> series = List.of(
+                List.of(balance(CHECKING, "2025-03-01", "900"), balance(CHECKING, "2025-03-03", "2900")),
+                List.of(balance(SAVINGS, "2025-03-03", "5010")),
+                List.of(balance(CARD, "2025-03-02", "-250"), balance(CARD, "2025-03-04", "0")));
+        List<LocalDate> days = LocalDate.of(2025, 3, 1).datesUntil(LocalDate.of(2025, 3, 6)).toList();
+
+        // When
+        List<NetWorthMerger.Point> points = NetWorthMerger.merge(carriedIn, series, days);
+
+        // Then
+        assertThat(points).extracting(NetWorthMerger.Point::netWorth).containsExactly(
+                new BigDecimal("5700"), new BigDecimal("5650"), new BigDecimal("7660"),
+                new BigDecimal("7910"), new BigDecimal("7910"));
+    }
+
+    @Test
+    @DisplayName("should apply every change up to each sampled day")
+    void shouldSampleMonthEnds() {
+        // Given
+        Map<UUID, BigDecimal> carriedIn = Map.of(CHECKING, new BigDecimal("100"), SAVINGS, BigDecimal.ZERO);
+        List<List<DailyBalance>> series = List.of(
+                List.of(balance(CHECKING, "2025-01-05", "150"), balance(CHECKING, "2025-01-20", "120"),
+                        balance(CHECKING, "2025-03-02", "80")),
+                List.of(balance(SAVINGS, "2025-02-28", "500")));
+
+        // When
+        List<NetWorthMerger.Point> points = NetWorthMerger.merge(carriedIn, series, List.of(
+                LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 1)));
+
+        // Then
+        assertThat(points).extracting(NetWorthMerger.Point::netWorth).containsExactly(
+                new BigDecimal("120"), new BigDecimal("620"), new BigDecimal("620"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.finance.app.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for Money.
+ */
+class MoneyTest {
+
+    @Test
+    @DisplayName("should round-trip amounts at scale 4")
+    void shouldRoundTrip() {
+        // Given
+        BigDecimal amount = new BigDecimal("-1234.5678");
+
+        // When
+        long units = Money.toUnits(amount);
+
+        // Then
+        assertThat(units).isEqualTo(-12_345_678L);
+        assertThat(Money.toBigDecimal(units)).isEqualTo(amount);
+        assertThat(Money.toUnits(new BigDecimal("12.5"))).isEqualTo(125_000L);
+        assertThat(Money.ofWhole(1000)).isEqualTo(10_000_000L);
+    }
+
+    @Test
+    @DisplayName("should reject amounts with more than 4 decimal places")
+    void shouldRejectExcessPrecision() {
+        assertThatThrownBy(() -> Money.toUnits(new BigDecimal("0.00001")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("should throw instead of wrapping on overflow")
+    void shouldDetectOverflow() {
+        assertThatThrownBy(() -> Money.add(Long.MAX_VALUE, 1))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.abs(Long.MIN_VALUE))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.toUnits(new BigDecimal("1000000000000000")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
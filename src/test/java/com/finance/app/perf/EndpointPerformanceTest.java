@@ -0,0 +1,345 @@
+package com.finance.app.perf;
+
+import com.finance.app.models.User;
+import com.finance.app.repositories.UserRepository;
+import com.finance.app.security.JwtService;
+import com.finance.app.services.AccountLedgerService;
+import com.finance.app.services.DailySpendSummaryService;
+import com.finance.app.services.DataVersionService;
+import com.finance.app.services.RecurringDetectionService;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Performance guardrails for the read endpoints, run against a throwaway
+ * PostgreSQL database seeded with several years of one user's transactions
+ * among many other users'. Fails the build when an endpoint issues more
+ * statements than its budget, when any query it runs plans a sequential
+ * scan of transactions, or when its p95 latency goes over budget. The
+ * transaction listing is not scoped to a user, so only its page count is
+ * allowed to read the whole table.
+ * <p>
+ * The database is created on the server the application is configured
+ * for (DB_HOST, DB_PORT, DB_USER, DB_PASSWORD) and dropped afterwards.
+ * Plans are checked by explaining each recorded query with the values it
+ * was run with. Scheduled jobs run hourly so their statements stay out of
+ * the measurements; the harness runs the refreshes itself after seeding.
+ */
+@SpringBootTest(properties = {
+        "app.analytics.daily-summary.refresh-interval=1h",
+        "app.recurring.refresh-interval=1h",
+        "app.outbox.relay-interval=1h",
+        "app.ledger.snapshot-interval=1h",
+        "app.live-updates.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+class EndpointPerformanceTest {
+
+    private static final String DATABASE = "finance_perf_" + UUID.randomUUID().toString().substring(0, 8);
+
+    private static final int OTHER_USERS = 100;
+    private static final int OTHER_TRANSACTIONS = 500;
+    private static final int OTHER_HISTORY_DAYS = 365;
+    private static final int ACCOUNTS = 3;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 6000;
+    private static final int HISTORY_DAYS = 4 * 365;
+
+    private static final int WARMUP_REQUESTS = 5;
+    private static final int TIMED_REQUESTS = 40;
+
+    private static final String SEED_TRANSACTIONS = """
+            INSERT INTO transactions (account_id, raw_description, category, amount, transaction_date, created_by)
+            SELECT a.id,
+                   (ARRAY['STARBUCKS 12345', 'UBER *TRIP', 'WLMRT ST#1024', 'NETFLIX.COM', 'SHELL OIL 57442136',
+                          'COSTCO WHSE #1234', 'AMZN MKTP US*2K4H91JF0', 'PAYROLL ACME CORP'])[1 + g % 8],
+                   (ARRAY['Food', 'Transport', 'Shopping', 'Entertainment', 'Transport',
+                          'Groceries', 'Shopping', 'Income'])[1 + g % 8],
+                   CASE WHEN g % 8 = 7 THEN 2400.00 ELSE -ROUND(CAST(5 + random() * 150 AS NUMERIC), 2) END,
+                   LOCALTIMESTAMP - FLOOR(random() * ? * 1440) * INTERVAL '1 minute',
+                   'EndpointPerformanceTest'
+            FROM accounts a
+            CROSS JOIN generate_series(1, ?) g
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountLedgerService accountLedgerService;
+
+    @Autowired
+    private DailySpendSummaryService dailySpendSummaryService;
+
+    @Autowired
+    private RecurringDetectionService recurringDetectionService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private String token;
+    private final Map<Endpoint, List<StatementRecorder.RecordedStatement>> coldStatements = new LinkedHashMap<>();
+
+    /**
+     * An endpoint with its budgets.
+     *
+     * @param path          request path with query string
+     * @param maxStatements most statements a cold request may issue, including the user lookup
+     * @param p95Millis     p95 latency budget of warm requests
+     * @param global        whether the endpoint lists every user's transactions, so that its page
+     *                      count has to read the whole table
+     */
+    private record Endpoint(String path, int maxStatements, long p95Millis, boolean global) {
+
+        private Endpoint(String path, int maxStatements, long p95Millis) {
+            this(path, maxStatements, p95Millis, false);
+        }
+
+        private boolean mayScan(String sql) {
+            return global && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select count(");
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws SQLException {
+        execute("CREATE DATABASE " + DATABASE);
+        registry.add("spring.datasource.url", () -> url(DATABASE));
+    }
+
+    @AfterAll
+    static void dropDatabase() throws SQLException {
+        execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        User user = seedData();
+        token = jwtService.generateToken(user);
+        for (Endpoint endpoint : endpoints()) {
+            statementRecorder.start();
+            perform(endpoint);
+            coldStatements.put(endpoint, statementRecorder.stop());
+        }
+    }
+
+    @Test
+    @DisplayName("every endpoint stays within its statement budget")
+    void shouldStayWithinStatementBudgets() {
+        SoftAssertions.assertSoftly(softly -> coldStatements.forEach((endpoint, statements) ->
+                softly.assertThat(statements)
+                        .as("statements issued by GET %s", endpoint.path())
+                        .hasSizeLessThanOrEqualTo(endpoint.maxStatements())));
+    }
+
+    @Test
+    @DisplayName("no endpoint query plans a sequential scan of transactions")
+    void shouldNotScanTransactions() throws SQLException {
+        Map<String, StatementRecorder.RecordedStatement> queries = new LinkedHashMap<>();
+        coldStatements.forEach((endpoint, statements) -> statements.stream()
+                .filter(statement -> isQuery(statement.sql()) && !endpoint.mayScan(statement.sql()))
+                .forEach(statement -> queries.putIfAbsent(statement.sql(), statement)));
+
+        SoftAssertions softly = new SoftAssertions();
+        try (Connection connection = connect(url(DATABASE))) {
+            for (StatementRecorder.RecordedStatement query : queries.values()) {
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql())) {
+                    query.bind(explain);
+                    try (ResultSet rows = explain.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                }
+                softly.assertThat(plan.toString()).as("plan of %s", query.sql())
+                        .doesNotContain("Seq Scan on transactions");
+            }
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("every endpoint answers within its p95 latency budget")
+    void shouldStayWithinLatencyBudgets() throws Exception {
+        SoftAssertions softly = new SoftAssertions();
+        for (Endpoint endpoint : endpoints()) {
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                perform(endpoint);
+            }
+            long[] nanos = new long[TIMED_REQUESTS];
+            for (int i = 0; i < TIMED_REQUESTS; i++) {
+                long start = System.nanoTime();
+                perform(endpoint);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            long p95Millis = nanos[(int) Math.ceil(TIMED_REQUESTS * 0.95) - 1] / 1_000_000;
+            softly.assertThat(p95Millis).as("p95 ms of GET %s", endpoint.path())
+                    .isLessThanOrEqualTo(endpoint.p95Millis());
+        }
+        softly.assertAll();
+    }
+
+    private List<Endpoint> endpoints() {
+        UUID accountId = jdbcTemplate.queryForObject(
+                "SELECT id FROM accounts WHERE user_id = (SELECT id FROM users WHERE email = 'perf@example.com') "
+                        + "ORDER BY account_name LIMIT 1", UUID.class);
+        LocalDate today = LocalDate.now();
+        // Versioned endpoints also read the shared data version for their ETag, and every read served from the
+        // daily summary first checks users.summary_version
+        return List.of(
+                new Endpoint("/api/auth/me", 1, 200),
+                new Endpoint("/api/accounts", 3, 200),
+                new Endpoint("/api/accounts/net-worth?startDate=" + today.minusYears(1), 4, 250),
+                new Endpoint("/api/accounts/" + accountId + "/balance-history?interval=MONTH&startDate="
+                        + today.minusYears(4), 4, 500),
+                new Endpoint("/api/transactions?size=20", 4, 300, true),
+                new Endpoint("/api/transactions?size=20&category=Food", 4, 300, true),
+                new Endpoint("/api/dashboard/summary", 16, 400),
+                new Endpoint("/api/analytics/burn-rate?startDate=" + today.minusYears(1), 5, 200),
+                new Endpoint("/api/analytics/categories", 4, 250),
+                new Endpoint("/api/analytics/forecast", 5, 250),
+                new Endpoint("/api/recurring", 3, 200));
+    }
+
+    private void perform(Endpoint endpoint) throws Exception {
+        mockMvc.perform(get(endpoint.path()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Seed the measured user's accounts and years of transactions among
+     * other users', then bring the ledger, summaries and planner statistics
+     * up to date the way the scheduled jobs would.
+     */
+    private User seedData() {
+        UUID userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, name, password, role)
+                VALUES ('perf@example.com', 'Performance', 'not-used', 'USER')
+                RETURNING id
+                """, UUID.class);
+        jdbcTemplate.update("""
+                INSERT INTO accounts (user_id, account_name, opening_balance)
+                SELECT ?, 'Account ' || g, 2500 FROM generate_series(1, ?) g
+                """, userId, ACCOUNTS);
+        jdbcTemplate.update("""
+                WITH created AS (
+                    INSERT INTO users (email, name, password, role)
+                    SELECT 'perf-' || g || '@example.com', 'Other ' || g, 'not-used', 'USER'
+                    FROM generate_series(1, ?) g
+                    RETURNING id
+                )
+                INSERT INTO accounts (user_id, account_name, opening_balance)
+                SELECT id, 'Checking', 1000 FROM created
+                """, OTHER_USERS);
+        jdbcTemplate.update(SEED_TRANSACTIONS + "WHERE a.user_id = ?", HISTORY_DAYS, TRANSACTIONS_PER_ACCOUNT, userId);
+        jdbcTemplate.update(SEED_TRANSACTIONS + "WHERE a.user_id <> ?", OTHER_HISTORY_DAYS, OTHER_TRANSACTIONS,
+                userId);
+        jdbcTemplate.update("""
+                INSERT INTO budgets (user_id, category, limit_amount)
+                SELECT ?, category, 400 FROM unnest(ARRAY['Food', 'Transport', 'Shopping', 'Groceries']) category
+                """, userId);
+
+        jdbcTemplate.update("""
+                UPDATE accounts a
+                SET balance = a.opening_balance
+                        + COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.account_id = a.id), 0)
+                """);
+        jdbcTemplate.update("DELETE FROM account_daily_balances");
+        jdbcTemplate.update("""
+                INSERT INTO account_daily_balances (account_id, balance_date, balance)
+                SELECT d.account_id, d.day,
+                       a.opening_balance + SUM(d.total) OVER (PARTITION BY d.account_id ORDER BY d.day)
+                FROM (SELECT account_id, CAST(transaction_date AS DATE) AS day, SUM(amount) AS total
+                      FROM transactions
+                      GROUP BY account_id, CAST(transaction_date AS DATE)) d
+                JOIN accounts a ON a.id = d.account_id
+                """);
+        jdbcTemplate.update("DELETE FROM account_balance_snapshots");
+        accountLedgerService.snapshot();
+
+        jdbcTemplate.queryForList("SELECT id FROM users", UUID.class).forEach(dataVersionService::recordWrite);
+        dailySpendSummaryService.refresh();
+        recurringDetectionService.refresh();
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        return userRepository.findById(userId).orElseThrow();
+    }
+
+    private static boolean isQuery(String sql) {
+        String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = connect(url("postgres"));
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, System.getenv().getOrDefault("DB_USER", "postgres"),
+                System.getenv().getOrDefault("DB_PASSWORD", ""));
+    }
+
+    private static String url(String database) {
+        return "jdbc:postgresql://" + System.getenv().getOrDefault("DB_HOST", "localhost") + ":"
+                + System.getenv().getOrDefault("DB_PORT", "5432") + "/" + database;
+    }
+}
@@ -0,0 +1,173 @@
+package com.finance.app.perf;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Wraps the application's DataSource to record every statement prepared or
+ * executed while recording is on, whether issued by Hibernate or a
+ * JdbcTemplate and from any thread, together with the parameters bound to
+ * it.
+ */
+public class StatementRecorder implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final Queue<RecordedStatement> statements = new ConcurrentLinkedQueue<>();
+    private volatile boolean recording;
+
+    /**
+     * A recorded statement. Parameters bound after it was prepared are kept
+     * so they can be bound again to another statement, such as an EXPLAIN of
+     * this one.
+     */
+    public static final class RecordedStatement {
+
+        private final String sql;
+        private final Queue<Binding> bindings = new ConcurrentLinkedQueue<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * @return the SQL as sent to the driver
+         */
+        public String sql() {
+            return sql;
+        }
+
+        /**
+         * Bind the recorded parameters to a statement with the same placeholders.
+         *
+         * @param statement the statement to bind
+         * @throws SQLException if a parameter cannot be bound
+         */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof SQLException sqlException
+                            ? sqlException
+                            : new SQLException(e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new SQLException(e);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Discard earlier statements and record from now on.
+     */
+    public void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    /**
+     * Stop recording.
+     *
+     * @return the statements recorded since {@link #start()}, in order
+     */
+    public List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return new RecordingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private RecordedStatement record(String sql) {
+        RecordedStatement statement = new RecordedStatement(sql);
+        if (recording) {
+            statements.add(statement);
+        }
+        return statement;
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, null);
+    }
+
+    /**
+     * Proxy a connection or statement. Statements it creates are proxied
+     * in turn; prepared ones record their SQL and bound parameters, plain
+     * ones the SQL of each execution.
+     */
+    private <T> T proxy(Class<T> type, T target, RecordedStatement prepared) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (prepared != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer) {
+                        prepared.bindings.add(new Binding(method, args.clone()));
+                    } else if (EXECUTE_METHODS.contains(name) && args != null && args[0] instanceof String sql) {
+                        record(sql);
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (name.startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                        return proxy(statementType(method), result, record(sql));
+                    }
+                    if (name.equals("createStatement")) {
+                        return proxy(Statement.class, (Statement) result, null);
+                    }
+                    return result;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> statementType(Method method) {
+        return (Class<Object>) method.getReturnType();
+    }
+
+    private final class RecordingDataSource extends DelegatingDataSource {
+
+        private RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+    }
+}
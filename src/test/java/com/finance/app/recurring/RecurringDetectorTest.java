@@ -0,0 +1,88 @@
+package com.finance.app.recurring;
+
+import com.finance.app.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for RecurringDetector.
+ */
+class RecurringDetectorTest {
+
+    private static RecurringDetector.Charge charge(String merchant, String date, long whole) {
+        return new RecurringDetector.Charge(merchant, LocalDate.parse(date), Money.ofWhole(whole), "Subscriptions");
+    }
+
+    @Test
+    @DisplayName("should detect a monthly charge through other purchases and a price increase")
+    void shouldDetectMonthlyCharge() {
+        // Given - billed on the 15th or the next business day, price raised in April
+        List<RecurringDetector.Charge> charges = List.of(
+                charge("NETFLIX", "2025-01-15", 15),
+                charge("NETFLIX", "2025-02-17", 15),
+                charge("NETFLIX", "2025-02-20", 4),
+                charge("NETFLIX", "2025-03-15", 15),
+                charge("NETFLIX", "2025-04-15", 16),
+                charge("NETFLIX", "2025-04-28", 30));
+
+        // When
+        List<RecurringDetector.Detection> detections = RecurringDetector.detect(charges);
+
+        // Then
+        assertThat(detections).singleElement().satisfies(detection -> {
+            assertThat(detection.cadence()).isEqualTo(Cadence.MONTHLY);
+            assertThat(detection.occurrences()).isEqualTo(4);
+            assertThat(detection.typicalUnits()).isEqualTo(Money.ofWhole(16));
+            assertThat(detection.firstSeen()).isEqualTo(LocalDate.of(2025, 1, 15));
+            assertThat(detection.lastSeen()).isEqualTo(LocalDate.of(2025, 4, 15));
+        });
+    }
+
+    @Test
+    @DisplayName("should not report irregular charges or too few occurrences")
+    void shouldIgnoreIrregularCharges() {
+        // Given
+        List<RecurringDetector.Charge> charges = new ArrayList<>(List.of(
+                charge("GROCER", "2025-01-03", 80),
+                charge("GROCER", "2025-01-09", 35),
+                charge("GROCER", "2025-02-20", 120),
+                charge("GROCER", "2025-02-21", 12),
+                charge("GYM", "2025-01-01", 40),
+                charge("GYM", "2025-02-01", 40)));
+
+        // When & Then
+        assertThat(RecurringDetector.detect(charges)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should restart the run when the cadence changes and accept two yearly charges")
+    void shouldRestartRunsAndDetectYearly() {
+        // Given - weekly cleaning switched to every other week
+        List<RecurringDetector.Charge> charges = List.of(
+                charge("CLEANER", "2025-01-06", 50),
+                charge("CLEANER", "2025-01-13", 50),
+                charge("CLEANER", "2025-01-20", 50),
+                charge("CLEANER", "2025-02-03", 50),
+                charge("CLEANER", "2025-02-17", 50),
+                charge("CLEANER", "2025-03-03", 50),
+                charge("DOMAIN", "2024-03-02", 12),
+                charge("DOMAIN", "2025-03-02", 12));
+
+        // When
+        List<RecurringDetector.Detection> detections = RecurringDetector.detect(charges);
+
+        // Then
+        assertThat(detections).extracting(RecurringDetector.Detection::merchant,
+                RecurringDetector.Detection::cadence, RecurringDetector.Detection::occurrences)
+                .containsExactly(
+                        tuple("CLEANER", Cadence.BIWEEKLY, 4),
+                        tuple("DOMAIN", Cadence.YEARLY, 2));
+    }
+}
@@ -0,0 +1,55 @@
+package com.finance.app.repositories;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data versions kept in a map, for tests that run without a database.
+ */
+public class InMemoryUserDataVersionRepository extends UserDataVersionRepository {
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> summaryVersions = new ConcurrentHashMap<>();
+
+    public InMemoryUserDataVersionRepository() {
+        super(null);
+    }
+
+    @Override
+    public long findVersion(UUID userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    @Override
+    public long findGlobalVersion() {
+        return versions.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public long increment(UUID userId) {
+        return versions.merge(userId, 1L, Long::sum);
+    }
+
+    @Override
+    public boolean isSummaryCurrent(UUID userId) {
+        return summaryVersions.getOrDefault(userId, 0L) == findVersion(userId);
+    }
+
+    @Override
+    public Optional<SummaryVersions> lockVersions(UUID userId) {
+        return Optional.of(new SummaryVersions(findVersion(userId), summaryVersions.getOrDefault(userId, 0L)));
+    }
+
+    @Override
+    public void recordSummaryVersion(UUID userId, long version) {
+        summaryVersions.put(userId, version);
+    }
+
+    @Override
+    public List<UUID> findUsersWithStaleSummary() {
+        return versions.keySet().stream().filter(userId -> !isSummaryCurrent(userId)).toList();
+    }
+}
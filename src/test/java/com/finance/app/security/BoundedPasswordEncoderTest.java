@@ -0,0 +1,121 @@
+package com.finance.app.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BoundedPasswordEncoder.
+ * Verifies that hashing runs on the encoder's own threads and that calls
+ * beyond the queue, or over the timeout, fail fast.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("should hash on a password-hash thread")
+    void shouldHashOnOwnThread() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), 1, 1, Duration.ofSeconds(5));
+
+        // When & Then
+        assertThat(encoder.encode("secret")).startsWith("password-hash-");
+        assertThat(encoder.matches("secret", "any")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should refuse hashes once its threads and queue are full")
+    void shouldRejectBeyondQueue() throws Exception {
+        // Given: no queue and the only thread busy
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 0, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("second")).isInstanceOf(PasswordHashingBusyException.class);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(encodeOnceFree("third")).isEqualTo("hashed");
+    }
+
+    // With no queue, the freed thread takes work only once it is back waiting for it
+    private String encodeOnceFree(String rawPassword) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return encoder.encode(rawPassword);
+            } catch (PasswordHashingBusyException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should give up on a hash that takes longer than the timeout")
+    void shouldTimeOut() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofMillis(50));
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.matches("secret", "hashed"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+    }
+
+    private static final class ThreadNameEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return Thread.currentThread().getName().startsWith("password-hash-");
+        }
+    }
+
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
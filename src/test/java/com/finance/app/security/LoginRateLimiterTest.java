@@ -0,0 +1,91 @@
+package com.finance.app.security;
+
+import com.finance.app.config.LoginRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LoginRateLimiter.
+ * Verifies the per-IP and per-account bursts, the refill rate and the
+ * wait reported once a bucket is empty, on a controlled clock.
+ */
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private LoginRateLimitProperties properties;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginRateLimitProperties();
+        properties.setIpCapacity(3);
+        properties.setIpRefillInterval(Duration.ofSeconds(2));
+        properties.setAccountCapacity(2);
+        properties.setAccountRefillInterval(Duration.ofSeconds(10));
+        limiter = new LoginRateLimiter(properties, now::get);
+    }
+
+    @Test
+    @DisplayName("should allow an account's burst, then report the wait for its next attempt")
+    void shouldLimitAttemptsPerAccount() {
+        // When
+        Duration first = limiter.tryAcquire("10.0.0.1", "user@example.com");
+        Duration second = limiter.tryAcquire("10.0.0.2", "User@Example.com ");
+        Duration third = limiter.tryAcquire("10.0.0.3", "user@example.com");
+
+        // Then: the account is limited across addresses and regardless of case
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isEqualTo(Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire("10.0.0.3", "other@example.com")).isZero();
+    }
+
+    @Test
+    @DisplayName("should limit one address trying many accounts")
+    void shouldLimitAttemptsPerIp() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "user" + i + "@example.com")).isZero();
+        }
+
+        // Then
+        assertThat(limiter.tryAcquire("10.0.0.1", "user3@example.com")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(limiter.tryAcquire("10.0.0.2", "user3@example.com")).isZero();
+    }
+
+    @Test
+    @DisplayName("should regain one attempt per refill interval")
+    void shouldRefill() {
+        // Given
+        limiter.tryAcquire("10.0.0.1", "user@example.com");
+        limiter.tryAcquire("10.0.0.1", "user@example.com");
+
+        // When
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        Duration early = limiter.tryAcquire("10.0.0.1", "user@example.com");
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        Duration refilled = limiter.tryAcquire("10.0.0.1", "user@example.com");
+
+        // Then
+        assertThat(early).isEqualTo(Duration.ofSeconds(6));
+        assertThat(refilled).isZero();
+    }
+
+    @Test
+    @DisplayName("should allow every attempt when disabled")
+    void shouldAllowWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "user@example.com")).isZero();
+        }
+    }
+}
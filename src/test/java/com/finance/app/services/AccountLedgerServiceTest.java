@@ -0,0 +1,179 @@
+package com.finance.app.services;
+
+import com.finance.app.config.LedgerProperties;
+import com.finance.app.dto.BalancePointDTO;
+import com.finance.app.dto.NetWorthPointDTO;
+import com.finance.app.ledger.BalanceInterval;
+import com.finance.app.ledger.DailyBalance;
+import com.finance.app.repositories.AccountLedgerRepository;
+import com.finance.app.repositories.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AccountLedgerService.
+ * Verifies that balance histories start from one snapshot-based balance,
+ * that net worth merges all accounts and that snapshots are taken per
+ * account under its row lock.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountLedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountLedgerRepository ledgerRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+    private AccountLedgerService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AccountLedgerService(accountRepository, ledgerRepository, currentUserService,
+                transactionManager, new LedgerProperties());
+    }
+
+    @Test
+    @DisplayName("should add daily totals to the balance before the range")
+    void shouldBuildDailyHistory() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(accountRepository.existsByIdAndUserId(accountId, userId)).thenReturn(true);
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 3);
+        when(ledgerRepository.findBalancesAt(accountId, List.of(LocalDate.of(2025, 2, 28))))
+                .thenReturn(Map.of(LocalDate.of(2025, 2, 28), new BigDecimal("1000.00")));
+        when(ledgerRepository.findDailyTotals(accountId, start, end)).thenReturn(Map.of(
+                LocalDate.of(2025, 3, 1), new BigDecimal("-25.50"),
+                LocalDate.of(2025, 3, 3), new BigDecimal("2400.00")));
+
+        // When
+        Optional<List<BalancePointDTO>> history = service.getBalanceHistory(accountId, start, end,
+                BalanceInterval.DAY);
+
+        // Then
+        assertThat(history).isPresent();
+        assertThat(history.get()).extracting(BalancePointDTO::getBalance).containsExactly(
+                new BigDecimal("974.50"), new BigDecimal("974.50"), new BigDecimal("3374.50"));
+        assertThat(history.get().get(2).getDate()).isEqualTo(end);
+    }
+
+    @Test
+    @DisplayName("should read monthly history at month ends, clipped to the end date")
+    void shouldReadMonthEnds() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(accountRepository.existsByIdAndUserId(accountId, userId)).thenReturn(true);
+        List<LocalDate> days = List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28),
+                LocalDate.of(2025, 3, 15));
+        when(ledgerRepository.findBalancesAt(accountId, days)).thenReturn(Map.of(
+                days.get(0), new BigDecimal("100"), days.get(1), new BigDecimal("200"),
+                days.get(2), new BigDecimal("300")));
+
+        // When
+        Optional<List<BalancePointDTO>> history = service.getBalanceHistory(accountId,
+                LocalDate.of(2025, 1, 10), LocalDate.of(2025, 3, 15), BalanceInterval.MONTH);
+
+        // Then
+        assertThat(history).isPresent();
+        assertThat(history.get()).extracting(BalancePointDTO::getDate).containsExactlyElementsOf(days);
+        verify(ledgerRepository, never()).findDailyTotals(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should not read balances of another user's account")
+    void shouldHideOtherAccounts() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(accountRepository.existsByIdAndUserId(accountId, userId)).thenReturn(false);
+
+        // When
+        Optional<BalancePointDTO> balance = service.getBalance(accountId, LocalDate.of(2025, 3, 1));
+
+        // Then
+        assertThat(balance).isEmpty();
+        verify(ledgerRepository, never()).findBalancesAt(any(), any());
+    }
+
+    @Test
+    @DisplayName("should refuse ranges with more points than allowed")
+    void shouldValidateHistoryRange() {
+        // When & Then
+        assertThat(service.validateHistory(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1), BalanceInterval.DAY))
+                .containsExactly("startDate is after endDate");
+        assertThat(service.validateHistory(LocalDate.of(2015, 1, 1), LocalDate.of(2025, 3, 1), BalanceInterval.DAY))
+                .containsExactly("range has more than 2000 points");
+        assertThat(service.validateHistory(LocalDate.of(2000, 1, 1), LocalDate.of(2025, 3, 1),
+                BalanceInterval.MONTH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should sum all accounts into net worth from two queries")
+    void shouldBuildNetWorth() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        UUID savings = UUID.randomUUID();
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 3, 2);
+        when(ledgerRepository.findBalancesBefore(userId, start)).thenReturn(Map.of(
+                accountId, new BigDecimal("1000.00"), savings, new BigDecimal("250.00")));
+        when(ledgerRepository.findDailyBalances(userId, start, end)).thenReturn(Map.of(
+                accountId, List.of(new DailyBalance(accountId, end, new BigDecimal("1200.00")))));
+
+        // When
+        List<NetWorthPointDTO> netWorth = service.getNetWorthHistory(start, end, BalanceInterval.DAY);
+
+        // Then
+        assertThat(netWorth).extracting(NetWorthPointDTO::getNetWorth)
+                .containsExactly(new BigDecimal("1250.00"), new BigDecimal("1450.00"));
+    }
+
+    @Test
+    @DisplayName("should lock each account before taking its missing snapshots")
+    void shouldSnapshotUnderLock() {
+        // Given
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        UUID otherAccount = UUID.randomUUID();
+        when(ledgerRepository.findAccountsMissingSnapshot(monthStart)).thenReturn(List.of(accountId, otherAccount));
+        when(ledgerRepository.insertMissingSnapshots(accountId, monthStart)).thenReturn(3);
+        when(ledgerRepository.insertMissingSnapshots(otherAccount, monthStart)).thenReturn(1);
+
+        // When
+        service.snapshot();
+
+        // Then
+        InOrder order = inOrder(ledgerRepository);
+        order.verify(ledgerRepository).lockAccount(accountId);
+        order.verify(ledgerRepository).insertMissingSnapshots(accountId, monthStart);
+        order.verify(ledgerRepository).lockAccount(otherAccount);
+        order.verify(ledgerRepository).insertMissingSnapshots(otherAccount, monthStart);
+    }
+}
@@ -0,0 +1,123 @@
+package com.finance.app.services;
+
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.finance.app.services.AnalyticsResultCache.Metric.MONTHLY_SPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AnalyticsResultCache.
+ * Verifies write-driven invalidation, that results racing a write or
+ * behind a write from another node are not served, and metrics.
+ */
+class AnalyticsResultCacheTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryUserDataVersionRepository versions = new InMemoryUserDataVersionRepository();
+    private final DataVersionService dataVersionService = new DataVersionService(versions, event -> {
+    });
+    private final AnalyticsResultCache cache = new AnalyticsResultCache(dataVersionService, meterRegistry, 100,
+            Duration.ofSeconds(30), Clock.fixed(Instant.parse("2025-03-15T10:00:00Z"), ZoneOffset.UTC));
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("should invalidate only the months touched by a write")
+    void shouldInvalidatePrecisely() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(userId, JANUARY, MONTHLY_SPEND, () -> value(loads, "10"));
+        cache.get(userId, FEBRUARY, MONTHLY_SPEND, () -> value(loads, "20"));
+
+        // When
+        cache.onUserDataChanged(new UserDataChangedEvent(userId, 1L, Set.of(JANUARY), false));
+        BigDecimal january = cache.get(userId, JANUARY, MONTHLY_SPEND, () -> value(loads, "15"));
+        BigDecimal february = cache.get(userId, FEBRUARY, MONTHLY_SPEND, () -> value(loads, "99"));
+
+        // Then
+        assertThat(january).isEqualByComparingTo("15");
+        assertThat(february).isEqualByComparingTo("20");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("should not serve a result computed while a write committed")
+    void shouldNotServeStalePut() {
+        // Given
+        BigDecimal stale = cache.get(userId, JANUARY, MONTHLY_SPEND, () -> {
+            dataVersionService.recordWrite(userId, Set.of(JANUARY));
+            return new BigDecimal("10");
+        });
+
+        // When
+        BigDecimal fresh = cache.get(userId, JANUARY, MONTHLY_SPEND, () -> new BigDecimal("15"));
+
+        // Then
+        assertThat(stale).isEqualByComparingTo("10");
+        assertThat(fresh).isEqualByComparingTo("15");
+    }
+
+    @Test
+    @DisplayName("should recompute after a write on another node, which sends no event here")
+    void shouldRecomputeAfterRemoteWrite() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(userId, JANUARY, MONTHLY_SPEND, () -> value(loads, "10"));
+
+        // When
+        versions.increment(userId);
+        BigDecimal january = cache.get(userId, JANUARY, MONTHLY_SPEND, () -> value(loads, "15"));
+
+        // Then
+        assertThat(january).isEqualByComparingTo("15");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should drop every month for a user when the affected months are unknown")
+    void shouldInvalidateAllMonthsForUser() {
+        // Given
+        UUID otherUser = UUID.randomUUID();
+        cache.get(userId, JANUARY, MONTHLY_SPEND, () -> BigDecimal.ONE);
+        cache.get(userId, FEBRUARY, MONTHLY_SPEND, () -> BigDecimal.ONE);
+        cache.get(otherUser, JANUARY, MONTHLY_SPEND, () -> BigDecimal.ONE);
+
+        // When
+        cache.onUserDataChanged(new UserDataChangedEvent(userId, 1L, Set.of(), true));
+
+        // Then
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should publish hit and miss metrics")
+    void shouldRecordMetrics() {
+        // When
+        cache.get(userId, JANUARY, MONTHLY_SPEND, () -> BigDecimal.ONE);
+        cache.get(userId, JANUARY, MONTHLY_SPEND, () -> BigDecimal.ONE);
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    private static BigDecimal value(AtomicInteger loads, String amount) {
+        loads.incrementAndGet();
+        return new BigDecimal(amount);
+    }
+}
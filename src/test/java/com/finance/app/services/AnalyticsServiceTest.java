@@ -1,25 +1,37 @@
 package com.finance.app.services;
 
+import com.finance.app.config.DailySummaryProperties;
+import com.finance.app.config.SnapshotProperties;
 import com.finance.app.dto.BurnRateDTO;
-import com.finance.app.models.Transaction;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.repositories.DailySpendSummaryRepository;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
 import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.CategoryTotal;
+import com.finance.app.repositories.projections.MonthSpendTotal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -31,22 +43,62 @@ class AnalyticsServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private DailySpendSummaryRepository summaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
     private AnalyticsService analyticsService;
 
-    private Transaction createTransaction(BigDecimal amount, LocalDateTime date) {
-        Transaction transaction = new Transaction();
-        transaction.setAmount(amount);
-        transaction.setTransactionDate(date);
-        return transaction;
+    @BeforeEach
+    void setUp() {
+        InMemoryUserDataVersionRepository versions = new InMemoryUserDataVersionRepository();
+        DataVersionService dataVersionService = new DataVersionService(versions, event -> {
+        });
+        AnalyticsResultCache resultCache = new AnalyticsResultCache(dataVersionService, new SimpleMeterRegistry(), 100,
+                Duration.ofSeconds(30));
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        TransactionSnapshotService snapshotService = new TransactionSnapshotService(transactionRepository,
+                dataVersionService,
+                new SnapshotSegmentStore(transactionRepository, dataVersionService, snapshotProperties),
+                new SimpleMeterRegistry(), snapshotProperties);
+        DailySummaryProperties summaryProperties = new DailySummaryProperties();
+        summaryProperties.setEnabled(false);
+        DailySpendSummaryService summaryService = new DailySpendSummaryService(summaryRepository, versions,
+                transactionManager, new SimpleMeterRegistry(), summaryProperties);
+        analyticsService = new AnalyticsService(transactionRepository, currentUserService, resultCache,
+                snapshotService, summaryService);
+        lenient().when(currentUserService.getCurrentUserId()).thenReturn(UUID.randomUUID());
+    }
+
+    private MonthSpendTotal monthTotal(YearMonth month, long totalUnits) {
+        return new MonthSpendTotal() {
+            @Override
+            public int getSpendYear() {
+                return month.getYear();
+            }
+
+            @Override
+            public int getSpendMonth() {
+                return month.getMonthValue();
+            }
+
+            @Override
+            public long getTotalUnits() {
+                return totalUnits;
+            }
+        };
     }
 
     @Test
     @DisplayName("calculateBurnRate returns last 4 months when no date range provided")
     void shouldReturnLast4MonthsWhenNoDateRange() {
         // Given - mock empty results for simplicity
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate();
@@ -63,8 +115,7 @@ class AnalyticsServiceTest {
         LocalDate startDate = LocalDate.of(2025, 6, 1);
         LocalDate endDate = LocalDate.of(2025, 8, 31);
 
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate(startDate, endDate);
@@ -77,29 +128,21 @@ class AnalyticsServiceTest {
     }
 
     @Test
-    @DisplayName("calculateBurnRate correctly sums expenses (negative amounts)")
+    @DisplayName("calculateBurnRate converts grouped expense units to amounts")
     void shouldSumOnlyExpenses() {
         // Given
         LocalDate startDate = LocalDate.of(2025, 1, 1);
         LocalDate endDate = LocalDate.of(2025, 1, 31);
 
-        List<Transaction> januaryTransactions = Arrays.asList(
-                createTransaction(new BigDecimal("-100.00"), LocalDateTime.of(2025, 1, 5, 10, 0)),
-                createTransaction(new BigDecimal("-50.00"), LocalDateTime.of(2025, 1, 10, 10, 0)),
-                createTransaction(new BigDecimal("200.00"), LocalDateTime.of(2025, 1, 15, 10, 0)) // Income - should be
-                                                                                                  // excluded
-        );
-
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(januaryTransactions);
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any()))
+                .thenReturn(List.of(monthTotal(YearMonth.of(2025, 1), 1_500_000L)));
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate(startDate, endDate);
 
         // Then
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTotalSpent()).isEqualByComparingTo(new BigDecimal("150.00")); // Only expenses
-                                                                                                  // summed
+        assertThat(result.get(0).getTotalSpent()).isEqualByComparingTo(new BigDecimal("150.00"));
     }
 
     @Test
@@ -110,8 +153,7 @@ class AnalyticsServiceTest {
         LocalDate startDate = today.minusMonths(1).withDayOfMonth(1);
         LocalDate endDate = today;
 
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate(startDate, endDate);
@@ -126,8 +168,7 @@ class AnalyticsServiceTest {
     @DisplayName("calculateBurnRate handles empty transactions")
     void shouldHandleEmptyTransactions() {
         // Given
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate();
@@ -140,27 +181,22 @@ class AnalyticsServiceTest {
     }
 
     @Test
-    @DisplayName("calculateBurnRate handles null amounts gracefully")
-    void shouldHandleNullAmounts() {
+    @DisplayName("calculateBurnRate reports zero for months without expenses")
+    void shouldDefaultMissingMonthsToZero() {
         // Given
         LocalDate startDate = LocalDate.of(2025, 1, 1);
-        LocalDate endDate = LocalDate.of(2025, 1, 31);
+        LocalDate endDate = LocalDate.of(2025, 2, 28);
 
-        Transaction txWithNull = new Transaction();
-        txWithNull.setAmount(null);
-        txWithNull.setTransactionDate(LocalDateTime.of(2025, 1, 5, 10, 0));
-
-        Transaction validTx = createTransaction(new BigDecimal("-75.00"), LocalDateTime.of(2025, 1, 10, 10, 0));
-
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Arrays.asList(txWithNull, validTx));
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any()))
+                .thenReturn(List.of(monthTotal(YearMonth.of(2025, 2), 750_000L)));
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate(startDate, endDate);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTotalSpent()).isEqualByComparingTo(new BigDecimal("75.00"));
+        assertThat(result).extracting(BurnRateDTO::getTotalSpent)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, new BigDecimal("75.00"));
     }
 
     @Test
@@ -170,8 +206,7 @@ class AnalyticsServiceTest {
         LocalDate startDate = LocalDate.of(2025, 5, 1);
         LocalDate endDate = LocalDate.of(2025, 5, 31);
 
-        when(transactionRepository.findByTransactionDateBetween(any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
 
         // When
         List<BurnRateDTO> result = analyticsService.calculateBurnRate(startDate, endDate);
@@ -180,4 +215,84 @@ class AnalyticsServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getMonthName()).contains("May");
     }
+
+    @Test
+    @DisplayName("getCategoryBreakdown maps aggregated rows and labels null category")
+    void shouldMapCategoryBreakdown() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(transactionRepository.sumExpensesByCategory(any(), any(), any()))
+                .thenReturn(List.of(
+                        categoryTotal("Dining", new BigDecimal("120.00"), 3),
+                        categoryTotal(null, new BigDecimal("80.00"), 2)));
+
+        // When
+        List<CategorySpendDTO> result = analyticsService.getCategoryBreakdown(
+                userId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getCategory()).isEqualTo("Dining");
+        assertThat(result.get(0).getTotalSpent()).isEqualByComparingTo("120.00");
+        assertThat(result.get(1).getCategory()).isEqualTo("Uncategorized");
+        assertThat(result.get(1).getTransactionCount()).isEqualTo(2);
+    }
+
+    private CategoryTotal categoryTotal(String category, BigDecimal total, long count) {
+        return new CategoryTotal() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return total;
+            }
+
+            @Override
+            public long getTransactionCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("should load every month of the range with one grouped query")
+    void shouldLoadAllMonthsInOneQuery() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any())).thenReturn(List.of());
+
+        // When
+        List<BurnRateDTO> result = analyticsService.calculateBurnRate(userId, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 4, 30));
+
+        // Then
+        assertThat(result).hasSize(4);
+        verify(transactionRepository).sumExpensesByMonth(userId, LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 4, 30, 23, 59, 59));
+        verify(transactionRepository, never()).findByAccount_User_IdAndTransactionDateBetween(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should serve closed months from the result cache on repeat requests")
+    void shouldCacheClosedMonths() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDate startDate = LocalDate.of(2025, 1, 1);
+        LocalDate endDate = LocalDate.of(2025, 2, 28);
+        when(transactionRepository.sumExpensesByMonth(any(), any(), any()))
+                .thenReturn(List.of(monthTotal(YearMonth.of(2025, 1), 400_000L)));
+
+        // When
+        analyticsService.calculateBurnRate(userId, startDate, endDate);
+        List<BurnRateDTO> result = analyticsService.calculateBurnRate(userId, startDate, endDate);
+
+        // Then
+        assertThat(result).extracting(BurnRateDTO::getTotalSpent)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("40.00"), BigDecimal.ZERO);
+        verify(transactionRepository, times(1)).sumExpensesByMonth(any(), any(), any());
+    }
 }
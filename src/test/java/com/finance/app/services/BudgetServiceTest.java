@@ -0,0 +1,84 @@
+package com.finance.app.services;
+
+import com.finance.app.dto.BudgetStatusDTO;
+import com.finance.app.dto.CategorySpendDTO;
+import com.finance.app.models.Budget;
+import com.finance.app.repositories.BudgetRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BudgetService.
+ */
+@ExtendWith(MockitoExtension.class)
+class BudgetServiceTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private BudgetService budgetService;
+
+    private Budget budget(String category, String limit) {
+        Budget budget = new Budget();
+        budget.setCategory(category);
+        budget.setLimitAmount(new BigDecimal(limit));
+        return budget;
+    }
+
+    @Test
+    @DisplayName("getBudgetStatus classifies budgets by percentage used")
+    void shouldClassifyBudgets() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(budgetRepository.findByUserId(userId)).thenReturn(List.of(
+                budget("Dining", "100.00"),
+                budget("Groceries", "200.00"),
+                budget("Travel", "500.00")));
+        when(analyticsService.getCategoryBreakdown(eq(userId), any(), any())).thenReturn(List.of(
+                CategorySpendDTO.builder().category("dining").totalSpent(new BigDecimal("150.00")).build(),
+                CategorySpendDTO.builder().category("Groceries").totalSpent(new BigDecimal("170.00")).build()));
+
+        // When
+        List<BudgetStatusDTO> result = budgetService.getBudgetStatus(userId, YearMonth.of(2025, 1));
+
+        // Then
+        assertThat(result).extracting(BudgetStatusDTO::getStatus)
+                .containsExactly("OVER", "WARNING", "ON_TRACK");
+        assertThat(result.get(0).getPercentUsed()).isEqualByComparingTo("150.00");
+        assertThat(result.get(2).getSpent()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("getBudgetStatus skips the spend query when the user has no budgets")
+    void shouldSkipSpendQueryWithoutBudgets() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(budgetRepository.findByUserId(userId)).thenReturn(List.of());
+
+        // When
+        List<BudgetStatusDTO> result = budgetService.getBudgetStatus(userId, YearMonth.of(2025, 1));
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(analyticsService);
+    }
+}
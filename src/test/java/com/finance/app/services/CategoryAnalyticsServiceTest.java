@@ -0,0 +1,115 @@
+package com.finance.app.services;
+
+import com.finance.app.dto.CategoryBreakdownDTO;
+import com.finance.app.dto.CategoryMonthDeltaDTO;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.CategoryMonthTotal;
+import com.finance.app.repositories.projections.MerchantTotal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CategoryAnalyticsService.
+ * Verifies shaping of grouped rows into totals and month-over-month deltas.
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryAnalyticsServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private CategoryAnalyticsService categoryAnalyticsService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private CategoryMonthTotal monthTotal(String category, int year, int month, String total, long count) {
+        CategoryMonthTotal row = mock(CategoryMonthTotal.class);
+        when(row.getCategory()).thenReturn(category);
+        when(row.getSpendYear()).thenReturn(year);
+        when(row.getSpendMonth()).thenReturn(month);
+        when(row.getTotal()).thenReturn(new BigDecimal(total));
+        when(row.getTransactionCount()).thenReturn(count);
+        return row;
+    }
+
+    @Test
+    @DisplayName("should total categories across months and compute deltas with zero-filled gaps")
+    void shouldComputeTotalsAndDeltas() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        List<CategoryMonthTotal> rows = List.of(
+                monthTotal("Dining", 2025, 1, "100.00", 2),
+                monthTotal("Dining", 2025, 2, "150.00", 3),
+                monthTotal(null, 2025, 3, "40.00", 1));
+        MerchantTotal merchant = mock(MerchantTotal.class);
+        when(merchant.getMerchant()).thenReturn("STARBUCKS");
+        when(merchant.getTotal()).thenReturn(new BigDecimal("90.00"));
+        when(merchant.getTransactionCount()).thenReturn(5L);
+        when(transactionRepository.sumExpensesByCategoryAndMonth(eq(userId), any(), any())).thenReturn(rows);
+        when(transactionRepository.sumExpensesByMerchant(eq(userId), any(), any(), eq(5)))
+                .thenReturn(List.of(merchant));
+
+        // When
+        CategoryBreakdownDTO result = categoryAnalyticsService.getCategoryBreakdown(userId, start, end, 5);
+
+        // Then
+        assertThat(result.getCategories()).hasSize(2);
+        assertThat(result.getCategories().get(0).getCategory()).isEqualTo("Dining");
+        assertThat(result.getCategories().get(0).getTotalSpent()).isEqualByComparingTo("250.00");
+        assertThat(result.getCategories().get(0).getTransactionCount()).isEqualTo(5);
+        assertThat(result.getCategories().get(1).getCategory()).isEqualTo("Uncategorized");
+        assertThat(result.getTopMerchants()).singleElement()
+                .satisfies(m -> assertThat(m.getMerchant()).isEqualTo("STARBUCKS"));
+
+        List<CategoryMonthDeltaDTO> dining = result.getMonthOverMonth().stream()
+                .filter(d -> d.getCategory().equals("Dining"))
+                .toList();
+        assertThat(dining).extracting(CategoryMonthDeltaDTO::getMonth)
+                .containsExactly("2025-01", "2025-02", "2025-03");
+        assertThat(dining.get(0).getChange()).isNull();
+        assertThat(dining.get(1).getChange()).isEqualByComparingTo("50.00");
+        assertThat(dining.get(1).getPercentChange()).isEqualByComparingTo("50.00");
+        assertThat(dining.get(2).getTotalSpent()).isEqualByComparingTo("0");
+        assertThat(dining.get(2).getPercentChange()).isEqualByComparingTo("-100.00");
+    }
+
+    @Test
+    @DisplayName("should never load transaction entities")
+    void shouldOnlyUseGroupedQueries() {
+        // Given
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        LocalDate end = LocalDate.of(2025, 12, 31);
+        when(transactionRepository.sumExpensesByCategoryAndMonth(eq(userId), any(), any())).thenReturn(List.of());
+        when(transactionRepository.sumExpensesByMerchant(eq(userId), any(), any(), eq(10))).thenReturn(List.of());
+
+        // When
+        CategoryBreakdownDTO result = categoryAnalyticsService.getCategoryBreakdown(userId, start, end, 10);
+
+        // Then
+        assertThat(result.getCategories()).isEmpty();
+        assertThat(result.getMonthOverMonth()).isEmpty();
+        verify(transactionRepository, never()).findByAccount_User_IdAndTransactionDateBetween(any(), any(), any());
+    }
+}
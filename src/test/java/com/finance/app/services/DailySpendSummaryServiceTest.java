@@ -0,0 +1,175 @@
+package com.finance.app.services;
+
+import com.finance.app.config.DailySummaryProperties;
+import com.finance.app.repositories.DailySpendSummaryRepository;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.repositories.projections.StaleSummaryMonth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DailySpendSummaryService.
+ * Verifies read gating, month-level refresh, the startup reconcile and
+ * gating on writes made by another node.
+ */
+@ExtendWith(MockitoExtension.class)
+class DailySpendSummaryServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Mock
+    private DailySpendSummaryRepository summaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private InMemoryUserDataVersionRepository versions;
+    private DailySpendSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        versions = new InMemoryUserDataVersionRepository();
+        summaryService = new DailySpendSummaryService(summaryRepository, versions, transactionManager,
+                new SimpleMeterRegistry(), new DailySummaryProperties());
+    }
+
+    private Optional<BigDecimal> readMarch() {
+        return summaryService.read(userId, summary -> summary.sumExpenses(userId, MARCH.atDay(1),
+                MARCH.atEndOfMonth()));
+    }
+
+    @Test
+    @DisplayName("should not serve reads until the table has been reconciled")
+    void shouldWaitForReconcile() {
+        // Given
+        when(summaryRepository.findStaleMonths()).thenReturn(List.of());
+        when(summaryRepository.sumExpenses(eq(userId), any(), any())).thenReturn(new BigDecimal("12.50"));
+
+        // When
+        Optional<BigDecimal> before = readMarch();
+        summaryService.refresh();
+
+        // Then
+        assertThat(before).isEmpty();
+        assertThat(readMarch()).contains(new BigDecimal("12.50"));
+    }
+
+    @Test
+    @DisplayName("should fall back for a user with a committed write until the month is rebuilt")
+    void shouldRebuildDirtyMonths() {
+        // Given
+        when(summaryRepository.findStaleMonths()).thenReturn(List.of());
+        summaryService.refresh();
+
+        // When
+        summaryService.onUserDataChanged(new UserDataChangedEvent(userId, 1, Set.of(MARCH), false));
+
+        // Then
+        assertThat(readMarch()).isEmpty();
+        summaryService.refresh();
+        verify(summaryRepository).deleteRange(userId, MARCH.atDay(1), MARCH.atEndOfMonth());
+        verify(summaryRepository).insertRange(userId, MARCH.atDay(1).atStartOfDay(),
+                LocalDate.of(2025, 4, 1).atStartOfDay());
+        assertThat(summaryService.isDirty(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should rebuild no rows for budget-only writes and keep a failed rebuild dirty")
+    void shouldRetryFailedRebuild() {
+        // Given
+        when(summaryRepository.findStaleMonths()).thenReturn(List.of());
+        summaryService.onUserDataChanged(new UserDataChangedEvent(userId, 1, Set.of(), false));
+        UUID otherUser = UUID.randomUUID();
+        summaryService.onUserDataChanged(new UserDataChangedEvent(otherUser, 1, Set.of(), true));
+        when(summaryRepository.deleteRange(eq(otherUser), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("conflict"));
+
+        // When
+        summaryService.refresh();
+
+        // Then
+        assertThat(summaryService.isDirty(userId)).isFalse();
+        assertThat(summaryService.isDirty(otherUser)).isTrue();
+        verify(summaryRepository, never()).deleteRange(eq(userId), any(), any());
+    }
+
+    @Test
+    @DisplayName("should rebuild the months the startup reconcile finds stale")
+    void shouldRebuildStaleMonthsFromReconcile() {
+        // Given
+        StaleSummaryMonth stale = mock(StaleSummaryMonth.class);
+        when(stale.getUserId()).thenReturn(userId);
+        when(stale.getSpendYear()).thenReturn(2025);
+        when(stale.getSpendMonth()).thenReturn(3);
+        List<StaleSummaryMonth> staleMonths = List.of(stale);
+        when(summaryRepository.findStaleMonths()).thenReturn(staleMonths);
+
+        // When
+        summaryService.refresh();
+
+        // Then
+        verify(summaryRepository).deleteRange(userId, MARCH.atDay(1), MARCH.atEndOfMonth());
+        assertThat(summaryService.isDirty(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should fall back after a write on another node until the summary covers it")
+    void shouldFallBackAfterRemoteWrite() {
+        // Given
+        when(summaryRepository.findStaleMonths()).thenReturn(List.of());
+        when(summaryRepository.sumExpenses(eq(userId), any(), any())).thenReturn(new BigDecimal("12.50"));
+        summaryService.refresh();
+
+        // When: another node commits a write; no event reaches this node
+        versions.increment(userId);
+
+        // Then
+        assertThat(summaryService.isDirty(userId)).isFalse();
+        assertThat(readMarch()).isEmpty();
+        versions.recordSummaryVersion(userId, 1);
+        assertThat(readMarch()).contains(new BigDecimal("12.50"));
+    }
+
+    @Test
+    @DisplayName("should rebuild every month when another node wrote since the last rebuild")
+    void shouldRebuildAllMonthsAfterMissedWrite() {
+        // Given: version 1 was written on another node, version 2 here
+        when(summaryRepository.findStaleMonths()).thenReturn(List.of());
+        summaryService.refresh();
+        versions.increment(userId);
+        versions.increment(userId);
+        summaryService.onUserDataChanged(new UserDataChangedEvent(userId, 2, Set.of(MARCH), false));
+
+        // When
+        summaryService.refresh();
+
+        // Then
+        verify(summaryRepository).deleteRange(userId, LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31));
+        verify(summaryRepository, never()).deleteRange(userId, MARCH.atDay(1), MARCH.atEndOfMonth());
+        assertThat(versions.isSummaryCurrent(userId)).isTrue();
+    }
+}
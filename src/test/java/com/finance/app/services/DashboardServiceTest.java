@@ -0,0 +1,203 @@
+package com.finance.app.services;
+
+import com.finance.app.datasource.RoutingHint;
+import com.finance.app.dto.BurnRateDTO;
+import com.finance.app.dto.DashboardSummaryDTO;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DashboardService.
+ * Verifies concurrent sections, partial results, cancellation of timed-out
+ * sections, rejection when the executor is saturated and that sections carry
+ * the user's routing hint.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private SpendingForecastService spendingForecastService;
+
+    private DashboardService dashboardService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+
+        dashboardService = new DashboardService(currentUserService, analyticsService, transactionService,
+                budgetService, spendingForecastService, 4, 16, Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    @DisplayName("should combine every section into one summary")
+    void shouldCombineAllSections() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        List<BurnRateDTO> burnRate = List.of(BurnRateDTO.builder()
+                .monthName("Jan 2025")
+                .totalSpent(new BigDecimal("100.00"))
+                .build());
+        CashFlowTotal totals = mock(CashFlowTotal.class);
+        when(totals.getIncome()).thenReturn(new BigDecimal("500.00"));
+        when(totals.getExpenses()).thenReturn(new BigDecimal("100.00"));
+        when(analyticsService.calculateBurnRate(eq(userId), eq(start), eq(end))).thenReturn(burnRate);
+        when(analyticsService.getCashFlow(userId, start, end)).thenReturn(totals);
+        when(transactionService.getRecentTransactions(eq(userId), anyInt())).thenReturn(List.of());
+        when(analyticsService.getCategoryBreakdown(eq(userId), any(), any())).thenReturn(List.of());
+        when(budgetService.getBudgetStatus(eq(userId), any())).thenReturn(List.of());
+
+        // When
+        DashboardSummaryDTO summary = dashboardService.getSummary(start, end, 10);
+
+        // Then
+        assertThat(summary.getBurnRate()).isEqualTo(burnRate);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("500.00");
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo("100.00");
+        assertThat(summary.getRecentTransactions()).isEmpty();
+        assertThat(summary.getCategoryBreakdown()).isEmpty();
+        assertThat(summary.getBudgetStatus()).isEmpty();
+        assertThat(summary.getUnavailableSections()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should run sections with the request user as the routing hint")
+    void shouldCarryUserIntoSections() {
+        // Given
+        when(currentUserService.getCurrentUsername()).thenReturn("test@example.com");
+        List<String> hintedUsers = Collections.synchronizedList(new ArrayList<>());
+        when(analyticsService.calculateBurnRate(eq(userId), any(), any())).thenAnswer(invocation -> {
+            hintedUsers.add(RoutingHint.user());
+            return List.of();
+        });
+        when(transactionService.getRecentTransactions(eq(userId), anyInt())).thenAnswer(invocation -> {
+            hintedUsers.add(RoutingHint.user());
+            return List.of();
+        });
+
+        // When
+        dashboardService.getSummary(null, null, 10);
+
+        // Then
+        assertThat(hintedUsers).containsExactly("test@example.com", "test@example.com");
+    }
+
+    @Test
+    @DisplayName("should return partial results when a section fails or times out")
+    void shouldReturnPartialResults() {
+        // Given
+        when(analyticsService.calculateBurnRate(eq(userId), any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        when(transactionService.getRecentTransactions(eq(userId), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of();
+        });
+        when(analyticsService.getCategoryBreakdown(eq(userId), any(), any())).thenReturn(List.of());
+        when(budgetService.getBudgetStatus(eq(userId), any())).thenReturn(List.of());
+
+        // When
+        long startedAt = System.nanoTime();
+        DashboardSummaryDTO summary = dashboardService.getSummary(null, null, 10);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+
+        // Then
+        assertThat(summary.getBurnRate()).isNull();
+        assertThat(summary.getRecentTransactions()).isNull();
+        assertThat(summary.getCategoryBreakdown()).isEmpty();
+        assertThat(summary.getUnavailableSections()).contains("burnRate", "recentTransactions");
+        assertThat(elapsedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("should interrupt a section once it times out")
+    void shouldCancelTimedOutSection() throws Exception {
+        // Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(transactionService.getRecentTransactions(eq(userId), anyInt())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+
+        // When
+        DashboardSummaryDTO summary = dashboardService.getSummary(null, null, 10);
+
+        // Then
+        assertThat(summary.getUnavailableSections()).contains("recentTransactions");
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should report sections the saturated executor rejects instead of running them on the caller")
+    void shouldRejectWhenSaturated() {
+        // Given: one thread, no queue, so only the first section is accepted
+        DashboardService saturated = new DashboardService(currentUserService, analyticsService, transactionService,
+                budgetService, spendingForecastService, 1, 0, Duration.ofMillis(500));
+        when(analyticsService.calculateBurnRate(eq(userId), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of();
+        });
+
+        // When
+        DashboardSummaryDTO summary;
+        try {
+            summary = saturated.getSummary(null, null, 10);
+        } finally {
+            saturated.shutdown();
+        }
+
+        // Then
+        assertThat(summary.getBurnRate()).isEmpty();
+        assertThat(summary.getUnavailableSections()).containsExactly("budgetStatus", "categoryBreakdown",
+                "recentTransactions", "spendingForecast", "totals");
+        verify(analyticsService, never()).getCashFlow(any(), any(), any());
+        verify(transactionService, never()).getRecentTransactions(any(), anyInt());
+    }
+}
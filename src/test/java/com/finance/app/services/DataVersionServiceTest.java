@@ -0,0 +1,97 @@
+package com.finance.app.services;
+
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DataVersionService.
+ * Verifies ETag stability and commit-aware version bumps. That the bump
+ * rolls back with the write and reaches other nodes is covered against the
+ * database by SharedDataVersionTest.
+ */
+class DataVersionServiceTest {
+
+    private final List<UserDataChangedEvent> events = new ArrayList<>();
+    private final DataVersionService dataVersionService = new DataVersionService(new InMemoryUserDataVersionRepository(),
+            event -> events.add((UserDataChangedEvent) event), Clock.fixed(Instant.parse("2025-03-15T10:00:00Z"), ZoneOffset.UTC));
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataVersionService);
+    }
+
+    @Test
+    @DisplayName("should keep the ETag stable until the user's data changes")
+    void shouldKeepETagStableUntilWrite() {
+        // Given
+        String before = dataVersionService.userETag(userId);
+
+        // When
+        String unchanged = dataVersionService.userETag(userId);
+        dataVersionService.recordWrite(userId);
+        String after = dataVersionService.userETag(userId);
+
+        // Then
+        assertThat(unchanged).isEqualTo(before);
+        assertThat(after).isNotEqualTo(before).startsWith("\"u").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("should bump once per user in the transaction and publish after commit")
+    void shouldBumpOncePerTransaction() {
+        // Given
+        long version = dataVersionService.getUserVersion(userId);
+        long global = dataVersionService.getGlobalVersion();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        dataVersionService.recordWrite(userId, Set.of(YearMonth.of(2025, 1)));
+        dataVersionService.recordWrite(userId, Set.of(YearMonth.of(2025, 2)));
+
+        // Then
+        assertThat(dataVersionService.getUserVersion(userId)).isEqualTo(version + 1);
+        assertThat(dataVersionService.getGlobalVersion()).isEqualTo(global + 1);
+        assertThat(events).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.version()).isEqualTo(version + 1);
+            assertThat(event.months()).containsExactlyInAnyOrder(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+            assertThat(event.allMonths()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("should publish nothing on rollback")
+    void shouldIgnoreRolledBackWrites() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        dataVersionService.recordWrite(userId);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(events).isEmpty();
+        assertThat(TransactionSynchronizationManager.hasResource(dataVersionService)).isFalse();
+    }
+}
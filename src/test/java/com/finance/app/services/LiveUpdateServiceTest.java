@@ -0,0 +1,184 @@
+package com.finance.app.services;
+
+import com.finance.app.config.LiveUpdateProperties;
+import com.finance.app.controllers.LiveUpdateController;
+import com.finance.app.datasource.RoutingHint;
+import com.finance.app.dto.BudgetStatusDTO;
+import com.finance.app.outbox.TransactionChange;
+import com.finance.app.outbox.TransactionChangeType;
+import com.finance.app.outbox.TransactionChangesEvent;
+import com.finance.app.repositories.projections.CashFlowTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for LiveUpdateService, streaming through LiveUpdateController.
+ * Dispatch and totals tasks are queued and run explicitly to control
+ * interleaving.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Runnable> totalsTasks = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LiveUpdateService service(int bufferSize) {
+        return service(bufferSize, Duration.ofSeconds(10));
+    }
+
+    private LiveUpdateService service(int bufferSize, Duration sendTimeout) {
+        LiveUpdateProperties properties = new LiveUpdateProperties();
+        properties.setBufferSize(bufferSize);
+        properties.setSendTimeout(sendTimeout);
+        return new LiveUpdateService(analyticsService, budgetService, meterRegistry, properties,
+                tasks::add, totalsTasks::add);
+    }
+
+    private MvcResult open(LiveUpdateService service) throws Exception {
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new LiveUpdateController(service, currentUserService))
+                .build();
+        return mockMvc.perform(get("/api/live")).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty() || !totalsTasks.isEmpty()) {
+            (totalsTasks.isEmpty() ? tasks : totalsTasks).remove(0).run();
+        }
+    }
+
+    private TransactionChangesEvent changes(UUID owner, int count) {
+        List<TransactionChange> changes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            changes.add(new TransactionChange(i + 1, owner, UUID.randomUUID(), TransactionChangeType.CREATED,
+                    LocalDateTime.of(2025, 3, 4, 10, 0), null, new BigDecimal("-9.50"), LocalDateTime.now()));
+        }
+        return new TransactionChangesEvent(changes);
+    }
+
+    @Test
+    @DisplayName("should push the user's writes and recompute each changed month once per burst")
+    void shouldPushDeltas() throws Exception {
+        // Given
+        LiveUpdateService service = service(32);
+        MvcResult stream = open(service);
+        CashFlowTotal totals = mock(CashFlowTotal.class);
+        when(totals.getIncome()).thenReturn(BigDecimal.ZERO);
+        when(totals.getExpenses()).thenReturn(new BigDecimal("9.50"));
+        when(analyticsService.getCashFlow(eq(userId), any(), any())).thenReturn(totals);
+
+        // When
+        service.onTransactionChanges(changes(userId, 1));
+        service.onTransactionChanges(changes(UUID.randomUUID(), 1));
+        service.onUserDataChanged(new UserDataChangedEvent(userId, 1, Set.of(MARCH), false));
+        service.onUserDataChanged(new UserDataChangedEvent(userId, 2, Set.of(MARCH), false));
+        runTasks();
+
+        // Then
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains(":connected", "event:transaction", "\"change\":\"CREATED\"", "event:month-total",
+                "\"totalSpent\":9.50");
+        assertThat(body.split("event:transaction", -1)).hasSize(2);
+        verify(analyticsService, times(1)).getCashFlow(userId, MARCH.atDay(1), MARCH.atEndOfMonth());
+    }
+
+    @Test
+    @DisplayName("should push budget status after a budget-only write, read from the primary")
+    void shouldPushBudgets() throws Exception {
+        // Given
+        LiveUpdateService service = service(32);
+        MvcResult stream = open(service);
+        List<BudgetStatusDTO> budgets = List.of(BudgetStatusDTO.builder().category("Dining").status("OVER").build());
+        List<Boolean> onPrimary = new ArrayList<>();
+        when(budgetService.getBudgetStatus(userId, YearMonth.now())).thenAnswer(invocation -> {
+            onPrimary.add(RoutingHint.primaryRequired());
+            return budgets;
+        });
+
+        // When
+        service.onUserDataChanged(new UserDataChangedEvent(userId, 1, Set.of(), false));
+        int queuedTotals = totalsTasks.size();
+        runTasks();
+
+        // Then - the queries run on the totals pool, not the one writing streams
+        assertThat(queuedTotals).isEqualTo(1);
+        assertThat(onPrimary).containsExactly(true);
+        assertThat(stream.getResponse().getContentAsString()).contains("event:budgets", "\"status\":\"OVER\"");
+    }
+
+    @Test
+    @DisplayName("should replace a stream's overflowing buffer with a single resync")
+    void shouldResyncSlowStream() throws Exception {
+        // Given
+        LiveUpdateService service = service(2);
+        MvcResult stream = open(service);
+
+        // When - nothing is written out until the dispatcher runs
+        service.onTransactionChanges(changes(userId, 5));
+        runTasks();
+
+        // Then
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).startsWith("event:resync").contains("id:5\nevent:transaction");
+        assertThat(body.split("event:transaction", -1)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should close a stream that stays behind past the send timeout")
+    void shouldCloseStalledStream() throws Exception {
+        // Given
+        LiveUpdateService service = service(2, Duration.ofNanos(1));
+        MvcResult stream = open(service);
+
+        // When - the buffer overflows and the stream is still behind when the next update arrives
+        service.onTransactionChanges(changes(userId, 5));
+        runTasks();
+        service.onTransactionChanges(changes(userId, 1));
+
+        // Then
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("event:");
+        assertThat(tasks).isEmpty();
+        assertThat(meterRegistry.get("live_updates.stalls").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("live_updates.connections").gauge().value()).isZero();
+    }
+}
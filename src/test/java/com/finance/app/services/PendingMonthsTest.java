@@ -0,0 +1,92 @@
+package com.finance.app.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PendingMonths.
+ * Verifies merging of marks and that finished work only clears a mark
+ * nothing was merged into meanwhile.
+ */
+class PendingMonthsTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+
+    private final PendingMonths pending = new PendingMonths();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("should merge marks and report only the first one")
+    void shouldMergeMarks() {
+        // When
+        boolean first = pending.mark(userId, Set.of(JANUARY), false);
+        boolean second = pending.mark(userId, Set.of(FEBRUARY), false);
+        PendingMonths.Mark merged = pending.take(userId);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(merged.months()).containsExactlyInAnyOrder(JANUARY, FEBRUARY);
+        assertThat(merged.allMonths()).isFalse();
+        assertThat(pending.contains(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should widen to all months once any mark covers all months")
+    void shouldWidenToAllMonths() {
+        // When
+        pending.mark(userId, Set.of(JANUARY), false);
+        pending.mark(userId, Set.of(), true);
+
+        // Then
+        PendingMonths.Mark merged = pending.take(userId);
+        assertThat(merged.allMonths()).isTrue();
+        assertThat(merged.months()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep a mark that was merged into while its work ran")
+    void shouldKeepMarkChangedDuringWork() {
+        // Given
+        pending.mark(userId, Set.of(JANUARY), false);
+        List<Set<YearMonth>> processed = new ArrayList<>();
+
+        // When: the same month is written again while it is being processed
+        pending.process((id, mark) -> {
+            processed.add(mark.months());
+            pending.mark(id, Set.of(JANUARY), false);
+        }, (id, e) -> { });
+
+        // Then
+        assertThat(processed).containsExactly(Set.of(JANUARY));
+        assertThat(pending.contains(userId)).isTrue();
+        pending.process((id, mark) -> processed.add(mark.months()), (id, e) -> { });
+        assertThat(pending.contains(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should keep a mark whose work failed and report the failure")
+    void shouldKeepFailedMark() {
+        // Given
+        pending.mark(userId, Set.of(JANUARY), false);
+        List<UUID> failed = new ArrayList<>();
+
+        // When
+        pending.process((id, mark) -> {
+            throw new IllegalStateException("database unavailable");
+        }, (id, e) -> failed.add(id));
+
+        // Then
+        assertThat(failed).containsExactly(userId);
+        assertThat(pending.size()).isEqualTo(1);
+    }
+}
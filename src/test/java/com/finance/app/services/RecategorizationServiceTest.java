@@ -0,0 +1,150 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.config.TransactionBatchProperties;
+import com.finance.app.dto.RecategorizeRequest;
+import com.finance.app.dto.RecategorizeResultDTO;
+import com.finance.app.repositories.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecategorizationService.
+ * Verifies request validation and that matching rows are updated one id
+ * range per database transaction.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecategorizationServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private RecategorizationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecategorizationService(transactionRepository, dataVersionService, currentUserService,
+                transactionManager, new SimpleMeterRegistry(), new TransactionBatchProperties(),
+                new OutboxProperties());
+    }
+
+    @Test
+    @DisplayName("should refuse requests without a target or anything to match")
+    void shouldValidateRequest() {
+        // Given
+        RecategorizeRequest request = RecategorizeRequest.builder()
+                .toCategory(" ")
+                .startDate(LocalDate.of(2025, 3, 31))
+                .endDate(LocalDate.of(2025, 3, 1))
+                .build();
+
+        // When
+        List<String> errors = service.validate(request);
+
+        // Then
+        assertThat(errors).containsExactly(
+                "toCategory is required",
+                "fromCategory or merchant is required",
+                "startDate is after endDate");
+    }
+
+    @Test
+    @DisplayName("should update each id range in its own transaction and record the affected months")
+    void shouldUpdateInChunks() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(currentUserService.getCurrentUsername()).thenReturn("test@example.com");
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 5, 1, 0, 0);
+        List<String> months = List.of("2025-03", "2025-04");
+        when(transactionRepository.findRecategorizeMonths(userId, null, "NETFLIX.COM", start, end, "Streaming"))
+                .thenReturn(months);
+        UUID firstEnd = UUID.fromString("40000000-0000-0000-0000-000000000000");
+        UUID secondEnd = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        List<UUID> chunkEnds = List.of(firstEnd, secondEnd);
+        when(transactionRepository.findRecategorizeChunkEnds(userId, null, "NETFLIX.COM", start, end,
+                "Streaming", 5000)).thenReturn(chunkEnds);
+        when(transactionRepository.recategorizeChunk(eq(userId), eq(null), eq("NETFLIX.COM"),
+                eq(start), eq(end), eq("Streaming"), any(), any(), any(), anyString(), eq(true)))
+                .thenReturn(5000, 5000, 12);
+        RecategorizeRequest request = RecategorizeRequest.builder()
+                .merchant(" NETFLIX.COM ")
+                .startDate(LocalDate.of(2025, 3, 1))
+                .endDate(LocalDate.of(2025, 4, 30))
+                .toCategory("Streaming")
+                .build();
+
+        // When
+        RecategorizeResultDTO result = service.recategorize(request);
+
+        // Then
+        assertThat(result.getUpdated()).isEqualTo(10_012);
+        assertThat(result.getChunks()).isEqualTo(3);
+        InOrder chunks = inOrder(transactionRepository);
+        chunks.verify(transactionRepository).recategorizeChunk(eq(userId), eq(null), eq("NETFLIX.COM"),
+                eq(start), eq(end), eq("Streaming"), eq(RecategorizationService.FIRST_ID), eq(firstEnd), any(),
+                eq("test@example.com"), eq(true));
+        chunks.verify(transactionRepository).recategorizeChunk(eq(userId), eq(null), eq("NETFLIX.COM"),
+                eq(start), eq(end), eq("Streaming"), eq(firstEnd), eq(secondEnd), any(), eq("test@example.com"),
+                eq(true));
+        chunks.verify(transactionRepository).recategorizeChunk(eq(userId), eq(null), eq("NETFLIX.COM"),
+                eq(start), eq(end), eq("Streaming"), eq(secondEnd), eq(RecategorizationService.LAST_ID), any(),
+                eq("test@example.com"), eq(true));
+        verify(transactionManager, times(5)).commit(any());
+        verify(dataVersionService, times(3))
+                .recordWrite(userId, Set.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4)));
+    }
+
+    @Test
+    @DisplayName("should not write when nothing matches")
+    void shouldSkipWhenNothingMatches() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        when(transactionRepository.findRecategorizeMonths(userId, "Dining", null, null, null, "Restaurants"))
+                .thenReturn(List.of());
+
+        // When
+        RecategorizeResultDTO result = service.recategorize(
+                RecategorizeRequest.builder().fromCategory("Dining").toCategory("Restaurants").build());
+
+        // Then
+        assertThat(result.getUpdated()).isZero();
+        verify(transactionRepository, never()).findRecategorizeChunkEnds(any(), any(), any(), any(), any(), any(),
+                eq(5000));
+        verify(dataVersionService, never()).recordWrite(eq(userId), any());
+    }
+}
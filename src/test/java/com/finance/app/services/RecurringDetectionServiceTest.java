@@ -0,0 +1,163 @@
+package com.finance.app.services;
+
+import com.finance.app.config.RecurringProperties;
+import com.finance.app.models.RecurringSeries;
+import com.finance.app.recurring.Cadence;
+import com.finance.app.repositories.RecurringSeriesRepository;
+import com.finance.app.repositories.projections.MerchantCharge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecurringDetectionService.
+ * Verifies that scans only reload touched merchants, replace stale series
+ * and retry failures, and that reads mark lapsed series inactive.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringDetectionServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Mock
+    private RecurringSeriesRepository seriesRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private RecurringDetectionService recurringService;
+
+    @BeforeEach
+    void setUp() {
+        recurringService = new RecurringDetectionService(seriesRepository, currentUserService, transactionManager,
+                new SimpleMeterRegistry(), new RecurringProperties());
+    }
+
+    private MerchantCharge charge(String merchant, LocalDate date, String amount) {
+        MerchantCharge charge = mock(MerchantCharge.class);
+        when(charge.getMerchant()).thenReturn(merchant);
+        when(charge.getEpochDay()).thenReturn((int) date.toEpochDay());
+        when(charge.getAmount()).thenReturn(new BigDecimal(amount));
+        when(charge.getCategory()).thenReturn("Subscriptions");
+        return charge;
+    }
+
+    @Test
+    @DisplayName("should rescan only the merchants touched by the changed month")
+    @SuppressWarnings("unchecked")
+    void shouldRescanTouchedMerchants() {
+        // Given
+        when(seriesRepository.findUsersToRescan()).thenReturn(List.of());
+        recurringService.refresh();
+        recurringService.onUserDataChanged(new UserDataChangedEvent(userId, 1, Set.of(MARCH), false));
+
+        List<String> charged = List.of("NETFLIX");
+        when(seriesRepository.findMerchantsCharged(eq(userId), any(), any())).thenReturn(charged);
+        List<String> spanning = List.of("GYM");
+        when(seriesRepository.findMerchantsSpanning(userId, MARCH.atDay(1), MARCH.atEndOfMonth()))
+                .thenReturn(spanning);
+        List<MerchantCharge> charges = List.of(
+                charge("NETFLIX", LocalDate.of(2025, 1, 15), "15.99"),
+                charge("NETFLIX", LocalDate.of(2025, 2, 15), "15.99"),
+                charge("NETFLIX", LocalDate.of(2025, 3, 15), "15.99"));
+        when(seriesRepository.findCharges(eq(userId), any(), anyCollection())).thenReturn(charges);
+        RecurringSeries gym = RecurringSeries.builder().userId(userId).merchant("GYM").cadence(Cadence.MONTHLY).build();
+        List<RecurringSeries> existing = List.of(gym);
+        when(seriesRepository.findByUserIdAndMerchantIn(eq(userId), anyCollection())).thenReturn(existing);
+
+        // When
+        assertThat(recurringService.isPending(userId)).isTrue();
+        recurringService.refresh();
+
+        // Then
+        ArgumentCaptor<Collection<String>> merchants = ArgumentCaptor.forClass(Collection.class);
+        verify(seriesRepository).findCharges(eq(userId), any(), merchants.capture());
+        assertThat(merchants.getValue()).containsExactlyInAnyOrder("NETFLIX", "GYM");
+        verify(seriesRepository, never()).findAllCharges(any(), any());
+        verify(seriesRepository).markScanned(userId);
+        ArgumentCaptor<Iterable<RecurringSeries>> deleted = ArgumentCaptor.forClass(Iterable.class);
+        verify(seriesRepository).deleteAll(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly(gym);
+
+        ArgumentCaptor<Iterable<RecurringSeries>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(seriesRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(series -> {
+            assertThat(series.getMerchant()).isEqualTo("NETFLIX");
+            assertThat(series.getCadence()).isEqualTo(Cadence.MONTHLY);
+            assertThat(series.getTypicalAmount()).isEqualByComparingTo("15.99");
+            assertThat(series.getNextExpected()).isEqualTo(LocalDate.of(2025, 4, 15));
+        });
+        assertThat(recurringService.isPending(userId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should rescan stale users in full on startup and keep a failed scan pending")
+    void shouldRetryFailedFullRescan() {
+        // Given
+        UUID otherUser = UUID.randomUUID();
+        List<UUID> stale = List.of(userId, otherUser);
+        when(seriesRepository.findUsersToRescan()).thenReturn(stale);
+        when(seriesRepository.findAllCharges(eq(userId), any())).thenReturn(List.of());
+        when(seriesRepository.findByUserIdOrderByMerchant(userId)).thenReturn(List.of());
+        when(seriesRepository.markScanned(userId)).thenReturn(1);
+        when(seriesRepository.markScanned(otherUser)).thenThrow(new DataIntegrityViolationException("conflict"));
+
+        // When
+        recurringService.refresh();
+
+        // Then
+        assertThat(recurringService.isPending(userId)).isFalse();
+        assertThat(recurringService.isPending(otherUser)).isTrue();
+        verify(seriesRepository, never()).findMerchantsCharged(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should mark a series inactive once its next charge is overdue")
+    void shouldFilterLapsedSeries() {
+        // Given
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+        List<RecurringSeries> series = new ArrayList<>(List.of(
+                RecurringSeries.builder().merchant("NETFLIX").cadence(Cadence.MONTHLY)
+                        .typicalAmount(new BigDecimal("15.99")).lastSeen(LocalDate.now().minusDays(10)).build(),
+                RecurringSeries.builder().merchant("OLD GYM").cadence(Cadence.MONTHLY)
+                        .typicalAmount(new BigDecimal("40.00")).lastSeen(LocalDate.now().minusMonths(3)).build()));
+        when(seriesRepository.findByUserIdOrderByMerchant(userId)).thenReturn(series);
+
+        // When & Then
+        assertThat(recurringService.getRecurringSeries(false)).singleElement()
+                .satisfies(dto -> {
+                    assertThat(dto.getMerchant()).isEqualTo("NETFLIX");
+                    assertThat(dto.getMonthlyCost()).isEqualByComparingTo("15.99");
+                });
+        assertThat(recurringService.getRecurringSeries(true)).extracting("active").containsExactly(true, false);
+    }
+}
@@ -0,0 +1,145 @@
+package com.finance.app.services;
+
+import com.finance.app.config.SnapshotProperties;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.SnapshotRow;
+import com.finance.app.repositories.projections.TransactionWatermark;
+import com.finance.app.snapshot.SnapshotSegment;
+import com.finance.app.snapshot.TransactionSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SnapshotSegmentStore.
+ * Verifies that only segments matching the database watermark are served.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotSegmentStoreTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 10, 8, 30, 15, 123_456_000);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    private Path directory;
+
+    private final UUID userId = UUID.randomUUID();
+    private DataVersionService dataVersionService;
+    private SnapshotSegmentStore store;
+    private long contentChecksum;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(new InMemoryUserDataVersionRepository(),
+                event -> {
+                });
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPersistSegments(true);
+        properties.setSegmentDirectory(directory);
+        store = new SnapshotSegmentStore(transactionRepository, dataVersionService, properties);
+
+        SnapshotRow row = mock(SnapshotRow.class);
+        when(row.getTransactionDate()).thenReturn(LocalDateTime.of(2025, 1, 10, 8, 0));
+        when(row.getAmount()).thenReturn(new BigDecimal("-42.50"));
+        when(row.getAccountId()).thenReturn(userId);
+        when(row.getUpdatedAt()).thenReturn(UPDATED_AT);
+        TransactionSnapshot snapshot = TransactionSnapshot.of(List.of(row));
+        contentChecksum = snapshot.watermark().contentChecksum();
+        store.write(userId, snapshot);
+    }
+
+    private TransactionWatermark watermark(long count, String total, LocalDateTime lastUpdatedAt) {
+        return watermark(count, total, lastUpdatedAt, contentChecksum);
+    }
+
+    private TransactionWatermark watermark(long count, String total, LocalDateTime lastUpdatedAt, long checksum) {
+        TransactionWatermark watermark = mock(TransactionWatermark.class);
+        when(watermark.getUserId()).thenReturn(userId);
+        when(watermark.getTransactionCount()).thenReturn(count);
+        when(watermark.getAmountTotal()).thenReturn(new BigDecimal(total));
+        when(watermark.getLastUpdatedAt()).thenReturn(lastUpdatedAt);
+        when(watermark.getContentChecksum()).thenReturn(checksum);
+        return watermark;
+    }
+
+    @Test
+    @DisplayName("should serve a segment whose watermark matches the database")
+    void shouldServeMatchingSegment() {
+        // Given
+        List<TransactionWatermark> watermarks = List.of(watermark(1, "-42.5000", UPDATED_AT));
+        when(transactionRepository.findTransactionWatermarks(any())).thenReturn(watermarks);
+
+        // When
+        store.loadSegments();
+        TransactionSnapshot snapshot = store.take(userId, dataVersionService.getUserVersion(userId)).orElseThrow();
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(store.take(userId, dataVersionService.getUserVersion(userId))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should delete a segment that is behind the database")
+    void shouldDiscardStaleSegment() {
+        // Given
+        List<TransactionWatermark> watermarks = List.of(watermark(2, "-60.00", UPDATED_AT.plusMinutes(1)));
+        when(transactionRepository.findTransactionWatermarks(any())).thenReturn(watermarks);
+
+        // When
+        store.loadSegments();
+
+        // Then
+        assertThat(store.warmSegmentCount()).isZero();
+        assertThat(directory.resolve(userId + SnapshotSegment.FILE_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should delete a segment whose rows changed without moving the update time")
+    void shouldDiscardSegmentWithChangedContent() {
+        // Given: same count, total and update time, but a row was edited in place
+        List<TransactionWatermark> watermarks = List.of(watermark(1, "-42.50", UPDATED_AT, contentChecksum + 1));
+        when(transactionRepository.findTransactionWatermarks(any())).thenReturn(watermarks);
+
+        // When
+        store.loadSegments();
+
+        // Then
+        assertThat(store.warmSegmentCount()).isZero();
+        assertThat(directory.resolve(userId + SnapshotSegment.FILE_SUFFIX)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should not serve a segment once the user has written since startup")
+    void shouldRejectAfterWrite() {
+        // Given
+        List<TransactionWatermark> watermarks = List.of(watermark(1, "-42.50", UPDATED_AT));
+        when(transactionRepository.findTransactionWatermarks(any())).thenReturn(watermarks);
+        store.loadSegments();
+
+        // When
+        dataVersionService.recordWrite(userId, Set.of());
+
+        // Then
+        assertThat(store.take(userId, dataVersionService.getUserVersion(userId))).isEmpty();
+    }
+}
@@ -0,0 +1,169 @@
+package com.finance.app.services;
+
+import com.finance.app.config.DailySummaryProperties;
+import com.finance.app.config.SnapshotProperties;
+import com.finance.app.dto.MonthlySpendTrendDTO;
+import com.finance.app.dto.SpendingForecastDTO;
+import com.finance.app.repositories.BudgetRepository;
+import com.finance.app.repositories.DailySpendSummaryRepository;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.DailySpendTotal;
+import com.finance.app.repositories.projections.SnapshotRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SpendingForecastService.
+ * Verifies the rolling windows, the month-end projection and that the
+ * snapshot replaces the daily query when enabled.
+ */
+@ExtendWith(MockitoExtension.class)
+class SpendingForecastServiceTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private DailySpendSummaryRepository summaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private SpendingForecastService service(boolean snapshotEnabled) {
+        InMemoryUserDataVersionRepository versions = new InMemoryUserDataVersionRepository();
+        DataVersionService dataVersionService = new DataVersionService(versions, event -> {
+        });
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(snapshotEnabled);
+        TransactionSnapshotService snapshotService = new TransactionSnapshotService(transactionRepository,
+                dataVersionService, new SnapshotSegmentStore(transactionRepository, dataVersionService, properties),
+                new SimpleMeterRegistry(), properties, Runnable::run);
+        DailySummaryProperties summaryProperties = new DailySummaryProperties();
+        summaryProperties.setEnabled(false);
+        DailySpendSummaryService summaryService = new DailySpendSummaryService(summaryRepository, versions,
+                transactionManager, new SimpleMeterRegistry(), summaryProperties);
+        return new SpendingForecastService(transactionRepository, budgetRepository, snapshotService, summaryService,
+                currentUserService);
+    }
+
+    private DailySpendTotal day(LocalDate date, String total) {
+        DailySpendTotal row = mock(DailySpendTotal.class);
+        when(row.getSpendYear()).thenReturn(date.getYear());
+        when(row.getSpendMonth()).thenReturn(date.getMonthValue());
+        when(row.getSpendDay()).thenReturn(date.getDayOfMonth());
+        when(row.getTotal()).thenReturn(new BigDecimal(total));
+        return row;
+    }
+
+    @Test
+    @DisplayName("should project month-end spend from the daily pace and compare it with the budget")
+    void shouldProjectMonthEnd() {
+        // Given - three months of history, then 150.00 by mid-June
+        List<DailySpendTotal> days = List.of(
+                day(LocalDate.of(2025, 3, 10), "300.00"),
+                day(LocalDate.of(2025, 4, 1), "250.00"),
+                day(LocalDate.of(2025, 4, 30), "350.00"),
+                day(LocalDate.of(2025, 5, 31), "900.00"),
+                day(LocalDate.of(2025, 6, 1), "100.00"),
+                day(AS_OF, "50.00"));
+        when(transactionRepository.sumExpensesByDay(eq(userId), any(), any())).thenReturn(days);
+        when(budgetRepository.sumLimitAmountByUserId(userId)).thenReturn(new BigDecimal("250.00"));
+
+        // When
+        SpendingForecastDTO forecast = service(false).getForecast(userId, AS_OF);
+
+        // Then
+        assertThat(forecast.getMonthName()).isEqualTo("Jun 2025");
+        assertThat(forecast.getDaysElapsed()).isEqualTo(15);
+        assertThat(forecast.getDaysInMonth()).isEqualTo(30);
+        assertThat(forecast.getSpentToDate()).isEqualByComparingTo("150.00");
+        assertThat(forecast.getDailyPace()).isEqualByComparingTo("10.00");
+        assertThat(forecast.getProjectedMonthEnd()).isEqualByComparingTo("300.00");
+        assertThat(forecast.getProjectedOverBudget()).isTrue();
+
+        // Months before the first expense do not dilute the averages
+        assertThat(forecast.getRollingAverage3()).isEqualByComparingTo("600.00");
+        assertThat(forecast.getRollingAverage12()).isEqualByComparingTo("600.00");
+
+        List<MonthlySpendTrendDTO> trend = forecast.getTrend();
+        assertThat(trend).hasSize(12);
+        assertThat(trend.get(0).getMonthName()).isEqualTo("Jun 2024");
+        assertThat(trend.get(0).getRollingAverage3()).isNull();
+        assertThat(trend.get(10).getMonthName()).isEqualTo("Apr 2025");
+        assertThat(trend.get(10).getTotalSpent()).isEqualByComparingTo("600.00");
+        assertThat(trend.get(10).getRollingAverage3()).isEqualByComparingTo("450.00");
+    }
+
+    @Test
+    @DisplayName("should slide each window so old months drop out")
+    void shouldSlideWindows() {
+        // Given - 100.00 in every month from Jun 2023, then 400.00 in each of the last 3 months
+        List<DailySpendTotal> days = new ArrayList<>();
+        for (YearMonth month = YearMonth.of(2023, 7); month.isBefore(YearMonth.of(2025, 6)); month = month.plusMonths(1)) {
+            days.add(day(month.atDay(1), month.isBefore(YearMonth.of(2025, 3)) ? "100.00" : "400.00"));
+        }
+        when(transactionRepository.sumExpensesByDay(eq(userId), any(), any())).thenReturn(days);
+
+        // When
+        SpendingForecastDTO forecast = service(false).getForecast(userId, AS_OF);
+
+        // Then
+        assertThat(forecast.getRollingAverage3()).isEqualByComparingTo("400.00");
+        assertThat(forecast.getRollingAverage6()).isEqualByComparingTo("250.00");
+        assertThat(forecast.getRollingAverage12()).isEqualByComparingTo("175.00");
+        assertThat(forecast.getTrend().get(0).getRollingAverage12()).isEqualByComparingTo("100.00");
+        assertThat(forecast.getMonthlyBudget()).isNull();
+        assertThat(forecast.getProjectedOverBudget()).isNull();
+    }
+
+    @Test
+    @DisplayName("should read daily spend from the snapshot instead of querying")
+    void shouldUseSnapshotWhenEnabled() {
+        // Given
+        SnapshotRow row = mock(SnapshotRow.class);
+        when(row.getTransactionDate()).thenReturn(AS_OF.atTime(9, 30));
+        when(row.getAmount()).thenReturn(new BigDecimal("-45.00"));
+        when(row.getAccountId()).thenReturn(UUID.randomUUID());
+        List<SnapshotRow> rows = List.of(row);
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows);
+
+        // When
+        SpendingForecastDTO forecast = service(true).getForecast(userId, AS_OF);
+
+        // Then
+        assertThat(forecast.getSpentToDate()).isEqualByComparingTo("45.00");
+        assertThat(forecast.getRollingAverage3()).isNull();
+        verify(transactionRepository, never()).sumExpensesByDay(any(), any(), any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.finance.app.services;
+
+import com.finance.app.anomaly.AnomalyType;
+import com.finance.app.config.AnomalyProperties;
+import com.finance.app.models.MerchantChargeStats;
+import com.finance.app.models.Transaction;
+import com.finance.app.repositories.MerchantChargeStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TransactionAnomalyService.
+ * Verifies that only the batch's merchants are loaded and that duplicates
+ * within one batch are flagged.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionAnomalyServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+    @Mock
+    private MerchantChargeStatsRepository statsRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransactionAnomalyService service() {
+        return new TransactionAnomalyService(statsRepository, meterRegistry, new AnomalyProperties());
+    }
+
+    private static Transaction transaction(String raw, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setRawDescription(raw);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+
+    @Test
+    @DisplayName("should flag a repeated charge in the same batch and skip income")
+    @SuppressWarnings("unchecked")
+    void shouldFlagDuplicateInBatch() {
+        // Given
+        Transaction later = transaction("UBER *TRIP 8842", "-23.40", NOW.plusHours(2));
+        Transaction first = transaction("UBER *TRIP 1177", "-23.40", NOW);
+        Transaction salary = transaction("ACME PAYROLL", "2500.00", NOW);
+        // Stands in for merchant_name on these descriptions
+        when(statsRepository.normalizeMerchants(any(), any())).thenAnswer(invocation ->
+                Arrays.stream(invocation.<String[]>getArgument(1)).map(raw -> raw.split(" [0-9]")[0]).toList());
+        MerchantChargeStats existing = new MerchantChargeStats(userId, "UBER *TRIP");
+        List<MerchantChargeStats> rows = List.of(existing);
+        when(statsRepository.findByUserIdAndMerchantInOrderByMerchant(eq(userId), eq(Set.of("UBER *TRIP"))))
+                .thenReturn(rows);
+
+        // When
+        service().screen(userId, List.of(later, first, salary));
+
+        // Then
+        assertThat(first.getAnomaly()).isNull();
+        assertThat(later.getAnomaly()).isEqualTo(AnomalyType.DUPLICATE);
+        assertThat(salary.getAnomaly()).isNull();
+        assertThat(existing.getChargeCount()).isEqualTo(2);
+        ArgumentCaptor<Collection<MerchantChargeStats>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(statsRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).containsExactly(existing);
+        assertThat(meterRegistry.counter("transactions.anomalies", "type", "DUPLICATE").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not touch the statistics when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        AnomalyProperties properties = new AnomalyProperties();
+        properties.setEnabled(false);
+        TransactionAnomalyService disabled = new TransactionAnomalyService(statsRepository, meterRegistry, properties);
+
+        // When
+        disabled.screen(userId, List.of(transaction("UBER *TRIP", "-10.00", NOW)));
+
+        // Then
+        verifyNoInteractions(statsRepository);
+    }
+}
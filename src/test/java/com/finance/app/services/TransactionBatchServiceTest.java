@@ -0,0 +1,164 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.config.TransactionBatchProperties;
+import com.finance.app.dto.TransactionBatchResultDTO;
+import com.finance.app.dto.TransactionCreateRequest;
+import com.finance.app.dto.TransactionUpdateRequest;
+import com.finance.app.ledger.LedgerEntry;
+import com.finance.app.models.Transaction;
+import com.finance.app.outbox.TransactionChangeType;
+import com.finance.app.repositories.AccountLedgerRepository;
+import com.finance.app.repositories.TransactionBatchRepository;
+import com.finance.app.repositories.TransactionOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TransactionBatchService.
+ * Verifies one-pass validation, per-item results and that applied items
+ * reach the balance ledger, the outbox and the data version.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    private static final LocalDateTime MARCH_4 = LocalDateTime.of(2025, 3, 4, 8, 15);
+
+    @Mock
+    private TransactionBatchRepository batchRepository;
+
+    @Mock
+    private TransactionOutboxRepository outboxRepository;
+
+    @Mock
+    private AccountLedgerRepository ledgerRepository;
+
+    @Mock
+    private TransactionAnomalyService anomalyService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private final UUID userId = UUID.randomUUID();
+    private TransactionBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new TransactionBatchService(batchRepository, outboxRepository, ledgerRepository,
+                anomalyService, dataVersionService, currentUserService, new SimpleMeterRegistry(),
+                new TransactionBatchProperties(), new OutboxProperties());
+        when(currentUserService.getCurrentUserId()).thenReturn(userId);
+    }
+
+    @Test
+    @DisplayName("should insert valid creates in one batch and reject the rest with their errors")
+    @SuppressWarnings("unchecked")
+    void shouldCreateValidItems() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        UUID otherAccount = UUID.randomUUID();
+        when(batchRepository.findOwnedAccountIds(eq(userId), eq(Set.of(accountId, otherAccount))))
+                .thenReturn(Set.of(accountId));
+        when(currentUserService.getCurrentUsername()).thenReturn("test@example.com");
+        List<TransactionCreateRequest> requests = Arrays.asList(
+                TransactionCreateRequest.builder().accountId(accountId).rawDescription(" COFFEE 123 ")
+                        .amount(new BigDecimal("-4.20")).transactionDate(MARCH_4).status("reviewed").build(),
+                TransactionCreateRequest.builder().accountId(otherAccount).rawDescription("COFFEE")
+                        .amount(new BigDecimal("-4.20")).transactionDate(MARCH_4).build(),
+                TransactionCreateRequest.builder().accountId(accountId).cleanDescription(" ")
+                        .amount(new BigDecimal("1.00001")).build(),
+                null);
+
+        // When
+        TransactionBatchResultDTO result = batchService.createAll(requests);
+
+        // Then
+        assertThat(result.getApplied()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getResults()).extracting("result")
+                .containsExactly("CREATED", "REJECTED", "REJECTED", "REJECTED");
+        assertThat(result.getResults().get(1).getErrors()).containsExactly("accountId is not one of your accounts");
+        assertThat(result.getResults().get(2).getErrors()).containsExactly(
+                "amount has more than 4 decimal places",
+                "transactionDate is required",
+                "rawDescription or cleanDescription is required");
+
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(anomalyService).screen(eq(userId), inserted.capture());
+        verify(batchRepository).insertAll(inserted.getValue(), "test@example.com", 200);
+        Transaction created = inserted.getValue().get(0);
+        assertThat(created.getId()).isEqualTo(result.getResults().get(0).getId());
+        assertThat(created.getRawDescription()).isEqualTo("COFFEE 123");
+        assertThat(created.getStatus()).isEqualTo("REVIEWED");
+        verify(ledgerRepository).applyAll(List.of(new LedgerEntry(accountId, new BigDecimal("-4.20"), MARCH_4)));
+        verify(outboxRepository).appendAll(userId, TransactionChangeType.CREATED, inserted.getValue());
+        verify(dataVersionService).recordWrite(userId, Set.of(YearMonth.of(2025, 3)));
+    }
+
+    @Test
+    @DisplayName("should update locked transactions and reject unknown, repeated or empty items")
+    @SuppressWarnings("unchecked")
+    void shouldUpdateOwnedItems() {
+        // Given
+        UUID owned = UUID.randomUUID();
+        UUID repeated = UUID.randomUUID();
+        UUID foreign = UUID.randomUUID();
+        Transaction locked = new Transaction();
+        locked.setId(owned);
+        locked.setCleanDescription("Coffee");
+        locked.setCategory("Dining");
+        locked.setStatus("PENDING");
+        locked.setAmount(new BigDecimal("-4.20"));
+        locked.setTransactionDate(MARCH_4);
+        locked.setPersistedTransactionDate(MARCH_4);
+        List<Transaction> lockedRows = List.of(locked);
+        when(batchRepository.lockOwned(eq(userId), eq(Set.of(owned, repeated, foreign)))).thenReturn(lockedRows);
+        when(currentUserService.getCurrentUsername()).thenReturn("test@example.com");
+        List<TransactionUpdateRequest> requests = List.of(
+                TransactionUpdateRequest.builder().id(owned).category("Groceries").cleanDescription("").build(),
+                TransactionUpdateRequest.builder().id(repeated).category("Travel").build(),
+                TransactionUpdateRequest.builder().id(repeated).category("Travel").build(),
+                TransactionUpdateRequest.builder().id(foreign).status("DONE").build());
+
+        // When
+        TransactionBatchResultDTO result = batchService.updateAll(requests);
+
+        // Then
+        assertThat(result.getResults()).extracting("result")
+                .containsExactly("UPDATED", "REJECTED", "REJECTED", "REJECTED");
+        assertThat(result.getResults().get(1).getErrors()).containsExactly("id appears more than once in the batch");
+        assertThat(result.getResults().get(3).getErrors()).containsExactly(
+                "id is not one of your transactions",
+                "status must be one of COMPLETED, PENDING, REVIEWED");
+
+        assertThat(locked.getCategory()).isEqualTo("Groceries");
+        assertThat(locked.getCleanDescription()).isNull();
+        assertThat(locked.getStatus()).isEqualTo("PENDING");
+        verify(batchRepository).updateAll(eq(List.of(locked)), eq("test@example.com"), anyInt());
+        verify(outboxRepository).appendAll(userId, TransactionChangeType.UPDATED, List.of(locked));
+        verify(dataVersionService).recordWrite(userId, Set.of(YearMonth.of(2025, 3)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.finance.app.services;
+
+import com.finance.app.config.OutboxProperties;
+import com.finance.app.outbox.TransactionChange;
+import com.finance.app.outbox.TransactionChangeType;
+import com.finance.app.outbox.TransactionChangesEvent;
+import com.finance.app.repositories.TransactionOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TransactionOutboxRelay.
+ * Verifies batch dispatch and delete, draining, failure accounting and
+ * dead-lettering at the attempt limit.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionOutboxRelayTest {
+
+    @Mock
+    private TransactionOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> published = new ArrayList<>();
+    private final ApplicationEventPublisher eventPublisher = published::add;
+    private TransactionOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        relay = new TransactionOutboxRelay(outboxRepository, eventPublisher, transactionManager,
+                new SimpleMeterRegistry(), properties);
+    }
+
+    private static TransactionChange change(long id) {
+        return new TransactionChange(id, UUID.randomUUID(), UUID.randomUUID(), TransactionChangeType.CREATED,
+                LocalDateTime.of(2025, 3, 1, 10, 0), null, new BigDecimal("-12.00"), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("should publish and delete batches until the outbox is drained")
+    void shouldDrainInBatches() {
+        // Given
+        List<TransactionChange> full = List.of(change(1), change(2));
+        List<TransactionChange> last = List.of(change(3));
+        when(outboxRepository.lockBatch(2)).thenReturn(full).thenReturn(last);
+
+        // When
+        relay.drain();
+
+        // Then
+        assertThat(published).containsExactly(new TransactionChangesEvent(full), new TransactionChangesEvent(last));
+        verify(outboxRepository).delete(List.of(1L, 2L));
+        verify(outboxRepository).delete(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("should keep a batch whose listener fails and count the attempt")
+    void shouldRecordFailedDelivery() {
+        // Given
+        List<TransactionChange> batch = List.of(change(7));
+        when(outboxRepository.lockBatch(2)).thenReturn(batch);
+        when(outboxRepository.recordFailure(List.of(7L), "listener down", 10)).thenReturn(List.of());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        failingRelay(meterRegistry).drain();
+
+        // Then
+        verify(outboxRepository, never()).delete(any());
+        verify(outboxRepository).recordFailure(List.of(7L), "listener down", 10);
+        assertThat(meterRegistry.counter("outbox.dead_lettered").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should count changes that reach the attempt limit as dead letters")
+    void shouldCountDeadLetters() {
+        // Given
+        List<TransactionChange> batch = List.of(change(7), change(8));
+        when(outboxRepository.lockBatch(2)).thenReturn(batch);
+        when(outboxRepository.recordFailure(List.of(7L, 8L), "listener down", 10)).thenReturn(List.of(8L));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        failingRelay(meterRegistry).drain();
+
+        // Then
+        assertThat(meterRegistry.counter("outbox.dead_lettered").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("outbox.failures").count()).isEqualTo(1.0);
+    }
+
+    private TransactionOutboxRelay failingRelay(SimpleMeterRegistry meterRegistry) {
+        ApplicationEventPublisher failing = event -> {
+            throw new IllegalStateException("listener down");
+        };
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        return new TransactionOutboxRelay(outboxRepository, failing, transactionManager, meterRegistry, properties);
+    }
+}
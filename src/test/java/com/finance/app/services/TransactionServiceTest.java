@@ -1,5 +1,6 @@
 package com.finance.app.services;
 
+import com.finance.app.anomaly.AnomalyType;
 import com.finance.app.dto.TransactionDTO;
 import com.finance.app.models.Account;
 import com.finance.app.models.Transaction;
@@ -191,5 +192,25 @@ class TransactionServiceTest {
             // Assert
             assertThat(result.getContent().get(0).getStatus()).isEqualTo("Flagged");
         }
+
+        @Test
+        @DisplayName("should return 'Flagged' for anomalies found at ingest even when categorized")
+        void shouldFlagAnomalies() {
+            // Arrange - cleaned and categorized, but a duplicate charge
+            sampleTransaction.setCleanDescription("Test Store");
+            sampleTransaction.setCategory("Shopping");
+            sampleTransaction.setAnomaly(AnomalyType.DUPLICATE);
+
+            Pageable pageable = PageRequest.of(0, 10);
+            Page<Transaction> transactionPage = new PageImpl<>(List.of(sampleTransaction), pageable, 1);
+            when(transactionRepository.findAll(any(Pageable.class))).thenReturn(transactionPage);
+
+            // Act
+            Page<TransactionDTO> result = transactionService.getAllTransactions(pageable);
+
+            // Assert
+            assertThat(result.getContent().get(0).getStatus()).isEqualTo("Flagged");
+            assertThat(result.getContent().get(0).getAnomaly()).isEqualTo(AnomalyType.DUPLICATE);
+        }
     }
 }
@@ -0,0 +1,308 @@
+package com.finance.app.services;
+
+import com.finance.app.config.SnapshotProperties;
+import com.finance.app.repositories.InMemoryUserDataVersionRepository;
+import com.finance.app.repositories.TransactionRepository;
+import com.finance.app.repositories.projections.SnapshotRow;
+import com.finance.app.snapshot.SlabAllocator;
+import com.finance.app.snapshot.SnapshotStorage;
+import com.finance.app.snapshot.TransactionSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for TransactionSnapshotService.
+ * Verifies lazy builds, month-level refresh on writes, the rebuild fallback
+ * and off-heap block lifecycle, including eviction to make room with the
+ * cache's real asynchronous removal listener.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionSnapshotServiceTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final LocalDate JANUARY_START = JANUARY.atDay(1);
+    private static final LocalDate JANUARY_END = JANUARY.atEndOfMonth();
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private final List<UserDataChangedEvent> events = new ArrayList<>();
+    private final UUID userId = UUID.randomUUID();
+    private DataVersionService dataVersionService;
+    private TransactionSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionService(new InMemoryUserDataVersionRepository(),
+                event -> events.add((UserDataChangedEvent) event));
+        snapshotService = service(SnapshotStorage.HEAP);
+    }
+
+    private TransactionSnapshotService service(SnapshotStorage storage) {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setMaxBytes(DataSize.ofKilobytes(64));
+        properties.setSlabSize(DataSize.ofKilobytes(16));
+        properties.setStorage(storage);
+        return new TransactionSnapshotService(transactionRepository, dataVersionService,
+                new SnapshotSegmentStore(transactionRepository, dataVersionService, properties),
+                new SimpleMeterRegistry(), properties, Runnable::run);
+    }
+
+    private TransactionSnapshot snapshot() {
+        return snapshotService.read(userId, Function.identity()).orElseThrow();
+    }
+
+    private SnapshotRow row(LocalDate date, String amount) {
+        SnapshotRow row = mock(SnapshotRow.class);
+        when(row.getTransactionDate()).thenReturn(date.atTime(9, 0));
+        when(row.getAmount()).thenReturn(new BigDecimal(amount));
+        when(row.getCategory()).thenReturn("Dining");
+        when(row.getAccountId()).thenReturn(userId);
+        return row;
+    }
+
+    private void publishWrite(Set<YearMonth> months) {
+        dataVersionService.recordWrite(userId, months);
+        events.forEach(snapshotService::onUserDataChanged);
+        events.clear();
+    }
+
+    @Test
+    @DisplayName("should build once and reuse the snapshot until data changes")
+    void shouldBuildLazilyAndReuse() {
+        // Given
+        List<SnapshotRow> rows = List.of(row(JANUARY_START.plusDays(4), "-20.00"));
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows);
+
+        // When
+        TransactionSnapshot first = snapshot();
+        TransactionSnapshot second = snapshot();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.spendUnits(JANUARY_START, JANUARY_END)).isEqualTo(200_000L);
+        assertThat(snapshotService.estimatedBytes()).isEqualTo(first.estimatedBytes());
+        verify(transactionRepository, times(1)).findSnapshotRows(userId);
+    }
+
+    @Test
+    @DisplayName("should reload only the months touched by recorded writes")
+    void shouldRefreshChangedMonths() {
+        // Given
+        List<SnapshotRow> rows = List.of(row(JANUARY_START.plusDays(4), "-20.00"));
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows);
+        snapshot();
+        List<SnapshotRow> januaryRows = List.of(row(JANUARY_START.plusDays(4), "-20.00"),
+                row(JANUARY_START.plusDays(9), "-5.00"));
+        when(transactionRepository.findSnapshotRows(eq(userId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(januaryRows);
+
+        // When
+        publishWrite(Set.of(JANUARY));
+        publishWrite(Set.of());
+        TransactionSnapshot refreshed = snapshot();
+
+        // Then
+        assertThat(refreshed.spendUnits(JANUARY_START, JANUARY_END)).isEqualTo(250_000L);
+        verify(transactionRepository, times(1)).findSnapshotRows(userId);
+        verify(transactionRepository, times(1)).findSnapshotRows(userId,
+                JANUARY_START.atStartOfDay(), JANUARY_END.atTime(23, 59, 59));
+    }
+
+    @Test
+    @DisplayName("should rebuild when a write was not recorded")
+    void shouldRebuildOnMissedWrite() {
+        // Given
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(List.of());
+        snapshot();
+
+        // When - the event for this write never reaches the service
+        dataVersionService.recordWrite(userId, Set.of(JANUARY));
+        snapshot();
+
+        // Then
+        verify(transactionRepository, times(2)).findSnapshotRows(userId);
+        verify(transactionRepository, never()).findSnapshotRows(eq(userId), any(), any());
+    }
+
+    @Test
+    @DisplayName("should stay empty and skip queries when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        SnapshotProperties properties = new SnapshotProperties();
+        TransactionSnapshotService disabled = new TransactionSnapshotService(transactionRepository,
+                dataVersionService, new SnapshotSegmentStore(transactionRepository, dataVersionService, properties),
+                new SimpleMeterRegistry(), properties);
+
+        // When / Then
+        assertThat(disabled.read(userId, Function.identity())).isEmpty();
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("should serve off-heap snapshots and free their blocks when replaced or evicted")
+    void shouldManageOffHeapBlocks() {
+        // Given
+        snapshotService = service(SnapshotStorage.DIRECT);
+        SlabAllocator allocator = snapshotService.allocator();
+        List<SnapshotRow> rows = List.of(row(JANUARY_START.plusDays(4), "-20.00"));
+        List<SnapshotRow> januaryRows = List.of(row(JANUARY_START.plusDays(6), "-8.00"));
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows);
+        when(transactionRepository.findSnapshotRows(eq(userId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(januaryRows);
+
+        // When
+        long firstSpend = snapshotService.read(userId, s -> s.spendUnits(JANUARY_START, JANUARY_END)).orElseThrow();
+        long usedAfterBuild = allocator.usedBytes();
+        publishWrite(Set.of(JANUARY));
+        long refreshedSpend = snapshotService.read(userId, s -> s.spendUnits(JANUARY_START, JANUARY_END))
+                .orElseThrow();
+        long usedAfterRefresh = allocator.usedBytes();
+        dataVersionService.recordWrite(userId);
+        events.forEach(snapshotService::onUserDataChanged);
+
+        // Then
+        assertThat(firstSpend).isEqualTo(200_000L);
+        assertThat(refreshedSpend).isEqualTo(80_000L);
+        assertThat(usedAfterBuild).isEqualTo(SlabAllocator.MIN_BLOCK_BYTES);
+        assertThat(usedAfterRefresh).isEqualTo(SlabAllocator.MIN_BLOCK_BYTES);
+        assertThat(allocator.usedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep a pinned off-heap snapshot readable after eviction")
+    void shouldNotFreePinnedBlocks() {
+        // Given
+        snapshotService = service(SnapshotStorage.DIRECT);
+        List<SnapshotRow> rows = List.of(row(JANUARY_START.plusDays(4), "-20.00"));
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows);
+
+        // When - the user is evicted while a query is still reading
+        long spend = snapshotService.read(userId, s -> {
+            dataVersionService.recordWrite(userId);
+            events.forEach(snapshotService::onUserDataChanged);
+            return s.spendUnits(JANUARY_START, JANUARY_END);
+        }).orElseThrow();
+
+        // Then
+        assertThat(spend).isEqualTo(200_000L);
+        assertThat(snapshotService.allocator().usedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("should evict cold users synchronously to fit a snapshot off the heap")
+    void shouldEvictToMakeRoom() {
+        // Given: two slabs, one carved into small blocks and one holding a large block
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setMaxBytes(DataSize.ofKilobytes(32));
+        properties.setSlabSize(DataSize.ofKilobytes(16));
+        properties.setStorage(SnapshotStorage.DIRECT);
+        snapshotService = new TransactionSnapshotService(transactionRepository, dataVersionService,
+                new SnapshotSegmentStore(transactionRepository, dataVersionService, properties),
+                new SimpleMeterRegistry(), properties);
+        SlabAllocator allocator = snapshotService.allocator();
+        UUID small = UUID.randomUUID();
+        UUID large = UUID.randomUUID();
+        UUID next = UUID.randomUUID();
+        when(transactionRepository.findSnapshotRows(small)).thenReturn(rows(1));
+        when(transactionRepository.findSnapshotRows(large)).thenReturn(rows(600));
+        when(transactionRepository.findSnapshotRows(next)).thenReturn(rows(600));
+        snapshotService.read(small, TransactionSnapshot::size);
+        snapshotService.read(large, TransactionSnapshot::size);
+
+        // When
+        int size = snapshotService.read(next, TransactionSnapshot::size).orElseThrow();
+
+        // Then: both cold users were freed before the retry and the new snapshot is off the heap
+        assertThat(size).isEqualTo(600);
+        assertThat(allocator.usedBytes()).isEqualTo(16 * 1024);
+        assertThat(allocator.reservedBytes()).isEqualTo(32 * 1024);
+    }
+
+    @Test
+    @DisplayName("should answer from an uncached snapshot when one user's data exceeds max-bytes")
+    void shouldReadSnapshotLargerThanCache() {
+        // Given: 600 rows fill a whole slab, so with its overhead the snapshot outweighs the cache
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setMaxBytes(DataSize.ofKilobytes(16));
+        properties.setSlabSize(DataSize.ofKilobytes(16));
+        properties.setStorage(SnapshotStorage.DIRECT);
+        snapshotService = new TransactionSnapshotService(transactionRepository, dataVersionService,
+                new SnapshotSegmentStore(transactionRepository, dataVersionService, properties),
+                new SimpleMeterRegistry(), properties, Runnable::run);
+        when(transactionRepository.findSnapshotRows(userId)).thenReturn(rows(600));
+
+        // When
+        int size = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> snapshotService.read(userId, TransactionSnapshot::size).orElseThrow());
+
+        // Then: every evicted copy gave its block back
+        assertThat(size).isEqualTo(600);
+        assertThat(snapshotService.allocator().usedBytes()).isZero();
+    }
+
+    private List<SnapshotRow> rows(int count) {
+        List<SnapshotRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime date = JANUARY_START.plusDays(i % 31).atTime(9, 0);
+            rows.add(new SnapshotRow() {
+                @Override
+                public LocalDateTime getTransactionDate() {
+                    return date;
+                }
+
+                @Override
+                public BigDecimal getAmount() {
+                    return new BigDecimal("-1.00");
+                }
+
+                @Override
+                public String getCategory() {
+                    return "Dining";
+                }
+
+                @Override
+                public UUID getAccountId() {
+                    return userId;
+                }
+
+                @Override
+                public LocalDateTime getUpdatedAt() {
+                    return date;
+                }
+            });
+        }
+        return rows;
+    }
+}
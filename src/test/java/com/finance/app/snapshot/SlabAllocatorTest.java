@@ -0,0 +1,97 @@
+package com.finance.app.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SlabAllocator.
+ * Verifies size classes, capacity limits, block reuse and re-carving of
+ * emptied slabs for another size class.
+ */
+class SlabAllocatorTest {
+
+    private static final int SLAB_BYTES = 16 * 1024;
+
+    @Test
+    @DisplayName("should round requests up to a power-of-two block and reuse freed blocks")
+    void shouldRoundAndReuseBlocks() {
+        // Given
+        SlabAllocator allocator = SlabAllocator.direct(2L * SLAB_BYTES, SLAB_BYTES);
+
+        // When
+        SlabAllocator.Block small = allocator.allocate(100).orElseThrow();
+        SlabAllocator.Block medium = allocator.allocate(5000).orElseThrow();
+        small.free();
+        SlabAllocator.Block reused = allocator.allocate(4096).orElseThrow();
+
+        // Then
+        assertThat(small.capacity()).isEqualTo(4096);
+        assertThat(medium.capacity()).isEqualTo(8192);
+        assertThat(reused.buffer()).isSameAs(small.buffer());
+        assertThat(allocator.usedBytes()).isEqualTo(4096 + 8192);
+        assertThat(allocator.reservedBytes()).isEqualTo(2L * SLAB_BYTES);
+        assertThatThrownBy(small::free).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should refuse requests beyond the capacity or the slab size")
+    void shouldRespectLimits() {
+        // Given
+        SlabAllocator allocator = SlabAllocator.direct(SLAB_BYTES, SLAB_BYTES);
+
+        // When / Then
+        assertThat(allocator.allocate(SLAB_BYTES + 1)).isEmpty();
+        assertThat(allocator.allocate(SLAB_BYTES)).isPresent();
+        assertThat(allocator.allocate(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should re-carve emptied slabs for another size class")
+    void shouldRecarveEmptySlabs() {
+        // Given: the whole capacity handed out as small blocks
+        SlabAllocator allocator = SlabAllocator.direct(2L * SLAB_BYTES, SLAB_BYTES);
+        List<SlabAllocator.Block> small = new ArrayList<>();
+        for (int i = 0; i < 2 * SLAB_BYTES / 4096; i++) {
+            small.add(allocator.allocate(4096).orElseThrow());
+        }
+        assertThat(allocator.allocate(4096)).isEmpty();
+        assertThat(allocator.allocate(SLAB_BYTES)).isEmpty();
+
+        // When
+        small.forEach(SlabAllocator.Block::free);
+        SlabAllocator.Block large = allocator.allocate(SLAB_BYTES).orElseThrow();
+        SlabAllocator.Block medium = allocator.allocate(8192).orElseThrow();
+
+        // Then
+        assertThat(large.capacity()).isEqualTo(SLAB_BYTES);
+        assertThat(medium.capacity()).isEqualTo(8192);
+        assertThat(allocator.usedBytes()).isEqualTo(SLAB_BYTES + 8192);
+        assertThat(allocator.reservedBytes()).isEqualTo(2L * SLAB_BYTES);
+    }
+
+    @Test
+    @DisplayName("should map slabs from files without leaving them on disk")
+    void shouldMapSlabFiles(@TempDir Path directory) throws Exception {
+        // Given
+        SlabAllocator allocator = SlabAllocator.mapped(directory.resolve("slabs"), SLAB_BYTES, SLAB_BYTES);
+
+        // When
+        SlabAllocator.Block block = allocator.allocate(64).orElseThrow();
+        block.buffer().putLong(0, 42L);
+
+        // Then
+        assertThat(block.buffer().getLong(0)).isEqualTo(42L);
+        try (var files = Files.list(directory.resolve("slabs"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.finance.app.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.finance.app.snapshot.TransactionSnapshotTest.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SnapshotSegment.
+ * Verifies the write/map round trip and rejection of damaged files.
+ */
+class SnapshotSegmentTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final TransactionSnapshot snapshot = TransactionSnapshot.of(List.of(
+            row("2025-01-05", "-100.00", "Dining"),
+            row("2025-01-20", "2000.00", "Salary"),
+            row("2025-01-31", "-25.50", null),
+            row("2025-02-01", "-10.00", "Café")));
+
+    @Test
+    @DisplayName("should map back the same rows, dictionaries and watermark")
+    void shouldRoundTrip(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve(userId + SnapshotSegment.FILE_SUFFIX);
+
+        // When
+        SnapshotSegment.write(file, userId, snapshot);
+        SnapshotSegment.Mapped mapped = SnapshotSegment.map(file).orElseThrow();
+
+        // Then
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        assertThat(mapped.userId()).isEqualTo(userId);
+        assertThat(mapped.watermark()).isEqualTo(snapshot.watermark());
+        assertThat(mapped.snapshot().watermark()).isEqualTo(snapshot.watermark());
+        assertThat(mapped.snapshot().dailySpendUnits(from, to)).isEqualTo(snapshot.dailySpendUnits(from, to));
+        assertThat(mapped.snapshot().spendByCategory(from, to))
+                .containsExactlyInAnyOrderElementsOf(snapshot.spendByCategory(from, to));
+    }
+
+    @Test
+    @DisplayName("should reject a segment whose payload fails the checksum")
+    void shouldRejectCorruptSegment(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve(userId + SnapshotSegment.FILE_SUFFIX);
+        SnapshotSegment.write(file, userId, snapshot);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), channel.size() - 1);
+        }
+
+        // When / Then
+        assertThat(SnapshotSegment.map(file)).isEmpty();
+    }
+}
@@ -0,0 +1,134 @@
+package com.finance.app.snapshot;
+
+import com.finance.app.repositories.projections.SnapshotRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TransactionSnapshot.
+ * Verifies range aggregation over the columns and month replacement.
+ */
+class TransactionSnapshotTest {
+
+    private static final UUID ACCOUNT = UUID.randomUUID();
+
+    record Row(LocalDateTime transactionDate, BigDecimal amount, String category, UUID accountId)
+            implements SnapshotRow {
+
+        @Override
+        public LocalDateTime getTransactionDate() {
+            return transactionDate;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public UUID getAccountId() {
+            return accountId;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return transactionDate;
+        }
+    }
+
+    static Row row(String date, String amount, String category) {
+        return new Row(LocalDate.parse(date).atTime(12, 0), new BigDecimal(amount), category, ACCOUNT);
+    }
+
+    private final TransactionSnapshot snapshot = TransactionSnapshot.of(List.of(
+            row("2025-01-05", "-100.00", "Dining"),
+            row("2025-01-20", "2000.00", "Salary"),
+            row("2025-01-31", "-25.50", null),
+            row("2025-02-01", "-10.00", "Dining"),
+            row("2025-03-15", "-40.00", "Groceries")));
+
+    @Test
+    @DisplayName("should sum only expenses within an inclusive day range")
+    void shouldSumExpensesInRange() {
+        // When
+        long january = snapshot.spendUnits(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+        long february = snapshot.spendUnits(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28));
+        long beforeData = snapshot.spendUnits(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        // Then
+        assertThat(january).isEqualTo(1_255_000L);
+        assertThat(february).isEqualTo(100_000L);
+        assertThat(beforeData).isZero();
+    }
+
+    @Test
+    @DisplayName("should bucket expenses by day and by category including uncategorized")
+    void shouldAggregateByDayAndCategory() {
+        // When
+        long[] daily = snapshot.dailySpendUnits(LocalDate.of(2025, 1, 30), LocalDate.of(2025, 2, 2));
+        List<TransactionSnapshot.CategorySpend> categories =
+                snapshot.spendByCategory(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28));
+
+        // Then
+        assertThat(daily).containsExactly(0L, 255_000L, 100_000L, 0L);
+        assertThat(categories).containsExactlyInAnyOrder(
+                new TransactionSnapshot.CategorySpend("Dining", 1_100_000L, 2),
+                new TransactionSnapshot.CategorySpend(null, 255_000L, 1));
+    }
+
+    @Test
+    @DisplayName("should replace only the given months and keep rows ordered by day")
+    void shouldReplaceMonths() {
+        // When
+        TransactionSnapshot updated = snapshot.replaceMonths(Set.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)),
+                List.of(row("2025-01-10", "-7.00", "Travel"), row("2025-02-20", "-3.00", "Dining")));
+
+        // Then
+        assertThat(updated.size()).isEqualTo(3);
+        assertThat(updated.spendUnits(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31))).isEqualTo(500_000L);
+        assertThat(updated.spendByCategory(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)))
+                .containsExactly(new TransactionSnapshot.CategorySpend("Travel", 70_000L, 1));
+        assertThat(snapshot.size()).isEqualTo(5);
+        assertThat(updated.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("should answer identically off-heap and free the block on the last release")
+    void shouldCopyOffHeap() {
+        // Given
+        SlabAllocator allocator = SlabAllocator.direct(64 * 1024, 16 * 1024);
+
+        // When
+        TransactionSnapshot offHeap = snapshot.copyOffHeap(allocator).orElseThrow();
+
+        // Then
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        assertThat(offHeap.spendUnits(from, to)).isEqualTo(snapshot.spendUnits(from, to));
+        assertThat(offHeap.dailySpendUnits(from, to)).isEqualTo(snapshot.dailySpendUnits(from, to));
+        assertThat(offHeap.spendByCategory(from, to))
+                .containsExactlyInAnyOrderElementsOf(snapshot.spendByCategory(from, to));
+        assertThat(allocator.usedBytes()).isEqualTo(SlabAllocator.MIN_BLOCK_BYTES);
+
+        assertThat(offHeap.retain()).isTrue();
+        offHeap.release();
+        offHeap.release();
+        assertThat(allocator.usedBytes()).isZero();
+        assertThat(offHeap.retain()).isFalse();
+    }
+}